@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil;
+
+/**
+ * An <code>AdaptiveBatchSizer</code> chooses how many seeds to put in each
+ * batch of a seeded query, using feedback from the batches already scanned.
+ * <p>
+ * After each batch the number of ranges, the number of results and the time
+ * per seed are used to estimate the largest batch that would stay within the
+ * target batch duration, the maximum number of ranges and the maximum number
+ * of results. The next batch uses that estimate, but is at most twice the size
+ * of the previous batch and always within the minimum and maximum batch sizes.
+ * Starting from the minimum batch size the first results are returned quickly,
+ * and the batch size then grows while the batches are cheap and shrinks when a
+ * batch produces too many ranges or results or takes too long.
+ * <p>
+ * If the minimum and maximum batch sizes are equal the batch size is fixed.
+ * An <code>AdaptiveBatchSizer</code> should only be used by a single thread.
+ */
+public class AdaptiveBatchSizer {
+    private static final double MAX_GROWTH = 2.0;
+
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final long targetBatchMillis;
+    private final long maxRangesPerBatch;
+    private final long maxResultsPerBatch;
+    private int batchSize;
+
+    /**
+     * Creates a sizer with a fixed batch size.
+     *
+     * @param batchSize the batch size
+     */
+    public AdaptiveBatchSizer(final int batchSize) {
+        this(batchSize, batchSize, batchSize, 0, 0, 0);
+    }
+
+    /**
+     * @param initialBatchSize   the size of the first batch
+     * @param minBatchSize       the minimum batch size
+     * @param maxBatchSize       the maximum batch size
+     * @param targetBatchMillis  the target time to scan a batch, or 0 to ignore the time
+     * @param maxRangesPerBatch  the maximum number of ranges in a batch, or 0 for no limit
+     * @param maxResultsPerBatch the maximum number of results from a batch, or 0 for no limit
+     */
+    public AdaptiveBatchSizer(final int initialBatchSize, final int minBatchSize, final int maxBatchSize,
+                              final long targetBatchMillis, final long maxRangesPerBatch,
+                              final long maxResultsPerBatch) {
+        if (minBatchSize < 1) {
+            throw new IllegalArgumentException("The minimum batch size must be at least 1");
+        }
+        if (maxBatchSize < minBatchSize) {
+            throw new IllegalArgumentException("The maximum batch size must not be less than the minimum batch size");
+        }
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.targetBatchMillis = targetBatchMillis;
+        this.maxRangesPerBatch = maxRangesPerBatch;
+        this.maxResultsPerBatch = maxResultsPerBatch;
+        this.batchSize = clamp(initialBatchSize);
+    }
+
+    /**
+     * Creates a sizer from store properties. Unless the adaptive batch scanner
+     * is enabled, the batch size is fixed at the maximum entries for a batch
+     * scanner.
+     *
+     * @param properties the store properties
+     * @return the batch sizer
+     */
+    public static AdaptiveBatchSizer create(final AdaptiveBatchSizerProperties properties) {
+        if (!properties.getAdaptiveBatchScanner()) {
+            return new AdaptiveBatchSizer(properties.getMaxEntriesForBatchScanner());
+        }
+        return new AdaptiveBatchSizer(
+                properties.getAdaptiveBatchScannerMinEntries(),
+                properties.getAdaptiveBatchScannerMinEntries(),
+                properties.getAdaptiveBatchScannerMaxEntries(),
+                properties.getAdaptiveBatchScannerTargetBatchMillis(),
+                properties.getAdaptiveBatchScannerMaxRanges(),
+                properties.getAdaptiveBatchScannerMaxResults());
+    }
+
+    /**
+     * @return the number of seeds to put in the next batch
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Updates the batch size using the feedback from a completed batch.
+     *
+     * @param numSeeds       the number of seeds in the batch
+     * @param numRanges      the number of ranges the seeds were converted into
+     * @param numResults     the number of results returned by the batch
+     * @param durationMillis the time taken to scan the batch
+     */
+    public void update(final int numSeeds, final long numRanges, final long numResults, final long durationMillis) {
+        if (numSeeds < 1 || minBatchSize == maxBatchSize) {
+            return;
+        }
+
+        double nextBatchSize = batchSize * MAX_GROWTH;
+        if (targetBatchMillis > 0 && durationMillis > 0) {
+            nextBatchSize = Math.min(nextBatchSize, (double) targetBatchMillis * numSeeds / durationMillis);
+        }
+        if (maxRangesPerBatch > 0 && numRanges > 0) {
+            nextBatchSize = Math.min(nextBatchSize, (double) maxRangesPerBatch * numSeeds / numRanges);
+        }
+        if (maxResultsPerBatch > 0 && numResults > 0) {
+            nextBatchSize = Math.min(nextBatchSize, (double) maxResultsPerBatch * numSeeds / numResults);
+        }
+        batchSize = clamp((long) nextBatchSize);
+    }
+
+    private int clamp(final long size) {
+        return (int) Math.max(minBatchSize, Math.min(maxBatchSize, size));
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil;
+
+/**
+ * An <code>AdaptiveBatchSizerProperties</code> provides the store properties
+ * used to create an {@link AdaptiveBatchSizer} with
+ * {@link AdaptiveBatchSizer#create(AdaptiveBatchSizerProperties)}, so each
+ * store can read them from its own property keys.
+ */
+public interface AdaptiveBatchSizerProperties {
+    /**
+     * @return true if the batch size should be adapted, otherwise the batch
+     * size is fixed at {@link #getMaxEntriesForBatchScanner()}
+     */
+    boolean getAdaptiveBatchScanner();
+
+    /**
+     * @return the fixed batch size used when the batch size is not adapted
+     */
+    int getMaxEntriesForBatchScanner();
+
+    /**
+     * @return the minimum batch size, which is also the size of the first batch
+     */
+    int getAdaptiveBatchScannerMinEntries();
+
+    /**
+     * @return the maximum batch size
+     */
+    int getAdaptiveBatchScannerMaxEntries();
+
+    /**
+     * @return the target time to scan a batch, or 0 to ignore the time
+     */
+    long getAdaptiveBatchScannerTargetBatchMillis();
+
+    /**
+     * @return the maximum number of ranges in a batch, or 0 for no limit
+     */
+    long getAdaptiveBatchScannerMaxRanges();
+
+    /**
+     * @return the maximum number of results from a batch, or 0 for no limit
+     */
+    long getAdaptiveBatchScannerMaxResults();
+}
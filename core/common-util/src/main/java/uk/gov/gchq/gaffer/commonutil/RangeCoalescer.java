@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A <code>RangeCoalescer</code> is the pre-processing stage applied to each
+ * batch of seeds before it is scanned. Duplicate seeds within a batch are
+ * dropped before any ranges are created for them, then the ranges for the
+ * batch are sorted and any overlapping or adjacent ranges are merged using
+ * the store specific merge function, for example
+ * <code>Range.mergeOverlapping</code> in Accumulo or
+ * <code>MultiRowRangeFilter.sortAndMerge</code> in HBase. The number of
+ * seeds, duplicates and ranges removed by each batch are recorded in the
+ * {@link RangeCoalescingMetrics}.
+ * <p>
+ * Seeds are only deduplicated within a batch, so the memory used is bounded
+ * by the batch size. A <code>RangeCoalescer</code> should only be used by a
+ * single thread.
+ *
+ * @param <R> the type of range
+ */
+public class RangeCoalescer<R> {
+    private final Function<List<R>, List<R>> mergeFunction;
+    private final RangeCoalescingMetrics metrics;
+    private final Set<Object> batchSeeds = new HashSet<>();
+    private int numSeeds;
+
+    /**
+     * @param mergeFunction a function that sorts the ranges and merges any that overlap or are adjacent
+     * @param metrics       the metrics to record each batch in
+     */
+    public RangeCoalescer(final Function<List<R>, List<R>> mergeFunction, final RangeCoalescingMetrics metrics) {
+        this.mergeFunction = mergeFunction;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Adds a seed to the current batch.
+     *
+     * @param seed the seed
+     * @return false if the seed is a duplicate of a seed already in the
+     * current batch, in which case no ranges should be created for it
+     */
+    public boolean addSeed(final Object seed) {
+        numSeeds++;
+        return batchSeeds.add(seed);
+    }
+
+    /**
+     * Merges the ranges of the current batch and starts a new batch.
+     *
+     * @param ranges the ranges created for the seeds in the current batch
+     * @return the sorted and merged ranges
+     */
+    public List<R> coalesce(final Collection<R> ranges) {
+        final List<R> mergedRanges = ranges.isEmpty()
+                ? new ArrayList<>(0)
+                : mergeFunction.apply(new ArrayList<>(ranges));
+        if (null != metrics) {
+            metrics.record(numSeeds, numSeeds - batchSeeds.size(), ranges.size(), mergedRanges.size());
+        }
+        batchSeeds.clear();
+        numSeeds = 0;
+        return mergedRanges;
+    }
+}
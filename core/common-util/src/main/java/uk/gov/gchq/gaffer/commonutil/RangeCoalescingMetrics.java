@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <code>RangeCoalescingMetrics</code> records how many seeds and ranges a
+ * store has read, how many duplicate seeds were dropped and how many ranges
+ * were removed by merging overlapping and adjacent ranges before they were
+ * scanned. The metrics are cumulative and may be updated by many threads.
+ *
+ * @see RangeCoalescer
+ */
+public class RangeCoalescingMetrics {
+    private final AtomicLong numBatches = new AtomicLong();
+    private final AtomicLong numSeeds = new AtomicLong();
+    private final AtomicLong numDuplicateSeeds = new AtomicLong();
+    private final AtomicLong numRanges = new AtomicLong();
+    private final AtomicLong numScannedRanges = new AtomicLong();
+
+    /**
+     * Records a coalesced batch.
+     *
+     * @param seeds          the number of seeds read, including duplicates
+     * @param duplicateSeeds the number of duplicate seeds that were dropped
+     * @param ranges         the number of ranges before they were merged
+     * @param scannedRanges  the number of ranges after they were merged
+     */
+    public void record(final long seeds, final long duplicateSeeds, final long ranges, final long scannedRanges) {
+        numBatches.incrementAndGet();
+        numSeeds.addAndGet(seeds);
+        numDuplicateSeeds.addAndGet(duplicateSeeds);
+        numRanges.addAndGet(ranges);
+        numScannedRanges.addAndGet(scannedRanges);
+    }
+
+    public long getNumBatches() {
+        return numBatches.get();
+    }
+
+    public long getNumSeeds() {
+        return numSeeds.get();
+    }
+
+    public long getNumDuplicateSeeds() {
+        return numDuplicateSeeds.get();
+    }
+
+    public long getNumRanges() {
+        return numRanges.get();
+    }
+
+    public long getNumScannedRanges() {
+        return numScannedRanges.get();
+    }
+
+    /**
+     * @return the number of ranges removed by merging overlapping and adjacent ranges
+     */
+    public long getNumRangesRemoved() {
+        return numRanges.get() - numScannedRanges.get();
+    }
+
+    @Override
+    public String toString() {
+        return "RangeCoalescingMetrics{"
+                + "numBatches=" + numBatches
+                + ", numSeeds=" + numSeeds
+                + ", numDuplicateSeeds=" + numDuplicateSeeds
+                + ", numRanges=" + numRanges
+                + ", numScannedRanges=" + numScannedRanges
+                + '}';
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * A <code>SplitPointSampler</code> keeps a bounded, weighted sample of row keys
+ * and uses it to estimate split points that divide the keys into ranges of
+ * roughly equal total weight. The weight of a key is normally its serialised
+ * size, so the resulting ranges hold a similar number of bytes even if the
+ * sizes of the keys are skewed.
+ * <p>
+ * The sample is a priority sample: each key is given the priority
+ * {@code weight / u}, where {@code u} is uniformly distributed in (0, 1], and
+ * only the keys with the highest priorities are kept. Samplers built over
+ * different parts of the data, such as one per mapper, can be merged with
+ * {@link #merge(SplitPointSampler)} to give the same sample as if all the keys
+ * had been added to a single sampler, so the sample can be combined
+ * incrementally rather than sorting every key in one place.
+ */
+public class SplitPointSampler {
+    private static final Comparator<Sample> BY_PRIORITY = Comparator.comparingDouble(Sample::getPriority);
+    private static final Comparator<Sample> BY_KEY = (sample1, sample2) -> compareUnsigned(sample1.getKey(), sample2.getKey());
+
+    private final int maxSampleSize;
+    private final Random random;
+
+    // The maximum sample size plus one - the lowest priority is used as the threshold when estimating weights
+    private final PriorityQueue<Sample> samples;
+
+    public SplitPointSampler(final int maxSampleSize) {
+        this(maxSampleSize, new Random());
+    }
+
+    public SplitPointSampler(final int maxSampleSize, final Random random) {
+        if (maxSampleSize < 1) {
+            throw new IllegalArgumentException("The maximum sample size must be at least 1");
+        }
+        this.maxSampleSize = maxSampleSize;
+        this.random = random;
+        this.samples = new PriorityQueue<>(maxSampleSize + 1, BY_PRIORITY);
+    }
+
+    /**
+     * Adds a key to the sample.
+     *
+     * @param key    the row key
+     * @param weight the weight of the key, normally the serialised size of the key and its value
+     */
+    public void add(final byte[] key, final long weight) {
+        final long positiveWeight = Math.max(1L, weight);
+        // 1 - nextDouble() is in (0, 1] so the priority is always finite
+        add(new Sample(key, positiveWeight, positiveWeight / (1.0 - random.nextDouble())));
+    }
+
+    /**
+     * Adds a sample taken by another sampler, keeping its priority.
+     *
+     * @param sample the sample to add
+     */
+    public void add(final Sample sample) {
+        if (samples.size() <= maxSampleSize) {
+            samples.add(sample);
+        } else if (sample.getPriority() > samples.peek().getPriority()) {
+            samples.poll();
+            samples.add(sample);
+        }
+    }
+
+    /**
+     * Merges the samples from another sampler into this sampler.
+     *
+     * @param other the sampler to merge
+     */
+    public void merge(final SplitPointSampler other) {
+        for (final Sample sample : other.samples) {
+            add(sample);
+        }
+    }
+
+    /**
+     * @return the samples currently held, in no particular order
+     */
+    public Collection<Sample> getSamples() {
+        return Collections.unmodifiableCollection(samples);
+    }
+
+    /**
+     * Estimates the split points that divide the sampled keys into
+     * {@code numSplits + 1} ranges of roughly equal weight. The split points
+     * are distinct and sorted, so fewer than {@code numSplits} split points
+     * are returned if there are not enough distinct keys.
+     *
+     * @param numSplits the number of split points required
+     * @return the sorted split points
+     */
+    public List<byte[]> getSplitPoints(final int numSplits) {
+        if (numSplits < 1 || samples.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final List<Sample> sorted = new ArrayList<>(samples);
+        double threshold = 0;
+        if (sorted.size() > maxSampleSize) {
+            final Sample lowest = samples.peek();
+            threshold = lowest.getPriority();
+            sorted.remove(lowest);
+        }
+        sorted.sort(BY_KEY);
+
+        // Each sampled key represents the weight of max(weight, threshold), which is an unbiased estimate
+        double totalWeight = 0;
+        for (final Sample sample : sorted) {
+            totalWeight += Math.max(sample.getWeight(), threshold);
+        }
+
+        final List<byte[]> splitPoints = new ArrayList<>(numSplits);
+        double cumulativeWeight = 0;
+        for (final Sample sample : sorted) {
+            cumulativeWeight += Math.max(sample.getWeight(), threshold);
+            while (splitPoints.size() < numSplits
+                    && cumulativeWeight >= totalWeight * (splitPoints.size() + 1) / (numSplits + 1)) {
+                if (splitPoints.isEmpty() || compareUnsigned(splitPoints.get(splitPoints.size() - 1), sample.getKey()) < 0) {
+                    splitPoints.add(sample.getKey());
+                } else {
+                    break;
+                }
+            }
+            if (splitPoints.size() == numSplits) {
+                break;
+            }
+        }
+        return splitPoints;
+    }
+
+    // Keys are compared as unsigned bytes, matching the order of rows in Accumulo and HBase
+    private static int compareUnsigned(final byte[] bytes1, final byte[] bytes2) {
+        final int minLength = Math.min(bytes1.length, bytes2.length);
+        for (int i = 0; i < minLength; i++) {
+            if (bytes1[i] != bytes2[i]) {
+                return Integer.compare(Byte.toUnsignedInt(bytes1[i]), Byte.toUnsignedInt(bytes2[i]));
+            }
+        }
+        return Integer.compare(bytes1.length, bytes2.length);
+    }
+
+    /**
+     * A sampled key with its weight and priority.
+     */
+    @SuppressFBWarnings(value = {"EI_EXPOSE_REP", "EI_EXPOSE_REP2"}, justification = "Keys are not copied to avoid the cost of copying every sampled key")
+    public static final class Sample {
+        private final byte[] key;
+        private final long weight;
+        private final double priority;
+
+        public Sample(final byte[] key, final long weight, final double priority) {
+            this.key = key;
+            this.weight = weight;
+            this.priority = priority;
+        }
+
+        public byte[] getKey() {
+            return key;
+        }
+
+        public long getWeight() {
+            return weight;
+        }
+
+        public double getPriority() {
+            return priority;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * A <code>TopKHeap</code> keeps the k greatest distinct items offered to it,
+ * according to a comparator. The items are held in a min-heap bounded at k
+ * items, so each offer costs O(log k) and the memory used is proportional to
+ * k rather than to the number of items offered. An item equal to one already
+ * held is ignored.
+ * <p>
+ * Partial results, such as the top k items from each partition of a data set,
+ * can be combined by offering them all to a single <code>TopKHeap</code>.
+ * A <code>TopKHeap</code> should only be used by a single thread.
+ *
+ * @param <T> the type of item
+ */
+public class TopKHeap<T> {
+    private static final int MAX_INITIAL_CAPACITY = 1024;
+
+    private final int k;
+    private final Comparator<? super T> comparator;
+    private final PriorityQueue<T> heap;
+    private final Set<T> items = new HashSet<>();
+
+    /**
+     * @param k          the number of items to keep
+     * @param comparator the comparator used to rank the items, the greatest items are kept
+     */
+    public TopKHeap(final int k, final Comparator<? super T> comparator) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be at least 1");
+        }
+        this.k = k;
+        this.comparator = comparator;
+        this.heap = new PriorityQueue<>(Math.min(k, MAX_INITIAL_CAPACITY), comparator);
+    }
+
+    /**
+     * Offers an item to the heap. If the heap is full the item replaces the
+     * least item held, provided it is greater than it.
+     *
+     * @param item the item to offer
+     * @return true if the item is now held as one of the top k items
+     */
+    public boolean offer(final T item) {
+        if (heap.size() >= k && comparator.compare(item, heap.peek()) <= 0) {
+            return false;
+        }
+        if (!items.add(item)) {
+            return false;
+        }
+        if (heap.size() >= k) {
+            items.remove(heap.poll());
+        }
+        heap.add(item);
+        return true;
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * @return the least item held, which is the next item to be replaced, or null if the heap is empty
+     */
+    public T peek() {
+        return heap.peek();
+    }
+
+    /**
+     * @return the items held, sorted from the greatest to the least
+     */
+    public List<T> toList() {
+        final List<T> list = new ArrayList<>(heap);
+        list.sort(Collections.reverseOrder(comparator));
+        return list;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.function;
+
+/**
+ * A <code>NaryAggregator</code> is an optional contract for binary aggregators
+ * that can merge any number of values in a single pass. Merging N values
+ * pairwise creates up to N-1 intermediate results, whereas an n-ary merge
+ * feeds every value into a single result, for example one sketch union or
+ * one bitmap OR over all of the values.
+ * <p>
+ * The result must be the same as folding the values pairwise with the
+ * aggregator's binary apply method. Null values are skipped and null is
+ * returned if there are no non-null values. Implementations may iterate over
+ * the values more than once, and may modify and return the first value in the
+ * same way as their binary apply methods.
+ *
+ * @param <T> the type of values to aggregate
+ */
+public interface NaryAggregator<T> {
+    /**
+     * Aggregates all of the values in a single pass.
+     *
+     * @param values the values to aggregate
+     * @return the aggregated value, or null if there are no non-null values
+     */
+    T aggregate(final Iterable<T> values);
+}
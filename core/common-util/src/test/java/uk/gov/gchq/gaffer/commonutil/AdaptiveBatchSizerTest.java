@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class AdaptiveBatchSizerTest {
+    @Test
+    public void shouldKeepFixedBatchSize() {
+        // Given
+        final AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(100);
+
+        // When
+        sizer.update(100, 1000000, 1000000, 1000000);
+
+        // Then
+        assertEquals(100, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldDoubleBatchSizeWhenBatchesAreCheap() {
+        // Given
+        final AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(10, 10, 1000, 1000, 1000, 1000);
+
+        // When / Then
+        sizer.update(10, 10, 10, 1);
+        assertEquals(20, sizer.getBatchSize());
+        sizer.update(20, 20, 20, 1);
+        assertEquals(40, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldNotGrowBeyondMaxBatchSize() {
+        // Given
+        final AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(600, 10, 1000, 0, 0, 0);
+
+        // When
+        sizer.update(600, 600, 600, 1);
+
+        // Then
+        assertEquals(1000, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldShrinkBatchSizeWhenBatchTakesTooLong() {
+        // Given
+        final AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(1000, 10, 10000, 1000, 0, 0);
+
+        // When - 4ms per seed, so 250 seeds should take 1 second
+        sizer.update(1000, 1000, 1000, 4000);
+
+        // Then
+        assertEquals(250, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldShrinkBatchSizeWhenThereAreTooManyRanges() {
+        // Given
+        final AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(1000, 10, 10000, 0, 500, 0);
+
+        // When - 2 ranges per seed
+        sizer.update(1000, 2000, 0, 1);
+
+        // Then
+        assertEquals(250, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldShrinkBatchSizeWhenThereAreTooManyResults() {
+        // Given
+        final AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(1000, 10, 10000, 0, 0, 10000);
+
+        // When - 100 results per seed
+        sizer.update(1000, 1000, 100000, 1);
+
+        // Then
+        assertEquals(100, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldNotShrinkBelowMinBatchSize() {
+        // Given
+        final AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(1000, 50, 10000, 0, 0, 10);
+
+        // When
+        sizer.update(1000, 1000, 1000000, 1);
+
+        // Then
+        assertEquals(50, sizer.getBatchSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowExceptionWhenMaxIsLessThanMin() {
+        new AdaptiveBatchSizer(10, 100, 10, 0, 0, 0);
+    }
+}
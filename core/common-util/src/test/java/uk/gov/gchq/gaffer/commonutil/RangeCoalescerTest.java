@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil;
+
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RangeCoalescerTest {
+    @Test
+    public void shouldDropDuplicateSeedsWithinABatch() {
+        // Given
+        final RangeCoalescer<Integer> coalescer = new RangeCoalescer<>(RangeCoalescerTest::sortAndMerge, null);
+
+        // When / Then
+        assertTrue(coalescer.addSeed("a"));
+        assertTrue(coalescer.addSeed("b"));
+        assertFalse(coalescer.addSeed("a"));
+        coalescer.coalesce(Collections.emptyList());
+        assertTrue(coalescer.addSeed("a"));
+    }
+
+    @Test
+    public void shouldMergeRangesAndRecordMetrics() {
+        // Given
+        final RangeCoalescingMetrics metrics = new RangeCoalescingMetrics();
+        final RangeCoalescer<Integer> coalescer = new RangeCoalescer<>(RangeCoalescerTest::sortAndMerge, metrics);
+        coalescer.addSeed("a");
+        coalescer.addSeed("b");
+        coalescer.addSeed("a");
+        coalescer.addSeed("c");
+
+        // When
+        final List<Integer> ranges = coalescer.coalesce(Arrays.asList(3, 1, 3, 2, 1));
+
+        // Then
+        assertEquals(Arrays.asList(1, 2, 3), ranges);
+        assertEquals(1, metrics.getNumBatches());
+        assertEquals(4, metrics.getNumSeeds());
+        assertEquals(1, metrics.getNumDuplicateSeeds());
+        assertEquals(5, metrics.getNumRanges());
+        assertEquals(3, metrics.getNumScannedRanges());
+        assertEquals(2, metrics.getNumRangesRemoved());
+    }
+
+    @Test
+    public void shouldNotCallMergeFunctionForEmptyBatch() {
+        // Given
+        final RangeCoalescingMetrics metrics = new RangeCoalescingMetrics();
+        final RangeCoalescer<Integer> coalescer = new RangeCoalescer<>(ranges -> {
+            throw new AssertionError("Merge function should not be called");
+        }, metrics);
+        coalescer.addSeed("a");
+
+        // When
+        final List<Integer> ranges = coalescer.coalesce(Collections.emptyList());
+
+        // Then
+        assertTrue(ranges.isEmpty());
+        assertEquals(1, metrics.getNumSeeds());
+        assertEquals(0, metrics.getNumRanges());
+    }
+
+    private static List<Integer> sortAndMerge(final List<Integer> ranges) {
+        return new ArrayList<>(new TreeSet<>(ranges));
+    }
+}
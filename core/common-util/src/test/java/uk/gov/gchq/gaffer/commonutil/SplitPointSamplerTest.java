@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil;
+
+import org.junit.Test;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SplitPointSamplerTest {
+    @Test
+    public void shouldReturnEvenlyWeightedSplitPointsWhenAllKeysAreSampled() {
+        // Given
+        final SplitPointSampler sampler = new SplitPointSampler(1000);
+        for (int i = 99; i >= 0; i--) {
+            sampler.add(toBytes(i), 1);
+        }
+
+        // When
+        final List<byte[]> splitPoints = sampler.getSplitPoints(3);
+
+        // Then
+        assertSplitPoints(splitPoints, 24, 49, 74);
+    }
+
+    @Test
+    public void shouldAccountForTheWeightOfEachKey() {
+        // Given
+        final SplitPointSampler sampler = new SplitPointSampler(1000);
+        for (int i = 0; i < 10; i++) {
+            sampler.add(toBytes(i), 1);
+        }
+        sampler.add(toBytes(10), 90);
+
+        // When
+        final List<byte[]> splitPoints = sampler.getSplitPoints(1);
+
+        // Then
+        assertSplitPoints(splitPoints, 10);
+    }
+
+    @Test
+    public void shouldOnlyReturnDistinctSplitPoints() {
+        // Given
+        final SplitPointSampler sampler = new SplitPointSampler(1000);
+        for (int i = 0; i < 10; i++) {
+            sampler.add(toBytes(1), 1);
+        }
+
+        // When
+        final List<byte[]> splitPoints = sampler.getSplitPoints(3);
+
+        // Then
+        assertSplitPoints(splitPoints, 1);
+    }
+
+    @Test
+    public void shouldOrderKeysAsUnsignedBytes() {
+        // Given
+        final SplitPointSampler sampler = new SplitPointSampler(1000);
+        sampler.add(new byte[]{(byte) 0xFF}, 1);
+        sampler.add(new byte[]{0x01}, 1);
+        sampler.add(new byte[]{0x7F}, 1);
+
+        // When
+        final List<byte[]> splitPoints = sampler.getSplitPoints(2);
+
+        // Then
+        assertEquals(2, splitPoints.size());
+        assertArrayEquals(new byte[]{0x01}, splitPoints.get(0));
+        assertArrayEquals(new byte[]{0x7F}, splitPoints.get(1));
+    }
+
+    @Test
+    public void shouldBoundTheSampleSizeWhenMerging() {
+        // Given
+        final SplitPointSampler sampler1 = new SplitPointSampler(10);
+        final SplitPointSampler sampler2 = new SplitPointSampler(10);
+        for (int i = 0; i < 100; i++) {
+            sampler1.add(toBytes(i), 1);
+            sampler2.add(toBytes(100 + i), 1);
+        }
+
+        // When
+        sampler1.merge(sampler2);
+
+        // Then
+        assertEquals(11, sampler1.getSamples().size());
+        assertEquals(9, sampler1.getSplitPoints(9).size());
+    }
+
+    @Test
+    public void shouldEstimateSplitPointsFromMergedSamples() {
+        // Given - skewed weights, the keys in the upper half are ten times heavier
+        final Random random = new Random(0);
+        final SplitPointSampler merged = new SplitPointSampler(2000, random);
+        for (int mapper = 0; mapper < 4; mapper++) {
+            final SplitPointSampler sampler = new SplitPointSampler(2000, random);
+            for (int i = mapper; i < 100000; i += 4) {
+                sampler.add(toBytes(i), i < 50000 ? 1 : 10);
+            }
+            merged.merge(sampler);
+        }
+
+        // When
+        final List<byte[]> splitPoints = merged.getSplitPoints(3);
+
+        // Then - the total weight is 550000, so the split points are at weights 137500, 275000 and 412500
+        assertEquals(3, splitPoints.size());
+        assertWithin(58750, splitPoints.get(0));
+        assertWithin(72500, splitPoints.get(1));
+        assertWithin(86250, splitPoints.get(2));
+    }
+
+    private static void assertWithin(final int expected, final byte[] actual) {
+        final int value = ByteBuffer.wrap(actual).getInt();
+        assertTrue("Expected about " + expected + " but was " + value, Math.abs(value - expected) < 2500);
+    }
+
+    private static void assertSplitPoints(final List<byte[]> splitPoints, final int... expected) {
+        assertEquals(expected.length, splitPoints.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertTrue(Arrays.equals(toBytes(expected[i]), splitPoints.get(i)));
+        }
+    }
+
+    private static byte[] toBytes(final int value) {
+        return ByteBuffer.allocate(4).putInt(value).array();
+    }
+}
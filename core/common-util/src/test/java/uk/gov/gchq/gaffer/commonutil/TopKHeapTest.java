@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil;
+
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TopKHeapTest {
+    @Test
+    public void shouldKeepGreatestItemsInDescendingOrder() {
+        // Given
+        final TopKHeap<Integer> heap = new TopKHeap<>(3, Comparator.naturalOrder());
+
+        // When
+        for (final int i : Arrays.asList(5, 1, 9, 3, 7, 2, 8)) {
+            heap.offer(i);
+        }
+
+        // Then
+        assertEquals(Arrays.asList(9, 8, 7), heap.toList());
+    }
+
+    @Test
+    public void shouldIgnoreDuplicateItems() {
+        // Given
+        final TopKHeap<Integer> heap = new TopKHeap<>(3, Comparator.naturalOrder());
+
+        // When / Then
+        assertTrue(heap.offer(5));
+        assertFalse(heap.offer(5));
+        assertTrue(heap.offer(4));
+        assertTrue(heap.offer(3));
+        assertTrue(heap.offer(6));
+        assertFalse(heap.offer(3));
+        assertEquals(Arrays.asList(6, 5, 4), heap.toList());
+    }
+
+    @Test
+    public void shouldRejectItemsNotGreaterThanLeastItemWhenFull() {
+        // Given
+        final TopKHeap<Integer> heap = new TopKHeap<>(2, Comparator.naturalOrder());
+        heap.offer(5);
+        heap.offer(6);
+
+        // When / Then
+        assertFalse(heap.offer(5));
+        assertFalse(heap.offer(1));
+        assertEquals(2, heap.size());
+        assertEquals(Integer.valueOf(5), heap.peek());
+    }
+
+    @Test
+    public void shouldUseComparator() {
+        // Given
+        final TopKHeap<Integer> heap = new TopKHeap<>(2, Comparator.reverseOrder());
+
+        // When
+        for (final int i : Arrays.asList(5, 1, 9, 3)) {
+            heap.offer(i);
+        }
+
+        // Then
+        assertEquals(Arrays.asList(1, 3), heap.toList());
+    }
+
+    @Test
+    public void shouldMergePartialTopKs() {
+        // Given
+        final Random random = new Random(1);
+        final List<Integer> all = new ArrayList<>();
+        final TopKHeap<Integer> merged = new TopKHeap<>(10, Comparator.naturalOrder());
+        for (int partition = 0; partition < 5; partition++) {
+            final TopKHeap<Integer> partial = new TopKHeap<>(10, Comparator.naturalOrder());
+            for (int i = 0; i < 1000; i++) {
+                final int item = random.nextInt();
+                all.add(item);
+                partial.offer(item);
+            }
+
+            // When
+            for (final Integer item : partial.toList()) {
+                merged.offer(item);
+            }
+        }
+
+        // Then
+        all.sort(Collections.reverseOrder());
+        assertEquals(all.subList(0, 10), merged.toList());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowKLessThanOne() {
+        new TopKHeap<>(0, Comparator.<Integer>naturalOrder());
+    }
+}
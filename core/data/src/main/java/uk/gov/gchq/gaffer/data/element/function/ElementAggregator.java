@@ -16,18 +16,33 @@
 
 package uk.gov.gchq.gaffer.data.element.function;
 
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
+import uk.gov.gchq.gaffer.commonutil.function.NaryAggregator;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Properties;
 import uk.gov.gchq.koryphe.tuple.binaryoperator.TupleAdaptedBinaryOperator;
 import uk.gov.gchq.koryphe.tuple.binaryoperator.TupleAdaptedBinaryOperatorComposite;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.function.BinaryOperator;
 
 public class ElementAggregator extends TupleAdaptedBinaryOperatorComposite<String> {
+    /**
+     * The maximum number of properties buffered by {@link #apply(Iterator)}
+     * before they are aggregated.
+     */
+    public static final int MAX_BATCH_SIZE = 1000;
+
     private final PropertiesTuple stateTuple = new PropertiesTuple();
     private final PropertiesTuple propertiesTuple = new PropertiesTuple();
 
+    // Reused between calls, like the tuples above, so n-ary aggregation does not allocate new lists for every key
+    private final List<Properties> batch = new ArrayList<>();
+    private final List<Object> naryValues = new ArrayList<>();
+
     /**
      * Aggregates the element. Note - only the element properties are aggregated.
      * Aggregation requires elements to have the same identifiers and group.
@@ -56,6 +71,85 @@ public class ElementAggregator extends TupleAdaptedBinaryOperatorComposite<Strin
         return state;
     }
 
+    /**
+     * Aggregates all of the properties in a single pass. The properties of
+     * any component function that implements {@link NaryAggregator} are
+     * merged with a single call to {@link NaryAggregator#aggregate(Iterable)},
+     * all other functions are applied pairwise.
+     * The first properties in the list are used as the 'state' where the
+     * aggregated results will be set.
+     *
+     * @param propertiesList the properties to aggregate
+     * @return Properties - the aggregated properties
+     */
+    public Properties apply(final List<Properties> propertiesList) {
+        if (null == propertiesList || propertiesList.isEmpty()) {
+            return null;
+        }
+
+        final Properties state = propertiesList.get(0);
+        if (1 == propertiesList.size()) {
+            return state;
+        }
+
+        stateTuple.setProperties(state);
+        for (final TupleAdaptedBinaryOperator<String, ?> component : getComponents()) {
+            if (isNary(component)) {
+                aggregateAll((TupleAdaptedBinaryOperator<String, Object>) component, propertiesList);
+            } else {
+                for (int i = 1; i < propertiesList.size(); i++) {
+                    propertiesTuple.setProperties(propertiesList.get(i));
+                    component.apply(stateTuple, propertiesTuple);
+                }
+            }
+        }
+
+        return state;
+    }
+
+    /**
+     * Aggregates all of the properties from the iterator. If any component
+     * function implements {@link NaryAggregator} the properties are buffered
+     * into batches of up to {@link #MAX_BATCH_SIZE} and each batch is
+     * aggregated in a single pass using {@link #apply(List)}, otherwise the
+     * properties are aggregated pairwise as they are read.
+     *
+     * @param propertiesItr the properties to aggregate
+     * @return Properties - the aggregated properties
+     */
+    public Properties apply(final Iterator<Properties> propertiesItr) {
+        if (!propertiesItr.hasNext()) {
+            return null;
+        }
+
+        Properties state = propertiesItr.next();
+        if (!propertiesItr.hasNext()) {
+            return state;
+        }
+
+        if (!hasNaryComponent()) {
+            while (propertiesItr.hasNext()) {
+                state = apply(state, propertiesItr.next());
+            }
+            return state;
+        }
+
+        try {
+            batch.add(state);
+            while (propertiesItr.hasNext()) {
+                batch.add(propertiesItr.next());
+                if (batch.size() >= MAX_BATCH_SIZE) {
+                    state = apply(batch);
+                    batch.clear();
+                    batch.add(state);
+                }
+            }
+            return apply(batch);
+        } finally {
+            batch.clear();
+        }
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (this == obj) {
@@ -84,6 +178,42 @@ public class ElementAggregator extends TupleAdaptedBinaryOperatorComposite<Strin
                 .toHashCode();
     }
 
+    private boolean hasNaryComponent() {
+        for (final TupleAdaptedBinaryOperator<String, ?> component : getComponents()) {
+            if (isNary(component)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isNary(final TupleAdaptedBinaryOperator<String, ?> component) {
+        // Only functions with a single selected property are aggregated n-ary, as the values
+        // of multiple selected properties are adapted into a tuple that is a view over the current properties.
+        return component.getBinaryOperator() instanceof NaryAggregator
+                && null != component.getSelection()
+                && 1 == component.getSelection().length;
+    }
+
+    @SuppressFBWarnings(value = "BC_UNCONFIRMED_CAST_OF_RETURN_VALUE", justification = "Only called for n-ary components")
+    private void aggregateAll(final TupleAdaptedBinaryOperator<String, Object> component,
+                              final List<Properties> propertiesList) {
+        try {
+            for (final Properties properties : propertiesList) {
+                propertiesTuple.setProperties(properties);
+                final Object value = component.getInputAdapter().apply(propertiesTuple);
+                if (null != value) {
+                    naryValues.add(value);
+                }
+            }
+
+            final Object result = ((NaryAggregator<Object>) component.getBinaryOperator()).aggregate(naryValues);
+            component.getOutputAdapter().apply(stateTuple, result);
+        } finally {
+            naryValues.clear();
+        }
+    }
+
     public static class Builder {
         private final ElementAggregator aggregator;
 
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element.function;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import uk.gov.gchq.gaffer.data.element.Element;
+import java.util.Comparator;
+
+/**
+ * An <code>ElementPropertyComparator</code> compares {@link Element}s by the
+ * value of a single property. The values are compared using the provided
+ * comparator, or by their natural ordering if no comparator is set, in which
+ * case the values must be {@link Comparable}. Elements without the property
+ * are ordered before all other elements.
+ */
+@SuppressFBWarnings(value = "SE_COMPARATOR_SHOULD_BE_SERIALIZABLE", justification = "This is serialised to json")
+public class ElementPropertyComparator implements Comparator<Element> {
+    private String property;
+    private Comparator<Object> comparator;
+
+    public ElementPropertyComparator() {
+    }
+
+    public ElementPropertyComparator(final String property, final Comparator<Object> comparator) {
+        this.property = property;
+        this.comparator = comparator;
+    }
+
+    @Override
+    public int compare(final Element element1, final Element element2) {
+        return compareValues(element1.getProperty(property), element2.getProperty(property));
+    }
+
+    /**
+     * Compares two property values in the same way elements are compared.
+     *
+     * @param value1 the first property value
+     * @param value2 the second property value
+     * @return a negative integer, zero, or a positive integer as the first value
+     * is less than, equal to, or greater than the second.
+     */
+    @SuppressWarnings("unchecked")
+    public int compareValues(final Object value1, final Object value2) {
+        if (null == value1) {
+            return null == value2 ? 0 : -1;
+        }
+        if (null == value2) {
+            return 1;
+        }
+        if (null == comparator) {
+            return ((Comparable<Object>) value1).compareTo(value2);
+        }
+        return comparator.compare(value1, value2);
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public void setProperty(final String property) {
+        this.property = property;
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY, property = "class")
+    public Comparator<Object> getComparator() {
+        return comparator;
+    }
+
+    public void setComparator(final Comparator<Object> comparator) {
+        this.comparator = comparator;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        final ElementPropertyComparator that = (ElementPropertyComparator) obj;
+
+        return new EqualsBuilder()
+                .append(property, that.property)
+                .append(comparator, that.comparator)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 37)
+                .append(property)
+                .append(comparator)
+                .toHashCode();
+    }
+}
@@ -17,12 +17,16 @@
 package uk.gov.gchq.gaffer.data.element.function;
 
 import org.junit.Test;
+import uk.gov.gchq.gaffer.commonutil.function.NaryAggregator;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Properties;
 import uk.gov.gchq.koryphe.binaryoperator.KorypheBinaryOperator;
 import uk.gov.gchq.koryphe.tuple.binaryoperator.TupleAdaptedBinaryOperator;
 import uk.gov.gchq.koryphe.tuple.n.Tuple3;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.function.BinaryOperator;
 
 import static org.junit.Assert.assertEquals;
@@ -275,4 +279,123 @@ public class ElementAggregatorTest {
 
         assertEquals(i, aggregator.getComponents().size());
     }
+
+    @Test
+    public void shouldAggregateListOfPropertiesUsingNaryAndBinaryFunctions() {
+        // Given
+        final String naryReference = "reference1";
+        final String binaryReference = "reference2";
+        final NarySum narySum = new NarySum();
+        final NarySum binarySum = new NarySum();
+
+        final ElementAggregator aggregator = new ElementAggregator.Builder()
+                .select(naryReference)
+                .execute(narySum)
+                .select(binaryReference)
+                .execute((BinaryOperator<Integer>) (a, b) -> binarySum.apply(a, b))
+                .build();
+
+        final List<Properties> propertiesList = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            final Properties properties = new Properties(naryReference, i);
+            properties.put(binaryReference, i * 10);
+            propertiesList.add(properties);
+        }
+
+        // When
+        final Properties result = aggregator.apply(propertiesList);
+
+        // Then
+        assertSame(propertiesList.get(0), result);
+        assertEquals(10, result.get(naryReference));
+        assertEquals(100, result.get(binaryReference));
+        assertEquals(1, narySum.aggregateCount);
+        assertEquals(0, narySum.applyCount);
+        assertEquals(0, binarySum.aggregateCount);
+        assertEquals(3, binarySum.applyCount);
+    }
+
+    @Test
+    public void shouldSkipNullValuesWhenAggregatingListOfProperties() {
+        // Given
+        final String reference = "reference1";
+        final ElementAggregator aggregator = new ElementAggregator.Builder()
+                .select(reference)
+                .execute(new NarySum())
+                .build();
+
+        // When
+        final Properties result = aggregator.apply(Arrays.asList(
+                new Properties(),
+                new Properties(reference, 2),
+                new Properties(reference, 3)));
+
+        // Then
+        assertEquals(5, result.get(reference));
+    }
+
+    @Test
+    public void shouldAggregateIteratorOfPropertiesInBatches() {
+        // Given
+        final String reference = "reference1";
+        final NarySum narySum = new NarySum();
+        final ElementAggregator aggregator = new ElementAggregator.Builder()
+                .select(reference)
+                .execute(narySum)
+                .build();
+
+        final int numProperties = ElementAggregator.MAX_BATCH_SIZE * 2 + 1;
+        final List<Properties> propertiesList = new ArrayList<>();
+        for (int i = 0; i < numProperties; i++) {
+            propertiesList.add(new Properties(reference, 1));
+        }
+
+        // When
+        final Properties result = aggregator.apply(propertiesList.iterator());
+
+        // Then
+        assertEquals(numProperties, result.get(reference));
+        assertEquals(3, narySum.aggregateCount);
+        assertEquals(0, narySum.applyCount);
+    }
+
+    @Test
+    public void shouldAggregateIteratorOfPropertiesPairwiseWithoutNaryFunctions() {
+        // Given
+        final String reference = "reference1";
+        final ElementAggregator aggregator = new ElementAggregator.Builder()
+                .select(reference)
+                .execute((BinaryOperator<Integer>) (a, b) -> a + b)
+                .build();
+
+        // When
+        final Properties result = aggregator.apply(Arrays.asList(
+                new Properties(reference, 1),
+                new Properties(reference, 2),
+                new Properties(reference, 3)).iterator());
+
+        // Then
+        assertEquals(6, result.get(reference));
+    }
+
+    private static final class NarySum extends KorypheBinaryOperator<Integer> implements NaryAggregator<Integer> {
+        private int applyCount;
+        private int aggregateCount;
+
+        @Override
+        protected Integer _apply(final Integer a, final Integer b) {
+            applyCount++;
+            return a + b;
+        }
+
+        @Override
+        public Integer aggregate(final Iterable<Integer> values) {
+            aggregateCount++;
+            Integer result = null;
+            for (final Integer value : values) {
+                result = null == result ? value : result + value;
+            }
+            return result;
+        }
+    }
 }
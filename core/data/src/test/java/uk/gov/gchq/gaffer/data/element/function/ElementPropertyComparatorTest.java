@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element.function;
+
+import org.junit.Test;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import java.util.Comparator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ElementPropertyComparatorTest {
+    @Test
+    public void shouldCompareElementsByNaturalOrderingOfProperty() {
+        // Given
+        final ElementPropertyComparator comparator = new ElementPropertyComparator(TestPropertyNames.COUNT, null);
+
+        // When / Then
+        assertTrue(comparator.compare(createEntity(1), createEntity(2)) < 0);
+        assertTrue(comparator.compare(createEntity(2), createEntity(1)) > 0);
+        assertEquals(0, comparator.compare(createEntity(2), createEntity(2)));
+    }
+
+    @Test
+    public void shouldCompareElementsUsingComparator() {
+        // Given
+        final ElementPropertyComparator comparator = new ElementPropertyComparator(TestPropertyNames.COUNT, new ReverseComparator());
+
+        // When / Then
+        assertTrue(comparator.compare(createEntity(1), createEntity(2)) > 0);
+        assertTrue(comparator.compare(createEntity(2), createEntity(1)) < 0);
+    }
+
+    @Test
+    public void shouldOrderElementsWithoutPropertyFirst() {
+        // Given
+        final ElementPropertyComparator comparator = new ElementPropertyComparator(TestPropertyNames.COUNT, null);
+        final Entity withoutProperty = new Entity(TestGroups.ENTITY, "vertex");
+
+        // When / Then
+        assertTrue(comparator.compare(withoutProperty, createEntity(1)) < 0);
+        assertTrue(comparator.compare(createEntity(1), withoutProperty) > 0);
+        assertEquals(0, comparator.compare(withoutProperty, withoutProperty));
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialise() throws SerialisationException {
+        // Given
+        final ElementPropertyComparator comparator = new ElementPropertyComparator(TestPropertyNames.COUNT, new ReverseComparator());
+        final JSONSerialiser serialiser = new JSONSerialiser();
+
+        // When
+        final byte[] json = serialiser.serialise(comparator);
+        final ElementPropertyComparator deserialised = serialiser.deserialise(json, ElementPropertyComparator.class);
+
+        // Then
+        assertEquals(comparator, deserialised);
+        assertTrue(deserialised.getComparator() instanceof ReverseComparator);
+    }
+
+    private static Entity createEntity(final int count) {
+        final Entity entity = new Entity(TestGroups.ENTITY, "vertex");
+        entity.putProperty(TestPropertyNames.COUNT, count);
+        return entity;
+    }
+
+    public static class ReverseComparator implements Comparator<Object> {
+        @SuppressWarnings("unchecked")
+        @Override
+        public int compare(final Object value1, final Object value2) {
+            return ((Comparable<Object>) value2).compareTo(value1);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return null != obj && getClass() == obj.getClass();
+        }
+
+        @Override
+        public int hashCode() {
+            return getClass().hashCode();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.operation.impl.get;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.type.TypeReference;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.Options;
+import uk.gov.gchq.gaffer.operation.graph.GraphFilters.DirectedType;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
+import uk.gov.gchq.gaffer.operation.io.InputOutput;
+import uk.gov.gchq.gaffer.operation.io.MultiInput;
+import uk.gov.gchq.gaffer.operation.serialisation.TypeReferenceImpl;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A <code>GetMultiHopAdjacentIds</code> operation runs a bounded breadth first
+ * expansion from the provided seeds within the store. Each hop gets the
+ * vertices adjacent to the current frontier using the view for that hop, so
+ * the number of hops is the number of views. The frontier of each hop is
+ * deduplicated, and vertices that have already been visited are not expanded
+ * again. The result is the frontier after the final hop.
+ * <p>
+ * The visited vertices are held in memory, up to maxVisitedIds. Once this
+ * limit is reached, vertices found in later hops are no longer recorded as
+ * visited, so they may be expanded again.
+ *
+ * @see uk.gov.gchq.gaffer.operation.impl.get.GetMultiHopAdjacentIds.Builder
+ */
+public class GetMultiHopAdjacentIds implements
+        Operation,
+        InputOutput<Iterable<? extends EntityId>, CloseableIterable<? extends EntityId>>,
+        MultiInput<EntityId>,
+        Options {
+    public static final int DEFAULT_MAX_VISITED_IDS = 1000000;
+
+    private Iterable<? extends EntityId> input;
+    private List<View> views = new ArrayList<>();
+    private DirectedType directedType;
+    private IncludeIncomingOutgoingType inOutType;
+    private int maxVisitedIds = DEFAULT_MAX_VISITED_IDS;
+    private Map<String, String> options;
+
+    @Override
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "class")
+    public Object[] createInputArray() {
+        return MultiInput.super.createInputArray();
+    }
+
+    @Override
+    public Iterable<? extends EntityId> getInput() {
+        return input;
+    }
+
+    @Override
+    public void setInput(final Iterable<? extends EntityId> input) {
+        this.input = input;
+    }
+
+    /**
+     * @return the views to apply to each hop, the number of hops is the number of views.
+     */
+    public List<View> getViews() {
+        return views;
+    }
+
+    public void setViews(final List<View> views) {
+        this.views = views;
+    }
+
+    public DirectedType getDirectedType() {
+        return directedType;
+    }
+
+    public void setDirectedType(final DirectedType directedType) {
+        this.directedType = directedType;
+    }
+
+    public IncludeIncomingOutgoingType getIncludeIncomingOutGoing() {
+        return inOutType;
+    }
+
+    public void setIncludeIncomingOutGoing(final IncludeIncomingOutgoingType inOutType) {
+        this.inOutType = inOutType;
+    }
+
+    public int getMaxVisitedIds() {
+        return maxVisitedIds;
+    }
+
+    public void setMaxVisitedIds(final int maxVisitedIds) {
+        this.maxVisitedIds = maxVisitedIds;
+    }
+
+    @Override
+    public TypeReference<CloseableIterable<? extends EntityId>> getOutputTypeReference() {
+        return new TypeReferenceImpl.CloseableIterableEntityId();
+    }
+
+    @Override
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(final Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static class Builder extends Operation.BaseBuilder<GetMultiHopAdjacentIds, Builder>
+            implements InputOutput.Builder<GetMultiHopAdjacentIds, Iterable<? extends EntityId>, CloseableIterable<? extends EntityId>, Builder>,
+            MultiInput.Builder<GetMultiHopAdjacentIds, EntityId, Builder>,
+            Options.Builder<GetMultiHopAdjacentIds, Builder> {
+        public Builder() {
+            super(new GetMultiHopAdjacentIds());
+        }
+
+        public Builder views(final View... views) {
+            _getOp().getViews().addAll(Arrays.asList(views));
+            return _self();
+        }
+
+        public Builder views(final List<View> views) {
+            _getOp().setViews(views);
+            return _self();
+        }
+
+        public Builder directedType(final DirectedType directedType) {
+            _getOp().setDirectedType(directedType);
+            return _self();
+        }
+
+        public Builder inOutType(final IncludeIncomingOutgoingType inOutType) {
+            _getOp().setIncludeIncomingOutGoing(inOutType);
+            return _self();
+        }
+
+        public Builder maxVisitedIds(final int maxVisitedIds) {
+            _getOp().setMaxVisitedIds(maxVisitedIds);
+            return _self();
+        }
+    }
+}
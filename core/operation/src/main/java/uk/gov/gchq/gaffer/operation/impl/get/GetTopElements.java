@@ -0,0 +1,202 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.operation.impl.get;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.type.TypeReference;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.Options;
+import uk.gov.gchq.gaffer.operation.SeedMatching;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters;
+import uk.gov.gchq.gaffer.operation.io.InputOutput;
+import uk.gov.gchq.gaffer.operation.io.MultiInput;
+import uk.gov.gchq.gaffer.operation.serialisation.TypeReferenceImpl;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * A <code>GetTopElements</code> operation gets the elements with the greatest
+ * values of a property. The values are compared using the provided
+ * comparator, or by their natural ordering if no comparator is set. At most
+ * limit elements are returned, sorted from the greatest value to the least.
+ * <p>
+ * If seeds are provided the elements are fetched as in {@link GetElements},
+ * otherwise all elements in the graph are ranked. Elements without the
+ * property are not returned and equal elements are only returned once.
+ * Stores push the ranking down to where the data is read where they are able
+ * to, so only the top elements of each partition are transferred.
+ *
+ * @see uk.gov.gchq.gaffer.operation.impl.get.GetTopElements.Builder
+ */
+public class GetTopElements implements
+        Operation,
+        InputOutput<Iterable<? extends ElementId>, CloseableIterable<? extends Element>>,
+        MultiInput<ElementId>,
+        SeededGraphFilters,
+        SeedMatching,
+        Options {
+    public static final int DEFAULT_LIMIT = 100;
+
+    private SeedMatchingType seedMatching;
+    private View view;
+    private IncludeIncomingOutgoingType inOutType;
+    private DirectedType directedType;
+    private Iterable<? extends ElementId> input;
+    private String property;
+    private Comparator<Object> comparator;
+    private int limit = DEFAULT_LIMIT;
+    private Map<String, String> options;
+
+    @Override
+    public void setSeedMatching(final SeedMatchingType seedMatching) {
+        this.seedMatching = seedMatching;
+    }
+
+    @Override
+    public SeedMatchingType getSeedMatching() {
+        return seedMatching;
+    }
+
+    @Override
+    public IncludeIncomingOutgoingType getIncludeIncomingOutGoing() {
+        return inOutType;
+    }
+
+    @Override
+    public void setIncludeIncomingOutGoing(final IncludeIncomingOutgoingType inOutType) {
+        this.inOutType = inOutType;
+    }
+
+    @Override
+    public View getView() {
+        return view;
+    }
+
+    @Override
+    public void setView(final View view) {
+        this.view = view;
+    }
+
+    @Override
+    public DirectedType getDirectedType() {
+        return directedType;
+    }
+
+    @Override
+    public void setDirectedType(final DirectedType directedType) {
+        this.directedType = directedType;
+    }
+
+    /**
+     * @return the seeds, or null if all elements should be ranked.
+     */
+    @Override
+    public Iterable<? extends ElementId> getInput() {
+        return input;
+    }
+
+    @Override
+    public void setInput(final Iterable<? extends ElementId> input) {
+        this.input = input;
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "class")
+    @Override
+    public Object[] createInputArray() {
+        return MultiInput.super.createInputArray();
+    }
+
+    /**
+     * @return the name of the property to rank the elements by.
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    public void setProperty(final String property) {
+        this.property = property;
+    }
+
+    /**
+     * @return the comparator used to compare the property values, or null if
+     * the values should be compared by their natural ordering.
+     */
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY, property = "class")
+    public Comparator<Object> getComparator() {
+        return comparator;
+    }
+
+    public void setComparator(final Comparator<Object> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * @return the maximum number of elements to return.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(final int limit) {
+        this.limit = limit;
+    }
+
+    @Override
+    public TypeReference<CloseableIterable<? extends Element>> getOutputTypeReference() {
+        return new TypeReferenceImpl.CloseableIterableElement();
+    }
+
+    @Override
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(final Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static class Builder extends Operation.BaseBuilder<GetTopElements, Builder>
+            implements InputOutput.Builder<GetTopElements, Iterable<? extends ElementId>, CloseableIterable<? extends Element>, Builder>,
+            MultiInput.Builder<GetTopElements, ElementId, Builder>,
+            SeededGraphFilters.Builder<GetTopElements, Builder>,
+            SeedMatching.Builder<GetTopElements, Builder>,
+            Options.Builder<GetTopElements, Builder> {
+        public Builder() {
+            super(new GetTopElements());
+        }
+
+        public Builder property(final String property) {
+            _getOp().setProperty(property);
+            return _self();
+        }
+
+        public Builder comparator(final Comparator<Object> comparator) {
+            _getOp().setComparator(comparator);
+            return _self();
+        }
+
+        public Builder limit(final int limit) {
+            _getOp().setLimit(limit);
+            return _self();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.operation.impl.get;
+
+import org.junit.Test;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationTest;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.graph.GraphFilters.DirectedType;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
+import java.util.Iterator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GetMultiHopAdjacentIdsTest implements OperationTest {
+    private static final JSONSerialiser serialiser = new JSONSerialiser();
+
+    @Test
+    @Override
+    public void shouldSerialiseAndDeserialiseOperation() throws SerialisationException {
+        // Given
+        final EntityId entitySeed = new EntitySeed("identifier");
+        final GetMultiHopAdjacentIds op = new GetMultiHopAdjacentIds.Builder()
+                .input(entitySeed)
+                .views(new View.Builder()
+                                .edge("edgeGroup1")
+                                .build(),
+                        new View.Builder()
+                                .edge("edgeGroup2")
+                                .build())
+                .directedType(DirectedType.DIRECTED)
+                .inOutType(IncludeIncomingOutgoingType.OUTGOING)
+                .maxVisitedIds(10)
+                .build();
+
+        // When
+        final byte[] json = serialiser.serialise(op, true);
+        final GetMultiHopAdjacentIds deserialisedOp = serialiser.deserialise(json, GetMultiHopAdjacentIds.class);
+
+        // Then
+        final Iterator itr = deserialisedOp.getInput().iterator();
+        assertEquals(entitySeed, itr.next());
+        assertFalse(itr.hasNext());
+        assertEquals(2, deserialisedOp.getViews().size());
+        assertTrue(deserialisedOp.getViews().get(0).getEdgeGroups().contains("edgeGroup1"));
+        assertTrue(deserialisedOp.getViews().get(1).getEdgeGroups().contains("edgeGroup2"));
+        assertEquals(DirectedType.DIRECTED, deserialisedOp.getDirectedType());
+        assertEquals(IncludeIncomingOutgoingType.OUTGOING, deserialisedOp.getIncludeIncomingOutGoing());
+        assertEquals(10, deserialisedOp.getMaxVisitedIds());
+    }
+
+    @Test
+    @Override
+    public void builderShouldCreatePopulatedOperation() {
+        // When
+        final GetMultiHopAdjacentIds op = new GetMultiHopAdjacentIds.Builder()
+                .input(new EntitySeed("A"))
+                .views(new View(), new View())
+                .inOutType(IncludeIncomingOutgoingType.BOTH)
+                .option("key", "value")
+                .build();
+
+        // Then
+        assertEquals(new EntitySeed("A"), op.getInput().iterator().next());
+        assertEquals(2, op.getViews().size());
+        assertEquals(IncludeIncomingOutgoingType.BOTH, op.getIncludeIncomingOutGoing());
+        assertEquals("value", op.getOption("key"));
+        assertEquals(GetMultiHopAdjacentIds.DEFAULT_MAX_VISITED_IDS, op.getMaxVisitedIds());
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.operation.impl.get;
+
+import org.junit.Test;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationTest;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
+import java.util.Comparator;
+import java.util.Iterator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class GetTopElementsTest implements OperationTest {
+    private static final JSONSerialiser serialiser = new JSONSerialiser();
+
+    @Test
+    @Override
+    public void shouldSerialiseAndDeserialiseOperation() throws SerialisationException {
+        // Given
+        final ElementId elementSeed = new EntitySeed("identifier");
+        final GetTopElements op = new GetTopElements.Builder()
+                .input(elementSeed)
+                .view(new View.Builder()
+                        .edge("edgeGroup")
+                        .build())
+                .property("count")
+                .comparator(new ReverseComparator())
+                .limit(10)
+                .build();
+
+        // When
+        final byte[] json = serialiser.serialise(op, true);
+        final GetTopElements deserialisedOp = serialiser.deserialise(json, GetTopElements.class);
+
+        // Then
+        final Iterator itr = deserialisedOp.getInput().iterator();
+        assertEquals(elementSeed, itr.next());
+        assertFalse(itr.hasNext());
+        assertTrue(deserialisedOp.getView().getEdgeGroups().contains("edgeGroup"));
+        assertEquals("count", deserialisedOp.getProperty());
+        assertTrue(deserialisedOp.getComparator() instanceof ReverseComparator);
+        assertEquals(10, deserialisedOp.getLimit());
+    }
+
+    @Test
+    @Override
+    public void builderShouldCreatePopulatedOperation() {
+        // When
+        final GetTopElements op = new GetTopElements.Builder()
+                .input(new EntitySeed("A"))
+                .inOutType(IncludeIncomingOutgoingType.OUTGOING)
+                .property("count")
+                .option("key", "value")
+                .build();
+
+        // Then
+        assertEquals(new EntitySeed("A"), op.getInput().iterator().next());
+        assertEquals(IncludeIncomingOutgoingType.OUTGOING, op.getIncludeIncomingOutGoing());
+        assertEquals("count", op.getProperty());
+        assertNull(op.getComparator());
+        assertEquals(GetTopElements.DEFAULT_LIMIT, op.getLimit());
+        assertEquals("value", op.getOption("key"));
+    }
+
+    public static class ReverseComparator implements Comparator<Object> {
+        @SuppressWarnings("unchecked")
+        @Override
+        public int compare(final Object value1, final Object value2) {
+            return ((Comparable<Object>) value2).compareTo(value1);
+        }
+    }
+}
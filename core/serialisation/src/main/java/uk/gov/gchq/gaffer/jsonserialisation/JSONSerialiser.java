@@ -22,9 +22,13 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.module.SimpleModule;
@@ -32,22 +36,42 @@ import com.fasterxml.jackson.databind.ser.BeanPropertyFilter;
 import com.fasterxml.jackson.databind.ser.FilterProvider;
 import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
 import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
-import org.apache.commons.io.IOUtils;
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jsonserialisation.jackson.CloseableIterableDeserializer;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * A <code>JSONSerialiser</code> provides the ability to serialise and deserialise to/from JSON.
  * The serialisation is set to not include nulls or default values.
+ * <p>
+ * The {@link ObjectWriter}s and {@link ObjectReader}s used are thread safe, so
+ * they are created once for each set of excluded fields and each type and then
+ * reused. As they take a copy of the mapper configuration when they are created,
+ * any custom configuration of the mapper must be done before the serialiser is used.
  */
 public class JSONSerialiser {
     public static final String FILTER_FIELDS_BY_NAME = "filterFieldsByName";
-    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * The maximum number of writers for different sets of excluded fields that are cached.
+     */
+    private static final int MAX_CACHED_WRITERS = 100;
 
     private final ObjectMapper mapper;
+    private final ConcurrentMap<List<String>, ObjectWriter> writers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
 
     /**
      * Constructs a <code>JSONSerialiser</code> that skips nulls and default values.
@@ -93,7 +117,19 @@ public class JSONSerialiser {
     }
 
     public static ObjectMapper createDefaultMapper() {
-        final ObjectMapper mapper = new ObjectMapper();
+        return createDefaultMapper(null);
+    }
+
+    /**
+     * Creates a default mapper that writes and reads using the provided
+     * {@link JsonFactory}. This allows the same mapper configuration to be
+     * used with binary formats such as Smile.
+     *
+     * @param jsonFactory the json factory to use, or null to use the default json factory
+     * @return the default mapper using the provided json factory
+     */
+    public static ObjectMapper createDefaultMapper(final JsonFactory jsonFactory) {
+        final ObjectMapper mapper = new ObjectMapper(jsonFactory);
         mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
         mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
         mapper.configure(SerializationFeature.CLOSE_CLOSEABLE, true);
@@ -155,7 +191,7 @@ public class JSONSerialiser {
     public byte[] serialise(final Object object, final boolean prettyPrint, final String... fieldsToExclude) throws SerialisationException {
         final ByteArrayBuilder byteArrayBuilder = new ByteArrayBuilder();
         try {
-            serialise(object, JSON_FACTORY.createGenerator(byteArrayBuilder, JsonEncoding.UTF8), prettyPrint, fieldsToExclude);
+            serialise(object, mapper.getFactory().createGenerator(byteArrayBuilder, JsonEncoding.UTF8), prettyPrint, fieldsToExclude);
         } catch (final IOException e) {
             throw new SerialisationException(e.getMessage(), e);
         }
@@ -178,7 +214,7 @@ public class JSONSerialiser {
             jsonGenerator.useDefaultPrettyPrinter();
         }
 
-        final ObjectWriter writer = mapper.writer(getFilterProvider(fieldsToExclude));
+        final ObjectWriter writer = getWriter(fieldsToExclude);
         try {
             writer.writeValue(jsonGenerator, object);
         } catch (final IOException e) {
@@ -195,7 +231,7 @@ public class JSONSerialiser {
      */
     public <T> T deserialise(final byte[] bytes, final Class<T> clazz) throws SerialisationException {
         try {
-            return mapper.readValue(bytes, clazz);
+            return getReader(clazz).readValue(bytes);
         } catch (final IOException e) {
             throw new SerialisationException(e.getMessage(), e);
         }
@@ -210,8 +246,7 @@ public class JSONSerialiser {
      */
     public <T> T deserialise(final InputStream stream, final Class<T> clazz) throws SerialisationException {
         try (final InputStream stream2 = stream) {
-            final byte[] bytes = IOUtils.toByteArray(stream2);
-            return deserialise(bytes, clazz);
+            return getReader(clazz).readValue(stream2);
         } catch (final IOException e) {
             throw new SerialisationException(e.getMessage(), e);
         }
@@ -226,7 +261,7 @@ public class JSONSerialiser {
      */
     public <T> T deserialise(final byte[] bytes, final TypeReference<T> type) throws SerialisationException {
         try {
-            return mapper.readValue(bytes, type);
+            return getReader(type).readValue(bytes);
         } catch (final IOException e) {
             throw new SerialisationException(e.getMessage(), e);
         }
@@ -241,15 +276,150 @@ public class JSONSerialiser {
      */
     public <T> T deserialise(final InputStream stream, final TypeReference<T> type) throws SerialisationException {
         try (final InputStream stream2 = stream) {
-            final byte[] bytes = IOUtils.toByteArray(stream2);
-            return deserialise(bytes, type);
+            return getReader(type).readValue(stream2);
         } catch (final IOException e) {
             throw new SerialisationException(e.getMessage(), e);
         }
     }
 
+    /**
+     * Lazily deserialises a json array from the provided {@link InputStream},
+     * one item at a time. Only the current item is held in memory, so this can
+     * be used to read large arrays of elements. A json null or empty stream is
+     * treated as an empty array.
+     * <p>
+     * The stream is closed when the array has been fully read or when the
+     * returned iterator is closed.
+     *
+     * @param stream the {@link java.io.InputStream} containing the json array
+     * @param clazz  the class of the items in the array
+     * @param <T>    the type of the items
+     * @return an iterator over the deserialised items
+     * @throws SerialisationException if the stream does not contain a json array
+     */
+    public <T> CloseableIterator<T> deserialiseIterator(final InputStream stream, final Class<T> clazz) throws SerialisationException {
+        try {
+            return new JsonArrayIterator<>(mapper.getFactory().createParser(stream), getReader(clazz), stream);
+        } catch (final IOException | RuntimeException e) {
+            CloseableUtil.close(stream);
+            throw new SerialisationException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gets the {@link ObjectMapper} used by this serialiser.
+     * <p>
+     * The cached {@link ObjectReader}s and {@link ObjectWriter}s take a copy of
+     * the mapper configuration when they are first used, so changes made to the
+     * returned mapper after the serialiser has been used are not seen by types
+     * or excluded fields that have already been serialised or deserialised.
+     *
+     * @return the object mapper
+     */
     @JsonIgnore
     public ObjectMapper getMapper() {
         return mapper;
     }
+
+    private ObjectWriter getWriter(final String... fieldsToExclude) {
+        final List<String> key = null == fieldsToExclude ? Collections.emptyList() : Arrays.asList(fieldsToExclude);
+        ObjectWriter writer = writers.get(key);
+        if (null == writer) {
+            writer = mapper.writer(getFilterProvider(fieldsToExclude));
+            // Avoid unbounded growth if many different sets of fields are excluded
+            if (writers.size() < MAX_CACHED_WRITERS) {
+                final ObjectWriter existingWriter = writers.putIfAbsent(new ArrayList<>(key), writer);
+                if (null != existingWriter) {
+                    writer = existingWriter;
+                }
+            }
+        }
+        return writer;
+    }
+
+    private ObjectReader getReader(final Class<?> clazz) {
+        return readers.computeIfAbsent(clazz, type -> createReader(mapper.getTypeFactory().constructType(clazz)));
+    }
+
+    private ObjectReader getReader(final TypeReference<?> typeReference) {
+        return readers.computeIfAbsent(typeReference.getType(), type -> createReader(mapper.getTypeFactory().constructType(typeReference)));
+    }
+
+    // ObjectMapper.readerFor was only added in jackson 2.6, so use the
+    // deprecated 'reader' method to stay compatible with older versions of jackson
+    @SuppressWarnings("deprecation")
+    private ObjectReader createReader(final JavaType type) {
+        return mapper.reader(type);
+    }
+
+    private static final class JsonArrayIterator<T> implements CloseableIterator<T> {
+        private final JsonParser parser;
+        private final ObjectReader reader;
+        private final InputStream stream;
+        private T nextItem;
+        private boolean hasNextItem;
+        private boolean finished;
+
+        private JsonArrayIterator(final JsonParser parser, final ObjectReader reader, final InputStream stream) throws IOException {
+            this.parser = parser;
+            this.reader = reader;
+            this.stream = stream;
+
+            final JsonToken firstToken = parser.nextToken();
+            if (null == firstToken || JsonToken.VALUE_NULL == firstToken) {
+                close();
+            } else if (JsonToken.START_ARRAY != firstToken) {
+                close();
+                throw new IOException("Expected a json array but found: " + firstToken);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (hasNextItem) {
+                return true;
+            }
+
+            if (finished) {
+                return false;
+            }
+
+            try {
+                final JsonToken token = parser.nextToken();
+                if (null == token || JsonToken.END_ARRAY == token) {
+                    close();
+                    return false;
+                }
+
+                nextItem = reader.readValue(parser);
+                hasNextItem = true;
+            } catch (final IOException e) {
+                close();
+                throw new RuntimeException("Unable to deserialise json array item: " + e.getMessage(), e);
+            }
+
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final T item = nextItem;
+            nextItem = null;
+            hasNextItem = false;
+            return item;
+        }
+
+        @Override
+        public void close() {
+            finished = true;
+            nextItem = null;
+            hasNextItem = false;
+            CloseableUtil.close(parser);
+            CloseableUtil.close(stream);
+        }
+    }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.jsonserialisation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * A <code>SmileSerialiser</code> is a {@link JSONSerialiser} that serialises
+ * to and from the binary Jackson Smile format rather than JSON text. It uses the
+ * same mapper configuration as the default JSONSerialiser so any object that
+ * can be serialised to JSON can be serialised to Smile. Smile is more compact
+ * and cheaper to encode and decode than JSON text, so it is useful for
+ * transferring large numbers of elements between Gaffer components.
+ */
+public class SmileSerialiser extends JSONSerialiser {
+    public static final String SMILE_MEDIA_TYPE = "application/x-jackson-smile";
+
+    /**
+     * Constructs a <code>SmileSerialiser</code> that skips nulls and default values.
+     */
+    public SmileSerialiser() {
+        this(createDefaultMapper(new SmileFactory()));
+    }
+
+    /**
+     * Constructs a <code>SmileSerialiser</code> with the same configuration,
+     * including any registered modules, as the mapper of the provided
+     * {@link JSONSerialiser}.
+     *
+     * @param jsonSerialiser the json serialiser to copy the configuration from
+     */
+    public SmileSerialiser(final JSONSerialiser jsonSerialiser) {
+        this(createSmileMapper(jsonSerialiser.getMapper()));
+    }
+
+    /**
+     * Constructs a <code>SmileSerialiser</code> with a custom {@link ObjectMapper}.
+     * The mapper should be created using a {@link SmileFactory}.
+     *
+     * @param mapper a custom object mapper
+     */
+    public SmileSerialiser(final ObjectMapper mapper) {
+        super(mapper);
+    }
+
+    /**
+     * Creates a mapper that writes and reads Smile using the same configuration
+     * as the provided json mapper, including the serialisers and deserialisers
+     * of any registered modules. The json mapper should be fully configured
+     * before this is called, as some of the configuration is shared.
+     *
+     * @param jsonMapper the json mapper to copy the configuration from
+     * @return a mapper that uses a {@link SmileFactory}
+     */
+    public static ObjectMapper createSmileMapper(final ObjectMapper jsonMapper) {
+        // The serialiser provider and deserialisation context hold the serialiser and deserialiser factories
+        final ObjectMapper mapper = new ObjectMapper(new SmileFactory(),
+                ((DefaultSerializerProvider) jsonMapper.getSerializerProvider()).copy(),
+                ((DefaultDeserializationContext) jsonMapper.getDeserializationContext()).copy());
+        mapper.setSerializerFactory(jsonMapper.getSerializerFactory());
+        mapper.setConfig(jsonMapper.getSerializationConfig());
+        mapper.setConfig(jsonMapper.getDeserializationConfig());
+        mapper.setInjectableValues(jsonMapper.getInjectableValues());
+        return mapper;
+    }
+}
@@ -61,13 +61,30 @@ public final class CompactRawSerialisationUtils {
     }
 
     public static long readLong(final byte[] bytes) throws SerialisationException {
-        final byte firstByte = bytes[0];
+        return readLong(bytes, 0);
+    }
+
+    /**
+     * Reads a long that was written by {@link CompactRawSerialisationUtils#writeLong(long)}
+     * starting at the given offset in the byte array. The number of bytes that were read can
+     * be found using {@link CompactRawSerialisationUtils#decodeVIntSize(byte)} on the first byte.
+     *
+     * @param bytes  The byte array containing the serialised long.
+     * @param offset The index of the first byte of the serialised long.
+     * @return The value of the serialised long.
+     * @throws SerialisationException if the byte array does not contain the whole serialised long.
+     */
+    public static long readLong(final byte[] bytes, final int offset) throws SerialisationException {
+        final byte firstByte = bytes[offset];
         final int len = decodeVIntSize(firstByte);
         if (len == 1) {
             return (long) firstByte;
         }
+        if (offset + len > bytes.length) {
+            throw new SerialisationException("Not enough bytes to read a long of " + len + " bytes at offset " + offset);
+        }
         long i = 0;
-        short place = 1;
+        int place = offset + 1;
         for (int idx = 0; idx < len - 1; idx++) {
             final byte b = bytes[place++];
             i = i << 8;
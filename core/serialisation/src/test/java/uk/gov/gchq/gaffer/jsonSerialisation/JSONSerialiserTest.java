@@ -22,16 +22,22 @@ import org.junit.Before;
 import org.junit.Test;
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.commonutil.JsonUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.serialisation.ParameterisedTestObject;
 import uk.gov.gchq.gaffer.serialisation.SimpleTestObject;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 
 public class JSONSerialiserTest {
@@ -179,4 +185,84 @@ public class JSONSerialiserTest {
         // Then
         assertTrue(json.contains("x"));
     }
+
+    @Test
+    public void shouldReuseWritersForDifferentExcludedFields() throws Exception {
+        // Given
+        final SimpleTestObject obj = new SimpleTestObject();
+        obj.setX("Test");
+
+        // When
+        final String json1 = new String(serialiser.serialise(obj, "x"), CommonConstants.UTF_8);
+        final String json2 = new String(serialiser.serialise(obj), CommonConstants.UTF_8);
+        final String json3 = new String(serialiser.serialise(obj, "x"), CommonConstants.UTF_8);
+
+        // Then
+        assertEquals("{}", json1);
+        assertEquals("{\"x\":\"Test\"}", json2);
+        assertEquals("{}", json3);
+    }
+
+    @Test
+    public void shouldDeserialiseFromStreamAndCloseIt() throws SerialisationException {
+        // Given
+        final AtomicBoolean closed = new AtomicBoolean(false);
+        final InputStream stream = new ByteArrayInputStream("{\"x\":\"Test\"}".getBytes()) {
+            @Override
+            public void close() throws IOException {
+                closed.set(true);
+                super.close();
+            }
+        };
+
+        // When
+        final SimpleTestObject obj = serialiser.deserialise(stream, SimpleTestObject.class);
+
+        // Then
+        assertEquals("Test", obj.getX());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void shouldDeserialiseArrayOneItemAtATime() throws SerialisationException {
+        // Given
+        final InputStream stream = new ByteArrayInputStream("[{\"x\":\"a\"}, null, {\"x\":\"b\"}]".getBytes());
+
+        // When
+        try (final CloseableIterator<SimpleTestObject> itr = serialiser.deserialiseIterator(stream, SimpleTestObject.class)) {
+            // Then
+            assertTrue(itr.hasNext());
+            assertEquals("a", itr.next().getX());
+            assertTrue(itr.hasNext());
+            assertNull(itr.next());
+            assertEquals("b", itr.next().getX());
+            assertFalse(itr.hasNext());
+        }
+    }
+
+    @Test
+    public void shouldDeserialiseNullAsEmptyIterator() throws SerialisationException {
+        // Given
+        final InputStream stream = new ByteArrayInputStream("null".getBytes());
+
+        // When
+        final CloseableIterator<SimpleTestObject> itr = serialiser.deserialiseIterator(stream, SimpleTestObject.class);
+
+        // Then
+        assertFalse(itr.hasNext());
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenIteratingOverJsonThatIsNotAnArray() {
+        // Given
+        final InputStream stream = new ByteArrayInputStream("{\"x\":\"a\"}".getBytes());
+
+        // When / Then
+        try {
+            serialiser.deserialiseIterator(stream, SimpleTestObject.class);
+            fail("Exception expected");
+        } catch (final SerialisationException e) {
+            assertTrue(e.getMessage().contains("Expected a json array"));
+        }
+    }
 }
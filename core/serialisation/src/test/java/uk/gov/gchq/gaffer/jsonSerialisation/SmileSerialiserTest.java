@@ -0,0 +1,134 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.jsonSerialisation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.Test;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.jsonserialisation.SmileSerialiser;
+import uk.gov.gchq.gaffer.serialisation.ParameterisedTestObject;
+import uk.gov.gchq.gaffer.serialisation.SimpleTestObject;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SmileSerialiserTest {
+    private final SmileSerialiser serialiser = new SmileSerialiser();
+
+    @Test
+    public void shouldSerialiseToSmileFormat() throws SerialisationException {
+        // Given
+        final SimpleTestObject test = new SimpleTestObject();
+        test.setX("Test");
+
+        // When
+        final byte[] bytes = serialiser.serialise(test);
+
+        // Then - smile content starts with the ':)\n' header
+        assertEquals(':', bytes[0]);
+        assertEquals(')', bytes[1]);
+        assertEquals('\n', bytes[2]);
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialiseObject() throws SerialisationException {
+        // Given
+        final SimpleTestObject test = new SimpleTestObject();
+        test.setX("Test");
+
+        // When
+        final SimpleTestObject result = serialiser.deserialise(serialiser.serialise(test), SimpleTestObject.class);
+
+        // Then
+        assertEquals("Test", result.getX());
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialiseParameterisedObjectWithTypeReference() throws SerialisationException {
+        // Given
+        final ParameterisedTestObject<Integer> test = new ParameterisedTestObject<>();
+        test.setX("Test");
+        test.setK(2);
+
+        // When
+        final ParameterisedTestObject<Integer> result = serialiser.deserialise(serialiser.serialise(test),
+                new TypeReference<ParameterisedTestObject<Integer>>() {
+                });
+
+        // Then
+        assertEquals("Test", result.getX());
+        assertEquals(Integer.valueOf(2), result.getK());
+    }
+
+    @Test
+    public void shouldUseModulesRegisteredWithJsonSerialiser() throws SerialisationException {
+        // Given
+        final SimpleModule module = new SimpleModule();
+        module.addSerializer(SimpleTestObject.class, new JsonSerializer<SimpleTestObject>() {
+            @Override
+            public void serialize(final SimpleTestObject value, final JsonGenerator gen, final SerializerProvider provider) throws IOException {
+                gen.writeString("custom-" + value.getX());
+            }
+        });
+        module.addDeserializer(SimpleTestObject.class, new JsonDeserializer<SimpleTestObject>() {
+            @Override
+            public SimpleTestObject deserialize(final JsonParser parser, final DeserializationContext context) throws IOException {
+                final SimpleTestObject result = new SimpleTestObject();
+                result.setX(parser.getValueAsString().substring("custom-".length()));
+                return result;
+            }
+        });
+        final ObjectMapper jsonMapper = JSONSerialiser.createDefaultMapper();
+        jsonMapper.registerModule(module);
+        final SmileSerialiser customSerialiser = new SmileSerialiser(new JSONSerialiser(jsonMapper));
+        final SimpleTestObject test = new SimpleTestObject();
+        test.setX("Test");
+
+        // When
+        final byte[] bytes = customSerialiser.serialise(test);
+
+        // Then
+        assertEquals(':', bytes[0]);
+        assertEquals("custom-Test", serialiser.deserialise(bytes, String.class));
+        assertEquals("Test", customSerialiser.deserialise(bytes, SimpleTestObject.class).getX());
+    }
+
+    @Test
+    public void shouldSerialiseToFewerBytesThanJson() throws SerialisationException {
+        // Given
+        final ParameterisedTestObject<Integer> test = new ParameterisedTestObject<>();
+        test.setX("Test");
+        test.setK(123456789);
+
+        // When
+        final byte[] smileBytes = serialiser.serialise(test);
+        final byte[] jsonBytes = new JSONSerialiser().serialise(test);
+
+        // Then
+        assertTrue(smileBytes.length < jsonBytes.length);
+    }
+}
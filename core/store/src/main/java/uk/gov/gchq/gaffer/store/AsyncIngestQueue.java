@@ -0,0 +1,479 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.jobtracker.JobDetail;
+import uk.gov.gchq.gaffer.jobtracker.JobStatus;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.store.element.ElementCloner;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An <code>AsyncIngestQueue</code> buffers {@link AddElements} operations that
+ * have the {@link #ASYNC_OPTION} option set to true, so the caller does not wait
+ * for the elements to be written to the {@link Store}.
+ * <p>
+ * The elements are cloned, using the serialisers in the store's schema, into a
+ * bounded, in memory, queue and written by a single background thread, so
+ * callers are free to reuse their elements once the operation has been queued.
+ * Elements from different callers are batched together once the batch size is
+ * reached, or once the oldest elements have waited for the flush interval, and
+ * are then written with one {@link AddElements} operation for each user and
+ * set of operation options, so elements are always written using the
+ * {@link Context} of a caller with the same user. Each call is tracked
+ * as a job in the store's {@link uk.gov.gchq.gaffer.jobtracker.JobTracker}, if
+ * it is enabled; the job is RUNNING until its elements have been written and is
+ * then FINISHED, or FAILED if they could not be written.
+ * <p>
+ * Validation: the elements of each operation are validated against the schema
+ * before they are batched, so invalid elements only fail the job they were
+ * added by, or are skipped if the operation skips invalid elements. Elements of
+ * groups that are not in the schema are always invalid. Stores may write part
+ * of a batch before a failure, so a batch that fails is never written again -
+ * all the jobs in it are FAILED.
+ * <p>
+ * Backpressure: if the queue does not have space for a caller's elements, the
+ * caller waits for up to the offer timeout before an {@link OperationException}
+ * is thrown. Operations with more elements than the queue size are rejected
+ * with an {@link OperationException}.
+ * <p>
+ * Shutdown: {@link #close()} writes all the elements that have been queued
+ * before returning. The background thread and a JVM shutdown hook both refer
+ * to the queue and its store, so callers must close the queue, normally using
+ * {@link Store#closeAsyncIngestQueue()}, once it is no longer needed or the
+ * store will not be garbage collected. The shutdown hook only closes queues
+ * that are still open when the JVM exits. Elements are held in memory only, so
+ * they are lost if the JVM is killed before they are written. If the background
+ * thread stops unexpectedly, all the queued jobs are FAILED and no more
+ * operations are accepted.
+ */
+public final class AsyncIngestQueue implements Closeable {
+    public static final String ASYNC_OPTION = "gaffer.store.operation.addElements.async";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncIngestQueue.class);
+    private static final long WRITER_CHECK_INTERVAL_MILLIS = 1000L;
+
+    private final Store store;
+    private final int queueSize;
+    private final int batchSize;
+    private final long flushInterval;
+    private final long offerTimeout;
+    private final Semaphore space;
+    private final BlockingQueue<PendingAdd> pending = new LinkedBlockingQueue<>();
+    private final Thread writerThread;
+    private final Thread shutdownHook;
+    private boolean closed;
+    private volatile Throwable writerFailure;
+
+    public AsyncIngestQueue(final Store store) {
+        final StoreProperties properties = store.getProperties();
+        this.store = store;
+        this.queueSize = Math.max(1, properties.getAsyncIngestQueueSize());
+        this.batchSize = Math.max(1, properties.getAsyncIngestBatchSize());
+        this.flushInterval = Math.max(0L, properties.getAsyncIngestFlushInterval());
+        this.offerTimeout = Math.max(0L, properties.getAsyncIngestOfferTimeout());
+        this.space = new Semaphore(queueSize, true);
+
+        writerThread = new Thread(this::writeQueuedElements, "gaffer-async-ingest");
+        writerThread.setDaemon(true);
+        writerThread.start();
+
+        shutdownHook = new Thread(this::close, "gaffer-async-ingest-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * @param operationChain the operation chain to check
+     * @return true if the operation chain is a single {@link AddElements} operation with the
+     * {@link #ASYNC_OPTION} option set to true.
+     */
+    public static boolean isAsync(final OperationChain<?> operationChain) {
+        return null != operationChain
+                && 1 == operationChain.getOperations().size()
+                && operationChain.getOperations().get(0) instanceof AddElements
+                && Boolean.parseBoolean(((AddElements) operationChain.getOperations().get(0)).getOption(ASYNC_OPTION));
+    }
+
+    /**
+     * Clones the elements of the {@link AddElements} operation into the queue,
+     * waiting for space if the queue is full.
+     *
+     * @param operationChain the operation chain containing a single {@link AddElements} operation
+     * @param context        the context the operation chain is executed with
+     * @return the detail of the job tracking the operation
+     * @throws OperationException if the queue is closed, the operation has more elements than the queue size
+     *                            or there is no space in the queue before the offer timeout
+     */
+    public JobDetail add(final OperationChain<?> operationChain, final Context context) throws OperationException {
+        final AddElements addElements = (AddElements) operationChain.getOperations().get(0);
+        final List<Element> elements = cloneElements(addElements.getInput(), store.getSchema(), queueSize);
+        final int permits = elements.size();
+        try {
+            if (!space.tryAcquire(permits, offerTimeout, TimeUnit.MILLISECONDS)) {
+                throw new OperationException("The async ingest queue is full - it already holds up to " + queueSize + " elements waiting to be written");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationException("Interrupted whilst waiting for space in the async ingest queue", e);
+        }
+
+        synchronized (this) {
+            if (closed) {
+                space.release(permits);
+                throw new OperationException("The async ingest queue has been closed");
+            }
+            if (null != writerFailure || !writerThread.isAlive()) {
+                space.release(permits);
+                throw new OperationException("The async ingest writer thread has stopped", writerFailure);
+            }
+            final JobDetail jobDetail = store.addOrUpdateJobDetail(operationChain, context, null, JobStatus.RUNNING);
+            pending.add(new PendingAdd(operationChain, addElements, context, elements, permits));
+            return jobDetail;
+        }
+    }
+
+    /**
+     * Waits until all the elements queued before this method was called have been written.
+     *
+     * @throws OperationException if interrupted whilst waiting or the writer thread has stopped
+     */
+    public void flush() throws OperationException {
+        final PendingAdd marker = new PendingAdd(false);
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            pending.add(marker);
+        }
+        try {
+            await(marker);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationException("Interrupted whilst waiting for the async ingest queue to be flushed", e);
+        }
+        if (null != writerFailure) {
+            throw new OperationException("The async ingest writer thread has stopped", writerFailure);
+        }
+    }
+
+    /**
+     * Stops accepting operations and waits until all the queued elements have been written.
+     */
+    @Override
+    public void close() {
+        final PendingAdd marker = new PendingAdd(true);
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.add(marker);
+        }
+        try {
+            await(marker);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Interrupted whilst waiting for the async ingest queue to be written", e);
+        }
+        if (null != writerFailure) {
+            LOGGER.error("The async ingest queue was closed after its writer thread stopped, the queued jobs have FAILED", writerFailure);
+        }
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (final IllegalStateException e) {
+            // The JVM is already shutting down
+        }
+    }
+
+    // Waits for the writer thread to reach the marker. If the writer thread has stopped it never will,
+    // so the queued jobs are failed instead, which also releases the marker.
+    private void await(final PendingAdd marker) throws InterruptedException {
+        while (!marker.written.await(WRITER_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (!writerThread.isAlive()) {
+                failQueuedElements(Collections.emptyList(), new IllegalStateException("The async ingest writer thread is not running"));
+            }
+        }
+    }
+
+    // Runs on the writer thread. If it stops unexpectedly, the jobs in the current batch and the queue are failed.
+    private void writeQueuedElements() {
+        final List<PendingAdd> batch = new ArrayList<>();
+        try {
+            writeQueuedElements(batch);
+        } catch (final RuntimeException | Error e) {
+            LOGGER.error("Async ingest writer thread failed, the queued elements will not be written", e);
+            failQueuedElements(batch, e);
+        }
+    }
+
+    // Batches the queued operations until the batch size or flush interval is reached.
+    private void writeQueuedElements(final List<PendingAdd> batch) {
+        int batchElements = 0;
+        long deadline = 0;
+        while (true) {
+            final PendingAdd next;
+            try {
+                next = batch.isEmpty() ? pending.take()
+                        : pending.poll(Math.max(0L, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (final InterruptedException e) {
+                LOGGER.warn("Async ingest writer thread interrupted, the queued elements will not be written");
+                Thread.currentThread().interrupt();
+                failQueuedElements(batch, e);
+                return;
+            }
+
+            if (null != next && next.isMarker()) {
+                // The marker is kept with the batch until it has been written, so it is released if the write fails
+                batch.add(next);
+                write(batch);
+                batchElements = 0;
+                next.written.countDown();
+                if (next.close) {
+                    return;
+                }
+                continue;
+            }
+
+            if (null != next) {
+                if (batch.isEmpty()) {
+                    deadline = System.currentTimeMillis() + flushInterval;
+                }
+                batch.add(next);
+                batchElements += next.elements.size();
+            }
+
+            if (batchElements >= batchSize || (!batch.isEmpty() && System.currentTimeMillis() >= deadline)) {
+                write(batch);
+                batchElements = 0;
+            }
+        }
+    }
+
+    // Stops the queue and fails the jobs that have not been written. Once the failure is set no more
+    // operations are queued, so every pending operation is drained.
+    private void failQueuedElements(final List<PendingAdd> batch, final Throwable cause) {
+        synchronized (this) {
+            if (null == writerFailure) {
+                writerFailure = cause;
+            }
+        }
+
+        final List<PendingAdd> queued = new ArrayList<>(batch);
+        pending.drainTo(queued);
+        final Exception e = cause instanceof Exception ? (Exception) cause
+                : new OperationException("The async ingest writer thread has stopped", cause);
+        for (final PendingAdd pendingAdd : queued) {
+            if (pendingAdd.isMarker()) {
+                pendingAdd.written.countDown();
+            } else {
+                failed(pendingAdd, e);
+                space.release(pendingAdd.permits);
+            }
+        }
+    }
+
+    // Each operation is validated on its own, then operations from the same user with the same options are
+    // written together using the context of the first of them.
+    // Elements may have been stored before a write fails, so the elements are never written again.
+    private void write(final List<PendingAdd> batch) {
+        final ElementValidator validator = new ElementValidator(store.getSchema());
+        final Map<WriteKey, List<PendingAdd>> groups = new LinkedHashMap<>();
+        for (final PendingAdd pendingAdd : batch) {
+            if (pendingAdd.isMarker()) {
+                continue;
+            }
+            try {
+                final List<Element> validElements = validate(pendingAdd, validator);
+                groups.computeIfAbsent(new WriteKey(pendingAdd), k -> new ArrayList<>())
+                        .add(pendingAdd.withElements(validElements));
+            } catch (final IllegalArgumentException e) {
+                failed(pendingAdd, e);
+            }
+        }
+
+        for (final Map.Entry<WriteKey, List<PendingAdd>> group : groups.entrySet()) {
+            try {
+                write(group.getValue(), group.getKey().options);
+                for (final PendingAdd pendingAdd : group.getValue()) {
+                    updateJob(pendingAdd, null, JobStatus.FINISHED);
+                }
+            } catch (final Exception e) {
+                for (final PendingAdd pendingAdd : group.getValue()) {
+                    failed(pendingAdd, e);
+                }
+            }
+        }
+
+        for (final PendingAdd pendingAdd : batch) {
+            space.release(pendingAdd.permits);
+        }
+        batch.clear();
+    }
+
+    private List<Element> validate(final PendingAdd pendingAdd, final ElementValidator validator) {
+        final List<Element> validElements = new ArrayList<>(pendingAdd.elements.size());
+        for (final Element element : pendingAdd.elements) {
+            final boolean valid = null != element && (pendingAdd.addElements.isValidate()
+                    ? validator.validate(element)
+                    : null != store.getSchema().getElement(element.getGroup()));
+            if (valid) {
+                validElements.add(element);
+            } else if (!pendingAdd.addElements.isSkipInvalidElements()) {
+                throw new IllegalArgumentException("Element of type " + element + " is not valid.");
+            }
+        }
+        return validElements;
+    }
+
+    private void write(final List<PendingAdd> group, final Map<String, String> options) throws OperationException {
+        final List<Element> elements = new ArrayList<>();
+        for (final PendingAdd pendingAdd : group) {
+            elements.addAll(pendingAdd.elements);
+        }
+
+        // The elements have already been validated
+        final AddElements addElements = new AddElements.Builder()
+                .input(elements)
+                .validate(false)
+                .options(options)
+                .build();
+        store._execute(new OperationChain<>(addElements), group.get(0).context);
+    }
+
+    private void failed(final PendingAdd pendingAdd, final Exception e) {
+        LOGGER.warn("Failed to write {} elements from the async ingest queue for job {}", pendingAdd.elements.size(), pendingAdd.context.getJobId(), e);
+        updateJob(pendingAdd, e.getMessage(), JobStatus.FAILED);
+    }
+
+    private void updateJob(final PendingAdd pendingAdd, final String msg, final JobStatus status) {
+        store.addOrUpdateJobDetail(pendingAdd.operationChain, pendingAdd.context, msg, status);
+    }
+
+    private static List<Element> cloneElements(final Iterable<? extends Element> input, final Schema schema, final int maxElements) throws OperationException {
+        final List<Element> elements = new ArrayList<>();
+        if (null != input) {
+            try {
+                for (final Element element : input) {
+                    if (elements.size() == maxElements) {
+                        throw new OperationException("Operations added to the async ingest queue must not have more than " + maxElements + " elements");
+                    }
+                    elements.add(null != element ? ElementCloner.cloneElement(element, schema) : null);
+                }
+            } finally {
+                CloseableUtil.close(input);
+            }
+        }
+        return elements;
+    }
+
+    // The user and options of queued operations that can be written with a single AddElements operation.
+    private static final class WriteKey {
+        private final User user;
+        private final Map<String, String> options;
+
+        private WriteKey(final PendingAdd pendingAdd) {
+            this.user = pendingAdd.context.getUser();
+            this.options = pendingAdd.getOptions();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (null == obj || getClass() != obj.getClass()) {
+                return false;
+            }
+            final WriteKey other = (WriteKey) obj;
+            return Objects.equals(user, other.user) && options.equals(other.options);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(user) + options.hashCode();
+        }
+    }
+
+    // An AddElements operation waiting in the queue, or a marker used to flush or close the queue.
+    private static final class PendingAdd {
+        private final OperationChain<?> operationChain;
+        private final AddElements addElements;
+        private final Context context;
+        private final List<Element> elements;
+        private final int permits;
+        private final boolean close;
+        private final CountDownLatch written;
+
+        private PendingAdd(final OperationChain<?> operationChain, final AddElements addElements,
+                           final Context context, final List<Element> elements, final int permits) {
+            this.operationChain = operationChain;
+            this.addElements = addElements;
+            this.context = context;
+            this.elements = elements;
+            this.permits = permits;
+            this.close = false;
+            this.written = null;
+        }
+
+        private PendingAdd(final boolean close) {
+            this.operationChain = null;
+            this.addElements = null;
+            this.context = null;
+            this.elements = Collections.emptyList();
+            this.permits = 0;
+            this.close = close;
+            this.written = new CountDownLatch(1);
+        }
+
+        private PendingAdd withElements(final List<Element> validElements) {
+            return new PendingAdd(operationChain, addElements, context, validElements, permits);
+        }
+
+        private boolean isMarker() {
+            return null != written;
+        }
+
+        private Map<String, String> getOptions() {
+            final Map<String, String> options = new HashMap<>();
+            if (null != addElements.getOptions()) {
+                options.putAll(addElements.getOptions());
+            }
+            options.remove(ASYNC_OPTION);
+            return options;
+        }
+    }
+}
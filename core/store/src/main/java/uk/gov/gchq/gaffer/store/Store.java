@@ -48,6 +48,8 @@ import uk.gov.gchq.gaffer.operation.impl.generate.GenerateObjects;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetMultiHopAdjacentIds;
+import uk.gov.gchq.gaffer.operation.impl.get.GetTopElements;
 import uk.gov.gchq.gaffer.operation.impl.job.GetAllJobDetails;
 import uk.gov.gchq.gaffer.operation.impl.job.GetJobDetails;
 import uk.gov.gchq.gaffer.operation.impl.job.GetJobResults;
@@ -65,6 +67,8 @@ import uk.gov.gchq.gaffer.serialisation.Serialisation;
 import uk.gov.gchq.gaffer.store.operation.handler.CountGroupsHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.CountHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.DiscardOutputHandler;
+import uk.gov.gchq.gaffer.store.operation.handler.GetMultiHopAdjacentIdsHandler;
+import uk.gov.gchq.gaffer.store.operation.handler.GetTopElementsHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.LimitHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
@@ -134,12 +138,15 @@ public abstract class Store {
 
     private ExecutorService executorService;
 
+    private AsyncIngestQueue asyncIngestQueue;
+
     public Store() {
         this.viewValidator = new ViewValidator();
         this.schemaOptimiser = new SchemaOptimiser();
     }
 
     public void initialise(final Schema schema, final StoreProperties properties) throws StoreException {
+        closeAsyncIngestQueue();
         this.schema = schema;
         this.properties = properties;
         startCacheServiceLoader(properties);
@@ -214,15 +221,26 @@ public abstract class Store {
 
     /**
      * Executes a given operation chain and returns the result.
+     * <p>
+     * If the operation chain is a single {@link AddElements} operation with the
+     * {@link AsyncIngestQueue#ASYNC_OPTION} option set to true, the elements are
+     * added to the {@link AsyncIngestQueue} and null is returned before they
+     * have been written. Use {@link #executeJob(OperationChain, User)} to track
+     * the progress of the write.
      *
      * @param operationChain the operation chain to execute.
      * @param user           the user executing the operation chain
      * @param <O>            the output type of the operation.
-     * @return the result of executing the operation.
+     * @return the result of executing the operation, or null if the elements are added asynchronously.
      * @throws OperationException thrown by an operation handler if an operation fails
      */
     public <O> O execute(final OperationChain<O> operationChain, final User user) throws OperationException {
         final Context context = createContext(user);
+        if (AsyncIngestQueue.isAsync(operationChain)) {
+            getAsyncIngestQueue().add(operationChain, context);
+            return null;
+        }
+
         addOrUpdateJobDetail(operationChain, context, null, JobStatus.RUNNING);
         try {
             final O result = _execute(operationChain, context);
@@ -248,6 +266,9 @@ public abstract class Store {
         }
 
         final Context context = createContext(user);
+        if (AsyncIngestQueue.isAsync(operationChain)) {
+            return getAsyncIngestQueue().add(operationChain, context);
+        }
 
         if (isSupported(ExportToGafferResultCache.class)) {
             boolean hasExport = false;
@@ -292,6 +313,31 @@ public abstract class Store {
         return jobTracker;
     }
 
+    /**
+     * Gets the queue used to add elements asynchronously, creating it if required.
+     * {@link AddElements} operations with the {@link AsyncIngestQueue#ASYNC_OPTION}
+     * option set to true are added to this queue rather than being executed
+     * straight away.
+     *
+     * @return the async ingest queue
+     */
+    public synchronized AsyncIngestQueue getAsyncIngestQueue() {
+        if (null == asyncIngestQueue) {
+            asyncIngestQueue = new AsyncIngestQueue(this);
+        }
+        return asyncIngestQueue;
+    }
+
+    /**
+     * Writes any elements waiting in the async ingest queue and closes it.
+     */
+    public synchronized void closeAsyncIngestQueue() {
+        if (null != asyncIngestQueue) {
+            asyncIngestQueue.close();
+            asyncIngestQueue = null;
+        }
+    }
+
     /**
      * @param operationClass the operation class to check
      * @return true if the provided operation is supported.
@@ -498,7 +544,7 @@ public abstract class Store {
         return (O) result;
     }
 
-    private JobDetail addOrUpdateJobDetail(final OperationChain<?> operationChain, final Context context, final String msg, final JobStatus jobStatus) {
+    JobDetail addOrUpdateJobDetail(final OperationChain<?> operationChain, final Context context, final String msg, final JobStatus jobStatus) {
         final JobDetail newJobDetail = new JobDetail(context.getJobId(), context.getUser().getUserId(), operationChain, jobStatus, msg);
         if (null != jobTracker) {
             final JobDetail oldJobDetail = jobTracker.getJob(newJobDetail.getJobId(), context.getUser());
@@ -556,10 +602,14 @@ public abstract class Store {
 
         // Get Adjacent
         addOperationHandler(GetAdjacentIds.class, (OperationHandler) getAdjacentIdsHandler());
+        addOperationHandler(GetMultiHopAdjacentIds.class, new GetMultiHopAdjacentIdsHandler());
 
         // Get All Elements
         addOperationHandler(GetAllElements.class, (OperationHandler) getGetAllElementsHandler());
 
+        // Get Top Elements
+        addOperationHandler(GetTopElements.class, new GetTopElementsHandler());
+
         // Export
         addOperationHandler(ExportToSet.class, new ExportToSetHandler());
         addOperationHandler(GetSetExport.class, new GetSetExportHandler());
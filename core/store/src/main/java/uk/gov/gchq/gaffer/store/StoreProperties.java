@@ -52,6 +52,18 @@ public class StoreProperties implements Cloneable {
     public static final String EXECUTOR_SERVICE_THREAD_COUNT = "gaffer.store.job.executor.threads";
     private static final String EXECUTOR_SERVICE_THREAD_COUNT_DEFAULT = "50";
 
+    public static final String ASYNC_INGEST_QUEUE_SIZE = "gaffer.store.ingest.async.queue.size";
+    private static final String ASYNC_INGEST_QUEUE_SIZE_DEFAULT = "100000";
+
+    public static final String ASYNC_INGEST_BATCH_SIZE = "gaffer.store.ingest.async.batch.size";
+    private static final String ASYNC_INGEST_BATCH_SIZE_DEFAULT = "10000";
+
+    public static final String ASYNC_INGEST_FLUSH_INTERVAL = "gaffer.store.ingest.async.flush.interval.millis";
+    private static final String ASYNC_INGEST_FLUSH_INTERVAL_DEFAULT = "1000";
+
+    public static final String ASYNC_INGEST_OFFER_TIMEOUT = "gaffer.store.ingest.async.offer.timeout.millis";
+    private static final String ASYNC_INGEST_OFFER_TIMEOUT_DEFAULT = "60000";
+
 
     private Properties props = new Properties();
 
@@ -201,6 +213,50 @@ public class StoreProperties implements Cloneable {
         return Integer.parseInt(get(EXECUTOR_SERVICE_THREAD_COUNT, EXECUTOR_SERVICE_THREAD_COUNT_DEFAULT));
     }
 
+    /**
+     * @return the maximum number of elements that may be waiting in the async ingest queue
+     */
+    public Integer getAsyncIngestQueueSize() {
+        return Integer.parseInt(get(ASYNC_INGEST_QUEUE_SIZE, ASYNC_INGEST_QUEUE_SIZE_DEFAULT));
+    }
+
+    public void setAsyncIngestQueueSize(final String queueSize) {
+        set(ASYNC_INGEST_QUEUE_SIZE, queueSize);
+    }
+
+    /**
+     * @return the number of elements in the async ingest queue that causes them to be written
+     */
+    public Integer getAsyncIngestBatchSize() {
+        return Integer.parseInt(get(ASYNC_INGEST_BATCH_SIZE, ASYNC_INGEST_BATCH_SIZE_DEFAULT));
+    }
+
+    public void setAsyncIngestBatchSize(final String batchSize) {
+        set(ASYNC_INGEST_BATCH_SIZE, batchSize);
+    }
+
+    /**
+     * @return the maximum time in milliseconds elements wait in the async ingest queue before they are written
+     */
+    public Long getAsyncIngestFlushInterval() {
+        return Long.parseLong(get(ASYNC_INGEST_FLUSH_INTERVAL, ASYNC_INGEST_FLUSH_INTERVAL_DEFAULT));
+    }
+
+    public void setAsyncIngestFlushInterval(final String flushIntervalMillis) {
+        set(ASYNC_INGEST_FLUSH_INTERVAL, flushIntervalMillis);
+    }
+
+    /**
+     * @return the maximum time in milliseconds a caller waits for space in a full async ingest queue
+     */
+    public Long getAsyncIngestOfferTimeout() {
+        return Long.parseLong(get(ASYNC_INGEST_OFFER_TIMEOUT, ASYNC_INGEST_OFFER_TIMEOUT_DEFAULT));
+    }
+
+    public void setAsyncIngestOfferTimeout(final String offerTimeoutMillis) {
+        set(ASYNC_INGEST_OFFER_TIMEOUT, offerTimeoutMillis);
+    }
+
     public void setOperationDeclarationPaths(final String paths) {
         set(OPERATION_DECLARATIONS, paths);
     }
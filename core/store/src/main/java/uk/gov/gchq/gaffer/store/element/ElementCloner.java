@@ -13,7 +13,7 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package uk.gov.gchq.gaffer.mapstore.utils;
+package uk.gov.gchq.gaffer.store.element;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,6 +23,13 @@ import uk.gov.gchq.gaffer.serialisation.Serialisation;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 
+/**
+ * An <code>ElementCloner</code> creates deep copies of elements by serialising
+ * and deserialising each property with the serialiser in the {@link Schema}.
+ * Properties without a serialiser, such as derived transient properties, and
+ * the properties of elements whose group is not in the schema are copied by
+ * reference.
+ */
 public final class ElementCloner {
     private static final Logger LOGGER = LoggerFactory.getLogger(ElementCloner.class);
 
@@ -35,7 +42,7 @@ public final class ElementCloner {
             final SchemaElementDefinition sed = schema.getElement(clone.getGroup());
             for (final String propertyName : element.getProperties().keySet()) {
                 final Object property = element.getProperty(propertyName);
-                if (null == sed.getPropertyTypeDef(propertyName) || null == sed.getPropertyTypeDef(propertyName).getSerialiser()) {
+                if (null == sed || null == sed.getPropertyTypeDef(propertyName) || null == sed.getPropertyTypeDef(propertyName).getSerialiser()) {
                     // This can happen if transient properties are derived - they will not have serialisers.
                     LOGGER.warn("Can't find Serialisation for {}, returning uncloned property", propertyName);
                     clone.putProperty(propertyName, property);
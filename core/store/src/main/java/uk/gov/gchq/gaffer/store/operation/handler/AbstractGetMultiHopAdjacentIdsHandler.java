@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.operation.handler;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.operation.impl.get.GetMultiHopAdjacentIds;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An <code>AbstractGetMultiHopAdjacentIdsHandler</code> runs a
+ * {@link GetMultiHopAdjacentIds} as a breadth first expansion. Each hop
+ * is a {@link GetAdjacentIds} over the deduplicated frontier of the previous
+ * hop, excluding any vertices that have already been visited. Implementations
+ * provide the way each hop is executed against the store.
+ */
+public abstract class AbstractGetMultiHopAdjacentIdsHandler implements OutputOperationHandler<GetMultiHopAdjacentIds, CloseableIterable<? extends EntityId>> {
+    @Override
+    public CloseableIterable<? extends EntityId> doOperation(final GetMultiHopAdjacentIds operation,
+                                                             final Context context, final Store store)
+            throws OperationException {
+        if (null == operation.getViews() || operation.getViews().isEmpty()) {
+            throw new OperationException("At least one view is required, one for each hop");
+        }
+
+        if (null == operation.getInput()) {
+            // If null seeds no results are returned
+            return new WrappedCloseableIterable<>();
+        }
+
+        Set<Object> frontier = new LinkedHashSet<>();
+        for (final EntityId seed : operation.getInput()) {
+            frontier.add(seed.getVertex());
+        }
+
+        final Set<Object> visited = new HashSet<>();
+        markVisited(frontier, visited, operation.getMaxVisitedIds());
+
+        for (final View view : operation.getViews()) {
+            if (frontier.isEmpty()) {
+                break;
+            }
+
+            final GetAdjacentIds hop = new GetAdjacentIds.Builder()
+                    .input(toEntitySeeds(frontier))
+                    .view(createHopView(view, store))
+                    .directedType(operation.getDirectedType())
+                    .inOutType(operation.getIncludeIncomingOutGoing())
+                    .options(operation.getOptions())
+                    .build();
+
+            final Set<Object> nextFrontier = new LinkedHashSet<>();
+            final CloseableIterable<? extends EntityId> adjacentIds = getAdjacentIds(hop, context, store);
+            try {
+                for (final EntityId adjacentId : adjacentIds) {
+                    if (!visited.contains(adjacentId.getVertex())) {
+                        nextFrontier.add(adjacentId.getVertex());
+                    }
+                }
+            } finally {
+                CloseableUtil.close(adjacentIds);
+            }
+
+            markVisited(nextFrontier, visited, operation.getMaxVisitedIds());
+            frontier = nextFrontier;
+        }
+
+        return new WrappedCloseableIterable<>(toEntitySeeds(frontier));
+    }
+
+    /**
+     * Executes a single hop of the traversal.
+     *
+     * @param hop     the {@link GetAdjacentIds} for the current frontier
+     * @param context the operation context
+     * @param store   the store to execute the hop on
+     * @return the ids adjacent to the frontier, these may contain duplicates
+     * @throws OperationException if the hop fails
+     */
+    protected abstract CloseableIterable<? extends EntityId> getAdjacentIds(final GetAdjacentIds hop,
+                                                                            final Context context,
+                                                                            final Store store)
+            throws OperationException;
+
+    // The views are not defaulted by the graph as they are not an operation view,
+    // so a view with no groups is expanded to include all the edge groups in the schema.
+    private View createHopView(final View view, final Store store) {
+        final View hopView;
+        if (null == view || !view.hasGroups()) {
+            final View.Builder builder = new View.Builder()
+                    .edges(store.getSchema().getEdgeGroups());
+            if (null != view) {
+                builder.merge(view);
+            }
+            hopView = builder.build();
+        } else {
+            hopView = view;
+        }
+
+        hopView.expandGlobalDefinitions();
+        return hopView;
+    }
+
+    // Once the cap is reached vertices are no longer recorded, so they may be expanded again in a later hop
+    private static void markVisited(final Set<Object> vertices, final Set<Object> visited, final int maxVisitedIds) {
+        for (final Object vertex : vertices) {
+            if (visited.size() >= maxVisitedIds) {
+                break;
+            }
+            visited.add(vertex);
+        }
+    }
+
+    private static List<EntityId> toEntitySeeds(final Set<Object> vertices) {
+        final List<EntityId> seeds = new ArrayList<>(vertices.size());
+        for (final Object vertex : vertices) {
+            seeds.add(new EntitySeed(vertex));
+        }
+        return seeds;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.TopKHeap;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementPropertyComparator;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetTopElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An <code>AbstractGetTopElementsHandler</code> runs a {@link GetTopElements}
+ * by offering candidate elements to a bounded {@link TopKHeap}, so only the
+ * top limit elements are ever held in memory. Implementations provide the
+ * candidates; a store that ranks elements where they are read only needs to
+ * return the top elements of each partition, as they are merged and ranked
+ * again here.
+ */
+public abstract class AbstractGetTopElementsHandler implements OutputOperationHandler<GetTopElements, CloseableIterable<? extends Element>> {
+    @Override
+    public CloseableIterable<? extends Element> doOperation(final GetTopElements operation,
+                                                            final Context context, final Store store)
+            throws OperationException {
+        if (null == operation.getProperty()) {
+            throw new OperationException("A property is required to rank the elements by");
+        }
+        if (operation.getLimit() < 1) {
+            throw new OperationException("The limit must be at least 1, but was " + operation.getLimit());
+        }
+
+        final TopKHeap<Element> heap = new TopKHeap<>(operation.getLimit(), createComparator(operation));
+        final CloseableIterable<? extends Element> candidates = getCandidates(operation, context, store);
+        try {
+            for (final Element element : candidates) {
+                if (null != element.getProperty(operation.getProperty())) {
+                    heap.offer(element);
+                }
+            }
+        } finally {
+            CloseableUtil.close(candidates);
+        }
+
+        return new WrappedCloseableIterable<>(heap.toList());
+    }
+
+    /**
+     * Gets the elements to rank. This must include the top limit elements
+     * matching the operation, but may contain any number of other elements.
+     *
+     * @param operation the {@link GetTopElements} to get the candidates for
+     * @param context   the operation context
+     * @param store     the store to get the candidates from
+     * @return the candidate elements
+     * @throws OperationException if the candidates could not be fetched
+     */
+    protected abstract CloseableIterable<? extends Element> getCandidates(final GetTopElements operation,
+                                                                          final Context context,
+                                                                          final Store store)
+            throws OperationException;
+
+    public static ElementPropertyComparator createComparator(final GetTopElements operation) {
+        return new ElementPropertyComparator(operation.getProperty(), operation.getComparator());
+    }
+
+    /**
+     * Elements can only be ranked where they are read if the property values
+     * are final, so stores that rank elements before the view transforms them
+     * should not do so when this returns true.
+     *
+     * @param view the view of the operation
+     * @return true if the view transforms the elements or filters them after they have been transformed
+     */
+    public static boolean hasTransforms(final View view) {
+        if (null == view) {
+            return false;
+        }
+
+        final List<ViewElementDefinition> elementDefs = new ArrayList<>(view.getEntities().values());
+        elementDefs.addAll(view.getEdges().values());
+        for (final ViewElementDefinition elementDef : elementDefs) {
+            if (null != elementDef && (null != elementDef.getTransformer() || null != elementDef.getPostTransformFilter())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param operation the {@link GetTopElements} with seeds
+     * @return a {@link GetElements} that fetches all the elements matching the seeds and filters of the operation
+     */
+    public static GetElements createGetElements(final GetTopElements operation) {
+        return new GetElements.Builder()
+                .input(operation.getInput())
+                .view(operation.getView())
+                .directedType(operation.getDirectedType())
+                .inOutType(operation.getIncludeIncomingOutGoing())
+                .seedMatching(operation.getSeedMatching())
+                .options(operation.getOptions())
+                .build();
+    }
+
+    /**
+     * @param operation the {@link GetTopElements} without seeds
+     * @return a {@link GetAllElements} that fetches all the elements matching the filters of the operation
+     */
+    public static GetAllElements createGetAllElements(final GetTopElements operation) {
+        return new GetAllElements.Builder()
+                .view(operation.getView())
+                .directedType(operation.getDirectedType())
+                .options(operation.getOptions())
+                .build();
+    }
+}
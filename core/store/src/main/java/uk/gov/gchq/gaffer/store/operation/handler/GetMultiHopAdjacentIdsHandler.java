@@ -0,0 +1,39 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.operation.handler;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+
+/**
+ * A <code>GetMultiHopAdjacentIdsHandler</code> executes each hop of a
+ * {@link uk.gov.gchq.gaffer.operation.impl.get.GetMultiHopAdjacentIds}
+ * using the store's own handler for {@link GetAdjacentIds}.
+ */
+public class GetMultiHopAdjacentIdsHandler extends AbstractGetMultiHopAdjacentIdsHandler {
+    @Override
+    protected CloseableIterable<? extends EntityId> getAdjacentIds(final GetAdjacentIds hop,
+                                                                   final Context context,
+                                                                   final Store store)
+            throws OperationException {
+        return store._execute(new OperationChain<>(hop), context);
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.get.GetTopElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+
+/**
+ * A <code>GetTopElementsHandler</code> ranks the elements returned by the
+ * store's own handlers for {@link uk.gov.gchq.gaffer.operation.impl.get.GetElements}
+ * and {@link uk.gov.gchq.gaffer.operation.impl.get.GetAllElements}.
+ * All the matching elements are transferred from the store, but only the
+ * top elements are held in memory.
+ */
+public class GetTopElementsHandler extends AbstractGetTopElementsHandler {
+    @Override
+    protected CloseableIterable<? extends Element> getCandidates(final GetTopElements operation,
+                                                                 final Context context,
+                                                                 final Store store)
+            throws OperationException {
+        if (null == operation.getInput()) {
+            return store._execute(new OperationChain<>(createGetAllElements(operation)), context);
+        }
+        return store._execute(new OperationChain<>(createGetElements(operation)), context);
+    }
+}
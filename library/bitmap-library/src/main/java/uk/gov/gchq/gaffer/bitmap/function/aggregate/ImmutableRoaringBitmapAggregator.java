@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.bitmap.function.aggregate;
+
+import org.roaringbitmap.buffer.BufferFastAggregation;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import uk.gov.gchq.gaffer.commonutil.function.NaryAggregator;
+import uk.gov.gchq.koryphe.binaryoperator.KorypheBinaryOperator;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An <code>ImmutableRoaringBitmapAggregator</code> is a {@link java.util.function.BinaryOperator} that takes in
+ * {@link ImmutableRoaringBitmap}s and merges them together. The inputs are never modified; the result is
+ * a new {@link org.roaringbitmap.buffer.MutableRoaringBitmap} containing the union of the inputs.
+ */
+public class ImmutableRoaringBitmapAggregator extends KorypheBinaryOperator<ImmutableRoaringBitmap> implements NaryAggregator<ImmutableRoaringBitmap> {
+    @Override
+    protected ImmutableRoaringBitmap _apply(final ImmutableRoaringBitmap a, final ImmutableRoaringBitmap b) {
+        return ImmutableRoaringBitmap.or(a, b);
+    }
+
+    @Override
+    public ImmutableRoaringBitmap aggregate(final Iterable<ImmutableRoaringBitmap> values) {
+        final List<ImmutableRoaringBitmap> bitmaps = new ArrayList<>();
+        for (final ImmutableRoaringBitmap value : values) {
+            if (null != value) {
+                bitmaps.add(value);
+            }
+        }
+
+        if (bitmaps.size() <= 1) {
+            return bitmaps.isEmpty() ? null : bitmaps.get(0);
+        }
+
+        // Or all of the bitmaps in a single pass over their containers
+        return BufferFastAggregation.horizontal_or(bitmaps.toArray(new ImmutableRoaringBitmap[bitmaps.size()]));
+    }
+}
@@ -15,13 +15,34 @@
  */
 package uk.gov.gchq.gaffer.bitmap.function.aggregate;
 
+import org.roaringbitmap.FastAggregation;
 import org.roaringbitmap.RoaringBitmap;
+import uk.gov.gchq.gaffer.commonutil.function.NaryAggregator;
 import uk.gov.gchq.koryphe.binaryoperator.KorypheBinaryOperator;
+import java.util.ArrayList;
+import java.util.List;
 
-public class RoaringBitmapAggregator extends KorypheBinaryOperator<RoaringBitmap> {
+public class RoaringBitmapAggregator extends KorypheBinaryOperator<RoaringBitmap> implements NaryAggregator<RoaringBitmap> {
     @Override
     protected RoaringBitmap _apply(final RoaringBitmap a, final RoaringBitmap b) {
         a.or(b);
         return a;
     }
+
+    @Override
+    public RoaringBitmap aggregate(final Iterable<RoaringBitmap> values) {
+        final List<RoaringBitmap> bitmaps = new ArrayList<>();
+        for (final RoaringBitmap value : values) {
+            if (null != value) {
+                bitmaps.add(value);
+            }
+        }
+
+        if (bitmaps.size() <= 1) {
+            return bitmaps.isEmpty() ? null : bitmaps.get(0);
+        }
+
+        // Or all of the bitmaps in a single pass over their containers
+        return FastAggregation.horizontal_or(bitmaps);
+    }
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.bitmap.function.filter;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.roaringbitmap.ImmutableBitmapDataProvider;
+import uk.gov.gchq.koryphe.predicate.KoryphePredicate;
+
+/**
+ * A <code>BitmapContains</code> is a {@link java.util.function.Predicate} that checks that the input bitmap
+ * contains a control value. It accepts both {@link org.roaringbitmap.RoaringBitmap}s and
+ * {@link org.roaringbitmap.buffer.ImmutableRoaringBitmap}s; the latter are tested directly against
+ * their serialised form without being decoded.
+ */
+public class BitmapContains extends KoryphePredicate<ImmutableBitmapDataProvider> {
+    private int controlValue;
+
+    public BitmapContains() {
+        // Required for serialisation
+    }
+
+    public BitmapContains(final int controlValue) {
+        this.controlValue = controlValue;
+    }
+
+    @JsonProperty("value")
+    public int getControlValue() {
+        return controlValue;
+    }
+
+    public void setControlValue(final int controlValue) {
+        this.controlValue = controlValue;
+    }
+
+    @Override
+    public boolean test(final ImmutableBitmapDataProvider input) {
+        return null != input && input.contains(controlValue);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        final BitmapContains that = (BitmapContains) o;
+
+        return new EqualsBuilder()
+                .append(controlValue, that.controlValue)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 37)
+                .append(controlValue)
+                .toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("controlValue", controlValue)
+                .toString();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.bitmap.serialisation;
+
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+import uk.gov.gchq.gaffer.bitmap.serialisation.utils.RoaringBitmapUtils;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.Serialisation;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * An <code>ImmutableRoaringBitmapSerialiser</code> serialises an {@link ImmutableRoaringBitmap}.
+ * Deserialisation wraps the stored bytes in an {@link ImmutableRoaringBitmap} rather than
+ * decoding them into a mutable bitmap, so membership and cardinality can be tested without
+ * copying the containers. The serialised form is the same as that produced by
+ * {@link RoaringBitmapSerialiser}, so existing bitmap properties can be read as either type.
+ * <p>
+ * The deserialised bitmap is backed by the given byte array, which must not be modified afterwards.
+ */
+public class ImmutableRoaringBitmapSerialiser implements Serialisation<ImmutableRoaringBitmap> {
+    private static final long serialVersionUID = -6282327286733127567L;
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return ImmutableRoaringBitmap.class.equals(clazz);
+    }
+
+    @Override
+    public byte[] serialise(final ImmutableRoaringBitmap bitmap) throws SerialisationException {
+        final ByteArrayOutputStream byteOut = new ByteArrayOutputStream(bitmap.serializedSizeInBytes());
+        try {
+            bitmap.serialize(new DataOutputStream(byteOut));
+        } catch (final IOException e) {
+            throw new SerialisationException(e.getMessage(), e);
+        }
+        return byteOut.toByteArray();
+    }
+
+    @Override
+    public ImmutableRoaringBitmap deserialise(final byte[] bytes) throws SerialisationException {
+        final byte[] convertedBytes = RoaringBitmapUtils.upConvertSerialisedForm(bytes);
+        try {
+            return new ImmutableRoaringBitmap(ByteBuffer.wrap(convertedBytes));
+        } catch (final RuntimeException e) {
+            throw new SerialisationException("Unable to wrap serialised bitmap: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public ImmutableRoaringBitmap deserialiseEmptyBytes() {
+        return new MutableRoaringBitmap();
+    }
+
+    @Override
+    public byte[] serialiseNull() {
+        return new byte[0];
+    }
+
+    @Override
+    public boolean preservesObjectOrdering() {
+        return false;
+    }
+}
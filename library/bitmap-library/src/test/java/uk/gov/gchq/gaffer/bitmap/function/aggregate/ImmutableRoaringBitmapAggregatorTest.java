@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.bitmap.function.aggregate;
+
+import org.junit.Test;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+import uk.gov.gchq.gaffer.bitmap.serialisation.ImmutableRoaringBitmapSerialiser;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.koryphe.binaryoperator.BinaryOperatorTest;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.BinaryOperator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ImmutableRoaringBitmapAggregatorTest extends BinaryOperatorTest {
+    private static final ImmutableRoaringBitmapSerialiser SERIALISER = new ImmutableRoaringBitmapSerialiser();
+
+    @Test
+    public void aggregatorDealsWithNullInput() {
+        final ImmutableRoaringBitmapAggregator aggregator = new ImmutableRoaringBitmapAggregator();
+        assertNull(aggregator.apply(null, null));
+    }
+
+    @Test
+    public void shouldAggregateWrappedBitmapsWithoutModifyingThem() throws SerialisationException {
+        // Given
+        final ImmutableRoaringBitmap bitmap1 = wrap(1, 2, 3);
+        final ImmutableRoaringBitmap bitmap2 = wrap(3, 4, 100000);
+        final ImmutableRoaringBitmapAggregator aggregator = new ImmutableRoaringBitmapAggregator();
+
+        // When
+        final ImmutableRoaringBitmap result = aggregator.apply(bitmap1, bitmap2);
+
+        // Then
+        assertEquals(MutableRoaringBitmap.bitmapOf(1, 2, 3, 4, 100000), result);
+        assertEquals(MutableRoaringBitmap.bitmapOf(1, 2, 3), bitmap1);
+        assertEquals(MutableRoaringBitmap.bitmapOf(3, 4, 100000), bitmap2);
+    }
+
+    @Test
+    public void shouldAggregateManyBitmapsInSinglePass() throws SerialisationException {
+        // Given
+        final ImmutableRoaringBitmap bitmap1 = wrap(1, 2, 3);
+        final ImmutableRoaringBitmap bitmap2 = wrap(3, 4, 100000);
+        final ImmutableRoaringBitmap bitmap3 = wrap(5, 200000);
+        final ImmutableRoaringBitmapAggregator aggregator = new ImmutableRoaringBitmapAggregator();
+
+        // When
+        final ImmutableRoaringBitmap result = aggregator.aggregate(Arrays.asList(bitmap1, null, bitmap2, bitmap3));
+
+        // Then
+        assertEquals(MutableRoaringBitmap.bitmapOf(1, 2, 3, 4, 5, 100000, 200000), result);
+    }
+
+    @Test
+    public void naryAggregateReturnsSingleInput() throws SerialisationException {
+        // Given
+        final ImmutableRoaringBitmap bitmap = wrap(1, 2, 3);
+        final ImmutableRoaringBitmapAggregator aggregator = new ImmutableRoaringBitmapAggregator();
+
+        // When / Then
+        assertSame(bitmap, aggregator.aggregate(Arrays.asList(null, bitmap)));
+        assertNull(aggregator.aggregate(Arrays.asList(null, null)));
+    }
+
+    @Override
+    protected ImmutableRoaringBitmapAggregator getInstance() {
+        return new ImmutableRoaringBitmapAggregator();
+    }
+
+    @Override
+    protected Class<? extends BinaryOperator> getFunctionClass() {
+        return ImmutableRoaringBitmapAggregator.class;
+    }
+
+    @Override
+    public void shouldJsonSerialiseAndDeserialise() throws IOException {
+
+    }
+
+    private ImmutableRoaringBitmap wrap(final int... values) throws SerialisationException {
+        return SERIALISER.deserialise(SERIALISER.serialise(MutableRoaringBitmap.bitmapOf(values)));
+    }
+}
@@ -47,6 +47,24 @@ public class RoaringBitmapAggregatorTest extends BinaryOperatorTest {
         assertEquals(0, result.getCardinality());
     }
 
+    @Test
+    public void shouldAggregateManyBitmapsInSinglePass() {
+        final RoaringBitmap bitmap1 = RoaringBitmap.bitmapOf(1, 2, 3);
+        final RoaringBitmap bitmap2 = RoaringBitmap.bitmapOf(3, 4, 100000);
+        final RoaringBitmap bitmap3 = RoaringBitmap.bitmapOf(5, 200000);
+        final RoaringBitmapAggregator roaringBitmapAggregator = new RoaringBitmapAggregator();
+
+        final RoaringBitmap result = roaringBitmapAggregator.aggregate(Arrays.asList(bitmap1, null, bitmap2, bitmap3));
+
+        assertEquals(RoaringBitmap.bitmapOf(1, 2, 3, 4, 5, 100000, 200000), result);
+    }
+
+    @Test
+    public void naryAggregateDealsWithNullInput() {
+        final RoaringBitmapAggregator roaringBitmapAggregator = new RoaringBitmapAggregator();
+        assertNull(roaringBitmapAggregator.aggregate(Arrays.asList(null, null)));
+    }
+
     @Test
     public void singleInputBitmapGeneratesIdenticalOutputBitmap() {
         RoaringBitmap inputBitmap = new RoaringBitmap();
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.bitmap.function.filter;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+import uk.gov.gchq.gaffer.bitmap.serialisation.ImmutableRoaringBitmapSerialiser;
+import uk.gov.gchq.gaffer.commonutil.JsonUtil;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.koryphe.predicate.PredicateTest;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class BitmapCardinalityIsLessThanTest extends PredicateTest {
+    private ImmutableRoaringBitmap bitmapWithCardinality5;
+    private ImmutableRoaringBitmap bitmapWithCardinality15;
+    private ImmutableRoaringBitmap bitmapWithCardinality31;
+
+    @Before
+    public void setup() throws SerialisationException {
+        bitmapWithCardinality5 = createWrappedBitmap(5);
+        bitmapWithCardinality15 = createWrappedBitmap(15);
+        bitmapWithCardinality31 = createWrappedBitmap(31);
+    }
+
+    @Test
+    public void shouldAcceptWhenLessThan() {
+        // Given
+        final BitmapCardinalityIsLessThan filter = new BitmapCardinalityIsLessThan(15);
+        // When
+        boolean accepted = filter.test(bitmapWithCardinality5);
+        // Then
+        assertTrue(accepted);
+    }
+
+    @Test
+    public void shouldRejectWhenEqualToAndEqualToIsFalse() {
+        // Given
+        final BitmapCardinalityIsLessThan filter = new BitmapCardinalityIsLessThan(15);
+        // When
+        boolean accepted = filter.test(bitmapWithCardinality15);
+        // Then
+        assertFalse(accepted);
+    }
+
+    @Test
+    public void shouldAcceptWhenEqualToAndEqualToIsTrue() {
+        // Given
+        final BitmapCardinalityIsLessThan filter = new BitmapCardinalityIsLessThan(15, true);
+        // When
+        boolean accepted = filter.test(bitmapWithCardinality15);
+        // Then
+        assertTrue(accepted);
+    }
+
+    @Test
+    public void shouldRejectWhenMoreThan() {
+        // Given
+        final BitmapCardinalityIsLessThan filter = new BitmapCardinalityIsLessThan(15);
+        // When
+        boolean accepted = filter.test(bitmapWithCardinality31);
+        // Then
+        assertFalse(accepted);
+    }
+
+    @Test
+    public void shouldRejectWhenInputIsNull() {
+        // Given
+        final BitmapCardinalityIsLessThan filter = new BitmapCardinalityIsLessThan(15);
+        // When
+        boolean accepted = filter.test(null);
+        // Then
+        assertFalse(accepted);
+    }
+
+    @Override
+    @Test
+    public void shouldJsonSerialiseAndDeserialise() throws SerialisationException {
+        // Given
+        final BitmapCardinalityIsLessThan filter = new BitmapCardinalityIsLessThan(15);
+
+        // When 1
+        final String json = new String(new JSONSerialiser().serialise(filter, true));
+        // Then 1
+        JsonUtil.assertEquals(String.format("{%n" +
+                "  \"class\" : \"uk.gov.gchq.gaffer.bitmap.function.filter.BitmapCardinalityIsLessThan\",%n" +
+                "  \"orEqualTo\" : false,%n" +
+                "  \"value\" : 15%n" +
+                "}"), json);
+
+        // When 2
+        final BitmapCardinalityIsLessThan deserialisedFilter = new JSONSerialiser().deserialise(json.getBytes(), BitmapCardinalityIsLessThan.class);
+        // Then 2
+        assertNotNull(deserialisedFilter);
+        assertEquals(15L, deserialisedFilter.getControlValue());
+    }
+
+    @Override
+    protected Class<? extends Predicate> getPredicateClass() {
+        return BitmapCardinalityIsLessThan.class;
+    }
+
+    @Override
+    protected Predicate getInstance() {
+        return new BitmapCardinalityIsLessThan(10);
+    }
+
+    private ImmutableRoaringBitmap createWrappedBitmap(final int cardinality) throws SerialisationException {
+        final MutableRoaringBitmap bitmap = new MutableRoaringBitmap();
+        for (int i = 0; i < cardinality; i++) {
+            bitmap.add(i * 1000);
+        }
+        final ImmutableRoaringBitmapSerialiser serialiser = new ImmutableRoaringBitmapSerialiser();
+        return serialiser.deserialise(serialiser.serialise(bitmap));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.bitmap.function.filter;
+
+import org.junit.Test;
+import org.roaringbitmap.RoaringBitmap;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+import uk.gov.gchq.gaffer.bitmap.serialisation.ImmutableRoaringBitmapSerialiser;
+import uk.gov.gchq.gaffer.commonutil.JsonUtil;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.koryphe.predicate.PredicateTest;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class BitmapContainsTest extends PredicateTest {
+
+    @Test
+    public void shouldAcceptWhenWrappedBitmapContainsValue() throws SerialisationException {
+        // Given
+        final BitmapContains filter = new BitmapContains(100000);
+        final ImmutableRoaringBitmap bitmap = wrap(1, 2, 100000);
+        // When
+        boolean accepted = filter.test(bitmap);
+        // Then
+        assertTrue(accepted);
+    }
+
+    @Test
+    public void shouldRejectWhenWrappedBitmapDoesNotContainValue() throws SerialisationException {
+        // Given
+        final BitmapContains filter = new BitmapContains(3);
+        final ImmutableRoaringBitmap bitmap = wrap(1, 2, 100000);
+        // When
+        boolean accepted = filter.test(bitmap);
+        // Then
+        assertFalse(accepted);
+    }
+
+    @Test
+    public void shouldAcceptWhenRoaringBitmapContainsValue() {
+        // Given
+        final BitmapContains filter = new BitmapContains(2);
+        // When
+        boolean accepted = filter.test(RoaringBitmap.bitmapOf(1, 2));
+        // Then
+        assertTrue(accepted);
+    }
+
+    @Test
+    public void shouldRejectWhenInputIsNull() {
+        // Given
+        final BitmapContains filter = new BitmapContains(2);
+        // When
+        boolean accepted = filter.test(null);
+        // Then
+        assertFalse(accepted);
+    }
+
+    @Override
+    @Test
+    public void shouldJsonSerialiseAndDeserialise() throws SerialisationException {
+        // Given
+        final BitmapContains filter = new BitmapContains(15);
+
+        // When 1
+        final String json = new String(new JSONSerialiser().serialise(filter, true));
+        // Then 1
+        JsonUtil.assertEquals(String.format("{%n" +
+                "  \"class\" : \"uk.gov.gchq.gaffer.bitmap.function.filter.BitmapContains\",%n" +
+                "  \"value\" : 15%n" +
+                "}"), json);
+
+        // When 2
+        final BitmapContains deserialisedFilter = new JSONSerialiser().deserialise(json.getBytes(), BitmapContains.class);
+        // Then 2
+        assertNotNull(deserialisedFilter);
+        assertEquals(15, deserialisedFilter.getControlValue());
+    }
+
+    @Override
+    protected Class<? extends Predicate> getPredicateClass() {
+        return BitmapContains.class;
+    }
+
+    @Override
+    protected Predicate getInstance() {
+        return new BitmapContains(10);
+    }
+
+    private ImmutableRoaringBitmap wrap(final int... values) throws SerialisationException {
+        final ImmutableRoaringBitmapSerialiser serialiser = new ImmutableRoaringBitmapSerialiser();
+        return serialiser.deserialise(serialiser.serialise(MutableRoaringBitmap.bitmapOf(values)));
+    }
+}
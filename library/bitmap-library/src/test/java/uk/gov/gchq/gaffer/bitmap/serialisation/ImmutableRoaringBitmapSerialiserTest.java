@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.bitmap.serialisation;
+
+import org.junit.Test;
+import org.roaringbitmap.RoaringBitmap;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.Serialisation;
+import uk.gov.gchq.gaffer.serialisation.SerialisationTest;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ImmutableRoaringBitmapSerialiserTest extends SerialisationTest<ImmutableRoaringBitmap> {
+
+    @Test
+    public void shouldSerialiseAndDeserialise() throws SerialisationException {
+        // Given
+        final MutableRoaringBitmap bitmap = MutableRoaringBitmap.bitmapOf(2, 3000, 300000);
+        for (int i = 400000; i < 500000; i += 2) {
+            bitmap.add(i);
+        }
+
+        // When
+        final ImmutableRoaringBitmap result = serialiser.deserialise(serialiser.serialise(bitmap));
+
+        // Then
+        assertEquals(ImmutableRoaringBitmap.class, result.getClass());
+        assertEquals(bitmap, result);
+        assertTrue(result.contains(3000));
+        assertFalse(result.contains(400001));
+        assertEquals(bitmap.getCardinality(), result.getCardinality());
+    }
+
+    @Test
+    public void shouldReadRoaringBitmapSerialisedForm() throws SerialisationException {
+        // Given
+        final RoaringBitmap bitmap = RoaringBitmap.bitmapOf(1, 5, 70000);
+        for (int i = 100000; i < 200000; i++) {
+            bitmap.add(i);
+        }
+        bitmap.runOptimize();
+        final byte[] bytes = new RoaringBitmapSerialiser().serialise(bitmap);
+
+        // When
+        final ImmutableRoaringBitmap result = serialiser.deserialise(bytes);
+
+        // Then
+        assertArrayEquals(bitmap.toArray(), result.toArray());
+        assertArrayEquals(bytes, serialiser.serialise(result));
+    }
+
+    @Override
+    public void shouldDeserialiseEmptyBytes() throws SerialisationException {
+        // When
+        final ImmutableRoaringBitmap value = serialiser.deserialiseEmptyBytes();
+
+        // Then
+        assertTrue(value.isEmpty());
+    }
+
+    @Override
+    public Serialisation<ImmutableRoaringBitmap> getSerialisation() {
+        return new ImmutableRoaringBitmapSerialiser();
+    }
+}
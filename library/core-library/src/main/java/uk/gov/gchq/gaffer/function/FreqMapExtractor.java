@@ -15,14 +15,15 @@
  */
 package uk.gov.gchq.gaffer.function;
 
-import uk.gov.gchq.gaffer.types.FreqMap;
 import uk.gov.gchq.koryphe.function.KorypheFunction;
+import java.util.Map;
 
 /**
  * An <code>FreqMapExtractor</code> is a {@link KorypheFunction} that extractor a
- * count from a frequency map for the provided key.
+ * count from a frequency map for the provided key. It can be applied to
+ * {@link uk.gov.gchq.gaffer.types.FreqMap}s and {@link uk.gov.gchq.gaffer.types.CompactFreqMap}s.
  */
-public class FreqMapExtractor extends KorypheFunction<FreqMap, Long> {
+public class FreqMapExtractor extends KorypheFunction<Map<String, Long>, Long> {
     private String key;
 
     public FreqMapExtractor() {
@@ -33,7 +34,7 @@ public class FreqMapExtractor extends KorypheFunction<FreqMap, Long> {
     }
 
     @Override
-    public Long apply(final FreqMap freqMap) {
+    public Long apply(final Map<String, Long> freqMap) {
         if (null != freqMap) {
             return freqMap.get(key);
         }
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.serialisation;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import uk.gov.gchq.gaffer.types.CompactFreqMap;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A <code>CompactFreqMapSerialiser</code> serialises and deserialises {@link CompactFreqMap}s
+ * using a length-prefixed binary format. The number of entries is written first, followed by
+ * each key as a length-prefixed UTF-8 string and its count. All lengths and counts are written
+ * using {@link CompactRawSerialisationUtils}, so no escaping is needed and the bytes can be
+ * read in a single pass.
+ */
+public class CompactFreqMapSerialiser implements Serialisation<CompactFreqMap> {
+    private static final long serialVersionUID = -4128963505358155237L;
+
+    @Override
+    public byte[] serialise(final CompactFreqMap map) throws SerialisationException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeLong(map.size(), out);
+        map.forEachCount((key, count) -> {
+            final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            writeLong(keyBytes.length, out);
+            out.write(keyBytes, 0, keyBytes.length);
+            writeLong(count, out);
+        });
+        return out.toByteArray();
+    }
+
+    @Override
+    public CompactFreqMap deserialise(final byte[] bytes) throws SerialisationException {
+        if (0 == bytes.length) {
+            return new CompactFreqMap();
+        }
+
+        // Each entry takes at least two bytes, so a larger count can only come from corrupt bytes
+        final long numEntries = CompactRawSerialisationUtils.readLong(bytes, 0);
+        if (numEntries < 0 || numEntries > bytes.length / 2) {
+            throw new SerialisationException("Invalid number of entries " + numEntries + " in serialised CompactFreqMap");
+        }
+
+        final CompactFreqMap map = new CompactFreqMap((int) numEntries);
+        readInto(bytes, map);
+        return map;
+    }
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return CompactFreqMap.class.equals(clazz);
+    }
+
+    @Override
+    public boolean preservesObjectOrdering() {
+        return false;
+    }
+
+    @Override
+    public CompactFreqMap deserialiseEmptyBytes() {
+        return new CompactFreqMap();
+    }
+
+    private static void readInto(final byte[] bytes, final CompactFreqMap map) throws SerialisationException {
+        if (0 == bytes.length) {
+            return;
+        }
+
+        try {
+            int offset = 0;
+            final long numEntries = CompactRawSerialisationUtils.readLong(bytes, offset);
+            offset += CompactRawSerialisationUtils.decodeVIntSize(bytes[offset]);
+            for (long i = 0; i < numEntries; i++) {
+                final int keyLength = (int) CompactRawSerialisationUtils.readLong(bytes, offset);
+                offset += CompactRawSerialisationUtils.decodeVIntSize(bytes[offset]);
+                if (keyLength < 0 || offset + keyLength > bytes.length) {
+                    throw new SerialisationException("Invalid key length " + keyLength + " in serialised CompactFreqMap");
+                }
+                final String key = new String(bytes, offset, keyLength, StandardCharsets.UTF_8);
+                offset += keyLength;
+
+                final long count = CompactRawSerialisationUtils.readLong(bytes, offset);
+                offset += CompactRawSerialisationUtils.decodeVIntSize(bytes[offset]);
+                map.upsert(key, count);
+            }
+        } catch (final ArrayIndexOutOfBoundsException e) {
+            throw new SerialisationException("Serialised CompactFreqMap is truncated", e);
+        }
+    }
+
+    private static void writeLong(final long value, final ByteArrayOutputStream out) {
+        final byte[] bytes = CompactRawSerialisationUtils.writeLong(value);
+        out.write(bytes, 0, bytes.length);
+    }
+}
@@ -0,0 +1,421 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.types;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * A <code>CompactFreqMap</code> is a frequency map with String keys and long counts.
+ * It provides the same API as {@link FreqMap}, including the upsert operations, and
+ * can be used anywhere a {@link Map} of String to Long is expected, e.g. with the
+ * koryphe map predicates.
+ * <p>
+ * Rather than storing boxed counts in hash map entries, the keys and counts are held in
+ * two parallel arrays using open addressing with linear probing. Use
+ * {@link #upsert(String, long)} and {@link #forEachCount(ObjLongConsumer)} to update and
+ * read the counts without boxing them. Null keys and values are not supported.
+ */
+public class CompactFreqMap extends AbstractMap<String, Long> implements Serializable {
+    private static final long serialVersionUID = 2383307316187236376L;
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * The largest number of entries to size the table for when reading a serialised map, so that
+     * a corrupt count cannot allocate a huge table before any entries have been read.
+     */
+    private static final int MAX_INITIAL_READ_SIZE = 1 << 16;
+
+    /**
+     * Marks a slot whose key has been removed, so that probing continues past it.
+     */
+    private static final Object REMOVED = new Object();
+
+    private transient Object[] keys;
+    private transient long[] counts;
+    private transient int size;
+
+    /**
+     * The number of slots that are not empty, including removed slots.
+     */
+    private transient int used;
+
+    public CompactFreqMap() {
+        this(0);
+    }
+
+    public CompactFreqMap(final int expectedSize) {
+        init(capacityFor(expectedSize));
+    }
+
+    public CompactFreqMap(final Map<? extends String, ? extends Long> map) {
+        this(map.size());
+        putAll(map);
+    }
+
+    /**
+     * Adds a new key and value to the map if the key is not already there.
+     * If the key is already there, the value supplied is added to the existing value for the key.
+     *
+     * @param key   The key in the map to increment or insert.
+     * @param value The value to increment by or initialise to.
+     */
+    public void upsert(final String key, final long value) {
+        final int index = indexOf(requireKey(key));
+        if (index < 0) {
+            insert(key, value);
+        } else {
+            counts[index] += value;
+        }
+    }
+
+    /**
+     * Increments the value of an existing key by 1.
+     * If the key doesn't exist, initialises the value to 1.
+     *
+     * @param key The key to increment or insert.
+     */
+    public void upsert(final String key) {
+        upsert(key, 1L);
+    }
+
+    /**
+     * Adds all of the counts in the given map to the counts in this map.
+     *
+     * @param other the map of counts to add
+     */
+    public void upsertAll(final CompactFreqMap other) {
+        other.forEachCount(this::upsert);
+    }
+
+    /**
+     * Performs the given action for each key and count, without boxing the counts.
+     *
+     * @param action the action to perform for each key and count
+     */
+    public void forEachCount(final ObjLongConsumer<String> action) {
+        final Object[] currentKeys = keys;
+        for (int i = 0; i < currentKeys.length; i++) {
+            final Object key = currentKeys[i];
+            if (null != key && REMOVED != key) {
+                action.accept((String) key, counts[i]);
+            }
+        }
+    }
+
+    /**
+     * @return a new {@link FreqMap} containing the same keys and counts as this map
+     */
+    public FreqMap toFreqMap() {
+        final FreqMap freqMap = new FreqMap(size * 2);
+        forEachCount(freqMap::put);
+        return freqMap;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return key instanceof String && indexOf(key) >= 0;
+    }
+
+    @Override
+    public Long get(final Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+
+        final int index = indexOf(key);
+        return index < 0 ? null : counts[index];
+    }
+
+    @Override
+    public Long put(final String key, final Long value) {
+        if (null == value) {
+            throw new NullPointerException("CompactFreqMap does not support null values");
+        }
+
+        final int index = indexOf(requireKey(key));
+        if (index < 0) {
+            insert(key, value);
+            return null;
+        }
+
+        final long previous = counts[index];
+        counts[index] = value;
+        return previous;
+    }
+
+    @Override
+    public Long remove(final Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+
+        final int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+
+        final long previous = counts[index];
+        removeAt(index);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, null);
+        size = 0;
+        used = 0;
+    }
+
+    @Override
+    public Set<Entry<String, Long>> entrySet() {
+        return new EntrySet();
+    }
+
+    private void init(final int capacity) {
+        keys = new Object[capacity];
+        counts = new long[capacity];
+        size = 0;
+        used = 0;
+    }
+
+    private static int capacityFor(final int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative: " + expectedSize);
+        }
+
+        // Keep the table at most half full so that probe sequences stay short
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity < 2L * expectedSize && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int hash(final Object key) {
+        final int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static String requireKey(final String key) {
+        if (null == key) {
+            throw new NullPointerException("CompactFreqMap does not support null keys");
+        }
+        return key;
+    }
+
+    private int indexOf(final Object key) {
+        final int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        Object current;
+        while (null != (current = keys[index])) {
+            if (REMOVED != current && current.equals(key)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insert(final String key, final long value) {
+        // Rehash once more than two thirds of the slots are used, which also clears any removed slots
+        if (3L * (used + 1) > 2L * keys.length) {
+            rehash(capacityFor(size + 1));
+            if (3L * (used + 1) > 2L * keys.length) {
+                throw new IllegalStateException("CompactFreqMap cannot hold more than " + size + " entries");
+            }
+        }
+
+        final int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        while (null != keys[index] && REMOVED != keys[index]) {
+            index = (index + 1) & mask;
+        }
+
+        if (null == keys[index]) {
+            used++;
+        }
+        keys[index] = key;
+        counts[index] = value;
+        size++;
+    }
+
+    private void removeAt(final int index) {
+        keys[index] = REMOVED;
+        size--;
+    }
+
+    private void rehash(final int capacity) {
+        final Object[] oldKeys = keys;
+        final long[] oldCounts = counts;
+        init(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (null != oldKeys[i] && REMOVED != oldKeys[i]) {
+                insert((String) oldKeys[i], oldCounts[i]);
+            }
+        }
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        for (int i = 0; i < keys.length; i++) {
+            if (null != keys[i] && REMOVED != keys[i]) {
+                out.writeUTF((String) keys[i]);
+                out.writeLong(counts[i]);
+            }
+        }
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        final int numEntries = in.readInt();
+        if (numEntries < 0) {
+            throw new InvalidObjectException("Invalid number of entries " + numEntries + " in serialised CompactFreqMap");
+        }
+
+        init(capacityFor(Math.min(numEntries, MAX_INITIAL_READ_SIZE)));
+        for (int i = 0; i < numEntries; i++) {
+            insert(in.readUTF(), in.readLong());
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, Long>> {
+        @Override
+        public Iterator<Entry<String, Long>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            CompactFreqMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, Long>> {
+        private int nextIndex = -1;
+        private int currentIndex = -1;
+
+        private EntryIterator() {
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < keys.length;
+        }
+
+        @Override
+        public Entry<String, Long> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            currentIndex = nextIndex;
+            advance();
+            return new CountEntry(currentIndex);
+        }
+
+        @Override
+        public void remove() {
+            if (currentIndex < 0) {
+                throw new IllegalStateException();
+            }
+
+            removeAt(currentIndex);
+            currentIndex = -1;
+        }
+
+        private void advance() {
+            do {
+                nextIndex++;
+            } while (nextIndex < keys.length && (null == keys[nextIndex] || REMOVED == keys[nextIndex]));
+        }
+    }
+
+    private final class CountEntry implements Entry<String, Long> {
+        private final int index;
+        private final String key;
+
+        private CountEntry(final int index) {
+            this.index = index;
+            this.key = (String) keys[index];
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public Long getValue() {
+            return counts[index];
+        }
+
+        @Override
+        public Long setValue(final Long value) {
+            if (null == value) {
+                throw new NullPointerException("CompactFreqMap does not support null values");
+            }
+
+            final long previous = counts[index];
+            counts[index] = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+
+            final Entry<?, ?> entry = (Entry<?, ?>) obj;
+            return key.equals(entry.getKey()) && getValue().equals(entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ Long.hashCode(counts[index]);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + counts[index];
+        }
+    }
+}
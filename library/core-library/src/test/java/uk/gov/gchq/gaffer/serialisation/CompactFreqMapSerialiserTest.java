@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.serialisation;
+
+import org.junit.Test;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import uk.gov.gchq.gaffer.types.CompactFreqMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CompactFreqMapSerialiserTest extends SerialisationTest<CompactFreqMap> {
+
+    @Test
+    public void canSerialiseEmptyFreqMap() throws SerialisationException {
+        // When
+        final CompactFreqMap deserialised = serialiser.deserialise(serialiser.serialise(new CompactFreqMap()));
+
+        // Then
+        assertEquals(0, deserialised.size());
+    }
+
+    @Test
+    public void shouldSerialiseDeserialiseFreqMapWithValues() throws SerialisationException {
+        // Given
+        final CompactFreqMap freqMap = new CompactFreqMap();
+        freqMap.put("x", 10L);
+        freqMap.put("", 5L);
+        freqMap.put("é\u0000|,", -20L);
+        freqMap.put("large", Long.MAX_VALUE);
+
+        // When
+        final CompactFreqMap deserialised = serialiser.deserialise(serialiser.serialise(freqMap));
+
+        // Then
+        assertEquals(freqMap, deserialised);
+    }
+
+    @Test(expected = SerialisationException.class)
+    public void shouldThrowExceptionForCorruptNumberOfEntries() throws SerialisationException {
+        // Given
+        final byte[] bytes = CompactRawSerialisationUtils.writeLong(Integer.MAX_VALUE);
+
+        // When
+        serialiser.deserialise(bytes);
+    }
+
+    @Test(expected = SerialisationException.class)
+    public void shouldThrowExceptionForNegativeNumberOfEntries() throws SerialisationException {
+        // Given
+        final byte[] bytes = CompactRawSerialisationUtils.writeLong(-1L);
+
+        // When
+        serialiser.deserialise(bytes);
+    }
+
+    @Test(expected = SerialisationException.class)
+    public void shouldThrowExceptionForTruncatedBytes() throws SerialisationException {
+        // Given
+        final CompactFreqMap freqMap = new CompactFreqMap();
+        freqMap.put("key", 1000L);
+        final byte[] bytes = serialiser.serialise(freqMap);
+        final byte[] truncated = new byte[bytes.length - 2];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+
+        // When
+        serialiser.deserialise(truncated);
+    }
+
+    @Test
+    public void shouldOnlyHandleCompactFreqMap() {
+        assertTrue(serialiser.canHandle(CompactFreqMap.class));
+        assertFalse(serialiser.canHandle(String.class));
+    }
+
+    @Override
+    public void shouldDeserialiseEmptyBytes() throws SerialisationException {
+        // When
+        final CompactFreqMap value = serialiser.deserialiseEmptyBytes();
+
+        // Then
+        assertEquals(new CompactFreqMap(), value);
+    }
+
+    @Override
+    public Serialisation<CompactFreqMap> getSerialisation() {
+        return new CompactFreqMapSerialiser();
+    }
+}
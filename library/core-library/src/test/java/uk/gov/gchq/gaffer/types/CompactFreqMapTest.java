@@ -0,0 +1,171 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.types;
+
+import org.junit.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CompactFreqMapTest {
+
+    @Test
+    public void shouldUpsertNewAndExistingKeys() {
+        // Given
+        final CompactFreqMap freqMap = new CompactFreqMap();
+
+        // When
+        freqMap.upsert("a", 6L);
+        freqMap.upsert("a", 4L);
+        freqMap.upsert("b");
+
+        // Then
+        assertEquals(2, freqMap.size());
+        assertEquals((Long) 10L, freqMap.get("a"));
+        assertEquals((Long) 1L, freqMap.get("b"));
+        assertNull(freqMap.get("c"));
+    }
+
+    @Test
+    public void shouldGrowAndKeepAllCounts() {
+        // Given
+        final CompactFreqMap freqMap = new CompactFreqMap();
+        final Map<String, Long> expected = new HashMap<>();
+
+        // When
+        for (int i = 0; i < 10000; i++) {
+            freqMap.upsert("key" + (i % 2500), i);
+            expected.merge("key" + (i % 2500), (long) i, Long::sum);
+        }
+
+        // Then
+        assertEquals(2500, freqMap.size());
+        assertEquals(expected, freqMap);
+        assertEquals(freqMap, expected);
+        assertEquals(expected.hashCode(), freqMap.hashCode());
+    }
+
+    @Test
+    public void shouldRemoveKeysAndReuseTheirSlots() {
+        // Given
+        final CompactFreqMap freqMap = new CompactFreqMap();
+        for (int i = 0; i < 100; i++) {
+            freqMap.put("key" + i, (long) i);
+        }
+
+        // When
+        for (int i = 0; i < 100; i += 2) {
+            assertEquals((Long) (long) i, freqMap.remove("key" + i));
+        }
+        for (int i = 0; i < 100; i += 2) {
+            freqMap.upsert("new" + i);
+        }
+
+        // Then
+        assertEquals(100, freqMap.size());
+        assertFalse(freqMap.containsKey("key0"));
+        assertTrue(freqMap.containsKey("key1"));
+        assertTrue(freqMap.containsKey("new0"));
+        assertNull(freqMap.remove("key0"));
+    }
+
+    @Test
+    public void shouldUpdateAndRemoveThroughEntryIterator() {
+        // Given
+        final CompactFreqMap freqMap = new CompactFreqMap();
+        freqMap.put("a", 1L);
+        freqMap.put("b", 2L);
+        freqMap.put("c", 3L);
+
+        // When
+        final Iterator<Map.Entry<String, Long>> itr = freqMap.entrySet().iterator();
+        while (itr.hasNext()) {
+            final Map.Entry<String, Long> entry = itr.next();
+            if ("b".equals(entry.getKey())) {
+                itr.remove();
+            } else {
+                entry.setValue(entry.getValue() * 10);
+            }
+        }
+
+        // Then
+        final FreqMap expected = new FreqMap();
+        expected.put("a", 10L);
+        expected.put("c", 30L);
+        assertEquals(expected, freqMap);
+        assertEquals(expected, freqMap.toFreqMap());
+    }
+
+    @Test
+    public void shouldBeEqualToFreqMapWithSameCounts() {
+        // Given
+        final FreqMap freqMap = new FreqMap();
+        freqMap.put("x", 10L);
+        freqMap.put("y", 5L);
+
+        // When
+        final CompactFreqMap compactFreqMap = new CompactFreqMap(freqMap);
+
+        // Then
+        assertEquals(freqMap, compactFreqMap);
+        assertEquals(compactFreqMap, freqMap);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldNotAllowNullKeys() {
+        new CompactFreqMap().upsert(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowNegativeExpectedSize() {
+        new CompactFreqMap(-1);
+    }
+
+    @Test
+    public void shouldJavaSerialiseAndDeserialise() throws IOException, ClassNotFoundException {
+        // Given
+        final CompactFreqMap freqMap = new CompactFreqMap();
+        freqMap.put("x", 10L);
+        freqMap.put("y", 5L);
+        freqMap.remove("y");
+        freqMap.put("z", Long.MAX_VALUE);
+
+        // When
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(freqMap);
+        }
+        final Object deserialised;
+        try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserialised = in.readObject();
+        }
+
+        // Then
+        assertEquals(freqMap, deserialised);
+        ((CompactFreqMap) deserialised).upsert("x");
+        assertEquals((Long) 11L, ((CompactFreqMap) deserialised).get("x"));
+    }
+}
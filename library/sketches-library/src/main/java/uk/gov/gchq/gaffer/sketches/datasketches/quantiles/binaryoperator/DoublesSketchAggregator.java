@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sketches.datasketches.quantiles.binaryoperator;
+
+import com.yahoo.sketches.quantiles.DoublesSketch;
+import com.yahoo.sketches.quantiles.DoublesUnion;
+import uk.gov.gchq.gaffer.commonutil.function.NaryAggregator;
+import uk.gov.gchq.koryphe.binaryoperator.KorypheBinaryOperator;
+
+/**
+ * A <code>DoublesSketchAggregator</code> is a {@link java.util.function.BinaryOperator} that aggregates read-only
+ * {@link DoublesSketch}es. It does this by merging both sketches into a new {@link DoublesUnion} and returning
+ * its result, so neither input is modified.
+ * When aggregating many sketches they are all merged into a single {@link DoublesUnion}.
+ */
+public class DoublesSketchAggregator extends KorypheBinaryOperator<DoublesSketch> implements NaryAggregator<DoublesSketch> {
+    @Override
+    protected DoublesSketch _apply(final DoublesSketch a, final DoublesSketch b) {
+        final DoublesUnion union = DoublesUnion.builder()
+                .setMaxK(Math.max(a.getK(), b.getK()))
+                .build();
+        union.update(a);
+        union.update(b);
+        return union.getResult();
+    }
+
+    @Override
+    public DoublesSketch aggregate(final Iterable<DoublesSketch> values) {
+        int maxK = 0;
+        for (final DoublesSketch value : values) {
+            if (null != value) {
+                maxK = Math.max(maxK, value.getK());
+            }
+        }
+        if (0 == maxK) {
+            return null;
+        }
+
+        final DoublesUnion union = DoublesUnion.builder()
+                .setMaxK(maxK)
+                .build();
+        for (final DoublesSketch value : values) {
+            if (null != value) {
+                union.update(value);
+            }
+        }
+        return union.getResult();
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sketches.datasketches.quantiles.serialisation;
+
+import com.yahoo.memory.NativeMemory;
+import com.yahoo.sketches.quantiles.DoublesSketch;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.Serialisation;
+
+/**
+ * A <code>DoublesSketchSerialiser</code> serialises a {@link DoublesSketch} using its <code>toByteArray()</code>
+ * method. Deserialisation wraps the stored bytes in a read-only {@link DoublesSketch} rather than copying them onto
+ * the heap, so quantiles, ranks and counts can be read without the cost of a full deserialisation.
+ */
+public class DoublesSketchSerialiser implements Serialisation<DoublesSketch> {
+    private static final long serialVersionUID = -2386462012470291416L;
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return DoublesSketch.class.equals(clazz);
+    }
+
+    @Override
+    public byte[] serialise(final DoublesSketch sketch) throws SerialisationException {
+        return sketch.toByteArray();
+    }
+
+    @Override
+    public DoublesSketch deserialise(final byte[] bytes) throws SerialisationException {
+        return DoublesSketch.wrap(new NativeMemory(bytes));
+    }
+
+    @Override
+    public DoublesSketch deserialiseEmptyBytes() throws SerialisationException {
+        return null;
+    }
+
+    @Override
+    public boolean preservesObjectOrdering() {
+        return false;
+    }
+}
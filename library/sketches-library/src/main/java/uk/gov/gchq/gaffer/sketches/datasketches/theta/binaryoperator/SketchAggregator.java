@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sketches.datasketches.theta.binaryoperator;
+
+import com.yahoo.sketches.theta.Sketch;
+import com.yahoo.sketches.theta.Sketches;
+import com.yahoo.sketches.theta.Union;
+import uk.gov.gchq.gaffer.commonutil.function.NaryAggregator;
+import uk.gov.gchq.koryphe.binaryoperator.KorypheBinaryOperator;
+
+/**
+ * A <code>SketchAggregator</code> is a {@link java.util.function.BinaryOperator} that aggregates read-only
+ * {@link Sketch}es. It does this by merging both sketches into a new {@link Union} and returning its
+ * {@link com.yahoo.sketches.theta.CompactSketch} result, so neither input is modified.
+ * When aggregating many sketches they are all merged into a single {@link Union}.
+ */
+public class SketchAggregator extends KorypheBinaryOperator<Sketch> implements NaryAggregator<Sketch> {
+    @Override
+    protected Sketch _apply(final Sketch a, final Sketch b) {
+        final Union union = Sketches.setOperationBuilder().buildUnion();
+        union.update(a);
+        union.update(b);
+        return union.getResult();
+    }
+
+    @Override
+    public Sketch aggregate(final Iterable<Sketch> values) {
+        Union union = null;
+        for (final Sketch value : values) {
+            if (null != value) {
+                if (null == union) {
+                    union = Sketches.setOperationBuilder().buildUnion();
+                }
+                union.update(value);
+            }
+        }
+        return null != union ? union.getResult() : null;
+    }
+}
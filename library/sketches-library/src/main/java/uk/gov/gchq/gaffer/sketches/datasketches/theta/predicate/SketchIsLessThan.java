@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sketches.datasketches.theta.predicate;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.yahoo.sketches.theta.Sketch;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import uk.gov.gchq.koryphe.predicate.KoryphePredicate;
+
+/**
+ * A <code>SketchIsLessThan</code> is a {@link java.util.function.Predicate} that simply checks that the input
+ * {@link Sketch} estimate is less than a control value. The estimate is read directly from the sketch, so
+ * read-only sketches wrapping the stored bytes are never copied onto the heap.
+ */
+public class SketchIsLessThan extends KoryphePredicate<Sketch> {
+    private double controlValue;
+    private boolean orEqualTo;
+
+    public SketchIsLessThan() {
+        // Required for serialisation
+    }
+
+    public SketchIsLessThan(final double controlValue) {
+        this(controlValue, false);
+    }
+
+    public SketchIsLessThan(final double controlValue, final boolean orEqualTo) {
+        this.controlValue = controlValue;
+        this.orEqualTo = orEqualTo;
+    }
+
+    @JsonProperty("value")
+    public double getControlValue() {
+        return controlValue;
+    }
+
+    public void setControlValue(final double controlValue) {
+        this.controlValue = controlValue;
+    }
+
+    public boolean getOrEqualTo() {
+        return orEqualTo;
+    }
+
+    public void setOrEqualTo(final boolean orEqualTo) {
+        this.orEqualTo = orEqualTo;
+    }
+
+    @Override
+    public boolean test(final Sketch input) {
+        if (input == null) {
+            return false;
+        }
+        final double estimate = input.getEstimate();
+        if (orEqualTo) {
+            return estimate <= controlValue;
+        }
+        return estimate < controlValue;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        final SketchIsLessThan that = (SketchIsLessThan) o;
+
+        return new EqualsBuilder()
+                .append(controlValue, that.controlValue)
+                .append(orEqualTo, that.orEqualTo)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 37)
+                .append(controlValue)
+                .append(orEqualTo)
+                .toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("controlValue", controlValue)
+                .append("orEqualTo", orEqualTo)
+                .toString();
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sketches.datasketches.theta.serialisation;
+
+import com.yahoo.memory.NativeMemory;
+import com.yahoo.sketches.theta.Sketch;
+import com.yahoo.sketches.theta.Sketches;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.Serialisation;
+
+/**
+ * A <code>SketchSerialiser</code> serialises a {@link Sketch} using its <code>toByteArray()</code> method.
+ * Deserialisation wraps the stored bytes in a read-only {@link Sketch} rather than copying them onto the heap,
+ * so the estimate and bounds can be read without the cost of a full deserialisation. The serialised form is the
+ * same as that produced by {@link UnionSerialiser}.
+ */
+public class SketchSerialiser implements Serialisation<Sketch> {
+    private static final long serialVersionUID = 4406347553328432455L;
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return Sketch.class.equals(clazz);
+    }
+
+    @Override
+    public byte[] serialise(final Sketch sketch) throws SerialisationException {
+        return sketch.toByteArray();
+    }
+
+    @Override
+    public Sketch deserialise(final byte[] bytes) throws SerialisationException {
+        return Sketches.wrapSketch(new NativeMemory(bytes));
+    }
+
+    @Override
+    public Sketch deserialiseEmptyBytes() throws SerialisationException {
+        return null;
+    }
+
+    @Override
+    public boolean preservesObjectOrdering() {
+        return false;
+    }
+}
@@ -16,7 +16,6 @@
 package uk.gov.gchq.gaffer.sketches.datasketches.theta.serialisation;
 
 import com.yahoo.memory.NativeMemory;
-import com.yahoo.sketches.theta.Sketch;
 import com.yahoo.sketches.theta.Sketches;
 import com.yahoo.sketches.theta.Union;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
@@ -42,7 +41,7 @@ public class UnionSerialiser implements Serialisation<Union> {
     @Override
     public Union deserialise(final byte[] bytes) throws SerialisationException {
         final Union union = Sketches.setOperationBuilder().buildUnion();
-        union.update(Sketch.heapify(new NativeMemory(bytes)));
+        union.update(new NativeMemory(bytes));
         return union;
     }
 
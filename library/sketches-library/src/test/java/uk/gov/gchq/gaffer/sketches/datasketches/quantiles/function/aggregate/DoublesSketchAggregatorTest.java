@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sketches.datasketches.quantiles.function.aggregate;
+
+import com.yahoo.sketches.quantiles.DoublesSketch;
+import com.yahoo.sketches.quantiles.UpdateDoublesSketch;
+import org.junit.Before;
+import org.junit.Test;
+import uk.gov.gchq.gaffer.commonutil.JsonUtil;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.sketches.datasketches.quantiles.binaryoperator.DoublesSketchAggregator;
+import uk.gov.gchq.gaffer.sketches.datasketches.quantiles.serialisation.DoublesSketchSerialiser;
+import uk.gov.gchq.koryphe.binaryoperator.BinaryOperatorTest;
+import java.util.Arrays;
+import java.util.function.BinaryOperator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class DoublesSketchAggregatorTest extends BinaryOperatorTest {
+    private static final double DELTA = 0.01D;
+    private DoublesSketch sketch1;
+    private DoublesSketch sketch2;
+
+    @Before
+    public void setup() {
+        final UpdateDoublesSketch updateSketch1 = DoublesSketch.builder().build();
+        updateSketch1.update(1.0D);
+        updateSketch1.update(2.0D);
+        updateSketch1.update(3.0D);
+        sketch1 = updateSketch1;
+
+        final UpdateDoublesSketch updateSketch2 = DoublesSketch.builder().build();
+        updateSketch2.update(4.0D);
+        updateSketch2.update(5.0D);
+        updateSketch2.update(6.0D);
+        updateSketch2.update(7.0D);
+        sketch2 = updateSketch2;
+    }
+
+    @Test
+    public void testAggregate() {
+        final DoublesSketchAggregator aggregator = new DoublesSketchAggregator();
+        DoublesSketch currentState = sketch1;
+        assertEquals(3L, currentState.getN());
+        assertEquals(2.0D, currentState.getQuantile(0.5D), DELTA);
+        currentState = aggregator.apply(currentState, sketch2);
+        assertEquals(7L, currentState.getN());
+        assertEquals(4.0D, currentState.getQuantile(0.5D), DELTA);
+        assertEquals(3L, sketch1.getN());
+    }
+
+    @Test
+    public void testAggregateMany() {
+        final UpdateDoublesSketch sketch3 = DoublesSketch.builder().setK(256).build();
+        sketch3.update(8.0D);
+        sketch3.update(9.0D);
+
+        final DoublesSketch result = new DoublesSketchAggregator().aggregate(Arrays.asList(sketch1, null, sketch2, sketch3));
+
+        assertEquals(9L, result.getN());
+        assertEquals(5.0D, result.getQuantile(0.5D), DELTA);
+        assertEquals(256, result.getK());
+    }
+
+    @Test
+    public void testAggregateManyNulls() {
+        assertNull(new DoublesSketchAggregator().aggregate(Arrays.asList(null, null)));
+    }
+
+    @Test
+    public void shouldAggregateWrappedSketches() throws SerialisationException {
+        // Given
+        final DoublesSketchSerialiser serialiser = new DoublesSketchSerialiser();
+        final DoublesSketch wrapped1 = serialiser.deserialise(serialiser.serialise(sketch1));
+        final DoublesSketch wrapped2 = serialiser.deserialise(serialiser.serialise(sketch2));
+
+        // When
+        final DoublesSketch result = new DoublesSketchAggregator().apply(wrapped1, wrapped2);
+
+        // Then
+        assertEquals(7L, result.getN());
+        assertEquals(4.0D, result.getQuantile(0.5D), DELTA);
+    }
+
+    @Test
+    public void testEquals() {
+        assertEquals(new DoublesSketchAggregator(), new DoublesSketchAggregator());
+    }
+
+    @Override
+    @Test
+    public void shouldJsonSerialiseAndDeserialise() throws SerialisationException {
+        // Given
+        final DoublesSketchAggregator aggregator = new DoublesSketchAggregator();
+
+        // When 1
+        final String json = new String(new JSONSerialiser().serialise(aggregator, true));
+        // Then 1
+        JsonUtil.assertEquals(String.format("{%n" +
+                "  \"class\" : \"uk.gov.gchq.gaffer.sketches.datasketches.quantiles.binaryoperator.DoublesSketchAggregator\"%n" +
+                "}"), json);
+
+        // When 2
+        final DoublesSketchAggregator deserialisedAggregator = new JSONSerialiser()
+                .deserialise(json.getBytes(), DoublesSketchAggregator.class);
+        // Then 2
+        assertNotNull(deserialisedAggregator);
+    }
+
+    @Override
+    protected Class<? extends BinaryOperator> getFunctionClass() {
+        return DoublesSketchAggregator.class;
+    }
+
+    @Override
+    protected DoublesSketchAggregator getInstance() {
+        return new DoublesSketchAggregator();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sketches.datasketches.quantiles.serialisation;
+
+import com.yahoo.sketches.quantiles.DoublesSketch;
+import com.yahoo.sketches.quantiles.DoublesUnion;
+import com.yahoo.sketches.quantiles.UpdateDoublesSketch;
+import org.junit.Test;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DoublesSketchSerialiserTest {
+    private static final double DELTA = 0.01D;
+    private static final DoublesSketchSerialiser SERIALISER = new DoublesSketchSerialiser();
+
+    @Test
+    public void testSerialiseAndDeserialise() throws SerialisationException {
+        final UpdateDoublesSketch sketch = DoublesSketch.builder().build();
+        sketch.update(1.0D);
+        sketch.update(2.0D);
+        sketch.update(3.0D);
+        testSerialiser(sketch);
+
+        final DoublesSketch emptySketch = DoublesSketch.builder().build();
+        testSerialiser(emptySketch);
+    }
+
+    @Test
+    public void shouldDeserialiseBytesWrittenByDoublesUnionSerialiser() throws SerialisationException {
+        // Given
+        final DoublesUnion union = DoublesUnion.builder().build();
+        union.update(1.0D);
+        union.update(2.0D);
+        union.update(3.0D);
+        final byte[] bytes = new DoublesUnionSerialiser().serialise(union);
+
+        // When
+        final DoublesSketch sketch = SERIALISER.deserialise(bytes);
+
+        // Then
+        assertTrue(sketch.isDirect());
+        assertEquals(3L, sketch.getN());
+        assertEquals(2.0D, sketch.getQuantile(0.5D), DELTA);
+    }
+
+    private void testSerialiser(final DoublesSketch sketch) throws SerialisationException {
+        final byte[] sketchSerialised = SERIALISER.serialise(sketch);
+        final DoublesSketch sketchDeserialised = SERIALISER.deserialise(sketchSerialised);
+        assertEquals(sketch.getN(), sketchDeserialised.getN());
+        assertEquals(sketch.isEmpty(), sketchDeserialised.isEmpty());
+        if (!sketch.isEmpty()) {
+            assertArrayEquals(sketch.getQuantiles(new double[]{0.0D, 0.5D, 1.0D}),
+                    sketchDeserialised.getQuantiles(new double[]{0.0D, 0.5D, 1.0D}), DELTA);
+        }
+    }
+
+    @Test
+    public void testCanHandleDoublesSketch() {
+        assertTrue(SERIALISER.canHandle(DoublesSketch.class));
+        assertFalse(SERIALISER.canHandle(String.class));
+    }
+}
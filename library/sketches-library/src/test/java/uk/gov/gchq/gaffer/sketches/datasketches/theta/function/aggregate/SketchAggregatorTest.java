@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sketches.datasketches.theta.function.aggregate;
+
+import com.yahoo.sketches.theta.Sketch;
+import com.yahoo.sketches.theta.Sketches;
+import com.yahoo.sketches.theta.Union;
+import org.junit.Before;
+import org.junit.Test;
+import uk.gov.gchq.gaffer.commonutil.JsonUtil;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.sketches.datasketches.theta.binaryoperator.SketchAggregator;
+import uk.gov.gchq.gaffer.sketches.datasketches.theta.serialisation.SketchSerialiser;
+import uk.gov.gchq.koryphe.binaryoperator.BinaryOperatorTest;
+import java.util.Arrays;
+import java.util.function.BinaryOperator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class SketchAggregatorTest extends BinaryOperatorTest {
+    private static final double DELTA = 0.01D;
+    private Sketch sketch1;
+    private Sketch sketch2;
+
+    @Before
+    public void setup() {
+        final Union union1 = Sketches.setOperationBuilder().buildUnion();
+        union1.update("A");
+        union1.update("B");
+        sketch1 = union1.getResult();
+
+        final Union union2 = Sketches.setOperationBuilder().buildUnion();
+        union2.update("C");
+        union2.update("D");
+        sketch2 = union2.getResult();
+    }
+
+    @Test
+    public void testAggregate() {
+        final SketchAggregator sketchAggregator = new SketchAggregator();
+        Sketch currentState = sketch1;
+        assertEquals(2.0D, currentState.getEstimate(), DELTA);
+        currentState = sketchAggregator.apply(currentState, sketch2);
+        assertEquals(4.0D, currentState.getEstimate(), DELTA);
+        assertEquals(2.0D, sketch1.getEstimate(), DELTA);
+    }
+
+    @Test
+    public void testAggregateMany() {
+        final Union union3 = Sketches.setOperationBuilder().buildUnion();
+        union3.update("D");
+        union3.update("E");
+
+        final Sketch result = new SketchAggregator().aggregate(Arrays.asList(sketch1, null, sketch2, union3.getResult()));
+
+        assertEquals(5.0D, result.getEstimate(), DELTA);
+        assertEquals(2.0D, sketch1.getEstimate(), DELTA);
+    }
+
+    @Test
+    public void testAggregateManyNulls() {
+        assertNull(new SketchAggregator().aggregate(Arrays.asList(null, null)));
+    }
+
+    @Test
+    public void shouldAggregateWrappedSketches() throws SerialisationException {
+        // Given
+        final SketchSerialiser serialiser = new SketchSerialiser();
+        final Sketch wrapped1 = serialiser.deserialise(serialiser.serialise(sketch1));
+        final Sketch wrapped2 = serialiser.deserialise(serialiser.serialise(sketch2));
+
+        // When
+        final Sketch result = new SketchAggregator().apply(wrapped1, wrapped2);
+
+        // Then
+        assertEquals(4.0D, result.getEstimate(), DELTA);
+    }
+
+    @Test
+    public void testEquals() {
+        assertEquals(new SketchAggregator(), new SketchAggregator());
+    }
+
+    @Override
+    @Test
+    public void shouldJsonSerialiseAndDeserialise() throws SerialisationException {
+        // Given
+        final SketchAggregator aggregator = new SketchAggregator();
+
+        // When 1
+        final String json = new String(new JSONSerialiser().serialise(aggregator, true));
+        // Then 1
+        JsonUtil.assertEquals(String.format("{%n" +
+                "  \"class\" : \"uk.gov.gchq.gaffer.sketches.datasketches.theta.binaryoperator.SketchAggregator\"%n" +
+                "}"), json);
+
+        // When 2
+        final SketchAggregator deserialisedAggregator = new JSONSerialiser()
+                .deserialise(json.getBytes(), SketchAggregator.class);
+        // Then 2
+        assertNotNull(deserialisedAggregator);
+    }
+
+    @Override
+    protected Class<? extends BinaryOperator> getFunctionClass() {
+        return SketchAggregator.class;
+    }
+
+    @Override
+    protected SketchAggregator getInstance() {
+        return new SketchAggregator();
+    }
+}
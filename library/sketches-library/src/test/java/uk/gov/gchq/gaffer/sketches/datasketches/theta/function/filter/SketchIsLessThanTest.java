@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sketches.datasketches.theta.function.filter;
+
+import com.yahoo.sketches.theta.Sketch;
+import com.yahoo.sketches.theta.Sketches;
+import com.yahoo.sketches.theta.Union;
+import org.junit.Before;
+import org.junit.Test;
+import uk.gov.gchq.gaffer.commonutil.JsonUtil;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.sketches.datasketches.theta.predicate.SketchIsLessThan;
+import uk.gov.gchq.gaffer.sketches.datasketches.theta.serialisation.SketchSerialiser;
+import uk.gov.gchq.koryphe.predicate.PredicateTest;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class SketchIsLessThanTest extends PredicateTest {
+    private static final double DELTA = 0.01D;
+
+    private Sketch sketchWithEstimate5;
+    private Sketch sketchWithEstimate15;
+    private Sketch sketchWithEstimate31;
+
+    @Before
+    public void setup() throws SerialisationException {
+        sketchWithEstimate5 = createWrappedSketch(5);
+        assertEquals(5.0D, sketchWithEstimate5.getEstimate(), DELTA);
+
+        sketchWithEstimate15 = createWrappedSketch(15);
+        assertEquals(15.0D, sketchWithEstimate15.getEstimate(), DELTA);
+
+        sketchWithEstimate31 = createWrappedSketch(31);
+        assertEquals(31.0D, sketchWithEstimate31.getEstimate(), DELTA);
+    }
+
+    @Test
+    public void shouldAcceptWhenLessThan() {
+        // Given
+        final SketchIsLessThan filter = new SketchIsLessThan(15);
+        // When
+        boolean accepted = filter.test(sketchWithEstimate5);
+        // Then
+        assertTrue(accepted);
+    }
+
+    @Test
+    public void shouldRejectWhenEqualToAndEqualToIsFalse() {
+        // Given
+        final SketchIsLessThan filter = new SketchIsLessThan(15);
+        // When
+        boolean accepted = filter.test(sketchWithEstimate15);
+        // Then
+        assertFalse(accepted);
+    }
+
+    @Test
+    public void shouldAcceptWhenEqualToAndEqualToIsTrue() {
+        // Given
+        final SketchIsLessThan filter = new SketchIsLessThan(15, true);
+        // When
+        boolean accepted = filter.test(sketchWithEstimate15);
+        // Then
+        assertTrue(accepted);
+    }
+
+    @Test
+    public void shouldRejectWhenMoreThan() {
+        // Given
+        final SketchIsLessThan filter = new SketchIsLessThan(15);
+        // When
+        boolean accepted = filter.test(sketchWithEstimate31);
+        // Then
+        assertFalse(accepted);
+    }
+
+    @Test
+    public void shouldRejectWhenInputIsNull() {
+        // Given
+        final SketchIsLessThan filter = new SketchIsLessThan(15);
+        // When
+        boolean accepted = filter.test(null);
+        // Then
+        assertFalse(accepted);
+    }
+
+    @Override
+    @Test
+    public void shouldJsonSerialiseAndDeserialise() throws SerialisationException {
+        // Given
+        final double controlValue = 15;
+        final SketchIsLessThan filter = new SketchIsLessThan(controlValue);
+
+        // When 1
+        final String json = new String(new JSONSerialiser().serialise(filter, true));
+        // Then 1
+        JsonUtil.assertEquals(String.format("{%n" +
+                "  \"class\" : \"uk.gov.gchq.gaffer.sketches.datasketches.theta.predicate.SketchIsLessThan\",%n" +
+                "  \"orEqualTo\" : false,%n" +
+                "  \"value\" : 15.0%n" +
+                "}"), json);
+
+        // When 2
+        final SketchIsLessThan deserialisedProperty = new JSONSerialiser().deserialise(json.getBytes(), SketchIsLessThan.class);
+        // Then 2
+        assertNotNull(deserialisedProperty);
+        assertEquals(controlValue, deserialisedProperty.getControlValue(), DELTA);
+    }
+
+    @Override
+    protected Class<? extends Predicate> getPredicateClass() {
+        return SketchIsLessThan.class;
+    }
+
+    @Override
+    protected Predicate getInstance() {
+        return new SketchIsLessThan(10);
+    }
+
+    private Sketch createWrappedSketch(final int numItems) throws SerialisationException {
+        final Union union = Sketches.setOperationBuilder().buildUnion();
+        for (int i = 1; i <= numItems; i++) {
+            union.update(i);
+        }
+        final SketchSerialiser serialiser = new SketchSerialiser();
+        return serialiser.deserialise(serialiser.serialise(union.getResult()));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sketches.datasketches.theta.serialisation;
+
+import com.yahoo.sketches.theta.SetOperation;
+import com.yahoo.sketches.theta.Sketch;
+import com.yahoo.sketches.theta.Union;
+import org.junit.Test;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SketchSerialiserTest {
+    private static final double DELTA = 0.01D;
+    private static final SketchSerialiser SERIALISER = new SketchSerialiser();
+
+    @Test
+    public void testSerialiseAndDeserialise() throws SerialisationException {
+        final Union union = SetOperation.builder().buildUnion();
+        union.update(1.0D);
+        union.update(2.0D);
+        union.update(3.0D);
+        testSerialiser(union.getResult());
+
+        final Union emptyUnion = SetOperation.builder().buildUnion();
+        testSerialiser(emptyUnion.getResult());
+    }
+
+    @Test
+    public void shouldDeserialiseToDirectSketch() throws SerialisationException {
+        // Given
+        final Union union = SetOperation.builder().buildUnion();
+        union.update("A");
+        final byte[] bytes = SERIALISER.serialise(union.getResult());
+
+        // When
+        final Sketch sketch = SERIALISER.deserialise(bytes);
+
+        // Then
+        assertTrue(sketch.isDirect());
+        assertEquals(1.0D, sketch.getEstimate(), DELTA);
+    }
+
+    @Test
+    public void shouldDeserialiseBytesWrittenByUnionSerialiser() throws SerialisationException {
+        // Given
+        final Union union = SetOperation.builder().buildUnion();
+        union.update("A");
+        union.update("B");
+        final byte[] bytes = new UnionSerialiser().serialise(union);
+
+        // When
+        final Sketch sketch = SERIALISER.deserialise(bytes);
+
+        // Then
+        assertEquals(2.0D, sketch.getEstimate(), DELTA);
+    }
+
+    private void testSerialiser(final Sketch sketch) throws SerialisationException {
+        final double estimate = sketch.getEstimate();
+        final byte[] sketchSerialised = SERIALISER.serialise(sketch);
+        final Sketch sketchDeserialised = SERIALISER.deserialise(sketchSerialised);
+        assertEquals(estimate, sketchDeserialised.getEstimate(), DELTA);
+    }
+
+    @Test
+    public void testCanHandleSketch() {
+        assertTrue(SERIALISER.canHandle(Sketch.class));
+        assertFalse(SERIALISER.canHandle(String.class));
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sparkaccumulo.operation.handler;
+
+import org.apache.accumulo.core.client.mapreduce.AccumuloOutputFormat;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.spark.broadcast.Broadcast;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.Options;
+import uk.gov.gchq.gaffer.sparkaccumulo.operation.utils.java.ElementMutationFunction;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+/**
+ * An <code>AbstractImportRDDOfElementsHandler</code> imports an RDD of {@link Element}s
+ * into an {@link AccumuloStore} using one of two import modes, selected using the
+ * {@link #IMPORT_MODE} option:
+ * <ul>
+ * <li>{@link #BULK_IMPORT_MODE} - the elements are converted to key-value pairs, written to
+ * RFiles in the outputPath and then bulk imported. This is the most efficient way of
+ * importing very large RDDs.</li>
+ * <li>{@link #BATCH_WRITER_IMPORT_MODE} - each partition aggregates and converts its elements
+ * and writes them straight to the table through its own Accumulo
+ * {@link org.apache.accumulo.core.client.BatchWriter}. This avoids writing, staging
+ * and compacting files, so is cheaper for moderate sized RDDs, such as the
+ * output of a continuous Spark job.</li>
+ * </ul>
+ * If the import mode is not set, the RDD is bulk imported when an outputPath is provided
+ * and written using batch writers otherwise.
+ */
+public abstract class AbstractImportRDDOfElementsHandler<OP extends Operation & Options> implements OperationHandler<OP> {
+    public static final String OUTPUT_PATH = "outputPath";
+    public static final String FAILURE_PATH = "failurePath";
+    public static final String IMPORT_MODE = "importMode";
+    public static final String BULK_IMPORT_MODE = "bulk";
+    public static final String BATCH_WRITER_IMPORT_MODE = "batchWriter";
+
+    /**
+     * The maximum number of elements each partition aggregates together
+     * before writing them, when using the {@link #BATCH_WRITER_IMPORT_MODE}.
+     */
+    public static final String MAX_BATCH_SIZE = "batchWriterMaxBatchSize";
+
+    protected abstract void bulkImport(final OP operation, final Context context, final AccumuloStore store,
+                                       final String outputPath, final String failurePath) throws OperationException;
+
+    protected abstract JavaRDD<Element> getJavaRDD(final OP operation);
+
+    @Override
+    public Void doOperation(final OP operation, final Context context, final Store store) throws OperationException {
+        doOperation(operation, context, (AccumuloStore) store);
+        return null;
+    }
+
+    public void doOperation(final OP operation, final Context context, final AccumuloStore store) throws OperationException {
+        if (BATCH_WRITER_IMPORT_MODE.equals(getImportMode(operation))) {
+            batchWriterImport(operation, store);
+        } else {
+            final String outputPath = operation.getOption(OUTPUT_PATH);
+            if (null == outputPath || outputPath.isEmpty()) {
+                throw new OperationException("Option outputPath must be set for this option to be run against the accumulostore");
+            }
+            final String failurePath = operation.getOption(FAILURE_PATH);
+            if (null == failurePath || failurePath.isEmpty()) {
+                throw new OperationException("Option failurePath must be set for this option to be run against the accumulostore");
+            }
+            bulkImport(operation, context, store, outputPath, failurePath);
+        }
+    }
+
+    protected String getImportMode(final OP operation) throws OperationException {
+        final String importMode = operation.getOption(IMPORT_MODE);
+        if (null == importMode || importMode.isEmpty()) {
+            final String outputPath = operation.getOption(OUTPUT_PATH);
+            return null == outputPath || outputPath.isEmpty() ? BATCH_WRITER_IMPORT_MODE : BULK_IMPORT_MODE;
+        }
+
+        if (!BULK_IMPORT_MODE.equals(importMode) && !BATCH_WRITER_IMPORT_MODE.equals(importMode)) {
+            throw new OperationException("Option " + IMPORT_MODE + " must be either " + BULK_IMPORT_MODE
+                    + " or " + BATCH_WRITER_IMPORT_MODE + " but was " + importMode);
+        }
+        return importMode;
+    }
+
+    protected void batchWriterImport(final OP operation, final AccumuloStore store) throws OperationException {
+        final Job job;
+        try {
+            job = Job.getInstance(getConfiguration(operation));
+            store.updateOutputConfiguration(job.getConfiguration());
+        } catch (final IOException | StoreException e) {
+            throw new OperationException("Failed to create the configuration for writing to the accumulostore", e);
+        }
+        job.setOutputFormatClass(AccumuloOutputFormat.class);
+        job.setOutputKeyClass(Text.class);
+        job.setOutputValueClass(Mutation.class);
+
+        final JavaRDD<Element> rdd = getJavaRDD(operation);
+        final Broadcast<AccumuloElementConverter> converter = JavaSparkContext.fromSparkContext(rdd.context())
+                .broadcast(store.getKeyPackage().getKeyConverter());
+        final ElementMutationFunction func = new ElementMutationFunction(converter, store.getSchema(), getMaxBatchSize(operation));
+        final JavaPairRDD<Text, Mutation> mutations = rdd.mapPartitionsToPair(func);
+        mutations.saveAsNewAPIHadoopDataset(job.getConfiguration());
+    }
+
+    protected int getMaxBatchSize(final OP operation) throws OperationException {
+        final String maxBatchSize = operation.getOption(MAX_BATCH_SIZE);
+        if (null == maxBatchSize || maxBatchSize.isEmpty()) {
+            return ElementMutationFunction.DEFAULT_MAX_BATCH_SIZE;
+        }
+
+        try {
+            return Integer.parseInt(maxBatchSize);
+        } catch (final NumberFormatException e) {
+            throw new OperationException("Option " + MAX_BATCH_SIZE + " must be an integer but was " + maxBatchSize, e);
+        }
+    }
+
+    protected Configuration getConfiguration(final OP operation) throws OperationException {
+        final Configuration conf = new Configuration();
+        final String serialisedConf = operation.getOption(AbstractGetRDDHandler.HADOOP_CONFIGURATION_KEY);
+        if (serialisedConf != null) {
+            try {
+                final ByteArrayInputStream bais = new ByteArrayInputStream(serialisedConf.getBytes(CommonConstants.UTF_8));
+                conf.readFields(new DataInputStream(bais));
+            } catch (final IOException e) {
+                throw new OperationException("Exception decoding Configuration from options", e);
+            }
+        }
+        return conf;
+    }
+}
@@ -33,7 +33,7 @@ import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.spark.operation.dataframe.ClassTagConstants;
-import uk.gov.gchq.gaffer.spark.operation.dataframe.ConvertElementToRow;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.ConvertElementsToRows;
 import uk.gov.gchq.gaffer.spark.operation.dataframe.FiltersToOperationConverter;
 import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.property.Converter;
 import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.schema.SchemaToStructTypeConverter;
@@ -59,7 +59,8 @@ import java.util.Map;
  * <code>AccumuloStoreRelation</code> implements the {@link PrunedScan} interface which allows all {@link Element}s
  * of the specified groups to be returned to the <code>DataFrame</code> but with only the specified columns returned.
  * Currently, {@link AccumuloStore} does not allow projection of properties in the tablet server, so this projection
- * is performed within the Spark executors, rather than in Accumulo's tablet servers. Once {@link AccumuloStore}
+ * is performed within the Spark executors, rather than in Accumulo's tablet servers. Each partition is converted
+ * in batches using {@link ConvertElementsToRows}, so only the requested columns are populated. Once {@link AccumuloStore}
  * supports this projection in the tablet servers, then this will become more efficient.
  * <p>
  * <code>AccumuloStoreRelation</code> implements the {@link PrunedFilteredScan} interface which allows only
@@ -68,7 +69,8 @@ import java.util.Map;
  * the data is sent to a Spark executor). If a {@link Filter} is specified that specifies either the vertex in an
  * <code>Entity</code> or either the source or destination vertex in an <code>Edge</code> then this is applied by
  * using the appropriate range scan on Accumulo. Queries against this <code>DataFrame</code> that do this should be
- * very quick.
+ * very quick. Filters that are fully applied by the store are reported to Spark by {@link #unhandledFilters(Filter[])}
+ * so that Spark does not apply them again.
  */
 public class AccumuloStoreRelation extends BaseRelation implements TableScan, PrunedScan, PrunedFilteredScan {
 
@@ -112,6 +114,18 @@ public class AccumuloStoreRelation extends BaseRelation implements TableScan, Pr
         return structType;
     }
 
+    /**
+     * Returns the {@link Filter}s that are not fully applied in Accumulo's tablet servers by the operation created in
+     * {@link #buildScan(String[], Filter[])}. Spark applies these filters to the results of the scan.
+     *
+     * @param filters The {@link Filter}s that Spark can push down to the relation.
+     * @return The {@link Filter}s that Spark must still apply.
+     */
+    @Override
+    public Filter[] unhandledFilters(final Filter[] filters) {
+        return new FiltersToOperationConverter(sqlContext, view, store.getSchema(), filters).getUnhandledFilters();
+    }
+
     /**
      * Creates a <code>DataFrame</code> of all {@link Element}s from the specified groups.
      *
@@ -124,8 +138,7 @@ public class AccumuloStoreRelation extends BaseRelation implements TableScan, Pr
             final GetRDDOfAllElements operation = new GetRDDOfAllElements(sqlContext.sparkContext());
             operation.setView(view);
             final RDD<Element> rdd = store.execute(operation, user);
-            return rdd.map(new ConvertElementToRow(usedProperties, propertyNeedsConversion, converterByProperty),
-                    ClassTagConstants.ROW_CLASS_TAG);
+            return convertToRows(rdd, usedProperties);
         } catch (final OperationException e) {
             LOGGER.error("OperationException while executing operation: {}", e);
             return null;
@@ -150,9 +163,7 @@ public class AccumuloStoreRelation extends BaseRelation implements TableScan, Pr
             final GetRDDOfAllElements operation = new GetRDDOfAllElements(sqlContext.sparkContext());
             operation.setView(view);
             final RDD<Element> rdd = store.execute(operation, user);
-            return rdd.map(new ConvertElementToRow(new LinkedHashSet<>(Arrays.asList(requiredColumns)),
-                            propertyNeedsConversion, converterByProperty),
-                    ClassTagConstants.ROW_CLASS_TAG);
+            return convertToRows(rdd, new LinkedHashSet<>(Arrays.asList(requiredColumns)));
         } catch (final OperationException e) {
             LOGGER.error("OperationException while executing operation {}", e);
             return null;
@@ -188,13 +199,16 @@ public class AccumuloStoreRelation extends BaseRelation implements TableScan, Pr
         }
         try {
             final RDD<Element> rdd = store.execute(operation, user);
-            return rdd.map(new ConvertElementToRow(new LinkedHashSet<>(Arrays.asList(requiredColumns)),
-                            propertyNeedsConversion, converterByProperty),
-                    ClassTagConstants.ROW_CLASS_TAG);
+            return convertToRows(rdd, new LinkedHashSet<>(Arrays.asList(requiredColumns)));
         } catch (final OperationException e) {
             LOGGER.error("OperationException while executing operation {}", e);
             return null;
         }
     }
 
+    private RDD<Row> convertToRows(final RDD<Element> rdd, final LinkedHashSet<String> columns) {
+        // Each partition is converted in column batches, and only the requested columns are populated
+        return rdd.mapPartitions(new ConvertElementsToRows(columns, propertyNeedsConversion, converterByProperty),
+                true, ClassTagConstants.ROW_CLASS_TAG);
+    }
 }
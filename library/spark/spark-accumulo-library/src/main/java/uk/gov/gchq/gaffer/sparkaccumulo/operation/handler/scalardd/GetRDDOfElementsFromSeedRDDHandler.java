@@ -0,0 +1,96 @@
+/*
+ * Copyright 2016-2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.scalardd;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.rdd.RDD;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.ClassTagConstants;
+import uk.gov.gchq.gaffer.spark.operation.scalardd.GetRDDOfElementsFromSeedRDD;
+import uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.AbstractGetRDDHandler;
+import uk.gov.gchq.gaffer.sparkaccumulo.operation.utils.AccumuloKeyRangePartitioner;
+import uk.gov.gchq.gaffer.sparkaccumulo.operation.utils.java.ElementIdToRangesFunction;
+import uk.gov.gchq.gaffer.sparkaccumulo.operation.utils.scala.RangesToElementsFunction;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import java.io.IOException;
+
+/**
+ * A <code>GetRDDOfElementsFromSeedRDDHandler</code> handles a {@link GetRDDOfElementsFromSeedRDD}
+ * operation without computing any ranges on the driver. The seeds are converted to
+ * Accumulo ranges on the executors, the ranges are partitioned against the table's split
+ * points using an {@link AccumuloKeyRangePartitioner} and sorted, and then each partition
+ * scans the ranges for its tablet. The driver only holds the split points and the
+ * configuration, so its memory use does not grow with the number of seeds.
+ */
+public class GetRDDOfElementsFromSeedRDDHandler extends AbstractGetRDDHandler<GetRDDOfElementsFromSeedRDD, RDD<Element>> {
+
+    /**
+     * The maximum number of ranges each partition scans with a single batch scanner.
+     */
+    public static final String MAX_RANGES_PER_SCAN = "maxRangesPerScan";
+    public static final int DEFAULT_MAX_RANGES_PER_SCAN = 10000;
+
+    @Override
+    public RDD<Element> doOperation(final GetRDDOfElementsFromSeedRDD operation,
+                                    final Context context,
+                                    final Store store)
+            throws OperationException {
+        return doOperation(operation, context, (AccumuloStore) store);
+    }
+
+    private RDD<Element> doOperation(final GetRDDOfElementsFromSeedRDD operation,
+                                     final Context context,
+                                     final AccumuloStore accumuloStore)
+            throws OperationException {
+        final Configuration conf = getConfiguration(operation);
+        addIterators(accumuloStore, conf, context.getUser(), operation);
+
+        final ElementIdToRangesFunction toRanges;
+        final RangesToElementsFunction toElements;
+        try {
+            toRanges = new ElementIdToRangesFunction(conf, operation.getIncludeIncomingOutGoing(), operation.getDirectedType());
+            toElements = new RangesToElementsFunction(conf, getMaxRangesPerScan(operation),
+                    accumuloStore.getProperties().getThreadsForBatchScanner());
+        } catch (final IOException e) {
+            throw new OperationException("Failed to serialise the configuration", e);
+        }
+
+        final JavaPairRDD<Key, Range> ranges = operation.getInput()
+                .toJavaRDD()
+                .mapPartitionsToPair(toRanges)
+                .repartitionAndSortWithinPartitions(new AccumuloKeyRangePartitioner(accumuloStore));
+        return ranges.rdd().mapPartitions(toElements, false, ClassTagConstants.ELEMENT_CLASS_TAG);
+    }
+
+    private int getMaxRangesPerScan(final GetRDDOfElementsFromSeedRDD operation) throws OperationException {
+        final String maxRangesPerScan = operation.getOption(MAX_RANGES_PER_SCAN);
+        if (null == maxRangesPerScan || maxRangesPerScan.isEmpty()) {
+            return DEFAULT_MAX_RANGES_PER_SCAN;
+        }
+
+        try {
+            return Integer.parseInt(maxRangesPerScan);
+        } catch (final NumberFormatException e) {
+            throw new OperationException("Option " + MAX_RANGES_PER_SCAN + " must be an integer but was " + maxRangesPerScan, e);
+        }
+    }
+}
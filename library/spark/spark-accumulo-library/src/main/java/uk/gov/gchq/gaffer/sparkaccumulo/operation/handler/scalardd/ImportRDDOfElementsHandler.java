@@ -17,41 +17,28 @@ package uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.scalardd;
 
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
+import org.apache.spark.api.java.JavaRDD;
 import org.apache.spark.rdd.RDD;
 import scala.Tuple2;
 import scala.reflect.ClassTag;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.spark.operation.scalardd.ImportRDDOfElements;
+import uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.AbstractImportRDDOfElementsHandler;
 import uk.gov.gchq.gaffer.sparkaccumulo.operation.scalardd.ImportKeyValuePairRDDToAccumulo;
 import uk.gov.gchq.gaffer.sparkaccumulo.operation.utils.scala.ElementConverterFunction;
 import uk.gov.gchq.gaffer.store.Context;
-import uk.gov.gchq.gaffer.store.Store;
-import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
 
-public class ImportRDDOfElementsHandler implements OperationHandler<ImportRDDOfElements> {
-    private static final String OUTPUT_PATH = "outputPath";
-    private static final String FAILURE_PATH = "failurePath";
+public class ImportRDDOfElementsHandler extends AbstractImportRDDOfElementsHandler<ImportRDDOfElements> {
     private static final ClassTag<Tuple2<Key, Value>> TUPLE2_CLASS_TAG = scala.reflect.ClassTag$.MODULE$.apply(Tuple2.class);
     private static final ClassTag<AccumuloElementConverter> ACCUMULO_ELEMENT_CONVERTER_CLASS_TAG = scala.reflect.ClassTag$.MODULE$.apply(AccumuloElementConverter.class);
 
     @Override
-    public Void doOperation(final ImportRDDOfElements operation, final Context context, final Store store) throws OperationException {
-        doOperation(operation, context, (AccumuloStore) store);
-        return null;
-    }
-
-    public void doOperation(final ImportRDDOfElements operation, final Context context, final AccumuloStore store) throws OperationException {
-        final String outputPath = operation.getOption(OUTPUT_PATH);
-        if (null == outputPath || outputPath.isEmpty()) {
-            throw new OperationException("Option outputPath must be set for this option to be run against the accumulostore");
-        }
-        final String failurePath = operation.getOption(FAILURE_PATH);
-        if (null == failurePath || failurePath.isEmpty()) {
-            throw new OperationException("Option failurePath must be set for this option to be run against the accumulostore");
-        }
+    protected void bulkImport(final ImportRDDOfElements operation, final Context context, final AccumuloStore store,
+                              final String outputPath, final String failurePath) throws OperationException {
         final ElementConverterFunction func = new ElementConverterFunction(operation.getSparkContext().broadcast(store.getKeyPackage().getKeyConverter(), ACCUMULO_ELEMENT_CONVERTER_CLASS_TAG));
         final RDD<Tuple2<Key, Value>> rdd = operation.getInput().flatMap(func, TUPLE2_CLASS_TAG);
         final ImportKeyValuePairRDDToAccumulo op =
@@ -62,5 +49,9 @@ public class ImportRDDOfElementsHandler implements OperationHandler<ImportRDDOfE
                         .build();
         store._execute(new OperationChain<>(op), context);
     }
-}
 
+    @Override
+    protected JavaRDD<Element> getJavaRDD(final ImportRDDOfElements operation) {
+        return operation.getInput().toJavaRDD();
+    }
+}
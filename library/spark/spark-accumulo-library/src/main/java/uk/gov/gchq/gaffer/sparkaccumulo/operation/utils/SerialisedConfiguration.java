@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sparkaccumulo.operation.utils;
+
+import org.apache.hadoop.conf.Configuration;
+import uk.gov.gchq.gaffer.accumulostore.inputformat.ElementInputFormat;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloKeyPackage;
+import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UnsupportedEncodingException;
+
+/**
+ * A <code>SerialisedConfiguration</code> holds a Hadoop {@link Configuration} in its
+ * serialised form so that it can be sent to the executors as part of a Spark function.
+ * The configuration is expected to have been updated by
+ * {@link uk.gov.gchq.gaffer.accumulostore.AccumuloStore#updateConfiguration}, so the
+ * executors can recreate the key package, schema and view without needing the store.
+ */
+public class SerialisedConfiguration implements Serializable {
+    private static final long serialVersionUID = -1907431640455937125L;
+
+    private final byte[] serialisedConf;
+
+    public SerialisedConfiguration(final Configuration conf) throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        conf.write(new DataOutputStream(baos));
+        this.serialisedConf = baos.toByteArray();
+    }
+
+    public Configuration getConfiguration() throws IOException {
+        final Configuration conf = new Configuration();
+        conf.readFields(new DataInputStream(new ByteArrayInputStream(serialisedConf)));
+        return conf;
+    }
+
+    public static AccumuloKeyPackage getKeyPackage(final Configuration conf) throws IOException {
+        final String keyPackageClass = conf.get(ElementInputFormat.KEY_PACKAGE);
+        final AccumuloKeyPackage keyPackage;
+        try {
+            keyPackage = Class.forName(keyPackageClass).asSubclass(AccumuloKeyPackage.class).newInstance();
+        } catch (final InstantiationException | IllegalAccessException | ClassNotFoundException e) {
+            throw new IOException("Unable to construct an instance of key package: " + keyPackageClass, e);
+        }
+        keyPackage.setSchema(Schema.fromJson(conf.get(ElementInputFormat.SCHEMA).getBytes(CommonConstants.UTF_8)));
+        return keyPackage;
+    }
+
+    public static View getView(final Configuration conf) throws UnsupportedEncodingException {
+        return View.fromJson(conf.get(ElementInputFormat.VIEW).getBytes(CommonConstants.UTF_8));
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sparkaccumulo.operation.utils.java;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.spark.api.java.function.PairFlatMapFunction;
+import scala.Tuple2;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloRuntimeException;
+import uk.gov.gchq.gaffer.accumulostore.key.RangeFactory;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.RangeFactoryException;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.operation.graph.GraphFilters.DirectedType;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
+import uk.gov.gchq.gaffer.spark.operation.scalardd.GetRDDOfElementsFromSeedRDD;
+import uk.gov.gchq.gaffer.sparkaccumulo.operation.utils.SerialisedConfiguration;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An <code>ElementIdToRangesFunction</code> converts a partition of seeds into the
+ * Accumulo {@link Range}s that need to be scanned to retrieve the related elements.
+ * Each range is keyed by its start key so the ranges can be partitioned by the
+ * tablet that contains them. The ranges are created lazily on the executors, so
+ * they are never held on the driver.
+ */
+public class ElementIdToRangesFunction implements PairFlatMapFunction<Iterator<ElementId>, Key, Range>, Serializable {
+    private static final long serialVersionUID = 4669437287516839380L;
+
+    private final SerialisedConfiguration conf;
+    private final IncludeIncomingOutgoingType inOutType;
+    private final DirectedType directedType;
+
+    /**
+     * @param conf         the configuration containing the key package, schema and view
+     * @param inOutType    the incoming/outgoing filter of the operation
+     * @param directedType the directed filter of the operation
+     * @throws IOException if the configuration cannot be serialised
+     */
+    public ElementIdToRangesFunction(final Configuration conf,
+                                     final IncludeIncomingOutgoingType inOutType,
+                                     final DirectedType directedType) throws IOException {
+        this.conf = new SerialisedConfiguration(conf);
+        this.inOutType = inOutType;
+        this.directedType = directedType;
+    }
+
+    @Override
+    public Iterator<Tuple2<Key, Range>> call(final Iterator<ElementId> seeds) throws Exception {
+        final Configuration configuration = conf.getConfiguration();
+        final RangeFactory rangeFactory = SerialisedConfiguration.getKeyPackage(configuration).getRangeFactory();
+        final GetRDDOfElementsFromSeedRDD filters = new GetRDDOfElementsFromSeedRDD.Builder()
+                .view(SerialisedConfiguration.getView(configuration))
+                .inOutType(inOutType)
+                .directedType(directedType)
+                .build();
+
+        return new RangeIterator(seeds, rangeFactory, filters);
+    }
+
+    private static final class RangeIterator implements Iterator<Tuple2<Key, Range>> {
+        private final Iterator<ElementId> seeds;
+        private final RangeFactory rangeFactory;
+        private final GetRDDOfElementsFromSeedRDD filters;
+        private Iterator<Range> ranges = Collections.emptyIterator();
+
+        private RangeIterator(final Iterator<ElementId> seeds, final RangeFactory rangeFactory,
+                              final GetRDDOfElementsFromSeedRDD filters) {
+            this.seeds = seeds;
+            this.rangeFactory = rangeFactory;
+            this.filters = filters;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!ranges.hasNext() && seeds.hasNext()) {
+                final ElementId seed = seeds.next();
+                final List<Range> seedRanges;
+                try {
+                    seedRanges = rangeFactory.getRange(seed, filters);
+                } catch (final RangeFactoryException e) {
+                    throw new AccumuloRuntimeException("Failed to create ranges for seed " + seed, e);
+                }
+                ranges = seedRanges.iterator();
+            }
+            return ranges.hasNext();
+        }
+
+        @Override
+        public Tuple2<Key, Range> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Range range = ranges.next();
+            return new Tuple2<>(range.getStartKey(), range);
+        }
+    }
+}
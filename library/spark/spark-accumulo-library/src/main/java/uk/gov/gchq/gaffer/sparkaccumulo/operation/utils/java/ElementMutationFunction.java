@@ -0,0 +1,238 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sparkaccumulo.operation.utils.java;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.ColumnVisibility;
+import org.apache.hadoop.io.Text;
+import org.apache.spark.api.java.function.PairFlatMapFunction;
+import org.apache.spark.broadcast.Broadcast;
+import scala.Tuple2;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
+import uk.gov.gchq.gaffer.store.element.ElementCloner;
+import uk.gov.gchq.gaffer.store.element.ElementKey;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An <code>ElementMutationFunction</code> converts a partition of {@link Element}s
+ * into Accumulo {@link Mutation}s, ready to be written to the default table of an
+ * {@link org.apache.accumulo.core.client.mapreduce.AccumuloOutputFormat}.
+ * <p>
+ * If the schema contains aggregators, the elements are read in batches of up to
+ * maxBatchSize elements and elements within a batch that share the same group,
+ * identifiers, group by properties and visibility are aggregated before they
+ * are converted. This reduces the number of mutations sent to the tablet servers
+ * when a partition contains repeated elements. The input elements are never
+ * modified - an element is cloned, using the serialisers in the schema, before
+ * any other element is aggregated into it, as many aggregators update their
+ * first argument in place. Properties without a serialiser are not cloned.
+ */
+public class ElementMutationFunction implements PairFlatMapFunction<Iterator<Element>, Text, Mutation>, Serializable {
+    public static final int DEFAULT_MAX_BATCH_SIZE = 10000;
+    private static final long serialVersionUID = 4402436787405356375L;
+
+    private final Broadcast<AccumuloElementConverter> converterBroadcast;
+    private final byte[] schemaJson;
+    private final int maxBatchSize;
+
+    public ElementMutationFunction(final Broadcast<AccumuloElementConverter> converterBroadcast,
+                                   final Schema schema) {
+        this(converterBroadcast, schema, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    public ElementMutationFunction(final Broadcast<AccumuloElementConverter> converterBroadcast,
+                                   final Schema schema,
+                                   final int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be at least 1");
+        }
+        this.converterBroadcast = converterBroadcast;
+        this.schemaJson = schema.toCompactJson();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public Iterator<Tuple2<Text, Mutation>> call(final Iterator<Element> elements) throws Exception {
+        final Schema schema = Schema.fromJson(schemaJson);
+        if (schema.hasAggregators()) {
+            return new MutationIterator(new AggregatingIterator(elements, schema), converterBroadcast.value());
+        }
+        return new MutationIterator(elements, converterBroadcast.value());
+    }
+
+    /**
+     * Converts each element into one mutation per Accumulo key - edges
+     * normally have two keys and entities a single key.
+     */
+    private static final class MutationIterator implements Iterator<Tuple2<Text, Mutation>> {
+        private final Iterator<Element> elements;
+        private final AccumuloElementConverter converter;
+        private Tuple2<Text, Mutation> nextMutation;
+
+        private MutationIterator(final Iterator<Element> elements, final AccumuloElementConverter converter) {
+            this.elements = elements;
+            this.converter = converter;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return null != nextMutation || elements.hasNext();
+        }
+
+        @Override
+        public Tuple2<Text, Mutation> next() {
+            if (null != nextMutation) {
+                final Tuple2<Text, Mutation> mutation = nextMutation;
+                nextMutation = null;
+                return mutation;
+            }
+
+            final Element element = elements.next();
+            final Pair<Key, Key> keys = converter.getKeysFromElement(element);
+            final Value value = converter.getValueFromElement(element);
+            if (null != keys.getSecond()) {
+                nextMutation = createMutation(keys.getSecond(), value);
+            }
+            return createMutation(keys.getFirst(), value);
+        }
+
+        private Tuple2<Text, Mutation> createMutation(final Key key, final Value value) {
+            final Mutation mutation = new Mutation(key.getRow());
+            mutation.put(key.getColumnFamily(), key.getColumnQualifier(),
+                    new ColumnVisibility(key.getColumnVisibility()), key.getTimestamp(), value);
+            // A null table name means the mutation is written to the default table
+            return new Tuple2<>(null, mutation);
+        }
+    }
+
+    /**
+     * Reads the elements in batches and aggregates the elements within each batch.
+     */
+    private final class AggregatingIterator implements Iterator<Element> {
+        private final Iterator<Element> elements;
+        private final Schema schema;
+        private final Map<String, Set<String>> groupToKeyProperties = new HashMap<>();
+        private final Map<String, ElementAggregator> groupToAggregator = new HashMap<>();
+        private final Map<ElementKey, Element> batch = new LinkedHashMap<>();
+        private final Set<ElementKey> copiedElements = new HashSet<>();
+        private Iterator<Element> batchItr = Collections.emptyIterator();
+
+        private AggregatingIterator(final Iterator<Element> elements, final Schema schema) {
+            this.elements = elements;
+            this.schema = schema;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return batchItr.hasNext() || elements.hasNext();
+        }
+
+        @Override
+        public Element next() {
+            if (!batchItr.hasNext()) {
+                readBatch();
+            }
+            return batchItr.next();
+        }
+
+        private void readBatch() {
+            if (!elements.hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            batch.clear();
+            copiedElements.clear();
+            for (int i = 0; i < maxBatchSize && elements.hasNext(); i++) {
+                final Element element = elements.next();
+                if (null != element) {
+                    add(element);
+                }
+            }
+
+            final List<Element> aggregatedElements = new ArrayList<>(batch.values());
+            batch.clear();
+            copiedElements.clear();
+            batchItr = aggregatedElements.iterator();
+        }
+
+        private void add(final Element element) {
+            final Set<String> keyProperties = getKeyProperties(element.getGroup());
+            final ElementKey elementKey = ElementKey.create(element, keyProperties);
+            Element existingElement = batch.get(elementKey);
+            if (null == existingElement) {
+                batch.put(elementKey, element);
+                return;
+            }
+
+            // Clone the element before aggregating so the input elements and their property values are not modified
+            if (copiedElements.add(elementKey)) {
+                existingElement = ElementCloner.cloneElement(existingElement, schema);
+                batch.put(elementKey, existingElement);
+            }
+
+            final Properties properties = element.getProperties().clone();
+            properties.remove(keyProperties);
+            getAggregator(element.getGroup()).apply(existingElement.getProperties(), properties);
+        }
+
+        // The properties that are stored in the Accumulo key, other than the timestamp
+        private Set<String> getKeyProperties(final String group) {
+            Set<String> keyProperties = groupToKeyProperties.get(group);
+            if (null == keyProperties) {
+                final SchemaElementDefinition elementDef = schema.getElement(group);
+                if (null == elementDef) {
+                    throw new IllegalArgumentException("No SchemaElementDefinition found for group " + group);
+                }
+                keyProperties = new HashSet<>();
+                if (null != elementDef.getGroupBy()) {
+                    keyProperties.addAll(elementDef.getGroupBy());
+                }
+                if (null != schema.getVisibilityProperty() && elementDef.containsProperty(schema.getVisibilityProperty())) {
+                    keyProperties.add(schema.getVisibilityProperty());
+                }
+                groupToKeyProperties.put(group, keyProperties);
+            }
+            return keyProperties;
+        }
+
+        private ElementAggregator getAggregator(final String group) {
+            ElementAggregator aggregator = groupToAggregator.get(group);
+            if (null == aggregator) {
+                aggregator = schema.getElement(group).getAggregator();
+                groupToAggregator.put(group, aggregator);
+            }
+            return aggregator;
+        }
+    }
+}
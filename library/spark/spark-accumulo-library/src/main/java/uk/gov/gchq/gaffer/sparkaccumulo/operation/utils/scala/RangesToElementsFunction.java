@@ -0,0 +1,227 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sparkaccumulo.operation.utils.scala;
+
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
+import org.apache.accumulo.core.client.BatchScanner;
+import org.apache.accumulo.core.client.Connector;
+import org.apache.accumulo.core.client.IteratorSetting;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.client.mapreduce.AccumuloInputFormat;
+import org.apache.accumulo.core.client.mapreduce.lib.impl.ConfiguratorBase;
+import org.apache.accumulo.core.client.mapreduce.lib.impl.InputConfigurator;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.Authorizations;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.spark.TaskContext;
+import org.apache.spark.util.TaskCompletionListener;
+import scala.Tuple2;
+import scala.collection.JavaConversions;
+import scala.runtime.AbstractFunction1;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloRuntimeException;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.sparkaccumulo.operation.utils.SerialisedConfiguration;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+
+/**
+ * A <code>RangesToElementsFunction</code> scans a partition of Accumulo {@link Range}s
+ * and returns the elements they contain. The ranges are expected to be sorted by their
+ * start key, as produced by
+ * {@link org.apache.spark.rdd.OrderedRDDFunctions#repartitionAndSortWithinPartitions(org.apache.spark.Partitioner)}.
+ * <p>
+ * The ranges are read in batches of up to maxRangesPerScan. Overlapping ranges within a
+ * batch are merged, and the last merged range is carried over to the next batch, so no
+ * key-value is returned twice. Each batch is scanned with a {@link BatchScanner} that
+ * uses the table, authorisations and iterators held in the configuration. Only one
+ * batch of ranges is held in memory at a time.
+ */
+public class RangesToElementsFunction
+        extends AbstractFunction1<scala.collection.Iterator<Tuple2<Key, Range>>, scala.collection.Iterator<Element>>
+        implements Serializable {
+    private static final long serialVersionUID = -4003823151431436404L;
+
+    private final SerialisedConfiguration conf;
+    private final int maxRangesPerScan;
+    private final int numThreads;
+
+    /**
+     * @param conf             the configuration created by
+     *                         {@link uk.gov.gchq.gaffer.accumulostore.AccumuloStore#updateConfiguration}
+     * @param maxRangesPerScan the maximum number of ranges to scan with each batch scanner
+     * @param numThreads       the number of threads each batch scanner should use
+     * @throws IOException if the configuration cannot be serialised
+     */
+    public RangesToElementsFunction(final Configuration conf, final int maxRangesPerScan, final int numThreads) throws IOException {
+        if (maxRangesPerScan < 1) {
+            throw new IllegalArgumentException("maxRangesPerScan must be at least 1");
+        }
+        this.maxRangesPerScan = maxRangesPerScan;
+        this.numThreads = numThreads;
+        this.conf = new SerialisedConfiguration(conf);
+    }
+
+    @Override
+    public scala.collection.Iterator<Element> apply(final scala.collection.Iterator<Tuple2<Key, Range>> ranges) {
+        final ElementIterator elements;
+        try {
+            final Configuration configuration = conf.getConfiguration();
+            final Connector connector = ConfiguratorBase.getInstance(AccumuloInputFormat.class, configuration)
+                    .getConnector(ConfiguratorBase.getPrincipal(AccumuloInputFormat.class, configuration),
+                            ConfiguratorBase.getAuthenticationToken(AccumuloInputFormat.class, configuration));
+            elements = new ElementIterator(JavaConversions.asJavaIterator(ranges), connector, configuration,
+                    maxRangesPerScan, numThreads);
+        } catch (final IOException | AccumuloException | AccumuloSecurityException e) {
+            throw new AccumuloRuntimeException("Failed to connect to Accumulo", e);
+        }
+
+        // Ensure the current scanner is closed if the task finishes before all the elements have been read
+        final TaskContext taskContext = TaskContext.get();
+        if (null != taskContext) {
+            taskContext.addTaskCompletionListener(elements);
+        }
+        return JavaConversions.asScalaIterator(elements);
+    }
+
+    private static final class ElementIterator implements Iterator<Element>, TaskCompletionListener {
+        private final Iterator<Tuple2<Key, Range>> ranges;
+        private final int maxRangesPerScan;
+        private final int numThreads;
+        private final Connector connector;
+        private final String table;
+        private final Authorizations authorisations;
+        private final List<IteratorSetting> iteratorSettings;
+        private final AccumuloElementConverter converter;
+        private final View view;
+
+        private Range heldBackRange;
+        private BatchScanner scanner;
+        private Iterator<Entry<Key, Value>> entries;
+
+        private ElementIterator(final Iterator<Tuple2<Key, Range>> ranges, final Connector connector,
+                                final Configuration conf, final int maxRangesPerScan,
+                                final int numThreads) throws IOException {
+            this.ranges = ranges;
+            this.maxRangesPerScan = maxRangesPerScan;
+            this.numThreads = numThreads;
+            this.connector = connector;
+            this.table = InputConfigurator.getInputTableName(AccumuloInputFormat.class, conf);
+            this.authorisations = InputConfigurator.getScanAuthorizations(AccumuloInputFormat.class, conf);
+            this.iteratorSettings = InputConfigurator.getIterators(AccumuloInputFormat.class, conf);
+            this.converter = SerialisedConfiguration.getKeyPackage(conf).getKeyConverter();
+            this.view = SerialisedConfiguration.getView(conf);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == entries || !entries.hasNext()) {
+                closeScanner();
+                final List<Range> batch = nextBatch();
+                if (batch.isEmpty()) {
+                    return false;
+                }
+                scanner = createScanner(batch);
+                entries = scanner.iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Entry<Key, Value> entry = entries.next();
+            final Element element = converter.getFullElement(entry.getKey(), entry.getValue());
+            final ViewElementDefinition viewDef = view.getElement(element.getGroup());
+            if (null != viewDef) {
+                final ElementTransformer transformer = viewDef.getTransformer();
+                if (null != transformer) {
+                    transformer.apply(element);
+                }
+            }
+            return element;
+        }
+
+        @Override
+        public void onTaskCompletion(final TaskContext context) {
+            closeScanner();
+        }
+
+        private void closeScanner() {
+            if (null != scanner) {
+                scanner.close();
+                scanner = null;
+                entries = null;
+            }
+        }
+
+        private List<Range> nextBatch() {
+            final List<Range> batch = new ArrayList<>();
+            while (true) {
+                if (null != heldBackRange) {
+                    batch.add(heldBackRange);
+                    heldBackRange = null;
+                }
+                while (batch.size() < maxRangesPerScan && ranges.hasNext()) {
+                    batch.add(ranges.next()._2());
+                }
+                if (batch.isEmpty()) {
+                    return batch;
+                }
+
+                final List<Range> merged = new ArrayList<>(Range.mergeOverlapping(batch));
+                if (!ranges.hasNext()) {
+                    return merged;
+                }
+
+                // The ranges are sorted by start key, so only the last merged range
+                // can overlap the ranges that have not been read yet.
+                heldBackRange = merged.remove(merged.size() - 1);
+                if (!merged.isEmpty()) {
+                    return merged;
+                }
+                batch.clear();
+            }
+        }
+
+        private BatchScanner createScanner(final List<Range> batch) {
+            final BatchScanner batchScanner;
+            try {
+                batchScanner = connector.createBatchScanner(table, authorisations, numThreads);
+            } catch (final TableNotFoundException e) {
+                throw new AccumuloRuntimeException("Table not found: " + table, e);
+            }
+            for (final IteratorSetting iteratorSetting : iteratorSettings) {
+                batchScanner.addScanIterator(iteratorSetting);
+            }
+            batchScanner.setRanges(batch);
+            return batchScanner;
+        }
+    }
+}
@@ -26,6 +26,7 @@ import uk.gov.gchq.gaffer.spark.operation.javardd.GetJavaRDDOfElements;
 import uk.gov.gchq.gaffer.spark.operation.javardd.ImportJavaRDDOfElements;
 import uk.gov.gchq.gaffer.spark.operation.scalardd.GetRDDOfAllElements;
 import uk.gov.gchq.gaffer.spark.operation.scalardd.GetRDDOfElements;
+import uk.gov.gchq.gaffer.spark.operation.scalardd.GetRDDOfElementsFromSeedRDD;
 import uk.gov.gchq.gaffer.spark.operation.scalardd.ImportRDDOfElements;
 import uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.dataframe.GetDataFrameOfElementsHandler;
 import uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.javardd.GetJavaRDDOfAllElementsHandler;
@@ -33,6 +34,7 @@ import uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.javardd.GetJavaRDDOfEl
 import uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.javardd.ImportJavaRDDOfElementsHandler;
 import uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.javardd.ImportKeyValueJavaPairRDDToAccumuloHandler;
 import uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.scalardd.GetRDDOfAllElementsHandler;
+import uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.scalardd.GetRDDOfElementsFromSeedRDDHandler;
 import uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.scalardd.GetRDDOfElementsHandler;
 import uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.scalardd.ImportKeyValuePairRDDToAccumuloHandler;
 import uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.scalardd.ImportRDDOfElementsHandler;
@@ -57,7 +59,7 @@ public class SparkOperationDeclarationsTest {
                 .deserialise(StreamUtil.openStream(getClass(), ACCUMULO_OP_DECLARATIONS_JSON_PATH), OperationDeclarations.class);
 
         // Then
-        assertEquals(9, deserialised.getOperations().size());
+        assertEquals(10, deserialised.getOperations().size());
 
         final OperationDeclaration od0 = deserialised.getOperations().get(0);
         assertEquals(GetJavaRDDOfElements.class, od0.getOperation());
@@ -95,6 +97,10 @@ public class SparkOperationDeclarationsTest {
         assertEquals(ImportRDDOfElements.class, od8.getOperation());
         assertTrue(od8.getHandler() instanceof ImportRDDOfElementsHandler);
 
+        final OperationDeclaration od9 = deserialised.getOperations().get(9);
+        assertEquals(GetRDDOfElementsFromSeedRDD.class, od9.getOperation());
+        assertTrue(od9.getHandler() instanceof GetRDDOfElementsFromSeedRDDHandler);
+
 
 
     }
@@ -20,8 +20,11 @@ import org.apache.spark.SparkContext;
 import org.apache.spark.rdd.RDD;
 import org.apache.spark.sql.Row;
 import org.apache.spark.sql.SQLContext;
+import org.apache.spark.sql.sources.EqualTo;
 import org.apache.spark.sql.sources.Filter;
 import org.apache.spark.sql.sources.GreaterThan;
+import org.apache.spark.sql.sources.LessThan;
+import org.apache.spark.sql.sources.Or;
 import org.junit.Test;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
 import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
@@ -50,6 +53,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.function.Predicate;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 /**
@@ -192,6 +196,44 @@ public class AccumuloStoreRelationTest {
                 requiredColumns, filters, returnElement);
     }
 
+    @Test
+    public void testBuildScanSpecifyColumnsAndOrFilterFullView() throws OperationException, StoreException {
+        final Schema schema = getSchema();
+        final View view = getViewFromSchema(schema);
+
+        final String[] requiredColumns = new String[]{"property1", "property4"};
+        final Filter[] filters = new Filter[1];
+        filters[0] = new Or(new GreaterThan("property1", 8), new LessThan("property4", 4L));
+        final Predicate<Element> returnElement = (Element element) ->
+                ((Integer) element.getProperty("property1")) > 8
+                        || (null != element.getProperty("property4") && (Long) element.getProperty("property4") < 4L);
+        testBuildScanSpecifyColumnsAndFiltersWithView("testBuildScanSpecifyColumnsAndOrFilterFullView", view,
+                requiredColumns, filters, returnElement);
+    }
+
+    @Test
+    public void testUnhandledFilters() throws OperationException, StoreException {
+        // Given
+        final SQLContext sqlContext = getSqlContext("testUnhandledFilters");
+        final Schema schema = getSchema();
+        final AccumuloProperties properties = AccumuloProperties
+                .loadStoreProperties(getClass().getResourceAsStream("/store.properties"));
+        final SingleUseMockAccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(schema, properties);
+        final AccumuloStoreRelation relation = new AccumuloStoreRelation(sqlContext, Collections.emptyList(),
+                getViewFromSchema(schema), store, new User());
+        final Filter propertyFilter = new GreaterThan("property1", 4);
+        final Filter sourceFilter = new EqualTo(SchemaToStructTypeConverter.SRC_COL_NAME, "0");
+
+        // When
+        final Filter[] unhandledFilters = relation.unhandledFilters(new Filter[]{propertyFilter, sourceFilter});
+
+        // Then
+        assertArrayEquals(new Filter[]{sourceFilter}, unhandledFilters);
+
+        sqlContext.sparkContext().stop();
+    }
+
     private void testBuildScanSpecifyColumnsAndFiltersWithView(final String name, final View view,
                                                                final String[] requiredColumns, final Filter[] filters,
                                                                final Predicate<Element> returnElement)
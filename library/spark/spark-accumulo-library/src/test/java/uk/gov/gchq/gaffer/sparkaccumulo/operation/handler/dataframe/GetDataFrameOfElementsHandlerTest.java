@@ -51,6 +51,7 @@ import java.util.List;
 import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 /**
@@ -375,6 +376,31 @@ public class GetDataFrameOfElementsHandlerTest {
         sqlContext.sparkContext().stop();
     }
 
+    @Test
+    public void checkCanFilterOnConvertedProperties() throws OperationException {
+        final Graph graph = getGraph("/schema-DataFrame/dataSchemaNonstandardTypes.json", getElementsWithNonStandardProperties());
+        final SQLContext sqlContext = getSqlContext("checkCanFilterOnConvertedProperties");
+
+        final GetDataFrameOfElements dfOperation = new GetDataFrameOfElements.Builder()
+                .sqlContext(sqlContext)
+                .view(new View.Builder().edge(EDGE_GROUP).build())
+                .build();
+        final Dataset<Row> dataFrame = graph.execute(dfOperation, new User());
+
+        // The hllpp column holds the cardinality, so the filters must not be applied to the stored HyperLogLogPlus
+        final HyperLogLogPlus hllpp = new HyperLogLogPlus(5, 5);
+        hllpp.offer("AAA");
+        hllpp.offer("BBB");
+        final long cardinality = hllpp.cardinality();
+        final Set<Row> expectedRows = new HashSet<>(dataFrame.collectAsList());
+        assertEquals(1, expectedRows.size());
+        assertEquals(expectedRows, new HashSet<>(dataFrame.filter("hllpp = " + cardinality).collectAsList()));
+        assertEquals(expectedRows, new HashSet<>(dataFrame.filter("hllpp IN (" + cardinality + ", 100)").collectAsList()));
+        assertTrue(dataFrame.filter("hllpp = 100").collectAsList().isEmpty());
+
+        sqlContext.sparkContext().stop();
+    }
+
     @Test
     public void checkCanDealWithUserDefinedConversion() throws OperationException {
         final Graph graph = getGraph("/schema-DataFrame/dataSchemaUserDefinedConversion.json", getElementsForUserDefinedConversion());
@@ -15,6 +15,7 @@
  */
 package uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.javardd;
 
+import com.google.common.collect.Lists;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.output.ByteArrayOutputStream;
 import org.apache.hadoop.conf.Configuration;
@@ -22,7 +23,9 @@ import org.apache.spark.SparkConf;
 import org.apache.spark.api.java.JavaRDD;
 import org.apache.spark.api.java.JavaSparkContext;
 import org.junit.Test;
+import uk.gov.gchq.gaffer.binaryoperator.FreqMapAggregator;
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
 import uk.gov.gchq.gaffer.data.element.Edge;
@@ -30,9 +33,17 @@ import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.serialisation.FreqMapSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
 import uk.gov.gchq.gaffer.spark.operation.javardd.GetJavaRDDOfAllElements;
 import uk.gov.gchq.gaffer.spark.operation.javardd.ImportJavaRDDOfElements;
 import uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.AbstractGetRDDHandler;
+import uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.AbstractImportRDDOfElementsHandler;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.types.FreqMap;
 import uk.gov.gchq.gaffer.user.User;
 import java.io.DataOutputStream;
 import java.io.File;
@@ -43,6 +54,7 @@ import java.util.List;
 import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class ImportJavaRDDOfElementsHandlerTest {
@@ -124,4 +136,170 @@ public class ImportJavaRDDOfElementsHandlerTest {
 
         sparkContext.stop();
     }
+
+    @Test
+    public void checkImportJavaRDDOfElementsUsingBatchWriters() throws OperationException {
+        final Graph graph1 = new Graph.Builder()
+                .addSchema(getClass().getResourceAsStream("/schema/dataSchema.json"))
+                .addSchema(getClass().getResourceAsStream("/schema/dataTypes.json"))
+                .addSchema(getClass().getResourceAsStream("/schema/storeTypes.json"))
+                .storeProperties(getClass().getResourceAsStream("/store.properties"))
+                .build();
+
+        final List<Element> elements = new ArrayList<>();
+        final Set<Element> expectedElements = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            final Entity entity = new Entity(TestGroups.ENTITY);
+            entity.setVertex("" + i);
+            entity.putProperty(TestPropertyNames.COUNT, 1);
+
+            final Edge edge = new Edge(TestGroups.EDGE);
+            edge.setSource("" + i);
+            edge.setDestination("B");
+            edge.setDirected(false);
+            edge.putProperty(TestPropertyNames.COUNT, 2);
+
+            // Each element is added twice so that it is aggregated before being written
+            elements.add(entity);
+            elements.add(entity);
+            elements.add(edge);
+            elements.add(edge);
+
+            final Entity expectedEntity = new Entity(TestGroups.ENTITY);
+            expectedEntity.setVertex("" + i);
+            expectedEntity.putProperty(TestPropertyNames.COUNT, 2);
+            final Edge expectedEdge = new Edge(TestGroups.EDGE);
+            expectedEdge.setSource("" + i);
+            expectedEdge.setDestination("B");
+            expectedEdge.setDirected(false);
+            expectedEdge.putProperty(TestPropertyNames.COUNT, 4);
+            expectedElements.add(expectedEntity);
+            expectedElements.add(expectedEdge);
+        }
+        final User user = new User();
+
+        final SparkConf sparkConf = new SparkConf()
+                .setMaster("local")
+                .setAppName("testImportJavaRDDOfElementsUsingBatchWriters")
+                .set("spark.serializer", "org.apache.spark.serializer.KryoSerializer")
+                .set("spark.kryo.registrator", "uk.gov.gchq.gaffer.spark.serialisation.kryo.Registrator")
+                .set("spark.driver.allowMultipleContexts", "true");
+        final JavaSparkContext sparkContext = new JavaSparkContext(sparkConf);
+
+        // When
+        final JavaRDD<Element> elementJavaRDD = sparkContext.parallelize(elements, 2);
+        final ImportJavaRDDOfElements addRdd = new ImportJavaRDDOfElements.Builder()
+                .javaSparkContext(sparkContext)
+                .input(elementJavaRDD)
+                .option(AbstractImportRDDOfElementsHandler.IMPORT_MODE, AbstractImportRDDOfElementsHandler.BATCH_WRITER_IMPORT_MODE)
+                .build();
+        graph1.execute(addRdd, user);
+        sparkContext.stop();
+
+        // Then
+        final CloseableIterable<? extends Element> results = graph1.execute(new GetAllElements(), user);
+        final List<Element> resultList = Lists.newArrayList(results);
+        assertEquals(expectedElements.size(), resultList.size());
+        assertEquals(expectedElements, new HashSet<>(resultList));
+        for (final Element element : elements) {
+            assertEquals("The input elements should not be modified",
+                    element instanceof Entity ? 1 : 2, element.getProperty(TestPropertyNames.COUNT));
+        }
+    }
+
+    @Test
+    public void shouldNotModifyPropertiesOfCachedInputElementsUsingBatchWriters() throws OperationException {
+        // Given
+        final Graph graph1 = new Graph.Builder()
+                .addSchema(new Schema.Builder()
+                        .type("string", new TypeDefinition.Builder()
+                                .clazz(String.class)
+                                .serialiser(new StringSerialiser())
+                                .build())
+                        .type("freqMap", new TypeDefinition.Builder()
+                                .clazz(FreqMap.class)
+                                .aggregateFunction(new FreqMapAggregator())
+                                .serialiser(new FreqMapSerialiser())
+                                .build())
+                        .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                                .vertex("string")
+                                .property(TestPropertyNames.PROP_1, "freqMap")
+                                .build())
+                        .vertexSerialiser(new StringSerialiser())
+                        .build())
+                .storeProperties(getClass().getResourceAsStream("/store.properties"))
+                .build();
+
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final FreqMap freqMap = new FreqMap();
+            freqMap.upsert("key" + i);
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex")
+                    .property(TestPropertyNames.PROP_1, freqMap)
+                    .build());
+        }
+        final User user = new User();
+
+        final SparkConf sparkConf = new SparkConf()
+                .setMaster("local")
+                .setAppName("testNotModifyCachedInputElements")
+                .set("spark.serializer", "org.apache.spark.serializer.KryoSerializer")
+                .set("spark.kryo.registrator", "uk.gov.gchq.gaffer.spark.serialisation.kryo.Registrator")
+                .set("spark.driver.allowMultipleContexts", "true");
+        final JavaSparkContext sparkContext = new JavaSparkContext(sparkConf);
+        final JavaRDD<Element> elementJavaRDD = sparkContext.parallelize(elements, 1).cache();
+        elementJavaRDD.count();
+
+        // When
+        graph1.execute(new ImportJavaRDDOfElements.Builder()
+                .javaSparkContext(sparkContext)
+                .input(elementJavaRDD)
+                .option(AbstractImportRDDOfElementsHandler.IMPORT_MODE, AbstractImportRDDOfElementsHandler.BATCH_WRITER_IMPORT_MODE)
+                .build(), user);
+
+        // Then
+        try {
+            assertEquals("The cached input elements should not be modified", elements, elementJavaRDD.collect());
+        } finally {
+            sparkContext.stop();
+        }
+        final List<Element> results = Lists.newArrayList(graph1.execute(new GetAllElements(), user));
+        assertEquals(1, results.size());
+        final FreqMap expectedFreqMap = new FreqMap();
+        expectedFreqMap.upsert("key0");
+        expectedFreqMap.upsert("key1");
+        expectedFreqMap.upsert("key2");
+        assertEquals(expectedFreqMap, results.get(0).getProperty(TestPropertyNames.PROP_1));
+    }
+
+    @Test
+    public void shouldThrowExceptionForInvalidImportMode() {
+        final SparkConf sparkConf = new SparkConf()
+                .setMaster("local")
+                .setAppName("testInvalidImportMode")
+                .set("spark.driver.allowMultipleContexts", "true");
+        final JavaSparkContext sparkContext = new JavaSparkContext(sparkConf);
+        final Graph graph1 = new Graph.Builder()
+                .addSchema(getClass().getResourceAsStream("/schema/dataSchema.json"))
+                .addSchema(getClass().getResourceAsStream("/schema/dataTypes.json"))
+                .addSchema(getClass().getResourceAsStream("/schema/storeTypes.json"))
+                .storeProperties(getClass().getResourceAsStream("/store.properties"))
+                .build();
+
+        final ImportJavaRDDOfElements addRdd = new ImportJavaRDDOfElements.Builder()
+                .javaSparkContext(sparkContext)
+                .input(sparkContext.parallelize(new ArrayList<Element>()))
+                .option(AbstractImportRDDOfElementsHandler.IMPORT_MODE, "unknown")
+                .build();
+        try {
+            graph1.execute(addRdd, new User());
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertTrue(e.getMessage().contains(AbstractImportRDDOfElementsHandler.IMPORT_MODE));
+        } finally {
+            sparkContext.stop();
+        }
+    }
 }
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.scalardd;
+
+import org.apache.hadoop.io.Text;
+import org.apache.spark.SparkConf;
+import org.apache.spark.SparkContext;
+import org.apache.spark.rdd.RDD;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import scala.collection.JavaConversions;
+import scala.reflect.ClassTag;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.spark.operation.scalardd.GetRDDOfElements;
+import uk.gov.gchq.gaffer.spark.operation.scalardd.GetRDDOfElementsFromSeedRDD;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+
+public class GetRDDOfElementsFromSeedRDDHandlerTest {
+    private static final ClassTag<ElementId> ELEMENT_ID_CLASS_TAG = scala.reflect.ClassTag$.MODULE$.apply(ElementId.class);
+    private static final User USER = new User();
+
+    private static SparkContext sparkContext;
+    private static Graph graph;
+
+    @BeforeClass
+    public static void setUp() throws Exception {
+        final SparkConf sparkConf = new SparkConf()
+                .setMaster("local")
+                .setAppName("testGetRDDOfElementsFromSeedRDD")
+                .set("spark.serializer", "org.apache.spark.serializer.KryoSerializer")
+                .set("spark.kryo.registrator", "uk.gov.gchq.gaffer.spark.serialisation.kryo.Registrator")
+                .set("spark.driver.allowMultipleContexts", "true");
+        sparkContext = new SparkContext(sparkConf);
+
+        final Schema schema = Schema.fromJson(
+                GetRDDOfElementsFromSeedRDDHandlerTest.class.getResourceAsStream("/schema/dataSchema.json"),
+                GetRDDOfElementsFromSeedRDDHandlerTest.class.getResourceAsStream("/schema/dataTypes.json"),
+                GetRDDOfElementsFromSeedRDDHandlerTest.class.getResourceAsStream("/schema/storeTypes.json"));
+        final AccumuloProperties properties = AccumuloProperties
+                .loadStoreProperties(GetRDDOfElementsFromSeedRDDHandlerTest.class.getResourceAsStream("/store.properties"));
+        final SingleUseMockAccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(schema, properties);
+        // Split the table so the ranges are spread over several tablets
+        store.getConnection().tableOperations().addSplits(properties.getTable(),
+                new TreeSet<>(Arrays.asList(new Text("3"), new Text("6"), new Text("B"))));
+        graph = new Graph.Builder()
+                .store(store)
+                .build();
+
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final Entity entity = new Entity(TestGroups.ENTITY);
+            entity.setVertex("" + i);
+
+            final Edge edge1 = new Edge(TestGroups.EDGE);
+            edge1.setSource("" + i);
+            edge1.setDestination("B");
+            edge1.setDirected(false);
+            edge1.putProperty(TestPropertyNames.COUNT, 2);
+
+            final Edge edge2 = new Edge(TestGroups.EDGE);
+            edge2.setSource("" + i);
+            edge2.setDestination("C");
+            edge2.setDirected(true);
+            edge2.putProperty(TestPropertyNames.COUNT, 4);
+
+            elements.add(edge1);
+            elements.add(edge2);
+            elements.add(entity);
+        }
+        graph.execute(new AddElements.Builder().input(elements).build(), USER);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        sparkContext.stop();
+    }
+
+    @Test
+    public void shouldGetSameElementsAsGetRDDOfElements() throws Exception {
+        final List<ElementId> seeds = Arrays.asList(
+                new EntitySeed("1"), new EntitySeed("5"), new EntitySeed("9"),
+                new EntitySeed("B"), new EdgeSeed("2", "C", true));
+
+        assertSameElements(seeds, new View.Builder()
+                .entity(TestGroups.ENTITY)
+                .edge(TestGroups.EDGE)
+                .build(), null, 10000);
+    }
+
+    @Test
+    public void shouldGetSameElementsAsGetRDDOfElementsForEdgesOnlyAndOutgoing() throws Exception {
+        final List<ElementId> seeds = Arrays.asList(
+                new EntitySeed("0"), new EntitySeed("4"), new EntitySeed("C"));
+
+        assertSameElements(seeds, new View.Builder()
+                .edge(TestGroups.EDGE)
+                .build(), IncludeIncomingOutgoingType.OUTGOING, 10000);
+    }
+
+    @Test
+    public void shouldNotReturnDuplicatesWhenRangesAreScannedInSeveralBatches() throws Exception {
+        // Seeds are repeated so that identical ranges are split across batches
+        final List<ElementId> seeds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 10; j++) {
+                seeds.add(new EntitySeed("" + j));
+            }
+        }
+
+        assertSameElements(seeds, new View.Builder()
+                .entity(TestGroups.ENTITY)
+                .edge(TestGroups.EDGE)
+                .build(), null, 2);
+    }
+
+    private void assertSameElements(final List<ElementId> seeds, final View view,
+                                    final IncludeIncomingOutgoingType inOutType,
+                                    final int maxRangesPerScan) throws Exception {
+        // Given
+        final RDD<ElementId> seedRDD = sparkContext.parallelize(
+                JavaConversions.asScalaBuffer(seeds), 3, ELEMENT_ID_CLASS_TAG);
+        final GetRDDOfElements expectedQuery = new GetRDDOfElements.Builder()
+                .sparkContext(sparkContext)
+                .input(seeds)
+                .view(view)
+                .inOutType(inOutType)
+                .build();
+        final List<Element> expected = Arrays.asList((Element[]) graph.execute(expectedQuery, USER).collect());
+
+        // When
+        final GetRDDOfElementsFromSeedRDD query = new GetRDDOfElementsFromSeedRDD.Builder()
+                .sparkContext(sparkContext)
+                .input(seedRDD)
+                .view(view)
+                .inOutType(inOutType)
+                .option(GetRDDOfElementsFromSeedRDDHandler.MAX_RANGES_PER_SCAN, Integer.toString(maxRangesPerScan))
+                .build();
+        final List<Element> results = Arrays.asList((Element[]) graph.execute(query, USER).collect());
+
+        // Then - an element related to more than one seed is returned once for each of its keys,
+        // so both the distinct elements and the total number of elements should match
+        assertEquals(new HashSet<>(expected), new HashSet<>(results));
+        assertEquals(expected.size(), results.size());
+    }
+}
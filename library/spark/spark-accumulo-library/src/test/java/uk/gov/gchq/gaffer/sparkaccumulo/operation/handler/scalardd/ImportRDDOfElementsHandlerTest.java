@@ -32,6 +32,7 @@ import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.spark.operation.scalardd.GetRDDOfAllElements;
 import uk.gov.gchq.gaffer.spark.operation.scalardd.ImportRDDOfElements;
 import uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.AbstractGetRDDHandler;
@@ -130,4 +131,65 @@ public class ImportRDDOfElementsHandlerTest {
         assertEquals(elements.size(), results.size());
         sparkContext.stop();
     }
+
+    @Test
+    public void checkImportRDDOfElementsUsingBatchWritersWhenNoOutputPathIsSet() throws OperationException {
+        final Graph graph1 = new Graph.Builder()
+                .addSchema(getClass().getResourceAsStream("/schema/dataSchema.json"))
+                .addSchema(getClass().getResourceAsStream("/schema/dataTypes.json"))
+                .addSchema(getClass().getResourceAsStream("/schema/storeTypes.json"))
+                .storeProperties(getClass().getResourceAsStream("/store.properties"))
+                .build();
+
+        final ArrayBuffer<Element> elements = new ArrayBuffer<>();
+        final Set<Element> expectedElements = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            final Edge edge1 = new Edge(TestGroups.EDGE);
+            edge1.setSource("" + i);
+            edge1.setDestination("B");
+            edge1.setDirected(false);
+            edge1.putProperty(TestPropertyNames.COUNT, 2);
+
+            final Edge edge2 = new Edge(TestGroups.EDGE);
+            edge2.setSource("B");
+            edge2.setDestination("" + i);
+            edge2.setDirected(false);
+            edge2.putProperty(TestPropertyNames.COUNT, 4);
+
+            elements.$plus$eq(edge1);
+            elements.$plus$eq(edge2);
+
+            final Edge expectedEdge = new Edge(TestGroups.EDGE);
+            expectedEdge.setSource("" + i);
+            expectedEdge.setDestination("B");
+            expectedEdge.setDirected(false);
+            expectedEdge.putProperty(TestPropertyNames.COUNT, 6);
+            expectedElements.add(expectedEdge);
+        }
+        final User user = new User();
+
+        final SparkConf sparkConf = new SparkConf()
+                .setMaster("local")
+                .setAppName("tests")
+                .set("spark.serializer", "org.apache.spark.serializer.KryoSerializer")
+                .set("spark.kryo.registrator", "uk.gov.gchq.gaffer.spark.serialisation.kryo.Registrator")
+                .set("spark.driver.allowMultipleContexts", "true");
+        final SparkContext sparkContext = new SparkContext(sparkConf);
+
+        // When
+        final RDD<Element> elementRDD = sparkContext.parallelize(elements, 2, ELEMENT_CLASS_TAG);
+        final ImportRDDOfElements addRdd = new ImportRDDOfElements.Builder()
+                .sparkContext(sparkContext)
+                .input(elementRDD)
+                .build();
+        graph1.execute(addRdd, user);
+        sparkContext.stop();
+
+        // Then
+        final Set<Element> results = new HashSet<>();
+        for (final Element element : graph1.execute(new GetAllElements(), user)) {
+            results.add(element);
+        }
+        assertEquals(expectedElements, results);
+    }
 }
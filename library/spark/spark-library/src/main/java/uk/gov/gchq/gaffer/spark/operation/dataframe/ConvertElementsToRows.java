@@ -0,0 +1,213 @@
+/*
+ * Copyright 2016-2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.spark.operation.dataframe;
+
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.RowFactory;
+import scala.collection.AbstractIterator;
+import scala.collection.Iterator;
+import scala.runtime.AbstractFunction1;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.property.ConversionException;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.property.Converter;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.schema.SchemaToStructTypeConverter;
+import java.io.Serializable;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A <code>ConvertElementsToRows</code> converts a partition of {@link Element}s into {@link Row}s containing only
+ * the requested columns. It produces the same rows as {@link ConvertElementToRow}, but the elements are converted
+ * in batches, one column at a time: the type of each column and its {@link Converter} are resolved once when the
+ * function is created, and each column is then filled for every element in the batch in a tight loop. This avoids
+ * switching on the column name and building a Scala list for every element.
+ * <p>
+ * It should be applied to an RDD of elements using <code>mapPartitions</code>.
+ */
+public class ConvertElementsToRows extends AbstractFunction1<Iterator<Element>, Iterator<Row>>
+        implements Serializable {
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+    private static final long serialVersionUID = 2815482547187425627L;
+
+    private static final int GROUP = 0;
+    private static final int SRC = 1;
+    private static final int DST = 2;
+    private static final int VERTEX = 3;
+    private static final int PROPERTY = 4;
+    private static final int CONVERTED_PROPERTY = 5;
+    private static final int MISSING_CONVERTER = 6;
+
+    private final String[] columns;
+    private final int[] columnTypes;
+    private final Converter[] converters;
+    private final int batchSize;
+
+    public ConvertElementsToRows(final LinkedHashSet<String> properties,
+                                 final Map<String, Boolean> propertyNeedsConversion,
+                                 final Map<String, Converter> convertersByProperty) {
+        this(properties, propertyNeedsConversion, convertersByProperty, DEFAULT_BATCH_SIZE);
+    }
+
+    public ConvertElementsToRows(final LinkedHashSet<String> properties,
+                                 final Map<String, Boolean> propertyNeedsConversion,
+                                 final Map<String, Converter> convertersByProperty,
+                                 final int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1 but was " + batchSize);
+        }
+        this.batchSize = batchSize;
+        this.columns = properties.toArray(new String[properties.size()]);
+        this.columnTypes = new int[columns.length];
+        this.converters = new Converter[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            switch (columns[i]) {
+                case SchemaToStructTypeConverter.GROUP:
+                    columnTypes[i] = GROUP;
+                    break;
+                case SchemaToStructTypeConverter.SRC_COL_NAME:
+                    columnTypes[i] = SRC;
+                    break;
+                case SchemaToStructTypeConverter.DST_COL_NAME:
+                    columnTypes[i] = DST;
+                    break;
+                case SchemaToStructTypeConverter.VERTEX_COL_NAME:
+                    columnTypes[i] = VERTEX;
+                    break;
+                default:
+                    if (!Boolean.TRUE.equals(propertyNeedsConversion.get(columns[i]))) {
+                        columnTypes[i] = PROPERTY;
+                    } else {
+                        converters[i] = convertersByProperty.get(columns[i]);
+                        columnTypes[i] = null != converters[i] ? CONVERTED_PROPERTY : MISSING_CONVERTER;
+                    }
+            }
+        }
+    }
+
+    @Override
+    public Iterator<Row> apply(final Iterator<Element> elements) {
+        return new BatchIterator(elements);
+    }
+
+    /**
+     * Converts a batch of elements into the values of their rows.
+     *
+     * @param batch  the elements to convert
+     * @param size   the number of elements in the batch
+     * @param values the row values to populate, indexed by element then column
+     */
+    protected void convertBatch(final Element[] batch, final int size, final Object[][] values) {
+        for (int column = 0; column < columns.length; column++) {
+            switch (columnTypes[column]) {
+                case GROUP:
+                    for (int i = 0; i < size; i++) {
+                        values[i][column] = batch[i].getGroup();
+                    }
+                    break;
+                case SRC:
+                    for (int i = 0; i < size; i++) {
+                        values[i][column] = batch[i] instanceof Edge ? ((Edge) batch[i]).getSource() : null;
+                    }
+                    break;
+                case DST:
+                    for (int i = 0; i < size; i++) {
+                        values[i][column] = batch[i] instanceof Edge ? ((Edge) batch[i]).getDestination() : null;
+                    }
+                    break;
+                case VERTEX:
+                    for (int i = 0; i < size; i++) {
+                        values[i][column] = batch[i] instanceof Entity ? ((Entity) batch[i]).getVertex() : null;
+                    }
+                    break;
+                case PROPERTY:
+                    for (int i = 0; i < size; i++) {
+                        values[i][column] = batch[i].getProperties().get(columns[column]);
+                    }
+                    break;
+                case CONVERTED_PROPERTY:
+                    for (int i = 0; i < size; i++) {
+                        values[i][column] = convert(converters[column], batch[i].getProperties().get(columns[column]));
+                    }
+                    break;
+                default:
+                    // The property requires conversion but there is no converter for it, so the column is left null
+                    break;
+            }
+        }
+    }
+
+    private static Object convert(final Converter converter, final Object value) {
+        if (null == value) {
+            return null;
+        }
+        try {
+            return converter.convert(value);
+        } catch (final ConversionException e) {
+            return null;
+        }
+    }
+
+    private final class BatchIterator extends AbstractIterator<Row> {
+        private final Iterator<Element> elements;
+        private final Element[] batch = new Element[batchSize];
+        private Object[][] values;
+        private int size;
+        private int index;
+
+        private BatchIterator(final Iterator<Element> elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (index < size) {
+                return true;
+            }
+            nextBatch();
+            return index < size;
+        }
+
+        @Override
+        public Row next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more rows");
+            }
+            final Row row = RowFactory.create(values[index]);
+            values[index] = null;
+            index++;
+            return row;
+        }
+
+        private void nextBatch() {
+            size = 0;
+            index = 0;
+            while (size < batchSize && elements.hasNext()) {
+                batch[size++] = elements.next();
+            }
+            if (size > 0) {
+                // Each row takes ownership of its values array, so a new array is required for every batch
+                values = new Object[size][columns.length];
+                convertBatch(batch, size, values);
+                for (int i = 0; i < size; i++) {
+                    batch[i] = null;
+                }
+            }
+        }
+    }
+}
@@ -30,6 +30,9 @@ import org.apache.spark.sql.sources.IsNull;
 import org.apache.spark.sql.sources.LessThan;
 import org.apache.spark.sql.sources.LessThanOrEqual;
 import org.apache.spark.sql.sources.Or;
+import org.apache.spark.sql.sources.StringContains;
+import org.apache.spark.sql.sources.StringEndsWith;
+import org.apache.spark.sql.sources.StringStartsWith;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -42,36 +45,53 @@ import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.schema.SchemaToStr
 import uk.gov.gchq.gaffer.spark.operation.scalardd.GetRDDOfAllElements;
 import uk.gov.gchq.gaffer.spark.operation.scalardd.GetRDDOfElements;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.koryphe.impl.predicate.Exists;
 import uk.gov.gchq.koryphe.impl.predicate.IsEqual;
 import uk.gov.gchq.koryphe.impl.predicate.IsIn;
 import uk.gov.gchq.koryphe.impl.predicate.IsLessThan;
 import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
 import uk.gov.gchq.koryphe.impl.predicate.Not;
+import uk.gov.gchq.koryphe.impl.predicate.Regex;
+import uk.gov.gchq.koryphe.tuple.predicate.IntegerTupleAdaptedPredicate;
 import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 import java.util.function.Predicate;
+import java.util.regex.Pattern;
 
 /**
  * Converts a give {@link View} and array of Spark {@link Filter}s to an operation that returns data with as many
  * of the filters as possible converted to Gaffer filters and added to the view. This ensures that as much data
- * as possible is filtered out by the store.
+ * as possible is filtered out by the store. The filters that are fully applied by the operation are recorded, so
+ * that Spark does not need to apply them again - see {@link #getUnhandledFilters()}.
  */
 public class FiltersToOperationConverter {
     private static final Logger LOGGER = LoggerFactory.getLogger(FiltersToOperationConverter.class);
+    private static final Set<String> ELEMENT_COLUMNS = new HashSet<>(Arrays.asList(
+            SchemaToStructTypeConverter.GROUP,
+            SchemaToStructTypeConverter.VERTEX_COL_NAME,
+            SchemaToStructTypeConverter.SRC_COL_NAME,
+            SchemaToStructTypeConverter.DST_COL_NAME));
+    // Properties of these classes are not converted, so Spark compares the same values as the Gaffer predicates
+    private static final Set<Class<?>> NATIVE_PROPERTY_CLASSES = new HashSet<>(Arrays.asList(
+            String.class, Integer.class, Long.class, Boolean.class, Double.class, Float.class, Byte.class,
+            Short.class));
+    // Spark's string filters match across line terminators
+    private static final String ANY_CHARACTER_FLAG = "(?s)";
 
     private final SQLContext sqlContext;
     private final View view;
     private final Schema schema;
     private final Filter[] filters;
+    private final Set<Filter> handledFilters = Collections.newSetFromMap(new IdentityHashMap<>());
 
     public FiltersToOperationConverter(final SQLContext sqlContext,
                                        final View view,
@@ -95,27 +115,63 @@ public class FiltersToOperationConverter {
      * as possible:
      * - If the filters specify a particular group or groups is/are required then the view should only contain those
      * groups.
-     * - If the filters specify a particular value for the vertex, source or destination then an operation to return
-     * those directly is created (i.e. a GetRDDOfElements operation rather than a GetRDDOfAllElements operation). In
-     * this case the view is created to ensure that only entities or only edges are returned as appropriate.
-     * - Other filters are converted to Gaffer filters which are applied to the view.
+     * - If the filters specify particular values for the vertex, source or destination (using EqualTo or In filters)
+     * then an operation to return those directly is created (i.e. a GetRDDOfElements operation rather than a
+     * GetRDDOfAllElements operation). The seeds are the intersection of the values from all the filters on the same
+     * column. In this case the view is created to ensure that only entities or only edges are returned as appropriate.
+     * - Other filters, including Or, Not and string filters, are converted to Gaffer filters which are applied to the
+     * view. Filters on properties are converted separately for each group, and groups for which a filter can never
+     * be true are removed from the view.
      *
      * @return an operation to return the required data.
      */
     public Output<RDD<Element>> getOperation() {
+        handledFilters.clear();
         // Check whether the filters specify any groups
         View derivedView = applyGroupFilters(view);
         if (derivedView == null) {
-            return null;
+            return noData();
         }
         // Check whether the filters specify a value for the vertex, source or destination.
         Output<RDD<Element>> operation = applyVertexSourceDestinationFilters(derivedView);
+        if (operation == null) {
+            return noData();
+        }
         // Check whether the filters specify a property - if so can ignore groups that don't contain that property
         derivedView = ((GraphFilters) operation).getView();
         operation = applyPropertyFilters(derivedView, operation);
+        if (operation == null) {
+            return noData();
+        }
         return operation;
     }
 
+    /**
+     * Returns the filters that are not fully applied by the operation returned from {@link #getOperation()}, and so
+     * must still be applied by Spark. A filter is fully applied if it selects groups, if it specifies the vertex of
+     * an entity or if it is converted to Gaffer predicates that match exactly the same elements for every group that
+     * can be returned. If the filters mean no data can be returned then none of them need to be applied by Spark.
+     *
+     * @return the filters that Spark must apply to the results of the operation.
+     */
+    public Filter[] getUnhandledFilters() {
+        getOperation();
+        final List<Filter> unhandledFilters = new ArrayList<>();
+        for (final Filter filter : filters) {
+            if (!handledFilters.contains(filter)) {
+                unhandledFilters.add(filter);
+            }
+        }
+        LOGGER.info("Filters that are not fully applied by the store are: {}", StringUtils.join(unhandledFilters, ','));
+        return unhandledFilters.toArray(new Filter[unhandledFilters.size()]);
+    }
+
+    private Output<RDD<Element>> noData() {
+        // No data can be returned, so all of the filters have been applied
+        handledFilters.addAll(Arrays.asList(filters));
+        return null;
+    }
+
     private View applyGroupFilters(final View view) {
         View derivedView = View.fromJson(view.toCompactJson());
         final Set<String> groups = checkForGroups();
@@ -154,63 +210,121 @@ public class FiltersToOperationConverter {
     }
 
     private Output<RDD<Element>> applyVertexSourceDestinationFilters(final View view) {
-        View clonedView = view.clone();
-        Output<RDD<Element>> operation = null;
-        for (final Filter filter : filters) {
-            if (filter instanceof EqualTo) {
-                final EqualTo equalTo = (EqualTo) filter;
-                final String attribute = equalTo.attribute();
-                if (attribute.equals(SchemaToStructTypeConverter.VERTEX_COL_NAME)) {
-                    // Only entities are relevant, so remove any edge groups from the view
-                    LOGGER.info("Found EqualTo filter with attribute {}, setting views to only contain entity groups",
-                            attribute);
-                    View.Builder viewBuilder = new View.Builder();
-                    for (final String entityGroup : view.getEntityGroups()) {
-                        viewBuilder = viewBuilder.entity(entityGroup);
-                    }
-                    clonedView = viewBuilder.build();
-                    LOGGER.info("Setting operation to GetRDDOfElements");
-                    operation = new GetRDDOfElements.Builder()
-                            .sparkContext(sqlContext.sparkContext())
-                            .input(new EntitySeed(equalTo.value()))
-                            .view(clonedView)
-                            .build();
-                    break;
-                } else if (attribute.equals(SchemaToStructTypeConverter.SRC_COL_NAME)
-                        || attribute.equals(SchemaToStructTypeConverter.DST_COL_NAME)) {
-                    // Only edges are relevant, so remove any entity groups from the view
-                    LOGGER.info("Found EqualTo filter with attribute {}, setting views to only contain edge groups",
-                            attribute);
-                    View.Builder viewBuilder = new View.Builder();
-                    for (final String edgeGroup : view.getEdgeGroups()) {
-                        viewBuilder = viewBuilder.edge(edgeGroup);
-                    }
-                    clonedView = viewBuilder.build();
-                    LOGGER.info("Setting operation to GetRDDOfElements");
-                    operation = new GetRDDOfElements.Builder()
-                            .sparkContext(sqlContext.sparkContext())
-                            .input(new EntitySeed(equalTo.value()))
-                            .view(clonedView)
-                            .build();
-                    break;
+        final Set<Object> vertices = getRequiredValues(SchemaToStructTypeConverter.VERTEX_COL_NAME);
+        final Set<Object> sources = getRequiredValues(SchemaToStructTypeConverter.SRC_COL_NAME);
+        final Set<Object> destinations = getRequiredValues(SchemaToStructTypeConverter.DST_COL_NAME);
+        if (null != vertices) {
+            if (vertices.isEmpty() || null != sources || null != destinations) {
+                // Entities have no source or destination and edges have no vertex, so no data can be returned
+                LOGGER.info("The filters on {}, {} and {} cannot all be satisfied",
+                        SchemaToStructTypeConverter.VERTEX_COL_NAME,
+                        SchemaToStructTypeConverter.SRC_COL_NAME,
+                        SchemaToStructTypeConverter.DST_COL_NAME);
+                return null;
+            }
+            // Only entities are relevant, so remove any edge groups from the view
+            LOGGER.info("Found filters on {}, setting views to only contain entity groups",
+                    SchemaToStructTypeConverter.VERTEX_COL_NAME);
+            View.Builder viewBuilder = new View.Builder();
+            for (final String entityGroup : view.getEntityGroups()) {
+                viewBuilder = viewBuilder.entity(entityGroup, view.getEntity(entityGroup));
+            }
+            // Entities are only returned for a seed if their vertex is equal to it, so these filters are handled
+            for (final Filter filter : filters) {
+                if (null != getValues(filter, SchemaToStructTypeConverter.VERTEX_COL_NAME)) {
+                    handledFilters.add(filter);
                 }
             }
+            LOGGER.info("Setting operation to GetRDDOfElements with {} seeds", vertices.size());
+            return new GetRDDOfElements.Builder()
+                    .sparkContext(sqlContext.sparkContext())
+                    .input(toSeeds(vertices))
+                    .view(viewBuilder.build())
+                    .build();
         }
-        if (operation == null) {
-            LOGGER.debug("Setting operation to GetRDDOfAllElements");
-            operation = new GetRDDOfAllElements.Builder()
+        if (null != sources || null != destinations) {
+            final Set<Object> vertexValues;
+            if (null == sources || (null != destinations && destinations.size() < sources.size())) {
+                vertexValues = destinations;
+            } else {
+                vertexValues = sources;
+            }
+            if (vertexValues.isEmpty()) {
+                LOGGER.info("The filters on {} and {} cannot all be satisfied",
+                        SchemaToStructTypeConverter.SRC_COL_NAME,
+                        SchemaToStructTypeConverter.DST_COL_NAME);
+                return null;
+            }
+            // Only edges are relevant, so remove any entity groups from the view. Edges are returned if either
+            // end matches a seed, so these filters must still be applied by Spark.
+            LOGGER.info("Found filters on {} or {}, setting views to only contain edge groups",
+                    SchemaToStructTypeConverter.SRC_COL_NAME,
+                    SchemaToStructTypeConverter.DST_COL_NAME);
+            View.Builder viewBuilder = new View.Builder();
+            for (final String edgeGroup : view.getEdgeGroups()) {
+                viewBuilder = viewBuilder.edge(edgeGroup, view.getEdge(edgeGroup));
+            }
+            LOGGER.info("Setting operation to GetRDDOfElements with {} seeds", vertexValues.size());
+            return new GetRDDOfElements.Builder()
                     .sparkContext(sqlContext.sparkContext())
-                    .view(clonedView)
+                    .input(toSeeds(vertexValues))
+                    .view(viewBuilder.build())
                     .build();
         }
-        return operation;
+        LOGGER.debug("Setting operation to GetRDDOfAllElements");
+        return new GetRDDOfAllElements.Builder()
+                .sparkContext(sqlContext.sparkContext())
+                .view(view.clone())
+                .build();
+    }
+
+    /**
+     * Returns the values that the given column is required to take by the {@link EqualTo} and {@link In} filters
+     * on it. As the filters are 'AND'ed together this is the intersection of the values of each filter.
+     *
+     * @param attribute the column name
+     * @return the values the column must take, or <code>null</code> if none of the filters restrict the column.
+     */
+    private Set<Object> getRequiredValues(final String attribute) {
+        Set<Object> requiredValues = null;
+        for (final Filter filter : filters) {
+            final Set<Object> values = getValues(filter, attribute);
+            if (null != values) {
+                if (null == requiredValues) {
+                    requiredValues = new HashSet<>(values);
+                } else {
+                    requiredValues.retainAll(values);
+                }
+            }
+        }
+        return requiredValues;
+    }
+
+    private static Set<Object> getValues(final Filter filter, final String attribute) {
+        if (filter instanceof EqualTo && ((EqualTo) filter).attribute().equals(attribute)) {
+            return Collections.singleton(((EqualTo) filter).value());
+        } else if (filter instanceof In && ((In) filter).attribute().equals(attribute)) {
+            final Set<Object> values = new HashSet<>(Arrays.asList(((In) filter).values()));
+            // A null value never matches
+            values.remove(null);
+            return values;
+        }
+        return null;
+    }
+
+    private static List<EntitySeed> toSeeds(final Set<Object> vertices) {
+        final List<EntitySeed> seeds = new ArrayList<>(vertices.size());
+        for (final Object vertex : vertices) {
+            seeds.add(new EntitySeed(vertex));
+        }
+        return seeds;
     }
 
     private Output<RDD<Element>> applyPropertyFilters(final View derivedView, final Output<RDD<Element>> operation) {
         final List<Set<String>> groupsRelatedToFilters = new ArrayList<>();
         for (final Filter filter : filters) {
             final Set<String> groupsRelatedToFilter = getGroupsFromFilter(filter);
-            if (groupsRelatedToFilter != null && !groupsRelatedToFilter.isEmpty()) {
+            if (!groupsRelatedToFilter.isEmpty()) {
                 groupsRelatedToFilters.add(groupsRelatedToFilter);
             }
             LOGGER.info("Groups {} are related to filter {}", StringUtils.join(groupsRelatedToFilter, ','), filter);
@@ -219,284 +333,215 @@ public class FiltersToOperationConverter {
         // Take the intersection of this list of groups - only these groups can be related to the query
         final Set<String> intersection = new HashSet<>(derivedView.getEntityGroups());
         intersection.addAll(derivedView.getEdgeGroups());
+        final boolean hasGroups = !intersection.isEmpty();
         for (final Set<String> groupsRelatedToFilter : groupsRelatedToFilters) {
             intersection.retainAll(groupsRelatedToFilter);
         }
         LOGGER.info("Groups that can be returned are: {}", StringUtils.join(intersection, ','));
-        // Update view with filters and add to operation
+        if (hasGroups && intersection.isEmpty()) {
+            // The filters cannot all be satisfied by any group
+            return null;
+        }
+        // Convert the filters for each group and record which filters are applied exactly to every group
         final Map<String, List<TupleAdaptedPredicate<String, ?>>> groupToFunctions = new HashMap<>();
         for (final Filter filter : filters) {
-            final Map<String, List<TupleAdaptedPredicate<String, ?>>> map = getFunctionsFromFilter(filter);
-            for (final Entry<String, List<TupleAdaptedPredicate<String, ?>>> entry : map.entrySet()) {
-                if (!groupToFunctions.containsKey(entry.getKey())) {
-                    groupToFunctions.put(entry.getKey(), new ArrayList<>());
+            boolean exact = !getGroupsFromFilter(filter).isEmpty();
+            for (final String group : intersection) {
+                final FilterNode node = convert(filter, group);
+                exact = exact && node.isExact();
+                final List<TupleAdaptedPredicate<String, ?>> functions = node.toPredicates();
+                if (!functions.isEmpty()) {
+                    groupToFunctions.computeIfAbsent(group, k -> new ArrayList<>()).addAll(functions);
                 }
-                groupToFunctions.get(entry.getKey()).addAll(entry.getValue());
             }
-        }
-        LOGGER.info("The following functions will be applied for the given group:");
-        for (final Entry<String, List<TupleAdaptedPredicate<String, ?>>> entry : groupToFunctions.entrySet()) {
-            LOGGER.info("Group = {}: ", entry.getKey());
-            for (final TupleAdaptedPredicate<String, ?> cfc : entry.getValue()) {
-                if (null != cfc.getSelection()) {
-                    LOGGER.info("\t{} {}", cfc.getSelection(), cfc.getPredicate());
-                } else {
-                    LOGGER.info("\t{} {}", StringUtils.join(cfc.getSelection(), ','), cfc.getPredicate());
-                }
+            if (exact) {
+                LOGGER.debug("Filter {} is fully applied by the view", filter);
+                handledFilters.add(filter);
             }
         }
-        boolean updated = false;
         View.Builder builder = new View.Builder();
-
         for (final String group : derivedView.getEntityGroups()) {
             if (intersection.contains(group)) {
-                if (groupToFunctions.get(group) != null) {
-                    final ViewElementDefinition ved = new ViewElementDefinition.Builder()
-                            .merge(derivedView.getEntity(group))
-                            .postAggregationFilterFunctions(groupToFunctions.get(group))
-                            .build();
-                    LOGGER.info("Adding the following filter functions to the view for group {}:", group);
-                    for (final TupleAdaptedPredicate<String, ?> cfc : groupToFunctions.get(group)) {
-                        if (null != cfc.getSelection()) {
-                            LOGGER.info("\t{} {}", cfc.getSelection(), cfc.getPredicate());
-                        } else {
-                            LOGGER.info("\t{} {}", StringUtils.join(cfc.getSelection(), ','), cfc.getPredicate());
-                        }
-                    }
-                    builder = builder.entity(group, ved);
-                    updated = true;
-                } else {
-                    LOGGER.info("Not adding any filter functions to the view for group {}", group);
-                }
+                builder = builder.entity(group, getViewElementDefinition(group, derivedView.getEntity(group),
+                        groupToFunctions.get(group)));
             }
         }
         for (final String group : derivedView.getEdgeGroups()) {
             if (intersection.contains(group)) {
-                if (groupToFunctions.get(group) != null) {
-                    final ViewElementDefinition ved = new ViewElementDefinition.Builder()
-                            .merge(derivedView.getEdge(group))
-                            .postAggregationFilterFunctions(groupToFunctions.get(group))
-                            .build();
-                    LOGGER.info("Adding the following filter functions to the view for group {}:", group);
-                    for (final TupleAdaptedPredicate<String, ?> cfc : groupToFunctions.get(group)) {
-                        if (null != cfc.getSelection()) {
-                            LOGGER.info("\t{} {}", cfc.getSelection(), cfc.getPredicate());
-                        } else {
-                            LOGGER.info("\t{} {}", StringUtils.join(cfc.getSelection(), ','), cfc.getPredicate());
-                        }
-                    }
-                    builder = builder.edge(group, ved);
-                    updated = true;
-                } else {
-                    LOGGER.info("Not adding any filter functions to the view for group {}", group);
-                }
+                builder = builder.edge(group, getViewElementDefinition(group, derivedView.getEdge(group),
+                        groupToFunctions.get(group)));
             }
         }
-        if (updated) {
-            ((GraphFilters) operation).setView(builder.build());
-        } else {
-            ((GraphFilters) operation).setView(derivedView);
-        }
+        ((GraphFilters) operation).setView(builder.build());
         return operation;
     }
 
-    private Set<String> getGroupsThatHaveProperty(final String property) {
-        final Set<String> groups = new HashSet<>();
-        for (final String entityGroup : schema.getEntityGroups()) {
-            if (schema.getEntity(entityGroup).getProperties().contains(property)) {
-                groups.add(entityGroup);
-            }
+    private ViewElementDefinition getViewElementDefinition(final String group,
+                                                           final ViewElementDefinition elementDef,
+                                                           final List<TupleAdaptedPredicate<String, ?>> functions) {
+        if (null == functions) {
+            LOGGER.info("Not adding any filter functions to the view for group {}", group);
+            return elementDef;
+        }
+        LOGGER.info("Adding the following filter functions to the view for group {}:", group);
+        for (final TupleAdaptedPredicate<String, ?> cfc : functions) {
+            LOGGER.info("\t{} {}", StringUtils.join(cfc.getSelection(), ','), cfc.getPredicate());
         }
-        for (final String edgeGroup : schema.getEdgeGroups()) {
-            if (schema.getEdge(edgeGroup).getProperties().contains(property)) {
-                groups.add(edgeGroup);
+        return new ViewElementDefinition.Builder()
+                .merge(elementDef)
+                .postAggregationFilterFunctions(functions)
+                .build();
+    }
+
+    /**
+     * Returns the groups in the schema for which the filter could return data.
+     *
+     * @param filter The {@link Filter} to check.
+     * @return the groups for which the filter could return data.
+     */
+    private Set<String> getGroupsFromFilter(final Filter filter) {
+        final Set<String> groups = new HashSet<>();
+        for (final String group : schema.getGroups()) {
+            if (FilterNode.NEVER != convert(filter, group)) {
+                groups.add(group);
             }
         }
         return groups;
     }
 
-    private Set<String> getGroupsFromFilter(final Filter filter) {
-        if (filter instanceof EqualTo) {
-            return getGroupsThatHaveProperty(((EqualTo) filter).attribute());
+    /**
+     * Converts a Spark {@link Filter} into a tree of Gaffer predicates on the properties of the given group.
+     * <p>
+     * Note that Spark also applies any filters that are not reported as handled, so not implementing some of the
+     * provided {@link Filter}s in Gaffer will not cause errors. However, as many as possible should be implemented
+     * so that as much filtering as possible happens in iterators running in Accumulo's tablet servers (this avoids
+     * unnecessary data transfer from Accumulo to Spark).
+     * <p>
+     * A Spark filter on a null value evaluates to null, which is treated as false. Gaffer predicates return false
+     * for null values, so a converted filter matches exactly the same elements as Spark unless it is negated, in
+     * which case a check that the property exists is added.
+     *
+     * @param filter The {@link Filter} to transform.
+     * @param group  The group the filter is applied to.
+     * @return A {@link FilterNode} implementing the provided {@link Filter} for the group.
+     */
+    private FilterNode convert(final Filter filter, final String group) {
+        if (filter instanceof And) {
+            return FilterNode.and(convert(((And) filter).left(), group), convert(((And) filter).right(), group));
+        } else if (filter instanceof Or) {
+            return FilterNode.or(convert(((Or) filter).left(), group), convert(((Or) filter).right(), group));
+        } else if (filter instanceof org.apache.spark.sql.sources.Not) {
+            return FilterNode.not(convert(((org.apache.spark.sql.sources.Not) filter).child(), group));
+        }
+
+        final String attribute = getAttribute(filter);
+        if (null == attribute || ELEMENT_COLUMNS.contains(attribute)) {
+            return FilterNode.UNSUPPORTED;
+        }
+        final SchemaElementDefinition elementDef = schema.getElement(group);
+        if (null == elementDef || !elementDef.getProperties().contains(attribute)) {
+            // The property is null for every element in this group
+            if (filter instanceof IsNull
+                    || (filter instanceof EqualNullSafe && null == ((EqualNullSafe) filter).value())) {
+                return FilterNode.ALWAYS;
+            }
+            return FilterNode.NEVER;
+        }
+
+        final Class<?> propertyClass = elementDef.getPropertyClass(attribute);
+        final boolean nativeProperty = NATIVE_PROPERTY_CLASSES.contains(propertyClass);
+        if (filter instanceof IsNull) {
+            return FilterNode.leaf(attribute, new Not<>(new Exists()), nativeProperty, true);
+        } else if (filter instanceof IsNotNull) {
+            return FilterNode.leaf(attribute, new Exists(), nativeProperty, true);
+        } else if (!nativeProperty) {
+            // The values in the DataFrame are the converted values, so they cannot be compared with the stored property
+            return FilterNode.UNSUPPORTED;
         } else if (filter instanceof EqualNullSafe) {
-            return getGroupsThatHaveProperty(((EqualNullSafe) filter).attribute());
+            final Object value = ((EqualNullSafe) filter).value();
+            return FilterNode.leaf(attribute, new IsEqual(value),
+                    isOfClass(value, propertyClass), true);
+        } else if (filter instanceof EqualTo) {
+            final Object value = ((EqualTo) filter).value();
+            return FilterNode.leaf(attribute, new IsEqual(value),
+                    null != value && isOfClass(value, propertyClass), false);
         } else if (filter instanceof GreaterThan) {
-            return getGroupsThatHaveProperty(((GreaterThan) filter).attribute());
+            final Object value = ((GreaterThan) filter).value();
+            return FilterNode.leaf(attribute, new IsMoreThan((Comparable<?>) value, false),
+                    isOfClass(value, propertyClass), false);
         } else if (filter instanceof GreaterThanOrEqual) {
-            return getGroupsThatHaveProperty(((GreaterThanOrEqual) filter).attribute());
+            final Object value = ((GreaterThanOrEqual) filter).value();
+            return FilterNode.leaf(attribute, new IsMoreThan((Comparable<?>) value, true),
+                    isOfClass(value, propertyClass), false);
         } else if (filter instanceof LessThan) {
-            return getGroupsThatHaveProperty(((LessThan) filter).attribute());
+            final Object value = ((LessThan) filter).value();
+            return FilterNode.leaf(attribute, new IsLessThan((Comparable<?>) value, false),
+                    isOfClass(value, propertyClass), false);
         } else if (filter instanceof LessThanOrEqual) {
-            return getGroupsThatHaveProperty(((LessThanOrEqual) filter).attribute());
+            final Object value = ((LessThanOrEqual) filter).value();
+            return FilterNode.leaf(attribute, new IsLessThan((Comparable<?>) value, true),
+                    isOfClass(value, propertyClass), false);
         } else if (filter instanceof In) {
-            return getGroupsThatHaveProperty(((In) filter).attribute());
-        } else if (filter instanceof IsNull) {
-            // Return null to indicate all groups as the user could be deliberately finding rows for one group by
-            // specifying that a field from another group should be null
-            return null;
-        } else if (filter instanceof IsNotNull) {
-            return getGroupsThatHaveProperty(((IsNotNull) filter).attribute());
-        } else if (filter instanceof And) {
-            final And and = (And) filter;
-            final Set<String> groups = new HashSet<>();
-            final Set<String> leftGroups = getGroupsFromFilter(and.left());
-            final Set<String> rightGroups = getGroupsFromFilter(and.right());
-            if (leftGroups != null) {
-                groups.addAll(leftGroups);
+            boolean exact = true;
+            final Set<Object> values = new HashSet<>();
+            for (final Object value : ((In) filter).values()) {
+                // A null value never matches
+                if (null != value) {
+                    exact = exact && isOfClass(value, propertyClass);
+                    values.add(value);
+                }
             }
-            if (rightGroups != null) {
-                groups.retainAll(rightGroups);
+            return FilterNode.leaf(attribute, new IsIn(values), exact, false);
+        } else if (filter instanceof StringStartsWith || filter instanceof StringEndsWith
+                || filter instanceof StringContains) {
+            if (!String.class.equals(propertyClass)) {
+                return FilterNode.UNSUPPORTED;
             }
-            return groups;
+            return FilterNode.leaf(attribute, new Regex(getRegex(filter)), true, false);
         }
-        return null;
+        return FilterNode.UNSUPPORTED;
     }
 
-    /**
-     * Converts a Spark {@link Filter} to a map from group to a list of Gaffer {@link TupleAdaptedPredicate}s.
-     * <p>
-     * Note that Spark also applies all the filters provided to the <code>buildScan(String[], Filter[])</code> method
-     * so not implementing some of the provided {@link Filter}s in Gaffer will not cause errors. However, as many as
-     * possible should be implemented so that as much filtering as possible happens in iterators running in Accumulo's
-     * tablet servers (this avoids unnecessary data transfer from Accumulo to Spark).
-     *
-     * @param filter The {@link Filter} to transform.
-     * @return A map from {@link String} to {@link TupleAdaptedPredicate}s implementing the provided {@link Filter}.
-     */
-    private Map<String, List<TupleAdaptedPredicate<String, ?>>> getFunctionsFromFilter(final Filter filter) {
-        final Map<String, List<TupleAdaptedPredicate<String, ?>>> map = new HashMap<>();
+    private static String getAttribute(final Filter filter) {
         if (filter instanceof EqualTo) {
-            // Not dealt with as requires a Predicate<?> that returns null if either the controlValue or the
-            // test value is null - the API of Predicate<?> doesn't permit this.
+            return ((EqualTo) filter).attribute();
         } else if (filter instanceof EqualNullSafe) {
-            final EqualNullSafe equalNullSafe = (EqualNullSafe) filter;
-            final Predicate<?> isEqual = new IsEqual(equalNullSafe.value());
-            final Set<String> relevantGroups = getGroupsFromFilter(filter);
-            if (relevantGroups != null) {
-                for (final String group : relevantGroups) {
-                    if (!map.containsKey(group)) {
-                        map.put(group, new ArrayList<>());
-                    }
-                    map.get(group).add(new TupleAdaptedPredicate<>(isEqual, new String[]{equalNullSafe.attribute()}));
-                }
-            }
-            LOGGER.debug("Converted {} to IsEqual ({})", filter, equalNullSafe.attribute());
+            return ((EqualNullSafe) filter).attribute();
         } else if (filter instanceof GreaterThan) {
-            final GreaterThan greaterThan = (GreaterThan) filter;
-            final Predicate<?> isMoreThan = new IsMoreThan((Comparable<?>) greaterThan.value(), false);
-            final Set<String> relevantGroups = getGroupsFromFilter(filter);
-            if (relevantGroups != null) {
-                for (final String group : relevantGroups) {
-                    if (!map.containsKey(group)) {
-                        map.put(group, new ArrayList<>());
-                    }
-                    map.get(group).add(new TupleAdaptedPredicate<>(isMoreThan, new String[]{greaterThan.attribute()}));
-                }
-            }
-            LOGGER.debug("Converted {} to isMoreThan ({})", filter, greaterThan.attribute());
+            return ((GreaterThan) filter).attribute();
         } else if (filter instanceof GreaterThanOrEqual) {
-            final GreaterThanOrEqual greaterThan = (GreaterThanOrEqual) filter;
-            final Predicate<?> isMoreThan = new IsMoreThan((Comparable<?>) greaterThan.value(), true);
-            final Set<String> relevantGroups = getGroupsFromFilter(filter);
-            if (relevantGroups != null) {
-                for (final String group : relevantGroups) {
-                    if (!map.containsKey(group)) {
-                        map.put(group, new ArrayList<>());
-                    }
-                    map.get(group).add(new TupleAdaptedPredicate<>(isMoreThan, new String[]{greaterThan.attribute()}));
-                }
-            }
-            LOGGER.debug("Converted {} to IsMoreThan ({})", filter, greaterThan.attribute());
+            return ((GreaterThanOrEqual) filter).attribute();
         } else if (filter instanceof LessThan) {
-            final LessThan lessThan = (LessThan) filter;
-            final Predicate<?> isLessThan = new IsLessThan((Comparable<?>) lessThan.value(), false);
-            final Set<String> relevantGroups = getGroupsFromFilter(filter);
-            if (relevantGroups != null) {
-                for (final String group : relevantGroups) {
-                    if (!map.containsKey(group)) {
-                        map.put(group, new ArrayList<>());
-                    }
-                    map.get(group).add(new TupleAdaptedPredicate<>(isLessThan, new String[]{lessThan.attribute()}));
-                }
-            }
-            LOGGER.debug("Converted {} to IsLessThan ({})", filter, lessThan.attribute());
+            return ((LessThan) filter).attribute();
         } else if (filter instanceof LessThanOrEqual) {
-            final LessThanOrEqual lessThan = (LessThanOrEqual) filter;
-            final Predicate<?> isLessThan = new IsLessThan((Comparable<?>) lessThan.value(), true);
-            final Set<String> relevantGroups = getGroupsFromFilter(filter);
-            if (relevantGroups != null) {
-                for (final String group : relevantGroups) {
-                    if (!map.containsKey(group)) {
-                        map.put(group, new ArrayList<>());
-                    }
-                    map.get(group).add(new TupleAdaptedPredicate<>(isLessThan, new String[]{lessThan.attribute()}));
-                }
-            }
-            LOGGER.debug("Converted {} to LessThanOrEqual ({})", filter, lessThan.attribute());
+            return ((LessThanOrEqual) filter).attribute();
         } else if (filter instanceof In) {
-            final In in = (In) filter;
-            final Predicate<?> isIn = new IsIn(new HashSet<>(Arrays.asList(in.values())));
-            final Set<String> relevantGroups = getGroupsFromFilter(filter);
-            if (relevantGroups != null) {
-                for (final String group : relevantGroups) {
-                    if (!map.containsKey(group)) {
-                        map.put(group, new ArrayList<>());
-                    }
-                    map.get(group).add(new TupleAdaptedPredicate<>(isIn, new String[]{in.attribute()}));
-                }
-            }
-            LOGGER.debug("Converted {} to IsIn ({})", filter, in.attribute());
+            return ((In) filter).attribute();
         } else if (filter instanceof IsNull) {
-            final IsNull isNull = (IsNull) filter;
-            final Predicate<?> doesntExist = new Not<>(new Exists());
-            final Set<String> relevantGroups = getGroupsFromFilter(filter);
-            if (relevantGroups != null) {
-                for (final String group : relevantGroups) {
-                    if (!map.containsKey(group)) {
-                        map.put(group, new ArrayList<>());
-                    }
-                    map.get(group).add(new TupleAdaptedPredicate<>(doesntExist, new String[]{isNull.attribute()}));
-                }
-            }
-            LOGGER.debug("Converted {} to Not(Exists) ({})", filter, isNull.attribute());
+            return ((IsNull) filter).attribute();
         } else if (filter instanceof IsNotNull) {
-            final IsNotNull isNotNull = (IsNotNull) filter;
-            final Predicate<?> exists = new Exists();
-            final Set<String> relevantGroups = getGroupsFromFilter(filter);
-            if (relevantGroups != null) {
-                for (final String group : relevantGroups) {
-                    if (!map.containsKey(group)) {
-                        map.put(group, new ArrayList<>());
-                    }
-                    map.get(group).add(new TupleAdaptedPredicate<>(exists, new String[]{isNotNull.attribute()}));
-                }
-            }
-            LOGGER.debug("Converted {} to Exists ({})", filter, isNotNull.attribute());
-        } else if (filter instanceof And) {
-            final And and = (And) filter;
-            final Map<String, List<TupleAdaptedPredicate<String, ?>>> left = getFunctionsFromFilter(and.left());
-            final Map<String, List<TupleAdaptedPredicate<String, ?>>> right = getFunctionsFromFilter(and.right());
-            final Set<String> relevantGroups = getGroupsFromFilter(filter);
-            if (relevantGroups != null) {
-                for (final String group : relevantGroups) {
-                    final List<TupleAdaptedPredicate<String, ?>> concatFilters = new ArrayList<>();
-                    if (left.get(group) != null) {
-                        concatFilters.addAll(left.get(group));
-                    }
-                    if (right.get(group) != null) {
-                        concatFilters.addAll(right.get(group));
-                    }
-                    if (!map.containsKey(group)) {
-                        map.put(group, new ArrayList<>());
-                    }
-                    map.get(group).addAll(concatFilters);
-                }
-            }
-            LOGGER.debug("Converted {} to list of filters ({})",
-                    filter,
-                    StringUtils.join(map.entrySet(), ','));
+            return ((IsNotNull) filter).attribute();
+        } else if (filter instanceof StringStartsWith) {
+            return ((StringStartsWith) filter).attribute();
+        } else if (filter instanceof StringEndsWith) {
+            return ((StringEndsWith) filter).attribute();
+        } else if (filter instanceof StringContains) {
+            return ((StringContains) filter).attribute();
+        }
+        return null;
+    }
+
+    private static String getRegex(final Filter filter) {
+        if (filter instanceof StringStartsWith) {
+            return ANY_CHARACTER_FLAG + Pattern.quote(((StringStartsWith) filter).value()) + ".*";
+        } else if (filter instanceof StringEndsWith) {
+            return ANY_CHARACTER_FLAG + ".*" + Pattern.quote(((StringEndsWith) filter).value());
         }
-        return map;
+        return ANY_CHARACTER_FLAG + ".*" + Pattern.quote(((StringContains) filter).value()) + ".*";
+    }
+
+    private static boolean isOfClass(final Object value, final Class<?> clazz) {
+        return null == value || clazz.equals(value.getClass());
     }
 
     /**
@@ -518,6 +563,8 @@ public class FiltersToOperationConverter {
             final Set<String> groups = checkForGroups(filter);
             if (groups != null && !groups.isEmpty()) {
                 listOfGroups.add(groups);
+                // The view only contains the specified groups, so the filter is fully applied
+                handledFilters.add(filter);
             }
         }
         if (listOfGroups.isEmpty()) {
@@ -556,15 +603,13 @@ public class FiltersToOperationConverter {
             }
         } else if (filter instanceof Or) {
             final Or or = (Or) filter;
-            if (or.left() instanceof EqualTo
-                    && or.right() instanceof EqualTo
-                    && ((EqualTo) or.left()).attribute().equals(SchemaToStructTypeConverter.GROUP)
-                    && ((EqualTo) or.right()).attribute().equals(SchemaToStructTypeConverter.GROUP)) {
-                final Set<String> groups = new HashSet<>();
-                groups.add((String) ((EqualTo) or.left()).value());
-                groups.add((String) ((EqualTo) or.right()).value());
-                LOGGER.info("Filter {} specifies that {} should be {} or {}", filter, SchemaToStructTypeConverter.GROUP,
-                        ((EqualTo) or.left()).value(), ((EqualTo) or.right()).value());
+            final Set<String> leftGroups = checkForGroups(or.left());
+            final Set<String> rightGroups = checkForGroups(or.right());
+            if (leftGroups != null && rightGroups != null) {
+                final Set<String> groups = new HashSet<>(leftGroups);
+                groups.addAll(rightGroups);
+                LOGGER.info("Filter {} specifies that {} should be in {}", filter, SchemaToStructTypeConverter.GROUP,
+                        StringUtils.join(groups, ','));
                 return groups;
             }
         } else if (filter instanceof In) {
@@ -581,4 +626,203 @@ public class FiltersToOperationConverter {
         }
         return null;
     }
+
+    /**
+     * A Spark {@link Filter} converted into a tree of Gaffer predicates on the properties of a single group.
+     * A node is exact if it matches exactly the elements that Spark's filter matches, otherwise it matches a
+     * superset of them and the filter must still be applied by Spark.
+     */
+    private static final class FilterNode {
+        /**
+         * The filter is true for every element in the group.
+         */
+        private static final FilterNode ALWAYS = new FilterNode(Type.ALWAYS, null, null,
+                Collections.emptyList(), true, true);
+
+        /**
+         * The filter is never true for an element in the group.
+         */
+        private static final FilterNode NEVER = new FilterNode(Type.NEVER, null, null,
+                Collections.emptyList(), true, true);
+
+        /**
+         * The filter cannot be converted, so it does not restrict the elements in the group.
+         */
+        private static final FilterNode UNSUPPORTED = new FilterNode(Type.UNSUPPORTED, null, null,
+                Collections.emptyList(), false, false);
+
+        private enum Type {
+            LEAF, AND, OR, NOT, ALWAYS, NEVER, UNSUPPORTED
+        }
+
+        private final Type type;
+        private final String property;
+        private final Predicate<?> predicate;
+        private final List<FilterNode> children;
+        private final boolean exact;
+        // For a leaf, whether Spark's filter is false rather than null when the property is null
+        private final boolean nullSafe;
+
+        private FilterNode(final Type type, final String property, final Predicate<?> predicate,
+                           final List<FilterNode> children, final boolean exact, final boolean nullSafe) {
+            this.type = type;
+            this.property = property;
+            this.predicate = predicate;
+            this.children = children;
+            this.exact = exact;
+            this.nullSafe = nullSafe;
+        }
+
+        private static FilterNode leaf(final String property, final Predicate<?> predicate,
+                                       final boolean exact, final boolean nullSafe) {
+            return new FilterNode(Type.LEAF, property, predicate, Collections.emptyList(), exact, nullSafe);
+        }
+
+        private static FilterNode and(final FilterNode left, final FilterNode right) {
+            if (NEVER == left || NEVER == right) {
+                return NEVER;
+            }
+            if (ALWAYS == left || (UNSUPPORTED == left && UNSUPPORTED == right)) {
+                return right;
+            }
+            if (ALWAYS == right) {
+                return left;
+            }
+            if (UNSUPPORTED == left) {
+                return right.inexact();
+            }
+            if (UNSUPPORTED == right) {
+                return left.inexact();
+            }
+            return new FilterNode(Type.AND, null, null, Arrays.asList(left, right),
+                    left.exact && right.exact, false);
+        }
+
+        private static FilterNode or(final FilterNode left, final FilterNode right) {
+            if (UNSUPPORTED == left || UNSUPPORTED == right) {
+                return UNSUPPORTED;
+            }
+            if (ALWAYS == left || ALWAYS == right) {
+                return ALWAYS;
+            }
+            // The other side may be null rather than false, so the result can no longer be negated exactly
+            if (NEVER == left) {
+                return right.wrap();
+            }
+            if (NEVER == right) {
+                return left.wrap();
+            }
+            return new FilterNode(Type.OR, null, null, Arrays.asList(left, right),
+                    left.exact && right.exact, false);
+        }
+
+        private static FilterNode not(final FilterNode child) {
+            switch (child.type) {
+                case ALWAYS:
+                    return NEVER;
+                case NEVER:
+                case UNSUPPORTED:
+                    return UNSUPPORTED;
+                case LEAF:
+                    if (child.nullSafe) {
+                        return new FilterNode(Type.NOT, null, null, Collections.singletonList(child),
+                                child.exact, false);
+                    }
+                    // Not(x) is null in Spark if the property is null, so also check that the property exists
+                    return and(leaf(child.property, new Exists(), child.exact, true),
+                            new FilterNode(Type.NOT, null, null, Collections.singletonList(child),
+                                    child.exact, false));
+                default:
+                    break;
+            }
+            // Negating a superset of the matching elements would give a subset, so only exact nodes can be negated.
+            // The result may include elements for which Spark's filter is null, so is not exact.
+            if (!child.exact) {
+                return UNSUPPORTED;
+            }
+            return new FilterNode(Type.NOT, null, null, Collections.singletonList(child), false, false);
+        }
+
+        private FilterNode inexact() {
+            return new FilterNode(type, property, predicate, children, false, nullSafe);
+        }
+
+        private FilterNode wrap() {
+            if (Type.LEAF == type) {
+                // Wrap the leaf so that it is negated as a composite
+                return new FilterNode(Type.AND, null, null, Collections.singletonList(this), exact, false);
+            }
+            return this;
+        }
+
+        private boolean isExact() {
+            return exact;
+        }
+
+        /**
+         * Converts the node into the predicates to add to the view. The conjuncts of an AND are added as separate
+         * predicates, and each predicate selects only the properties it uses.
+         *
+         * @return the predicates to add to the view
+         */
+        private List<TupleAdaptedPredicate<String, ?>> toPredicates() {
+            switch (type) {
+                case ALWAYS:
+                case NEVER:
+                case UNSUPPORTED:
+                    return Collections.emptyList();
+                case AND:
+                    final List<TupleAdaptedPredicate<String, ?>> predicates = new ArrayList<>();
+                    for (final FilterNode child : children) {
+                        predicates.addAll(child.toPredicates());
+                    }
+                    return predicates;
+                default:
+                    final List<String> selection = new ArrayList<>();
+                    addProperties(selection);
+                    return Collections.singletonList(new TupleAdaptedPredicate<>(toPredicate(selection),
+                            selection.toArray(new String[selection.size()])));
+            }
+        }
+
+        private void addProperties(final List<String> selection) {
+            if (Type.LEAF == type) {
+                if (!selection.contains(property)) {
+                    selection.add(property);
+                }
+            } else {
+                for (final FilterNode child : children) {
+                    child.addProperties(selection);
+                }
+            }
+        }
+
+        private Predicate<?> toPredicate(final List<String> selection) {
+            switch (type) {
+                case LEAF:
+                    // A single selected property is passed to the predicate directly rather than in a tuple
+                    if (1 == selection.size()) {
+                        return predicate;
+                    }
+                    return new IntegerTupleAdaptedPredicate(predicate, selection.indexOf(property));
+                case NOT:
+                    return new Not<>(children.get(0).toPredicate(selection));
+                case OR:
+                    return new uk.gov.gchq.koryphe.impl.predicate.Or<>(toPredicates(children, selection));
+                default:
+                    if (1 == children.size()) {
+                        return children.get(0).toPredicate(selection);
+                    }
+                    return new uk.gov.gchq.koryphe.impl.predicate.And<>(toPredicates(children, selection));
+            }
+        }
+
+        private static List<Predicate> toPredicates(final List<FilterNode> nodes, final List<String> selection) {
+            final List<Predicate> predicates = new ArrayList<>(nodes.size());
+            for (final FilterNode node : nodes) {
+                predicates.add(node.toPredicate(selection));
+            }
+            return predicates;
+        }
+    }
 }
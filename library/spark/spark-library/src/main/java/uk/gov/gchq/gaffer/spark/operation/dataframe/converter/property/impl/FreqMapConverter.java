@@ -20,10 +20,12 @@ import org.apache.spark.sql.types.DataTypes;
 import scala.collection.JavaConverters;
 import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.property.ConversionException;
 import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.property.Converter;
+import uk.gov.gchq.gaffer.types.CompactFreqMap;
 import uk.gov.gchq.gaffer.types.FreqMap;
+import java.util.Map;
 
 /**
- * A {@link Converter} that converts a {@link FreqMap} into a Scala map that is suitable for inclusion
+ * A {@link Converter} that converts a {@link FreqMap} or {@link CompactFreqMap} into a Scala map that is suitable for inclusion
  * in a Dataframe.
  */
 public class FreqMapConverter implements Converter {
@@ -31,7 +33,7 @@ public class FreqMapConverter implements Converter {
 
     @Override
     public boolean canHandle(final Class clazz) {
-        return FreqMap.class.equals(clazz);
+        return FreqMap.class.equals(clazz) || CompactFreqMap.class.equals(clazz);
     }
 
     @Override
@@ -41,6 +43,6 @@ public class FreqMapConverter implements Converter {
 
     @Override
     public scala.collection.mutable.Map<String, Long> convert(final Object object) throws ConversionException {
-        return JavaConverters.mapAsScalaMapConverter((FreqMap) object).asScala();
+        return JavaConverters.mapAsScalaMapConverter((Map<String, Long>) object).asScala();
     }
 }
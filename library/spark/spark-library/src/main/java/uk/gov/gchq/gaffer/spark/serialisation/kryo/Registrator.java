@@ -24,6 +24,7 @@ import uk.gov.gchq.gaffer.data.element.Properties;
 import uk.gov.gchq.gaffer.spark.serialisation.kryo.impl.EdgeKryoSerializer;
 import uk.gov.gchq.gaffer.spark.serialisation.kryo.impl.EntityKryoSerializer;
 import uk.gov.gchq.gaffer.spark.serialisation.kryo.impl.HyperLogLogPlusKryoSerializer;
+import uk.gov.gchq.gaffer.types.CompactFreqMap;
 import uk.gov.gchq.gaffer.types.FreqMap;
 
 /**
@@ -39,5 +40,6 @@ public class Registrator implements KryoRegistrator {
         kryo.register(Properties.class);
         kryo.register(FreqMap.class);
         kryo.register(HyperLogLogPlus.class, new HyperLogLogPlusKryoSerializer());
+        kryo.register(CompactFreqMap.class);
     }
 }
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2016-2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.spark.serialisation.kryo.impl;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.Serialisation;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * An <code>AbstractSchemaElementKryoSerializer</code> is a Kryo {@link Serializer} for {@link Element}s
+ * that uses a Gaffer {@link Schema} to write compact output.
+ * <p>
+ * Rather than the group name, the index of the group in the sorted groups of the schema is
+ * written. The properties defined in the schema for that group are written in a fixed order, without
+ * their names or classes, using the {@link Serialisation} configured in the schema for each property.
+ * Vertices are written using the schema's vertex serialiser. Any values that cannot be handled by the
+ * schema serialisers, properties not defined in the schema and elements of groups not in the schema
+ * fall back to Kryo's generic serialisation.
+ * <p>
+ * Both the writer and the reader must use the same schema.
+ *
+ * @param <T> the type of {@link Element}
+ */
+public abstract class AbstractSchemaElementKryoSerializer<T extends Element> extends Serializer<T> {
+    private static final int UNKNOWN_GROUP = 0;
+    private static final byte NULL_VALUE = 0;
+    private static final byte SERIALISED_VALUE = 1;
+    private static final byte KRYO_VALUE = 2;
+
+    private final String[] groups;
+    private final Map<String, Integer> groupIndexes = new HashMap<>();
+    private final String[][] propertyNames;
+    private final Serialisation[][] propertySerialisers;
+    private final Serialisation vertexSerialiser;
+
+    protected AbstractSchemaElementKryoSerializer(final Schema schema, final Set<String> schemaGroups) {
+        final List<String> sortedGroups = new ArrayList<>(new TreeSet<>(schemaGroups));
+        groups = sortedGroups.toArray(new String[sortedGroups.size()]);
+        propertyNames = new String[groups.length][];
+        propertySerialisers = new Serialisation[groups.length][];
+        for (int i = 0; i < groups.length; i++) {
+            groupIndexes.put(groups[i], i);
+
+            final SchemaElementDefinition elementDef = schema.getElement(groups[i]);
+            final List<String> names = new ArrayList<>(new TreeSet<>(elementDef.getProperties()));
+            propertyNames[i] = names.toArray(new String[names.size()]);
+            propertySerialisers[i] = new Serialisation[names.size()];
+            for (int j = 0; j < names.size(); j++) {
+                final TypeDefinition typeDef = elementDef.getPropertyTypeDef(names.get(j));
+                propertySerialisers[i][j] = null != typeDef ? typeDef.getSerialiser() : null;
+            }
+        }
+        vertexSerialiser = schema.getVertexSerialiser();
+    }
+
+    /**
+     * Writes the group of the element and returns its index in the schema.
+     *
+     * @param output the output to write to
+     * @param group  the group of the element
+     * @return the index of the group, or -1 if the group is not in the schema
+     */
+    protected int writeGroup(final Output output, final String group) {
+        final Integer index = groupIndexes.get(group);
+        if (null == index) {
+            output.writeInt(UNKNOWN_GROUP, true);
+            output.writeString(group);
+            return -1;
+        }
+
+        output.writeInt(index + 1, true);
+        return index;
+    }
+
+    /**
+     * @param input the input to read from
+     * @return the group written by {@link #writeGroup(Output, String)}
+     */
+    protected String readGroup(final Input input) {
+        final int index = input.readInt(true);
+        if (UNKNOWN_GROUP == index) {
+            return input.readString();
+        }
+        return groups[index - 1];
+    }
+
+    /**
+     * @param group the group of an element
+     * @return the index of the group in the schema, or -1 if the group is not in the schema
+     */
+    protected int getGroupIndex(final String group) {
+        final Integer index = groupIndexes.get(group);
+        return null == index ? -1 : index;
+    }
+
+    protected void writeVertex(final Kryo kryo, final Output output, final Object vertex) {
+        writeValue(kryo, output, vertex, vertexSerialiser);
+    }
+
+    protected Object readVertex(final Kryo kryo, final Input input) {
+        return readValue(kryo, input, vertexSerialiser);
+    }
+
+    /**
+     * Writes the properties of an element.
+     *
+     * @param kryo       the kryo instance
+     * @param output     the output to write to
+     * @param groupIndex the index of the group of the element, or -1 if the group is not in the schema
+     * @param properties the properties to write
+     */
+    protected void writeProperties(final Kryo kryo, final Output output, final int groupIndex, final Properties properties) {
+        if (groupIndex < 0) {
+            kryo.writeObjectOrNull(output, properties, Properties.class);
+            return;
+        }
+
+        final String[] names = propertyNames[groupIndex];
+        final Serialisation[] serialisers = propertySerialisers[groupIndex];
+        int numSchemaProperties = 0;
+        for (int i = 0; i < names.length; i++) {
+            if (properties.containsKey(names[i])) {
+                numSchemaProperties++;
+            }
+            writeValue(kryo, output, properties.get(names[i]), serialisers[i]);
+        }
+
+        // Properties that are not in the schema, such as transient properties, are written with their names
+        if (properties.size() == numSchemaProperties) {
+            output.writeInt(0, true);
+        } else {
+            final Map<String, Object> extraProperties = new HashMap<>(properties);
+            for (final String name : names) {
+                extraProperties.remove(name);
+            }
+            output.writeInt(extraProperties.size(), true);
+            for (final Entry<String, Object> entry : extraProperties.entrySet()) {
+                output.writeString(entry.getKey());
+                kryo.writeClassAndObject(output, entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Reads properties written by {@link #writeProperties(Kryo, Output, int, Properties)}
+     * into the given element.
+     *
+     * @param kryo       the kryo instance
+     * @param input      the input to read from
+     * @param groupIndex the index of the group of the element, or -1 if the group is not in the schema
+     * @param element    the element to add the properties to
+     */
+    protected void readProperties(final Kryo kryo, final Input input, final int groupIndex, final Element element) {
+        if (groupIndex < 0) {
+            element.copyProperties(kryo.readObjectOrNull(input, Properties.class));
+            return;
+        }
+
+        final String[] names = propertyNames[groupIndex];
+        final Serialisation[] serialisers = propertySerialisers[groupIndex];
+        for (int i = 0; i < names.length; i++) {
+            final Object value = readValue(kryo, input, serialisers[i]);
+            if (null != value) {
+                element.putProperty(names[i], value);
+            }
+        }
+
+        final int numExtraProperties = input.readInt(true);
+        for (int i = 0; i < numExtraProperties; i++) {
+            element.putProperty(input.readString(), kryo.readClassAndObject(input));
+        }
+    }
+
+    private static void writeValue(final Kryo kryo, final Output output, final Object value, final Serialisation serialiser) {
+        if (null == value) {
+            output.writeByte(NULL_VALUE);
+        } else if (null != serialiser && serialiser.canHandle(value.getClass())) {
+            final byte[] serialised;
+            try {
+                serialised = serialiser.serialise(value);
+            } catch (final SerialisationException e) {
+                throw new GafferRuntimeException("Exception serialising " + value.getClass().getName() + " to a byte array", e);
+            }
+            output.writeByte(SERIALISED_VALUE);
+            output.writeInt(serialised.length, true);
+            output.writeBytes(serialised);
+        } else {
+            output.writeByte(KRYO_VALUE);
+            kryo.writeClassAndObject(output, value);
+        }
+    }
+
+    private static Object readValue(final Kryo kryo, final Input input, final Serialisation serialiser) {
+        final byte type = input.readByte();
+        if (NULL_VALUE == type) {
+            return null;
+        }
+
+        if (KRYO_VALUE == type) {
+            return kryo.readClassAndObject(input);
+        }
+
+        final byte[] serialised = input.readBytes(input.readInt(true));
+        try {
+            return serialiser.deserialise(serialised);
+        } catch (final SerialisationException e) {
+            throw new GafferRuntimeException("Exception deserialising value from a byte array", e);
+        }
+    }
+}
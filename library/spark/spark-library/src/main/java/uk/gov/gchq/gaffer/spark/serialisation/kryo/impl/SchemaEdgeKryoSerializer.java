@@ -0,0 +1,52 @@
+/*
+ * Copyright 2016-2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.spark.serialisation.kryo.impl;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+/**
+ * A Kryo {@link com.esotericsoftware.kryo.Serializer} for an {@link Edge} that uses a Gaffer
+ * {@link Schema} to write compact output. See {@link AbstractSchemaElementKryoSerializer}.
+ */
+public class SchemaEdgeKryoSerializer extends AbstractSchemaElementKryoSerializer<Edge> {
+    public SchemaEdgeKryoSerializer(final Schema schema) {
+        super(schema, schema.getEdgeGroups());
+    }
+
+    @Override
+    public void write(final Kryo kryo, final Output output, final Edge edge) {
+        final int groupIndex = writeGroup(output, edge.getGroup());
+        writeVertex(kryo, output, edge.getSource());
+        writeVertex(kryo, output, edge.getDestination());
+        output.writeBoolean(edge.isDirected());
+        writeProperties(kryo, output, groupIndex, edge.getProperties());
+    }
+
+    @Override
+    public Edge read(final Kryo kryo, final Input input, final Class<Edge> type) {
+        final String group = readGroup(input);
+        final Edge edge = new Edge(group);
+        edge.setSource(readVertex(kryo, input));
+        edge.setDestination(readVertex(kryo, input));
+        edge.setDirected(input.readBoolean());
+        readProperties(kryo, input, getGroupIndex(group), edge);
+        return edge;
+    }
+}
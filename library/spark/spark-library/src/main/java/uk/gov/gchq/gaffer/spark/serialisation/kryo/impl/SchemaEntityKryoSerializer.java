@@ -0,0 +1,47 @@
+/*
+ * Copyright 2016-2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.spark.serialisation.kryo.impl;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+/**
+ * A Kryo {@link com.esotericsoftware.kryo.Serializer} for an {@link Entity} that uses a Gaffer
+ * {@link Schema} to write compact output. See {@link AbstractSchemaElementKryoSerializer}.
+ */
+public class SchemaEntityKryoSerializer extends AbstractSchemaElementKryoSerializer<Entity> {
+    public SchemaEntityKryoSerializer(final Schema schema) {
+        super(schema, schema.getEntityGroups());
+    }
+
+    @Override
+    public void write(final Kryo kryo, final Output output, final Entity entity) {
+        final int groupIndex = writeGroup(output, entity.getGroup());
+        writeVertex(kryo, output, entity.getVertex());
+        writeProperties(kryo, output, groupIndex, entity.getProperties());
+    }
+
+    @Override
+    public Entity read(final Kryo kryo, final Input input, final Class<Entity> type) {
+        final String group = readGroup(input);
+        final Entity entity = new Entity(group, readVertex(kryo, input));
+        readProperties(kryo, input, getGroupIndex(group), entity);
+        return entity;
+    }
+}
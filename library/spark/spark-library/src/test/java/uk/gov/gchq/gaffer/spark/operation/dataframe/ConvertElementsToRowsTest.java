@@ -0,0 +1,143 @@
+/*
+ * Copyright 2016-2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.spark.operation.dataframe;
+
+import org.apache.spark.sql.Row;
+import org.junit.Test;
+import scala.collection.Iterator;
+import scala.collection.JavaConversions;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.property.Converter;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.property.impl.FreqMapConverter;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.schema.SchemaToStructTypeConverter;
+import uk.gov.gchq.gaffer.types.FreqMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class ConvertElementsToRowsTest {
+    private static final LinkedHashSet<String> ALL_COLUMNS = new LinkedHashSet<>(Arrays.asList(
+            SchemaToStructTypeConverter.GROUP,
+            SchemaToStructTypeConverter.SRC_COL_NAME,
+            SchemaToStructTypeConverter.DST_COL_NAME,
+            SchemaToStructTypeConverter.VERTEX_COL_NAME,
+            "count",
+            "freqMap",
+            "noConverter"));
+
+    @Test
+    public void shouldProduceTheSameRowsAsConvertElementToRow() {
+        // Given
+        final List<Element> elements = createElements(10);
+
+        // When
+        final List<Row> rows = convert(new ConvertElementsToRows(ALL_COLUMNS, getPropertyNeedsConversion(),
+                getConverters(), 3), elements);
+
+        // Then
+        assertEquals(convertRowByRow(ALL_COLUMNS, elements), rows);
+    }
+
+    @Test
+    public void shouldOnlyPopulateRequiredColumns() {
+        // Given
+        final LinkedHashSet<String> requiredColumns = new LinkedHashSet<>(Arrays.asList("count",
+                SchemaToStructTypeConverter.GROUP));
+        final List<Element> elements = createElements(5);
+
+        // When
+        final List<Row> rows = convert(new ConvertElementsToRows(requiredColumns, getPropertyNeedsConversion(),
+                getConverters()), elements);
+
+        // Then
+        assertEquals(convertRowByRow(requiredColumns, elements), rows);
+        assertEquals(2, rows.get(0).length());
+        assertEquals(0, rows.get(0).get(0));
+        assertEquals("entityGroup", rows.get(0).get(1));
+    }
+
+    @Test
+    public void shouldConvertEmptyPartition() {
+        // When
+        final Iterator<Row> rows = new ConvertElementsToRows(ALL_COLUMNS, getPropertyNeedsConversion(),
+                getConverters()).apply(JavaConversions.asScalaIterator(new ArrayList<Element>().iterator()));
+
+        // Then
+        assertFalse(rows.hasNext());
+    }
+
+    private static List<Row> convert(final ConvertElementsToRows converter, final List<Element> elements) {
+        final List<Row> rows = new ArrayList<>();
+        final Iterator<Row> itr = converter.apply(JavaConversions.asScalaIterator(elements.iterator()));
+        while (itr.hasNext()) {
+            rows.add(itr.next());
+        }
+        return rows;
+    }
+
+    private static List<Row> convertRowByRow(final LinkedHashSet<String> columns, final List<Element> elements) {
+        final ConvertElementToRow converter = new ConvertElementToRow(columns, getPropertyNeedsConversion(),
+                getConverters());
+        final List<Row> rows = new ArrayList<>();
+        for (final Element element : elements) {
+            rows.add(converter.apply(element));
+        }
+        return rows;
+    }
+
+    private static Map<String, Boolean> getPropertyNeedsConversion() {
+        final Map<String, Boolean> propertyNeedsConversion = new HashMap<>();
+        propertyNeedsConversion.put("count", false);
+        propertyNeedsConversion.put("freqMap", true);
+        propertyNeedsConversion.put("noConverter", true);
+        return propertyNeedsConversion;
+    }
+
+    private static Map<String, Converter> getConverters() {
+        final Map<String, Converter> converters = new HashMap<>();
+        converters.put("freqMap", new FreqMapConverter());
+        return converters;
+    }
+
+    private static List<Element> createElements(final int numElements) {
+        final List<Element> elements = new ArrayList<>(numElements);
+        for (int i = 0; i < numElements; i++) {
+            final FreqMap freqMap = new FreqMap();
+            freqMap.upsert("key" + i);
+            if (i % 2 == 0) {
+                final Entity entity = new Entity("entityGroup", "vertex" + i);
+                entity.putProperty("count", i);
+                entity.putProperty("freqMap", freqMap);
+                entity.putProperty("noConverter", "value");
+                elements.add(entity);
+            } else {
+                final Edge edge = new Edge("edgeGroup", "source" + i, "dest" + i, true);
+                edge.putProperty("count", i);
+                edge.putProperty("freqMap", freqMap);
+                elements.add(edge);
+            }
+        }
+        return elements;
+    }
+}
@@ -22,9 +22,17 @@ import org.apache.spark.sql.sources.And;
 import org.apache.spark.sql.sources.EqualTo;
 import org.apache.spark.sql.sources.Filter;
 import org.apache.spark.sql.sources.GreaterThan;
+import org.apache.spark.sql.sources.In;
+import org.apache.spark.sql.sources.IsNull;
 import org.apache.spark.sql.sources.LessThan;
+import org.apache.spark.sql.sources.Not;
 import org.apache.spark.sql.sources.Or;
+import org.apache.spark.sql.sources.StringContains;
+import org.apache.spark.sql.sources.StringEndsWith;
+import org.apache.spark.sql.sources.StringStartsWith;
 import org.junit.Test;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.data.element.function.PropertiesTuple;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.operation.Operation;
@@ -35,6 +43,7 @@ import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.schema.SchemaToStr
 import uk.gov.gchq.gaffer.spark.operation.scalardd.GetRDDOfAllElements;
 import uk.gov.gchq.gaffer.spark.operation.scalardd.GetRDDOfElements;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
 import uk.gov.gchq.koryphe.impl.predicate.IsLessThan;
 import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
 import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
@@ -48,6 +57,7 @@ import java.util.function.Predicate;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
@@ -451,6 +461,203 @@ public class FilterToOperationConverterTest {
         sqlContext.sparkContext().stop();
     }
 
+    @Test
+    public void testSpecifyMultipleVertexFilters() throws OperationException {
+        final Schema schema = getSchema();
+        final SQLContext sqlContext = getSqlContext("testSpecifyMultipleVertexFilters");
+
+        final Filter[] filters = new Filter[2];
+        filters[0] = new In(SchemaToStructTypeConverter.VERTEX_COL_NAME, new Object[]{"0", "1", "2"});
+        filters[1] = new In(SchemaToStructTypeConverter.VERTEX_COL_NAME, new Object[]{"1", "2", "3"});
+        final FiltersToOperationConverter converter = new FiltersToOperationConverter(sqlContext,
+                getViewFromSchema(schema), schema, filters);
+
+        final Operation operation = converter.getOperation();
+        assertTrue(operation instanceof GetRDDOfElements);
+        assertEquals(Collections.singleton(ENTITY_GROUP), ((GraphFilters) operation).getView().getEntityGroups());
+        assertEquals(0, ((GraphFilters) operation).getView().getEdgeGroups().size());
+        final Set<EntityId> seeds = new HashSet<>();
+        for (final Object seed : ((GetRDDOfElements) operation).getInput()) {
+            seeds.add((EntitySeed) seed);
+        }
+        assertEquals(new HashSet<>(Arrays.asList(new EntitySeed("1"), new EntitySeed("2"))), seeds);
+        assertEquals(0, converter.getUnhandledFilters().length);
+
+        sqlContext.sparkContext().stop();
+    }
+
+    @Test
+    public void testIncompatibleVertexAndSourceFilters() throws OperationException {
+        final Schema schema = getSchema();
+        final SQLContext sqlContext = getSqlContext("testIncompatibleVertexAndSourceFilters");
+
+        final Filter[] filters = new Filter[2];
+        filters[0] = new EqualTo(SchemaToStructTypeConverter.VERTEX_COL_NAME, "0");
+        filters[1] = new EqualTo(SchemaToStructTypeConverter.SRC_COL_NAME, "0");
+        final FiltersToOperationConverter converter = new FiltersToOperationConverter(sqlContext,
+                getViewFromSchema(schema), schema, filters);
+
+        assertNull(converter.getOperation());
+        assertEquals(0, converter.getUnhandledFilters().length);
+
+        sqlContext.sparkContext().stop();
+    }
+
+    @Test
+    public void testSpecifyOrFilterAcrossProperties() throws OperationException {
+        final Schema schema = getSchema();
+        final SQLContext sqlContext = getSqlContext("testSpecifyOrFilterAcrossProperties");
+
+        final Filter[] filters = new Filter[1];
+        filters[0] = new Or(new GreaterThan("property1", 5), new LessThan("property4", 8L));
+        final FiltersToOperationConverter converter = new FiltersToOperationConverter(sqlContext,
+                getViewFromSchema(schema), schema, filters);
+
+        final Operation operation = converter.getOperation();
+        assertTrue(operation instanceof GetRDDOfAllElements);
+        final View opView = ((GraphFilters) operation).getView();
+        final List<TupleAdaptedPredicate<String, ?>> entityPostAggFilters = opView
+                .getEntity(ENTITY_GROUP).getPostAggregationFilterFunctions();
+        assertEquals(1, entityPostAggFilters.size());
+        assertArrayEquals(new String[]{"property1", "property4"}, entityPostAggFilters.get(0).getSelection());
+        assertTrue(test(entityPostAggFilters, getProperties(6, 10L)));
+        assertTrue(test(entityPostAggFilters, getProperties(1, 2L)));
+        assertFalse(test(entityPostAggFilters, getProperties(1, 10L)));
+        assertFalse(test(entityPostAggFilters, getProperties(null, 10L)));
+        // BasicEdge2 does not have property4 so only the filter on property1 is applied
+        final List<TupleAdaptedPredicate<String, ?>> edgePostAggFilters = opView
+                .getEdge(EDGE_GROUP2).getPostAggregationFilterFunctions();
+        assertEquals(1, edgePostAggFilters.size());
+        assertArrayEquals(new String[]{"property1"}, edgePostAggFilters.get(0).getSelection());
+        assertEquals(new IsMoreThan(5, false), edgePostAggFilters.get(0).getPredicate());
+        assertEquals(0, converter.getUnhandledFilters().length);
+
+        sqlContext.sparkContext().stop();
+    }
+
+    @Test
+    public void testSpecifyNotFilter() throws OperationException {
+        final Schema schema = getSchema();
+        final SQLContext sqlContext = getSqlContext("testSpecifyNotFilter");
+
+        final Filter[] filters = new Filter[1];
+        filters[0] = new Not(new GreaterThan("property1", 5));
+        final FiltersToOperationConverter converter = new FiltersToOperationConverter(sqlContext,
+                getViewFromSchema(schema), schema, filters);
+
+        final Operation operation = converter.getOperation();
+        final List<TupleAdaptedPredicate<String, ?>> entityPostAggFilters = ((GraphFilters) operation).getView()
+                .getEntity(ENTITY_GROUP).getPostAggregationFilterFunctions();
+        assertTrue(test(entityPostAggFilters, getProperties(3, null)));
+        assertFalse(test(entityPostAggFilters, getProperties(6, null)));
+        // In Spark Not(null > 5) is null, so elements without the property are not returned
+        assertFalse(test(entityPostAggFilters, getProperties(null, null)));
+        assertEquals(0, converter.getUnhandledFilters().length);
+
+        sqlContext.sparkContext().stop();
+    }
+
+    @Test
+    public void testSpecifyIsNullFilter() throws OperationException {
+        final Schema schema = getSchema();
+        final SQLContext sqlContext = getSqlContext("testSpecifyIsNullFilter");
+
+        final Filter[] filters = new Filter[1];
+        filters[0] = new IsNull("property4");
+        final FiltersToOperationConverter converter = new FiltersToOperationConverter(sqlContext,
+                getViewFromSchema(schema), schema, filters);
+
+        final Operation operation = converter.getOperation();
+        final View opView = ((GraphFilters) operation).getView();
+        // BasicEdge2 does not have property4 so all of its elements match
+        assertEquals(EDGE_GROUPS, opView.getEdgeGroups());
+        assertNull(opView.getEdge(EDGE_GROUP2).getPostAggregationFilterFunctions());
+        final List<TupleAdaptedPredicate<String, ?>> entityPostAggFilters = opView
+                .getEntity(ENTITY_GROUP).getPostAggregationFilterFunctions();
+        assertTrue(test(entityPostAggFilters, getProperties(1, null)));
+        assertFalse(test(entityPostAggFilters, getProperties(1, 2L)));
+        assertEquals(0, converter.getUnhandledFilters().length);
+
+        sqlContext.sparkContext().stop();
+    }
+
+    @Test
+    public void testSpecifyStringFilters() throws OperationException {
+        final Schema schema = new Schema.Builder()
+                .entity(ENTITY_GROUP, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property("name", "string")
+                        .property("property1", "int")
+                        .build())
+                .type("string", String.class)
+                .type("int", Integer.class)
+                .build();
+        final SQLContext sqlContext = getSqlContext("testSpecifyStringFilters");
+
+        final Filter[] filters = new Filter[3];
+        filters[0] = new StringStartsWith("name", "a.");
+        filters[1] = new StringContains("name", "b");
+        filters[2] = new StringEndsWith("property1", "1");
+        final FiltersToOperationConverter converter = new FiltersToOperationConverter(sqlContext,
+                getViewFromSchema(schema), schema, filters);
+
+        final Operation operation = converter.getOperation();
+        final List<TupleAdaptedPredicate<String, ?>> entityPostAggFilters = ((GraphFilters) operation).getView()
+                .getEntity(ENTITY_GROUP).getPostAggregationFilterFunctions();
+        assertEquals(2, entityPostAggFilters.size());
+        final Properties properties = new Properties();
+        properties.put("name", "a.b");
+        assertTrue(test(entityPostAggFilters, properties));
+        properties.put("name", "axb");
+        assertFalse(test(entityPostAggFilters, properties));
+        properties.put("name", "a.c");
+        assertFalse(test(entityPostAggFilters, properties));
+        // A string filter on a property that is not a string is left to Spark
+        assertArrayEquals(new Filter[]{filters[2]}, converter.getUnhandledFilters());
+
+        sqlContext.sparkContext().stop();
+    }
+
+    @Test
+    public void testUnhandledFilters() throws OperationException {
+        final Schema schema = getSchema();
+        final SQLContext sqlContext = getSqlContext("testUnhandledFilters");
+
+        final Filter[] filters = new Filter[4];
+        filters[0] = new EqualTo(SchemaToStructTypeConverter.GROUP, EDGE_GROUP);
+        filters[1] = new EqualTo(SchemaToStructTypeConverter.SRC_COL_NAME, "0");
+        filters[2] = new GreaterThan("property1", 5);
+        filters[3] = new Or(new GreaterThan("property1", 5), new EqualTo(SchemaToStructTypeConverter.DST_COL_NAME, "1"));
+        final FiltersToOperationConverter converter = new FiltersToOperationConverter(sqlContext,
+                getViewFromSchema(schema), schema, filters);
+
+        // Edges are returned if either end matches the seed, and the Or filter cannot be converted
+        assertArrayEquals(new Filter[]{filters[1], filters[3]}, converter.getUnhandledFilters());
+
+        sqlContext.sparkContext().stop();
+    }
+
+    private static boolean test(final List<TupleAdaptedPredicate<String, ?>> predicates, final Properties properties) {
+        final PropertiesTuple tuple = new PropertiesTuple(properties);
+        for (final TupleAdaptedPredicate<String, ?> predicate : predicates) {
+            if (!predicate.test(tuple)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Properties getProperties(final Integer property1, final Long property4) {
+        final Properties properties = new Properties();
+        if (null != property1) {
+            properties.put("property1", property1);
+        }
+        if (null != property4) {
+            properties.put("property4", property4);
+        }
+        return properties;
+    }
+
     private Schema getSchema() {
         return Schema.fromJson(
                 getClass().getResourceAsStream("/schema-DataFrame/dataSchema.json"),
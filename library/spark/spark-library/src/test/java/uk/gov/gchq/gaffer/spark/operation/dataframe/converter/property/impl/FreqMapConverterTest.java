@@ -17,6 +17,7 @@ package uk.gov.gchq.gaffer.spark.operation.dataframe.converter.property.impl;
 
 import org.junit.Test;
 import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.property.ConversionException;
+import uk.gov.gchq.gaffer.types.CompactFreqMap;
 import uk.gov.gchq.gaffer.types.FreqMap;
 
 import static org.junit.Assert.assertEquals;
@@ -43,9 +44,21 @@ public class FreqMapConverterTest {
         assertEquals(expectedResult, FREQ_MAP_CONVERTER.convert(emptyFreqMap));
     }
 
+    @Test
+    public void testConverterWithCompactFreqMap() throws ConversionException {
+        final CompactFreqMap freqMap = new CompactFreqMap();
+        freqMap.put("x", 10L);
+        freqMap.put("y", 5L);
+        final scala.collection.mutable.Map<String, Long> expectedResult = scala.collection.mutable.Map$.MODULE$.empty();
+        expectedResult.put("x", 10L);
+        expectedResult.put("y", 5L);
+        assertEquals(expectedResult, FREQ_MAP_CONVERTER.convert(freqMap));
+    }
+
     @Test
     public void testCanHandleFreqMap() {
         assertTrue(FREQ_MAP_CONVERTER.canHandle(FreqMap.class));
+        assertTrue(FREQ_MAP_CONVERTER.canHandle(CompactFreqMap.class));
         assertFalse(FREQ_MAP_CONVERTER.canHandle(String.class));
     }
 }
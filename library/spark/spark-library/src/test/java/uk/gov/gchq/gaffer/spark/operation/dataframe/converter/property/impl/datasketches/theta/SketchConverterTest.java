@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.spark.operation.dataframe.converter.property.impl.datasketches.theta;
+
+import com.yahoo.sketches.theta.SetOperation;
+import com.yahoo.sketches.theta.Sketch;
+import com.yahoo.sketches.theta.Union;
+import org.junit.Test;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.sketches.datasketches.theta.serialisation.SketchSerialiser;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.property.ConversionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SketchConverterTest {
+    private static final double DELTA = 0.0000000001;
+    private static final SketchConverter SKETCH_CONVERTER = new SketchConverter();
+
+    @Test
+    public void testConverter() throws ConversionException {
+        final Union union = SetOperation.builder().buildUnion();
+        union.update(1.0D);
+        union.update(2.0D);
+        union.update(3.0D);
+        final Sketch sketch = union.getResult();
+        assertEquals(sketch.getEstimate(), SKETCH_CONVERTER.convert(sketch), DELTA);
+
+        final Sketch emptySketch = SetOperation.builder().buildUnion().getResult();
+        assertEquals(emptySketch.getEstimate(), SKETCH_CONVERTER.convert(emptySketch), DELTA);
+    }
+
+    @Test
+    public void testConverterWithWrappedSketch() throws ConversionException, SerialisationException {
+        final Union union = SetOperation.builder().buildUnion();
+        union.update(1.0D);
+        union.update(2.0D);
+        union.update(3.0D);
+        final SketchSerialiser serialiser = new SketchSerialiser();
+        final Sketch wrappedSketch = serialiser.deserialise(serialiser.serialise(union.getResult()));
+        assertEquals(union.getResult().getEstimate(), SKETCH_CONVERTER.convert(wrappedSketch), DELTA);
+    }
+
+    @Test
+    public void testCanHandleSketch() {
+        assertTrue(SKETCH_CONVERTER.canHandle(Sketch.class));
+        assertFalse(SKETCH_CONVERTER.canHandle(String.class));
+    }
+}
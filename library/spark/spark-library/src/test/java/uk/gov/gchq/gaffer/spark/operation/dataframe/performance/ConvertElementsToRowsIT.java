@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.spark.operation.dataframe.performance;
+
+import org.apache.spark.sql.Row;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import scala.collection.Iterator;
+import scala.collection.JavaConversions;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.ConvertElementToRow;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.ConvertElementsToRows;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.property.Converter;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.property.impl.FreqMapConverter;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.schema.SchemaToStructTypeConverter;
+import uk.gov.gchq.gaffer.types.FreqMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Measures the time taken to convert elements to rows in column batches using
+ * {@link ConvertElementsToRows}, compared with converting them row by row using
+ * {@link ConvertElementToRow}.
+ */
+public class ConvertElementsToRowsIT {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConvertElementsToRowsIT.class);
+    private static final int NUM_ELEMENTS = 100000;
+    private static final LinkedHashSet<String> COLUMNS = new LinkedHashSet<>(Arrays.asList(
+            SchemaToStructTypeConverter.GROUP,
+            SchemaToStructTypeConverter.SRC_COL_NAME,
+            SchemaToStructTypeConverter.DST_COL_NAME,
+            SchemaToStructTypeConverter.VERTEX_COL_NAME,
+            "count",
+            "freqMap"));
+    private static final Map<String, Boolean> PROPERTY_NEEDS_CONVERSION = createPropertyNeedsConversion();
+    private static final Map<String, Converter> CONVERTERS = Collections.singletonMap("freqMap", new FreqMapConverter());
+
+    @Test
+    public void shouldMeasureBatchAndRowByRowConversion() {
+        // Given
+        final List<Element> elements = createElements();
+        final ConvertElementsToRows batchConverter = new ConvertElementsToRows(COLUMNS, PROPERTY_NEEDS_CONVERSION, CONVERTERS);
+        final ConvertElementToRow rowConverter = new ConvertElementToRow(COLUMNS, PROPERTY_NEEDS_CONVERSION, CONVERTERS);
+
+        // When
+        long startTime = System.currentTimeMillis();
+        final Iterator<Row> rows = batchConverter.apply(JavaConversions.asScalaIterator(elements.iterator()));
+        int count = 0;
+        while (rows.hasNext()) {
+            rows.next();
+            count++;
+        }
+        final long batchDuration = System.currentTimeMillis() - startTime;
+
+        startTime = System.currentTimeMillis();
+        for (final Element element : elements) {
+            rowConverter.apply(element);
+        }
+        final long rowDuration = System.currentTimeMillis() - startTime;
+
+        // Then
+        assertEquals(elements.size(), count);
+        LOGGER.info("Converted {} elements in {}ms using column batches and {}ms row by row",
+                elements.size(), batchDuration, rowDuration);
+    }
+
+    private static Map<String, Boolean> createPropertyNeedsConversion() {
+        final Map<String, Boolean> propertyNeedsConversion = new HashMap<>();
+        propertyNeedsConversion.put("count", false);
+        propertyNeedsConversion.put("freqMap", true);
+        return propertyNeedsConversion;
+    }
+
+    private static List<Element> createElements() {
+        final List<Element> elements = new ArrayList<>(NUM_ELEMENTS);
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            final FreqMap freqMap = new FreqMap();
+            freqMap.upsert("key" + i);
+            final Element element = i % 2 == 0
+                    ? new Entity("entityGroup", "vertex" + i)
+                    : new Edge("edgeGroup", "source" + i, "dest" + i, true);
+            element.putProperty("count", i);
+            element.putProperty("freqMap", freqMap);
+            elements.add(element);
+        }
+        return elements;
+    }
+}
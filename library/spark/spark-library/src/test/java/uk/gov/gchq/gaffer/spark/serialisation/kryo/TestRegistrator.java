@@ -17,6 +17,7 @@ package uk.gov.gchq.gaffer.spark.serialisation.kryo;
 
 import com.clearspring.analytics.stream.cardinality.HyperLogLogPlus;
 import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.serializers.MapSerializer;
 import org.junit.Before;
 import org.junit.Test;
 import uk.gov.gchq.gaffer.data.element.Edge;
@@ -25,6 +26,7 @@ import uk.gov.gchq.gaffer.data.element.Properties;
 import uk.gov.gchq.gaffer.spark.serialisation.kryo.impl.EdgeKryoSerializer;
 import uk.gov.gchq.gaffer.spark.serialisation.kryo.impl.EntityKryoSerializer;
 import uk.gov.gchq.gaffer.spark.serialisation.kryo.impl.HyperLogLogPlusKryoSerializer;
+import uk.gov.gchq.gaffer.types.CompactFreqMap;
 import uk.gov.gchq.gaffer.types.FreqMap;
 
 import static org.junit.Assert.assertEquals;
@@ -54,5 +56,9 @@ public class TestRegistrator {
 
         // HyperLogLogPlus
         assertEquals(HyperLogLogPlusKryoSerializer.class, kryo.getSerializer(HyperLogLogPlus.class).getClass());
+
+        // CompactFreqMap is serialised through the Map API and registered last so existing ids are unchanged
+        assertEquals(MapSerializer.class, kryo.getSerializer(CompactFreqMap.class).getClass());
+        assertTrue(kryo.getRegistration(CompactFreqMap.class).getId() > kryo.getRegistration(HyperLogLogPlus.class).getId());
     }
 }
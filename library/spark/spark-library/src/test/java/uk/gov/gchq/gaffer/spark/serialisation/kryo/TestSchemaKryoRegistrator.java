@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016-2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.spark.serialisation.kryo;
+
+import com.esotericsoftware.kryo.Kryo;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.spark.serialisation.kryo.impl.EdgeKryoSerializer;
+import uk.gov.gchq.gaffer.spark.serialisation.kryo.impl.EntityKryoSerializer;
+import uk.gov.gchq.gaffer.spark.serialisation.kryo.impl.SchemaEdgeKryoSerializer;
+import uk.gov.gchq.gaffer.spark.serialisation.kryo.impl.SchemaEntityKryoSerializer;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestSchemaKryoRegistrator {
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @After
+    public void after() {
+        System.clearProperty(SchemaKryoRegistrator.SCHEMA_PATHS);
+    }
+
+    @Test
+    public void shouldRegisterSchemaSerialisersWhenSchemaPathsAreSet() throws IOException {
+        // Given
+        final Schema schema = new Schema.Builder()
+                .entity("entityGroup", new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .build())
+                .type("string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .build())
+                .build();
+        final File schemaFile = tempFolder.newFile("schema.json");
+        Files.write(schemaFile.toPath(), schema.toJson(false));
+        System.setProperty(SchemaKryoRegistrator.SCHEMA_PATHS, schemaFile.getAbsolutePath());
+        final Kryo kryo = new Kryo();
+
+        // When
+        new SchemaKryoRegistrator().registerClasses(kryo);
+
+        // Then
+        assertEquals(SchemaEntityKryoSerializer.class, kryo.getSerializer(Entity.class).getClass());
+        assertEquals(SchemaEdgeKryoSerializer.class, kryo.getSerializer(Edge.class).getClass());
+    }
+
+    @Test
+    public void shouldUseDefaultSerialisersWhenNoSchemaIsSet() {
+        // Given
+        final Kryo kryo = new Kryo();
+
+        // When
+        new SchemaKryoRegistrator().registerClasses(kryo);
+
+        // Then
+        assertEquals(EntityKryoSerializer.class, kryo.getSerializer(Entity.class).getClass());
+        assertEquals(EdgeKryoSerializer.class, kryo.getSerializer(Edge.class).getClass());
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2016-2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.spark.serialisation.kryo.impl;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import org.junit.Before;
+import org.junit.Test;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawIntegerSerialiser;
+import uk.gov.gchq.gaffer.spark.serialisation.kryo.Registrator;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestSchemaElementKryoSerializer {
+    private final Kryo kryo = new Kryo();
+    private final Kryo defaultKryo = new Kryo();
+
+    @Before
+    public void setup() {
+        final Schema schema = new Schema.Builder()
+                .entity("entityGroup", new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property("count", "int")
+                        .property("name", "string")
+                        .build())
+                .edge("edgeGroup", new SchemaEdgeDefinition.Builder()
+                        .source("string")
+                        .destination("string")
+                        .property("count", "int")
+                        .build())
+                .type("string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(new StringSerialiser())
+                        .build())
+                .type("int", new TypeDefinition.Builder()
+                        .clazz(Integer.class)
+                        .serialiser(new CompactRawIntegerSerialiser())
+                        .build())
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+
+        new Registrator().registerClasses(kryo);
+        kryo.register(Entity.class, new SchemaEntityKryoSerializer(schema));
+        kryo.register(Edge.class, new SchemaEdgeKryoSerializer(schema));
+        new Registrator().registerClasses(defaultKryo);
+    }
+
+    @Test
+    public void shouldSerialiseEntityMoreCompactly() {
+        // Given
+        final Entity entity = new Entity("entityGroup", "vertex1");
+        entity.putProperty("count", 5);
+        entity.putProperty("name", "abc");
+
+        // When
+        final byte[] serialised = serialise(kryo, entity);
+        final Entity read = kryo.readObject(new Input(serialised), Entity.class);
+
+        // Then
+        assertEquals(entity, read);
+        assertTrue(serialised.length < serialise(defaultKryo, entity).length);
+    }
+
+    @Test
+    public void shouldSerialiseEdgeWithMissingAndExtraProperties() {
+        // Given
+        final Edge edge = new Edge("edgeGroup", "source", "dest", true);
+        edge.putProperty("transientProperty", 2L);
+
+        // When
+        final Edge read = roundTrip(edge, Edge.class);
+
+        // Then
+        assertEquals(edge, read);
+        assertEquals(2L, read.getProperty("transientProperty"));
+    }
+
+    @Test
+    public void shouldFallBackToKryoForValuesTheSchemaSerialisersCannotHandle() {
+        // Given
+        final Entity entity = new Entity("entityGroup", 10L);
+        entity.putProperty("count", "not an integer");
+
+        // When
+        final Entity read = roundTrip(entity, Entity.class);
+
+        // Then
+        assertEquals(entity, read);
+    }
+
+    @Test
+    public void shouldSerialiseElementsOfGroupsNotInTheSchema() {
+        // Given
+        final Edge edge = new Edge("unknownGroup", "source", "dest", false);
+        edge.putProperty("property1", 1);
+
+        // When
+        final Edge read = roundTrip(edge, Edge.class);
+
+        // Then
+        assertEquals(edge, read);
+    }
+
+    private <T extends Element> T roundTrip(final T element, final Class<T> clazz) {
+        return kryo.readObject(new Input(serialise(kryo, element)), clazz);
+    }
+
+    private static byte[] serialise(final Kryo kryo, final Element element) {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final Output output = new Output(baos);
+        kryo.writeObject(output, element);
+        output.close();
+        return baos.toByteArray();
+    }
+}
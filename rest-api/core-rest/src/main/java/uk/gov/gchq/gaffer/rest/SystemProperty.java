@@ -34,6 +34,9 @@ public abstract class SystemProperty {
     public static final String PACKAGE_PREFIXES = "gaffer.package.prefixes";
     public static final String OP_AUTHS_PATH = "gaffer.operation.auths.path";
     public static final String REST_DEBUG = uk.gov.gchq.gaffer.core.exception.Error.DEBUG;
+    public static final String CHUNKED_THREADS = "gaffer.rest-api.chunked.threads";
+    public static final String CHUNKED_QUEUE_SIZE = "gaffer.rest-api.chunked.queue-size";
+    public static final String NDJSON_FLUSH_INTERVAL = "gaffer.rest-api.ndjson.flush-interval";
 
     // DEFAULTS
     /**
@@ -46,6 +49,19 @@ public abstract class SystemProperty {
     public static final String GRAPH_FACTORY_CLASS_DEFAULT = DefaultGraphFactory.class.getName();
     public static final String USER_FACTORY_CLASS_DEFAULT = UnknownUserFactory.class.getName();
     public static final String REST_DEBUG_DEFAULT =  uk.gov.gchq.gaffer.core.exception.Error.DEBUG_DEFAULT;
+    /**
+     * The maximum number of chunked operations that can be executed concurrently.
+     */
+    public static final String CHUNKED_THREADS_DEFAULT = "10";
+    /**
+     * The number of chunked operations that can be queued waiting for a thread.
+     * Further chunked operations are rejected with a 503 Service Unavailable status.
+     */
+    public static final String CHUNKED_QUEUE_SIZE_DEFAULT = "100";
+    /**
+     * The number of items written to a newline delimited JSON response between each flush.
+     */
+    public static final String NDJSON_FLUSH_INTERVAL_DEFAULT = "1000";
 
     private SystemProperty() {
         // Private constructor to prevent instantiation.
@@ -19,7 +19,9 @@ package uk.gov.gchq.gaffer.rest.application;
 import io.swagger.jaxrs.config.BeanConfig;
 import io.swagger.jaxrs.listing.ApiListingResource;
 import io.swagger.jaxrs.listing.SwaggerSerializers;
+import org.glassfish.jersey.message.GZipEncoder;
 import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.filter.EncodingFilter;
 import uk.gov.gchq.gaffer.rest.FactoriesBinder;
 import uk.gov.gchq.gaffer.rest.SystemProperty;
 import uk.gov.gchq.gaffer.rest.mapper.GafferCheckedExceptionMapper;
@@ -28,6 +30,7 @@ import uk.gov.gchq.gaffer.rest.mapper.GenericExceptionMapper;
 import uk.gov.gchq.gaffer.rest.mapper.ProcessingExceptionMapper;
 import uk.gov.gchq.gaffer.rest.mapper.WebApplicationExceptionMapper;
 import uk.gov.gchq.gaffer.rest.serialisation.RestJsonProvider;
+import uk.gov.gchq.gaffer.rest.serialisation.RestSmileProvider;
 import uk.gov.gchq.gaffer.rest.service.ExamplesService;
 import uk.gov.gchq.gaffer.rest.service.GraphConfigurationService;
 import uk.gov.gchq.gaffer.rest.service.JobService;
@@ -75,6 +78,11 @@ public class ApplicationConfig extends ResourceConfig {
         resources.add(ApiListingResource.class);
         resources.add(SwaggerSerializers.class);
         resources.add(RestJsonProvider.class);
+        resources.add(RestSmileProvider.class);
+
+        // Compress responses for clients that accept gzip and decompress gzip request bodies
+        resources.add(EncodingFilter.class);
+        resources.add(GZipEncoder.class);
     }
 
     protected void addExceptionMappers() {
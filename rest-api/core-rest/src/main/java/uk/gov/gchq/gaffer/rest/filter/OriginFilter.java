@@ -33,7 +33,7 @@ public class OriginFilter implements Filter {
         final HttpServletResponse httpResponse = (HttpServletResponse) response;
         httpResponse.addHeader("Access-Control-Allow-Origin", "*");
         httpResponse.addHeader("Access-Control-Allow-Methods", "GET, POST, DELETE, PUT");
-        httpResponse.addHeader("Access-Control-Allow-Headers", "Content-Type");
+        httpResponse.addHeader("Access-Control-Allow-Headers", "Content-Type, Content-Encoding");
         chain.doFilter(request, httpResponse);
     }
 
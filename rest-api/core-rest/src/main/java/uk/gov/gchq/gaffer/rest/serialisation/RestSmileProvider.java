@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest.serialisation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.jsonserialisation.SmileSerialiser;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.ContextResolver;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.Providers;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * A {@link javax.ws.rs.ext.MessageBodyWriter} implementation for writing
+ * objects in the binary Jackson Smile format. Clients that accept the
+ * {@link SmileSerialiser#SMILE_MEDIA_TYPE} content type will receive results
+ * in Smile rather than JSON.
+ * <p>
+ * The Smile mapper is created from the json {@link ObjectMapper} provided by the
+ * registered {@link ContextResolver}, such as {@link RestJsonProvider}, so it has
+ * the same configuration and modules as the mapper used for JSON results.
+ */
+@Provider
+@Produces(SmileSerialiser.SMILE_MEDIA_TYPE)
+public class RestSmileProvider implements MessageBodyWriter<Object> {
+    public static final MediaType SMILE_MEDIA_TYPE = MediaType.valueOf(SmileSerialiser.SMILE_MEDIA_TYPE);
+
+    @Context
+    private Providers providers;
+
+    private volatile ObjectWriter writer;
+
+    @Override
+    public boolean isWriteable(final Class<?> type, final Type genericType,
+                               final Annotation[] annotations, final MediaType mediaType) {
+        return SMILE_MEDIA_TYPE.isCompatible(mediaType);
+    }
+
+    @Override
+    public long getSize(final Object object, final Class<?> type, final Type genericType,
+                        final Annotation[] annotations, final MediaType mediaType) {
+        return -1;
+    }
+
+    @Override
+    public void writeTo(final Object object, final Class<?> type, final Type genericType,
+                        final Annotation[] annotations, final MediaType mediaType,
+                        final MultivaluedMap<String, Object> httpHeaders,
+                        final OutputStream entityStream) throws IOException {
+        getWriter().writeValue(entityStream, object);
+    }
+
+    protected ObjectMapper createMapper() {
+        return SmileSerialiser.createSmileMapper(getJsonMapper());
+    }
+
+    private ObjectWriter getWriter() {
+        if (null == writer) {
+            writer = createMapper().writer()
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+        return writer;
+    }
+
+    private ObjectMapper getJsonMapper() {
+        if (null != providers) {
+            final ContextResolver<ObjectMapper> resolver = providers.getContextResolver(ObjectMapper.class, MediaType.APPLICATION_JSON_TYPE);
+            if (null != resolver) {
+                final ObjectMapper mapper = resolver.getContext(Object.class);
+                if (null != mapper) {
+                    return mapper;
+                }
+            }
+        }
+        return JSONSerialiser.createDefaultMapper();
+    }
+}
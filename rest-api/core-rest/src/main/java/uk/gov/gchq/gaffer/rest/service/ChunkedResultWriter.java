@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.glassfish.jersey.server.ChunkedOutput;
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import java.io.CharArrayWriter;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * A <code>ChunkedResultWriter</code> writes the result of an operation to a
+ * {@link ChunkedOutput}, one chunk per item. A single json generator and buffer
+ * are reused for every item, rather than creating a new generator and String
+ * builder for each one.
+ * <p>
+ * Once the response has been committed the {@link ChunkedOutput} writes each
+ * chunk to the client on the calling thread, so iterating over the result is
+ * throttled by the rate at which the client consumes the chunks.
+ */
+public class ChunkedResultWriter implements Closeable {
+    private final ChunkedOutput<String> output;
+    private final ObjectWriter writer;
+    private final CharArrayWriter buffer = new CharArrayWriter();
+    private final JsonGenerator generator;
+
+    public ChunkedResultWriter(final ObjectMapper mapper, final ChunkedOutput<String> output) throws IOException {
+        this.output = output;
+        this.writer = mapper.writer();
+        this.generator = mapper.getFactory().createGenerator(buffer);
+        // Each item is written as a separate chunk so no separator is required between them
+        this.generator.setRootValueSeparator(null);
+    }
+
+    /**
+     * Writes the result to the chunked output. If the result is an
+     * {@link Iterable} each item is written as a separate chunk and the
+     * iterable is closed once it has been consumed.
+     *
+     * @param result the result to write
+     * @throws IOException if the result could not be serialised or written
+     */
+    public void write(final Object result) throws IOException {
+        if (result instanceof Iterable) {
+            final Iterable itr = (Iterable) result;
+            try {
+                for (final Object item : itr) {
+                    writeChunk(item);
+                }
+            } finally {
+                CloseableUtil.close(itr);
+            }
+        } else {
+            writeChunk(result);
+        }
+    }
+
+    @Override
+    public void close() {
+        CloseableUtil.close(generator);
+    }
+
+    private void writeChunk(final Object item) throws IOException {
+        writer.writeValue(generator, item);
+        generator.flush();
+        final String chunk = buffer.toString();
+        buffer.reset();
+        output.write(chunk);
+    }
+}
@@ -22,6 +22,7 @@ import org.glassfish.jersey.server.ChunkedOutput;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.jsonserialisation.SmileSerialiser;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
@@ -36,6 +37,7 @@ import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
 
 /**
  * An <code>IOperationService</code> has methods to execute {@link uk.gov.gchq.gaffer.operation.Operation}s on the
@@ -46,13 +48,21 @@ import javax.ws.rs.core.MediaType;
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
 public interface IOperationService {
+    /**
+     * The binary Smile format is only used for clients that explicitly
+     * accept it, JSON is returned by default.
+     */
+    String SMILE_MEDIA_TYPE = SmileSerialiser.SMILE_MEDIA_TYPE + ";qs=0.9";
+    String NDJSON_MEDIA_TYPE = "application/x-ndjson";
 
     @POST
+    @Produces({MediaType.APPLICATION_JSON, SMILE_MEDIA_TYPE})
     @ApiOperation(value = "Performs the given operation chain on the graph", response = Object.class)
     Object execute(final OperationChain opChain);
 
     @POST
     @Path("/operation")
+    @Produces({MediaType.APPLICATION_JSON, SMILE_MEDIA_TYPE})
     @ApiOperation(value = "Performs the given operation on the graph", response = Object.class)
     Object execute(final Operation operation);
 
@@ -66,6 +76,18 @@ public interface IOperationService {
     @ApiOperation(value = "Performs the given operation chain on the graph, returned chunked output. NOTE - does not work in Swagger.", response = Object.class)
     ChunkedOutput<String> executeChunked(final OperationChain<CloseableIterable<Element>> opChain);
 
+    @POST
+    @Path("/ndjson/operation")
+    @Produces(NDJSON_MEDIA_TYPE)
+    @ApiOperation(value = "Performs the given operation on the graph, streaming the results as newline delimited JSON", response = Object.class)
+    StreamingOutput executeNdjson(final Operation operation);
+
+    @POST
+    @Path("/ndjson")
+    @Produces(NDJSON_MEDIA_TYPE)
+    @ApiOperation(value = "Performs the given operation chain on the graph, streaming the results as newline delimited JSON", response = Object.class)
+    StreamingOutput executeNdjson(final OperationChain opChain);
+
     @POST
     @Path("/generate/objects")
     @ApiOperation(value = "Generate objects from elements", response = Object.class, responseContainer = "List")
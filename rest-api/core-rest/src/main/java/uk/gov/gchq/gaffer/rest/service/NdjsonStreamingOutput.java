@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A <code>NdjsonStreamingOutput</code> writes the result of an operation to the
+ * response output stream as newline delimited JSON - one JSON value per line.
+ * Iterable results are written item by item through a single json generator
+ * and are never materialised, so large results are streamed in constant memory.
+ * The output is flushed every flushInterval items so clients receive results
+ * as they are produced.
+ */
+public class NdjsonStreamingOutput implements StreamingOutput {
+    private static final char NEW_LINE = '\n';
+
+    private final ObjectWriter writer;
+    private final ObjectMapper mapper;
+    private final Object result;
+    private final Closeable resource;
+    private final int flushInterval;
+
+    /**
+     * @param mapper        the object mapper used to serialise each item
+     * @param result        the result of the operation to write
+     * @param resource      a resource, such as the operation chain, to close once the result has been written
+     * @param flushInterval the number of items to write between each flush of the output stream, at least 1
+     */
+    public NdjsonStreamingOutput(final ObjectMapper mapper, final Object result, final Closeable resource, final int flushInterval) {
+        validateFlushInterval(flushInterval);
+        this.mapper = mapper;
+        // The output is flushed periodically rather than after every item
+        this.writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.result = result;
+        this.resource = resource;
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * @param flushInterval the number of items to write between each flush of the output stream
+     * @throws IllegalArgumentException if the flush interval is less than 1
+     */
+    public static void validateFlushInterval(final int flushInterval) {
+        if (flushInterval < 1) {
+            throw new IllegalArgumentException("The NDJSON flush interval must be at least 1 but was " + flushInterval);
+        }
+    }
+
+    @Override
+    public void write(final OutputStream output) throws IOException {
+        try (final JsonGenerator generator = mapper.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            if (result instanceof Iterable) {
+                long count = 0;
+                for (final Object item : (Iterable) result) {
+                    writeLine(generator, item);
+                    if (++count % flushInterval == 0) {
+                        generator.flush();
+                    }
+                }
+            } else if (null != result) {
+                writeLine(generator, result);
+            }
+        } finally {
+            CloseableUtil.close(result);
+            CloseableUtil.close(resource);
+        }
+    }
+
+    private void writeLine(final JsonGenerator generator, final Object item) throws IOException {
+        writer.writeValue(generator, item);
+        generator.writeRaw(NEW_LINE);
+    }
+}
@@ -23,6 +23,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.core.exception.Status;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.operation.Operation;
@@ -34,11 +36,19 @@ import uk.gov.gchq.gaffer.operation.impl.generate.GenerateObjects;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.rest.SystemProperty;
 import uk.gov.gchq.gaffer.rest.factory.GraphFactory;
 import uk.gov.gchq.gaffer.rest.factory.UserFactory;
 import uk.gov.gchq.gaffer.user.User;
 import javax.inject.Inject;
+import javax.ws.rs.core.StreamingOutput;
 import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser.createDefaultMapper;
 
@@ -56,6 +66,8 @@ import static uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser.createDefaultM
  */
 public class OperationService implements IOperationService {
     private static final Logger LOGGER = LoggerFactory.getLogger(OperationService.class);
+    private static final long CHUNKED_THREAD_KEEP_ALIVE_SECONDS = 60L;
+    private static final ExecutorService CHUNKED_EXECUTOR = createChunkedExecutor();
     public final ObjectMapper mapper = createDefaultMapper();
 
     @Inject
@@ -74,16 +86,14 @@ public class OperationService implements IOperationService {
         return _execute(operation);
     }
 
-    @SuppressFBWarnings
     @Override
     public ChunkedOutput<String> executeChunked(final OperationChain opChain) {
         // Create chunked output instance
         final ChunkedOutput<String> output = new ChunkedOutput<>(String.class, "\r\n");
 
-        // write chunks to the chunked output object
-        new Thread() {
-            @Override
-            public void run() {
+        // write chunks to the chunked output object using the bounded chunked executor
+        try {
+            CHUNKED_EXECUTOR.execute(() -> {
                 try {
                     final Object result = _execute(opChain);
                     chunkResult(result, output);
@@ -91,8 +101,12 @@ public class OperationService implements IOperationService {
                     CloseableUtil.close(output);
                     CloseableUtil.close(opChain);
                 }
-            }
-        }.start();
+            });
+        } catch (final RejectedExecutionException e) {
+            CloseableUtil.close(output);
+            CloseableUtil.close(opChain);
+            throw new GafferRuntimeException("Too many chunked operations are currently being executed. Please try again later.", e, Status.SERVICE_UNAVAILABLE);
+        }
 
         return output;
     }
@@ -103,6 +117,20 @@ public class OperationService implements IOperationService {
         return executeChunked(new OperationChain(operation));
     }
 
+    @Override
+    public StreamingOutput executeNdjson(final Operation operation) {
+        return executeNdjson(new OperationChain(operation));
+    }
+
+    @Override
+    public StreamingOutput executeNdjson(final OperationChain opChain) {
+        // The flush interval is checked before the operation is executed, so no results are left open
+        final int flushInterval = Integer.parseInt(System.getProperty(SystemProperty.NDJSON_FLUSH_INTERVAL, SystemProperty.NDJSON_FLUSH_INTERVAL_DEFAULT));
+        NdjsonStreamingOutput.validateFlushInterval(flushInterval);
+        final Object result = _execute(opChain);
+        return new NdjsonStreamingOutput(mapper, result, opChain, flushInterval);
+    }
+
     @Override
     public CloseableIterable<Object> generateObjects(final GenerateObjects<Object> operation) {
         return _execute(operation);
@@ -169,23 +197,26 @@ public class OperationService implements IOperationService {
     }
 
     protected void chunkResult(final Object result, final ChunkedOutput<String> output) {
-        if (result instanceof Iterable) {
-            final Iterable itr = (Iterable) result;
-            try {
-                for (final Object item : itr) {
-                    output.write(mapper.writeValueAsString(item));
-                }
-            } catch (final IOException ioe) {
-                LOGGER.warn("IOException (chunks)", ioe);
-            } finally {
-                CloseableUtil.close(itr);
-            }
-        } else {
-            try {
-                output.write(mapper.writeValueAsString(result));
-            } catch (final IOException ioe) {
-                LOGGER.warn("IOException (chunks)", ioe);
-            }
+        try (final ChunkedResultWriter writer = new ChunkedResultWriter(mapper, output)) {
+            writer.write(result);
+        } catch (final IOException ioe) {
+            LOGGER.warn("IOException (chunks)", ioe);
         }
     }
+
+    private static ExecutorService createChunkedExecutor() {
+        final int threads = Integer.parseInt(System.getProperty(SystemProperty.CHUNKED_THREADS, SystemProperty.CHUNKED_THREADS_DEFAULT));
+        final int queueSize = Integer.parseInt(System.getProperty(SystemProperty.CHUNKED_QUEUE_SIZE, SystemProperty.CHUNKED_QUEUE_SIZE_DEFAULT));
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                CHUNKED_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "chunked-operation-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
 }
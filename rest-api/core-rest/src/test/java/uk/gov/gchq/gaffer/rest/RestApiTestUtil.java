@@ -110,6 +110,14 @@ public class RestApiTestUtil {
                 .post(Entity.entity(JSON_SERIALISER.serialise(operation), MediaType.APPLICATION_JSON_TYPE));
     }
 
+    public static Response executeOperation(final Operation operation, final String... acceptedMediaTypes) throws IOException {
+        startServer();
+        return client.target(REST_URI)
+                .path("/graph/doOperation/operation")
+                .request(acceptedMediaTypes)
+                .post(Entity.entity(JSON_SERIALISER.serialise(operation), MediaType.APPLICATION_JSON_TYPE));
+    }
+
     public static Response executeOperationChain(final OperationChain opChain) throws IOException {
         startServer();
         return client.target(REST_URI)
@@ -134,6 +142,22 @@ public class RestApiTestUtil {
                 .post(Entity.entity(JSON_SERIALISER.serialise(operation), MediaType.APPLICATION_JSON_TYPE));
     }
 
+    public static Response executeOperationChainNdjson(final OperationChain opChain) throws IOException {
+        startServer();
+        return client.target(REST_URI)
+                .path("/graph/doOperation/ndjson")
+                .request()
+                .post(Entity.entity(JSON_SERIALISER.serialise(opChain), MediaType.APPLICATION_JSON_TYPE));
+    }
+
+    public static Response executeOperationNdjson(final Operation operation) throws IOException {
+        startServer();
+        return client.target(REST_URI)
+                .path("/graph/doOperation/ndjson/operation")
+                .request()
+                .post(Entity.entity(JSON_SERIALISER.serialise(operation), MediaType.APPLICATION_JSON_TYPE));
+    }
+
     public static void startServer() throws IOException {
         if (null == server) {
             server = GrizzlyHttpServerFactory.createHttpServer(URI.create(REST_URI), new ApplicationConfig());
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest.service;
+
+import org.glassfish.jersey.server.ChunkedOutput;
+import org.junit.Test;
+import org.mockito.InOrder;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterator;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class ChunkedResultWriterTest {
+    @Test
+    public void shouldWriteEachItemOfIterableAsSeparateChunk() throws IOException {
+        // Given
+        final ChunkedOutput<String> output = mock(ChunkedOutput.class);
+        final ChunkedResultWriter writer = new ChunkedResultWriter(JSONSerialiser.createDefaultMapper(), output);
+
+        // When
+        writer.write(Arrays.asList("item1", 2, "item3"));
+
+        // Then
+        final InOrder inOrder = inOrder(output);
+        inOrder.verify(output).write("\"item1\"");
+        inOrder.verify(output).write("2");
+        inOrder.verify(output).write("\"item3\"");
+    }
+
+    @Test
+    public void shouldWriteNonIterableResultAsSingleChunk() throws IOException {
+        // Given
+        final ChunkedOutput<String> output = mock(ChunkedOutput.class);
+        final ChunkedResultWriter writer = new ChunkedResultWriter(JSONSerialiser.createDefaultMapper(), output);
+
+        // When
+        writer.write(5L);
+
+        // Then
+        verify(output).write("5");
+    }
+
+    @Test
+    public void shouldCloseIterableAfterWritingChunks() throws IOException {
+        // Given
+        final ChunkedOutput<String> output = mock(ChunkedOutput.class);
+        final ChunkedResultWriter writer = new ChunkedResultWriter(JSONSerialiser.createDefaultMapper(), output);
+        final CloseableIterable<Object> iterable = mock(CloseableIterable.class);
+        given(iterable.iterator()).willReturn(new WrappedCloseableIterator<>(Arrays.<Object>asList("item1").iterator()));
+
+        // When
+        writer.write(iterable);
+
+        // Then
+        verify(output).write("\"item1\"");
+        verify(iterable).close();
+    }
+}
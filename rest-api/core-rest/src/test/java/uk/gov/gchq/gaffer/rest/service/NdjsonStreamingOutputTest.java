@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest.service;
+
+import org.junit.Test;
+import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterator;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class NdjsonStreamingOutputTest {
+    @Test
+    public void shouldWriteEachItemOfIterableOnSeparateLine() throws IOException {
+        // Given
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final NdjsonStreamingOutput streamingOutput = new NdjsonStreamingOutput(
+                JSONSerialiser.createDefaultMapper(), Arrays.asList("item1", 2, "item3"), null, 2);
+
+        // When
+        streamingOutput.write(output);
+
+        // Then
+        assertEquals("\"item1\"\n2\n\"item3\"\n", new String(output.toByteArray(), CommonConstants.UTF_8));
+    }
+
+    @Test
+    public void shouldWriteNonIterableResultOnSingleLine() throws IOException {
+        // Given
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final NdjsonStreamingOutput streamingOutput = new NdjsonStreamingOutput(
+                JSONSerialiser.createDefaultMapper(), 5L, null, 1000);
+
+        // When
+        streamingOutput.write(output);
+
+        // Then
+        assertEquals("5\n", new String(output.toByteArray(), CommonConstants.UTF_8));
+    }
+
+    @Test
+    public void shouldFlushAfterEveryItemWhenFlushIntervalIsOne() throws IOException {
+        // Given
+        final OutputStream output = mock(OutputStream.class);
+        final NdjsonStreamingOutput streamingOutput = new NdjsonStreamingOutput(
+                JSONSerialiser.createDefaultMapper(), Arrays.asList("item1", "item2"), null, 1);
+
+        // When
+        streamingOutput.write(output);
+
+        // Then
+        verify(output, atLeast(3)).flush();
+    }
+
+    @Test
+    public void shouldNotAllowFlushIntervalLessThanOne() {
+        for (final int flushInterval : new int[]{0, -1}) {
+            try {
+                new NdjsonStreamingOutput(JSONSerialiser.createDefaultMapper(), Arrays.asList("item1"), null, flushInterval);
+                fail("Exception expected");
+            } catch (final IllegalArgumentException e) {
+                assertEquals("The NDJSON flush interval must be at least 1 but was " + flushInterval, e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void shouldCloseResultAndResourceAfterWriting() throws IOException {
+        // Given
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final CloseableIterable<Object> iterable = mock(CloseableIterable.class);
+        given(iterable.iterator()).willReturn(new WrappedCloseableIterator<>(Arrays.<Object>asList("item1").iterator()));
+        final Closeable resource = mock(Closeable.class);
+        final NdjsonStreamingOutput streamingOutput = new NdjsonStreamingOutput(
+                JSONSerialiser.createDefaultMapper(), iterable, resource, 1000);
+
+        // When
+        streamingOutput.write(output);
+
+        // Then
+        assertEquals("\"item1\"\n", new String(output.toByteArray(), CommonConstants.UTF_8));
+        verify(iterable).close();
+        verify(resource).close();
+    }
+}
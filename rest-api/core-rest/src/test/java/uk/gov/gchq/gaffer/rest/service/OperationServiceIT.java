@@ -16,19 +16,24 @@
 
 package uk.gov.gchq.gaffer.rest.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import org.glassfish.jersey.client.ChunkedInput;
 import org.junit.Test;
+import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.data.GroupCounts;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.jsonserialisation.SmileSerialiser;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.impl.CountGroups;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.rest.AbstractRestApiIT;
 import uk.gov.gchq.gaffer.rest.RestApiTestUtil;
+import uk.gov.gchq.gaffer.rest.serialisation.RestSmileProvider;
 import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -36,6 +41,7 @@ import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class OperationServiceIT extends AbstractRestApiIT {
     @Test
@@ -53,6 +59,78 @@ public class OperationServiceIT extends AbstractRestApiIT {
         verifyElements(DEFAULT_ELEMENTS, results);
     }
 
+    @Test
+    public void shouldReturnAllElementsAsSmileWhenAccepted() throws IOException {
+        // Given
+        RestApiTestUtil.addElements(DEFAULT_ELEMENTS);
+
+        // When
+        final Response response = RestApiTestUtil.executeOperation(new GetAllElements(),
+                SmileSerialiser.SMILE_MEDIA_TYPE, MediaType.APPLICATION_JSON + ";q=0.9");
+
+        // Then
+        assertTrue(RestSmileProvider.SMILE_MEDIA_TYPE.isCompatible(response.getMediaType()));
+        final List<Element> results = new SmileSerialiser().deserialise(response.readEntity(byte[].class),
+                new TypeReference<List<Element>>() {
+                });
+        verifyElements(DEFAULT_ELEMENTS, results);
+    }
+
+    @Test
+    public void shouldReturnAllElementsAsJsonByDefault() throws IOException {
+        // Given
+        RestApiTestUtil.addElements(DEFAULT_ELEMENTS);
+
+        // When
+        final Response response = RestApiTestUtil.executeOperation(new GetAllElements(), MediaType.WILDCARD);
+
+        // Then
+        assertTrue(MediaType.APPLICATION_JSON_TYPE.isCompatible(response.getMediaType()));
+        final List<Element> results = response.readEntity(new GenericType<List<Element>>() {
+        });
+        verifyElements(DEFAULT_ELEMENTS, results);
+    }
+
+    @Test
+    public void shouldReturnAllElementsAsNdjson() throws IOException {
+        // Given
+        RestApiTestUtil.addElements(DEFAULT_ELEMENTS);
+
+        // When
+        final Response response = RestApiTestUtil.executeOperationNdjson(new GetAllElements());
+
+        // Then
+        assertEquals(IOperationService.NDJSON_MEDIA_TYPE, response.getMediaType().toString());
+        final List<Element> results = readNdjsonElements(response);
+        verifyElements(DEFAULT_ELEMENTS, results);
+    }
+
+    @Test
+    public void shouldReturnOperationChainGroupCountsAsNdjson() throws IOException {
+        // Given
+        RestApiTestUtil.addElements(DEFAULT_ELEMENTS);
+
+        // When
+        final Response response = RestApiTestUtil.executeOperationChainNdjson(new OperationChain.Builder()
+                .first(new GetAllElements())
+                .then(new CountGroups())
+                .build());
+
+        // Then
+        final String[] lines = response.readEntity(String.class).split("\n");
+        assertEquals(1, lines.length);
+        verifyGroupCounts(RestApiTestUtil.JSON_SERIALISER.deserialise(lines[0].getBytes(CommonConstants.UTF_8), GroupCounts.class));
+    }
+
+    @Test
+    public void shouldReturnNoNdjsonElementsWhenNoElementsInGraph() throws IOException {
+        // When
+        final Response response = RestApiTestUtil.executeOperationNdjson(new GetAllElements());
+
+        // Then
+        assertEquals(0, readNdjsonElements(response).size());
+    }
+
     @Test
     public void shouldReturnGroupCounts() throws IOException {
         // Given
@@ -181,4 +259,14 @@ public class OperationServiceIT extends AbstractRestApiIT {
         assertEquals(1, (int) groupCounts.getEdgeGroups().get(TestGroups.EDGE));
         assertFalse(groupCounts.isLimitHit());
     }
+
+    private List<Element> readNdjsonElements(final Response response) throws IOException {
+        final List<Element> results = new ArrayList<>();
+        for (final String line : response.readEntity(String.class).split("\n")) {
+            if (!line.isEmpty()) {
+                results.add(RestApiTestUtil.JSON_SERIALISER.deserialise(line.getBytes(CommonConstants.UTF_8), Element.class));
+            }
+        }
+        return results;
+    }
 }
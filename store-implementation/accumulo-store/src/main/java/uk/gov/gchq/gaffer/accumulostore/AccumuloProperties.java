@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.accumulostore;
 
 import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityKeyPackage;
+import uk.gov.gchq.gaffer.commonutil.AdaptiveBatchSizerProperties;
 import uk.gov.gchq.gaffer.store.StoreProperties;
 import java.io.InputStream;
 import java.nio.file.Path;
@@ -27,7 +28,7 @@ import java.nio.file.Path;
  * {@link uk.gov.gchq.gaffer.data.element.Properties} and lazy loads the all properties from
  * a file when first used.
  */
-public class AccumuloProperties extends StoreProperties {
+public class AccumuloProperties extends StoreProperties implements AdaptiveBatchSizerProperties {
 
     public static final String KEY_PACKAGE_CLASS = "gaffer.store.accumulo.keypackage.class";
     public static final String INSTANCE_NAME = "accumulo.instance";
@@ -37,12 +38,33 @@ public class AccumuloProperties extends StoreProperties {
     public static final String PASSWORD = "accumulo.password";
     public static final String THREADS_FOR_BATCH_SCANNER = "accumulo.batchScannerThreads";
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER = "accumulo.entriesForBatchScanner";
+    public static final String CONCURRENT_SCANNERS_FOR_RANGES = "accumulo.concurrentScannersForRanges";
+    public static final String ADAPTIVE_BATCH_SCANNER = "accumulo.adaptiveBatchScanner";
+    public static final String ADAPTIVE_BATCH_SCANNER_MIN_ENTRIES = "accumulo.adaptiveBatchScanner.minEntries";
+    public static final String ADAPTIVE_BATCH_SCANNER_MAX_ENTRIES = "accumulo.adaptiveBatchScanner.maxEntries";
+    public static final String ADAPTIVE_BATCH_SCANNER_TARGET_MILLIS = "accumulo.adaptiveBatchScanner.targetBatchMillis";
+    public static final String ADAPTIVE_BATCH_SCANNER_MAX_RANGES = "accumulo.adaptiveBatchScanner.maxRanges";
+    public static final String ADAPTIVE_BATCH_SCANNER_MAX_RESULTS = "accumulo.adaptiveBatchScanner.maxResults";
     public static final String CLIENT_SIDE_BLOOM_FILTER_SIZE = "accumulo.clientSideBloomFilterSize";
     public static final String FALSE_POSITIVE_RATE = "accumulo.falsePositiveRate";
     public static final String MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR = "accumulo.maxBloomFilterToPassToAnIterator";
     public static final String MAX_BUFFER_SIZE_FOR_BATCH_WRITER = "accumulo.maxBufferSizeForBatchWriterInBytes";
     public static final String MAX_TIME_OUT_FOR_BATCH_WRITER = "accumulo.maxTimeOutForBatchWriterInMilliseconds";
     public static final String NUM_THREADS_FOR_BATCH_WRITER = "accumulo.numThreadsForBatchWriter";
+    public static final String INGEST_CONVERTER_THREADS = "accumulo.ingestConverterThreads";
+    public static final String INGEST_BATCH_SIZE = "accumulo.ingestBatchSize";
+    public static final String INGEST_QUEUE_SIZE = "accumulo.ingestQueueSize";
+    public static final String INGEST_WRITERS = "accumulo.ingestWriters";
+    public static final String INGEST_PRE_AGGREGATION = "accumulo.ingestPreAggregation";
+    public static final String INGEST_PRESERVE_ORDER = "accumulo.ingestPreserveOrder";
+    public static final String INGEST_FAIL_FAST = "accumulo.ingestFailFast";
+    public static final String SPLIT_MANAGEMENT_INTERVAL_SECONDS = "accumulo.splitManagement.intervalSeconds";
+    public static final String SPLIT_MANAGEMENT_MAX_TABLET_SIZE = "accumulo.splitManagement.maxTabletSizeInBytes";
+    public static final String SPLIT_MANAGEMENT_MAX_TABLET_ENTRIES = "accumulo.splitManagement.maxTabletEntries";
+    public static final String SPLIT_MANAGEMENT_MIN_TABLET_SIZE = "accumulo.splitManagement.minTabletSizeInBytes";
+    public static final String SPLIT_MANAGEMENT_SKEW_FACTOR = "accumulo.splitManagement.skewFactor";
+    public static final String SPLIT_MANAGEMENT_MAX_NEW_SPLITS = "accumulo.splitManagement.maxNewSplits";
+    public static final String SPLIT_MANAGEMENT_SAMPLE_SIZE = "accumulo.splitManagement.sampleSize";
     public static final String TABLE_REPLICATION_FACTOR = "accumulo.file.replication";
     public static final String ENABLE_VALIDATOR_ITERATOR = "gaffer.store.accumulo.enable.validator.iterator";
 
@@ -55,6 +77,27 @@ public class AccumuloProperties extends StoreProperties {
     private static final String MAX_BUFFER_SIZE_FOR_BATCH_WRITER_DEFAULT = "1000000";
     private static final String MAX_TIME_OUT_FOR_BATCH_WRITER_DEFAULT = "1000";
     private static final String THREADS_FOR_BATCH_SCANNER_DEFAULT = "10";
+    private static final String CONCURRENT_SCANNERS_FOR_RANGES_DEFAULT = "4";
+    private static final String ADAPTIVE_BATCH_SCANNER_DEFAULT = "false";
+    private static final String ADAPTIVE_BATCH_SCANNER_MIN_ENTRIES_DEFAULT = "100";
+    private static final String ADAPTIVE_BATCH_SCANNER_MAX_ENTRIES_DEFAULT = "500000";
+    private static final String ADAPTIVE_BATCH_SCANNER_TARGET_MILLIS_DEFAULT = "2000";
+    private static final String ADAPTIVE_BATCH_SCANNER_MAX_RANGES_DEFAULT = "100000";
+    private static final String ADAPTIVE_BATCH_SCANNER_MAX_RESULTS_DEFAULT = "1000000";
+    private static final String INGEST_CONVERTER_THREADS_DEFAULT = "1";
+    private static final String INGEST_BATCH_SIZE_DEFAULT = "1000";
+    private static final String INGEST_QUEUE_SIZE_DEFAULT = "10";
+    private static final String INGEST_WRITERS_DEFAULT = "1";
+    private static final String INGEST_PRE_AGGREGATION_DEFAULT = "false";
+    private static final String INGEST_PRESERVE_ORDER_DEFAULT = "false";
+    private static final String INGEST_FAIL_FAST_DEFAULT = "false";
+    private static final String SPLIT_MANAGEMENT_INTERVAL_SECONDS_DEFAULT = "0";
+    private static final String SPLIT_MANAGEMENT_MAX_TABLET_SIZE_DEFAULT = "1073741824";
+    private static final String SPLIT_MANAGEMENT_MAX_TABLET_ENTRIES_DEFAULT = "0";
+    private static final String SPLIT_MANAGEMENT_MIN_TABLET_SIZE_DEFAULT = "67108864";
+    private static final String SPLIT_MANAGEMENT_SKEW_FACTOR_DEFAULT = "4.0";
+    private static final String SPLIT_MANAGEMENT_MAX_NEW_SPLITS_DEFAULT = "100";
+    private static final String SPLIT_MANAGEMENT_SAMPLE_SIZE_DEFAULT = "1000";
     public static final String ENABLE_VALIDATOR_ITERATOR_DEFAULT = "true";
 
     public AccumuloProperties() {
@@ -232,6 +275,7 @@ public class AccumuloProperties extends StoreProperties {
      * @return An integer representing the max number of items that should be
      * read into the scanner at any one time
      */
+    @Override
     public int getMaxEntriesForBatchScanner() {
         return Integer.parseInt(get(MAX_ENTRIES_FOR_BATCH_SCANNER, MAX_ENTRIES_FOR_BATCH_SCANNER_DEFAULT));
     }
@@ -246,6 +290,27 @@ public class AccumuloProperties extends StoreProperties {
         set(MAX_ENTRIES_FOR_BATCH_SCANNER, maxEntriesForBatchScanner);
     }
 
+    /**
+     * Get the number of batch scanners that may be open at the same time when
+     * querying for ranges, each scanning a separate batch of ranges.
+     *
+     * @return An integer representing the number of batch scanners that may
+     * be open at the same time when querying for ranges
+     */
+    public int getConcurrentScannersForRanges() {
+        return Integer.parseInt(get(CONCURRENT_SCANNERS_FOR_RANGES, CONCURRENT_SCANNERS_FOR_RANGES_DEFAULT));
+    }
+
+    /**
+     * Set the number of batch scanners that may be open at the same time when
+     * querying for ranges
+     *
+     * @param concurrentScannersForRanges the number of batch scanners that may be open at the same time
+     */
+    public void setConcurrentScannersForRanges(final String concurrentScannersForRanges) {
+        set(CONCURRENT_SCANNERS_FOR_RANGES, concurrentScannersForRanges);
+    }
+
     /**
      * Get the size that should be used for the creation of bloom filters on the
      * client side
@@ -369,4 +434,391 @@ public class AccumuloProperties extends StoreProperties {
     public void setEnableValidatorIterator(final boolean enableValidatorIterator) {
         set(ENABLE_VALIDATOR_ITERATOR, Boolean.toString(enableValidatorIterator));
     }
+
+    /**
+     * Get the number of threads used to convert elements into mutations when
+     * adding elements. If this is 1, and none of the other ingest properties
+     * that need the pipelined inserter (writers, pre-aggregation, preserve
+     * order or fail fast) are set, the elements are converted and written on
+     * the calling thread.
+     *
+     * @return the number of threads used to convert elements into mutations
+     */
+    public int getIngestConverterThreads() {
+        return Integer.parseInt(get(INGEST_CONVERTER_THREADS, INGEST_CONVERTER_THREADS_DEFAULT));
+    }
+
+    /**
+     * Set the number of threads used to convert elements into mutations when
+     * adding elements.
+     *
+     * @param ingestConverterThreads the number of converter threads
+     */
+    public void setIngestConverterThreads(final String ingestConverterThreads) {
+        set(INGEST_CONVERTER_THREADS, ingestConverterThreads);
+    }
+
+    /**
+     * Get the number of elements in each batch handed to a converter thread.
+     * This is also the window within which duplicate keys are pre-aggregated.
+     *
+     * @return the number of elements in each ingest batch
+     */
+    public int getIngestBatchSize() {
+        return Integer.parseInt(get(INGEST_BATCH_SIZE, INGEST_BATCH_SIZE_DEFAULT));
+    }
+
+    /**
+     * Set the number of elements in each batch handed to a converter thread.
+     *
+     * @param ingestBatchSize the number of elements in each ingest batch
+     */
+    public void setIngestBatchSize(final String ingestBatchSize) {
+        set(INGEST_BATCH_SIZE, ingestBatchSize);
+    }
+
+    /**
+     * Get the maximum number of batches that may be queued for, or being
+     * processed by, the converter threads. Once this is reached the calling
+     * thread waits for the oldest batch to complete.
+     *
+     * @return the maximum number of batches in flight
+     */
+    public int getIngestQueueSize() {
+        return Integer.parseInt(get(INGEST_QUEUE_SIZE, INGEST_QUEUE_SIZE_DEFAULT));
+    }
+
+    /**
+     * Set the maximum number of batches that may be queued for, or being
+     * processed by, the converter threads.
+     *
+     * @param ingestQueueSize the maximum number of batches in flight
+     */
+    public void setIngestQueueSize(final String ingestQueueSize) {
+        set(INGEST_QUEUE_SIZE, ingestQueueSize);
+    }
+
+    /**
+     * Get the number of batch writers used by the converter threads. The batch
+     * writer memory and threads are divided between the writers.
+     *
+     * @return the number of batch writers
+     */
+    public int getIngestWriters() {
+        return Integer.parseInt(get(INGEST_WRITERS, INGEST_WRITERS_DEFAULT));
+    }
+
+    /**
+     * Set the number of batch writers used by the converter threads.
+     *
+     * @param ingestWriters the number of batch writers
+     */
+    public void setIngestWriters(final String ingestWriters) {
+        set(INGEST_WRITERS, ingestWriters);
+    }
+
+    /**
+     * Get the flag determining whether elements with the same key within an
+     * ingest batch should be aggregated before they are written.
+     *
+     * @return true if elements should be pre-aggregated
+     */
+    public boolean getIngestPreAggregation() {
+        return Boolean.parseBoolean(get(INGEST_PRE_AGGREGATION, INGEST_PRE_AGGREGATION_DEFAULT));
+    }
+
+    /**
+     * Set the flag determining whether elements with the same key within an
+     * ingest batch should be aggregated before they are written.
+     *
+     * @param ingestPreAggregation true if elements should be pre-aggregated
+     */
+    public void setIngestPreAggregation(final boolean ingestPreAggregation) {
+        set(INGEST_PRE_AGGREGATION, Boolean.toString(ingestPreAggregation));
+    }
+
+    /**
+     * Get the flag determining whether mutations should be written in the
+     * order the elements were supplied.
+     *
+     * @return true if the order of the elements should be preserved
+     */
+    public boolean getIngestPreserveOrder() {
+        return Boolean.parseBoolean(get(INGEST_PRESERVE_ORDER, INGEST_PRESERVE_ORDER_DEFAULT));
+    }
+
+    /**
+     * Set the flag determining whether mutations should be written in the
+     * order the elements were supplied.
+     *
+     * @param ingestPreserveOrder true if the order of the elements should be preserved
+     */
+    public void setIngestPreserveOrder(final boolean ingestPreserveOrder) {
+        set(INGEST_PRESERVE_ORDER, Boolean.toString(ingestPreserveOrder));
+    }
+
+    /**
+     * Get the flag determining whether adding elements should fail on the first
+     * element that cannot be converted or written, rather than logging the
+     * error and continuing.
+     *
+     * @return true if adding elements should fail fast
+     */
+    public boolean getIngestFailFast() {
+        return Boolean.parseBoolean(get(INGEST_FAIL_FAST, INGEST_FAIL_FAST_DEFAULT));
+    }
+
+    /**
+     * Set the flag determining whether adding elements should fail on the first
+     * element that cannot be converted or written.
+     *
+     * @param ingestFailFast true if adding elements should fail fast
+     */
+    public void setIngestFailFast(final boolean ingestFailFast) {
+        set(INGEST_FAIL_FAST, Boolean.toString(ingestFailFast));
+    }
+
+    /**
+     * Get the interval between runs of the background task that splits large
+     * and hot tablets. If this is 0, the default, the background task is not run.
+     * <p>
+     * Each run reads the tablet sizes from the metadata table and scans the
+     * tablets that are split. If the metadata table has no file entries for
+     * the table, for example on a mock instance, each run scans the whole table,
+     * so a long interval should be used.
+     *
+     * @return the interval in seconds between split management runs
+     */
+    public long getSplitManagementIntervalSeconds() {
+        return Long.parseLong(get(SPLIT_MANAGEMENT_INTERVAL_SECONDS, SPLIT_MANAGEMENT_INTERVAL_SECONDS_DEFAULT));
+    }
+
+    /**
+     * Set the interval between runs of the background task that splits large
+     * and hot tablets. Set to 0 to disable the background task.
+     *
+     * @param intervalSeconds the interval in seconds between split management runs
+     */
+    public void setSplitManagementIntervalSeconds(final String intervalSeconds) {
+        set(SPLIT_MANAGEMENT_INTERVAL_SECONDS, intervalSeconds);
+    }
+
+    /**
+     * Get the size in bytes above which a tablet is split.
+     *
+     * @return the maximum tablet size in bytes
+     * @throws IllegalArgumentException if the maximum tablet size is less than 1
+     */
+    public long getSplitManagementMaxTabletSize() {
+        final long maxTabletSize = Long.parseLong(get(SPLIT_MANAGEMENT_MAX_TABLET_SIZE, SPLIT_MANAGEMENT_MAX_TABLET_SIZE_DEFAULT));
+        if (maxTabletSize < 1) {
+            throw new IllegalArgumentException(SPLIT_MANAGEMENT_MAX_TABLET_SIZE + " must be at least 1 but was " + maxTabletSize);
+        }
+        return maxTabletSize;
+    }
+
+    /**
+     * Set the size in bytes above which a tablet is split.
+     *
+     * @param maxTabletSize the maximum tablet size in bytes
+     */
+    public void setSplitManagementMaxTabletSize(final String maxTabletSize) {
+        set(SPLIT_MANAGEMENT_MAX_TABLET_SIZE, maxTabletSize);
+    }
+
+    /**
+     * Get the number of entries above which a tablet is split. If this is 0
+     * the number of entries is not used.
+     *
+     * @return the maximum number of entries in a tablet
+     */
+    public long getSplitManagementMaxTabletEntries() {
+        return Long.parseLong(get(SPLIT_MANAGEMENT_MAX_TABLET_ENTRIES, SPLIT_MANAGEMENT_MAX_TABLET_ENTRIES_DEFAULT));
+    }
+
+    /**
+     * Set the number of entries above which a tablet is split.
+     *
+     * @param maxTabletEntries the maximum number of entries in a tablet, or 0 for no limit
+     */
+    public void setSplitManagementMaxTabletEntries(final String maxTabletEntries) {
+        set(SPLIT_MANAGEMENT_MAX_TABLET_ENTRIES, maxTabletEntries);
+    }
+
+    /**
+     * Get the minimum size in bytes of the tablets created by split management.
+     * Tablets are never split into pieces smaller than this.
+     *
+     * @return the minimum tablet size in bytes
+     */
+    public long getSplitManagementMinTabletSize() {
+        return Long.parseLong(get(SPLIT_MANAGEMENT_MIN_TABLET_SIZE, SPLIT_MANAGEMENT_MIN_TABLET_SIZE_DEFAULT));
+    }
+
+    /**
+     * Set the minimum size in bytes of the tablets created by split management.
+     *
+     * @param minTabletSize the minimum tablet size in bytes
+     */
+    public void setSplitManagementMinTabletSize(final String minTabletSize) {
+        set(SPLIT_MANAGEMENT_MIN_TABLET_SIZE, minTabletSize);
+    }
+
+    /**
+     * Get the skew factor used to find hot tablets. A tablet larger than this
+     * multiple of the mean tablet size is split into pieces of the mean size.
+     *
+     * @return the skew factor
+     */
+    public double getSplitManagementSkewFactor() {
+        return Double.parseDouble(get(SPLIT_MANAGEMENT_SKEW_FACTOR, SPLIT_MANAGEMENT_SKEW_FACTOR_DEFAULT));
+    }
+
+    /**
+     * Set the skew factor used to find hot tablets.
+     *
+     * @param skewFactor the skew factor
+     */
+    public void setSplitManagementSkewFactor(final String skewFactor) {
+        set(SPLIT_MANAGEMENT_SKEW_FACTOR, skewFactor);
+    }
+
+    /**
+     * Get the maximum number of split points added in a single split
+     * management run. The largest tablets are split first.
+     *
+     * @return the maximum number of new split points
+     */
+    public int getSplitManagementMaxNewSplits() {
+        return Integer.parseInt(get(SPLIT_MANAGEMENT_MAX_NEW_SPLITS, SPLIT_MANAGEMENT_MAX_NEW_SPLITS_DEFAULT));
+    }
+
+    /**
+     * Set the maximum number of split points added in a single split
+     * management run.
+     *
+     * @param maxNewSplits the maximum number of new split points
+     */
+    public void setSplitManagementMaxNewSplits(final String maxNewSplits) {
+        set(SPLIT_MANAGEMENT_MAX_NEW_SPLITS, maxNewSplits);
+    }
+
+    /**
+     * Get the number of row keys sampled from each tablet that is split to choose
+     * the split points.
+     *
+     * @return the number of row keys sampled per tablet
+     * @throws IllegalArgumentException if the sample size is less than 1
+     */
+    public int getSplitManagementSampleSize() {
+        final int sampleSize = Integer.parseInt(get(SPLIT_MANAGEMENT_SAMPLE_SIZE, SPLIT_MANAGEMENT_SAMPLE_SIZE_DEFAULT));
+        if (sampleSize < 1) {
+            throw new IllegalArgumentException(SPLIT_MANAGEMENT_SAMPLE_SIZE + " must be at least 1 but was " + sampleSize);
+        }
+        return sampleSize;
+    }
+
+    /**
+     * Set the number of row keys sampled from each tablet to choose the split points.
+     *
+     * @param sampleSize the number of row keys sampled per tablet
+     */
+    public void setSplitManagementSampleSize(final String sampleSize) {
+        set(SPLIT_MANAGEMENT_SAMPLE_SIZE, sampleSize);
+    }
+
+    /**
+     * Get the flag determining whether the number of seeds in each batch
+     * scanner is adapted from the number of ranges, the number of results and
+     * the time taken by the previous batches, rather than being fixed at the
+     * {@link #MAX_ENTRIES_FOR_BATCH_SCANNER}.
+     *
+     * @return true if the batch size should be adapted
+     */
+    @Override
+    public boolean getAdaptiveBatchScanner() {
+        return Boolean.parseBoolean(get(ADAPTIVE_BATCH_SCANNER, ADAPTIVE_BATCH_SCANNER_DEFAULT));
+    }
+
+    /**
+     * Set the flag determining whether the number of seeds in each batch
+     * scanner is adapted from the previous batches.
+     *
+     * @param adaptiveBatchScanner true if the batch size should be adapted
+     */
+    public void setAdaptiveBatchScanner(final boolean adaptiveBatchScanner) {
+        set(ADAPTIVE_BATCH_SCANNER, Boolean.toString(adaptiveBatchScanner));
+    }
+
+    /**
+     * Get the minimum number of seeds in an adaptive batch. This is also the
+     * size of the first batch.
+     *
+     * @return the minimum number of seeds in a batch
+     */
+    @Override
+    public int getAdaptiveBatchScannerMinEntries() {
+        return Integer.parseInt(get(ADAPTIVE_BATCH_SCANNER_MIN_ENTRIES, ADAPTIVE_BATCH_SCANNER_MIN_ENTRIES_DEFAULT));
+    }
+
+    public void setAdaptiveBatchScannerMinEntries(final String minEntries) {
+        set(ADAPTIVE_BATCH_SCANNER_MIN_ENTRIES, minEntries);
+    }
+
+    /**
+     * Get the maximum number of seeds in an adaptive batch.
+     *
+     * @return the maximum number of seeds in a batch
+     */
+    @Override
+    public int getAdaptiveBatchScannerMaxEntries() {
+        return Integer.parseInt(get(ADAPTIVE_BATCH_SCANNER_MAX_ENTRIES, ADAPTIVE_BATCH_SCANNER_MAX_ENTRIES_DEFAULT));
+    }
+
+    public void setAdaptiveBatchScannerMaxEntries(final String maxEntries) {
+        set(ADAPTIVE_BATCH_SCANNER_MAX_ENTRIES, maxEntries);
+    }
+
+    /**
+     * Get the target time in milliseconds spent scanning an adaptive batch. Time
+     * spent consuming the results of the batch is not included.
+     *
+     * @return the target batch time in milliseconds, 0 if the time is ignored
+     */
+    @Override
+    public long getAdaptiveBatchScannerTargetBatchMillis() {
+        return Long.parseLong(get(ADAPTIVE_BATCH_SCANNER_TARGET_MILLIS, ADAPTIVE_BATCH_SCANNER_TARGET_MILLIS_DEFAULT));
+    }
+
+    public void setAdaptiveBatchScannerTargetBatchMillis(final String targetBatchMillis) {
+        set(ADAPTIVE_BATCH_SCANNER_TARGET_MILLIS, targetBatchMillis);
+    }
+
+    /**
+     * Get the maximum number of ranges in an adaptive batch.
+     *
+     * @return the maximum number of ranges in a batch, 0 for no limit
+     */
+    @Override
+    public long getAdaptiveBatchScannerMaxRanges() {
+        return Long.parseLong(get(ADAPTIVE_BATCH_SCANNER_MAX_RANGES, ADAPTIVE_BATCH_SCANNER_MAX_RANGES_DEFAULT));
+    }
+
+    public void setAdaptiveBatchScannerMaxRanges(final String maxRanges) {
+        set(ADAPTIVE_BATCH_SCANNER_MAX_RANGES, maxRanges);
+    }
+
+    /**
+     * Get the maximum number of results returned by an adaptive batch.
+     *
+     * @return the maximum number of results from a batch, 0 for no limit
+     */
+    @Override
+    public long getAdaptiveBatchScannerMaxResults() {
+        return Long.parseLong(get(ADAPTIVE_BATCH_SCANNER_MAX_RESULTS, ADAPTIVE_BATCH_SCANNER_MAX_RESULTS_DEFAULT));
+    }
+
+    public void setAdaptiveBatchScannerMaxResults(final String maxResults) {
+        set(ADAPTIVE_BATCH_SCANNER_MAX_RESULTS, maxResults);
+    }
 }
@@ -25,7 +25,10 @@ import org.apache.accumulo.core.client.Connector;
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.client.MutationsRejectedException;
 import org.apache.accumulo.core.client.mapreduce.AccumuloInputFormat;
+import org.apache.accumulo.core.client.mapreduce.AccumuloOutputFormat;
+import org.apache.accumulo.core.client.mapreduce.lib.impl.ConfiguratorBase;
 import org.apache.accumulo.core.client.mapreduce.lib.impl.InputConfigurator;
+import org.apache.accumulo.core.client.mapreduce.lib.impl.OutputConfigurator;
 import org.apache.accumulo.core.client.security.tokens.PasswordToken;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Mutation;
@@ -40,12 +43,15 @@ import uk.gov.gchq.gaffer.accumulostore.key.AccumuloKeyPackage;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.AddElementsHandler;
+import uk.gov.gchq.gaffer.accumulostore.operation.handler.BalanceTableSplitsHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetAdjacentIdsHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetAllElementsHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetElementsBetweenSetsHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetElementsHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetElementsInRangesHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetElementsWithinSetHandler;
+import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetMultiHopAdjacentIdsHandler;
+import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetTopElementsHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.SummariseGroupOverRangesHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.handler.AddElementsFromHdfsHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.handler.ImportAccumuloKeyValueFilesHandler;
@@ -54,12 +60,16 @@ import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.handler.SplitTableHandler
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.operation.ImportAccumuloKeyValueFiles;
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.operation.SampleDataForSplitPoints;
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.operation.SplitTable;
+import uk.gov.gchq.gaffer.accumulostore.operation.impl.BalanceTableSplits;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsBetweenSets;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsInRanges;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsWithinSet;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.SummariseGroupOverRanges;
+import uk.gov.gchq.gaffer.accumulostore.utils.PipelinedElementInserter;
+import uk.gov.gchq.gaffer.accumulostore.utils.TableSplitBalancer;
 import uk.gov.gchq.gaffer.accumulostore.utils.TableUtils;
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.commonutil.RangeCoalescingMetrics;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
@@ -73,6 +83,8 @@ import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetMultiHopAdjacentIds;
+import uk.gov.gchq.gaffer.operation.impl.get.GetTopElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.StoreException;
@@ -85,6 +97,11 @@ import uk.gov.gchq.gaffer.user.User;
 import java.io.UnsupportedEncodingException;
 import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static uk.gov.gchq.gaffer.store.StoreTrait.INGEST_AGGREGATION;
 import static uk.gov.gchq.gaffer.store.StoreTrait.ORDERED;
@@ -122,11 +139,15 @@ public class AccumuloStore extends Store {
     public static final String FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS = "Failed to create an accumulo {} from element of type {} when trying to insert elements";
     private AccumuloKeyPackage keyPackage;
     private Connector connection = null;
+    private ScheduledExecutorService splitManagementExecutor;
+    private ExecutorService ingestConverterExecutor;
+    private final RangeCoalescingMetrics rangeCoalescingMetrics = new RangeCoalescingMetrics();
 
     @Override
     public void initialise(final Schema schema, final StoreProperties properties)
             throws StoreException {
         super.initialise(schema, properties);
+        stopIngestConverterThreads();
         final String keyPackageClass = getProperties().getKeyPackageClass();
         try {
             this.keyPackage = Class.forName(keyPackageClass).asSubclass(AccumuloKeyPackage.class).newInstance();
@@ -135,6 +156,88 @@ public class AccumuloStore extends Store {
         }
         this.keyPackage.setSchema(getSchema());
         TableUtils.ensureTableExists(this);
+        startSplitManagement();
+    }
+
+    /**
+     * Stops the background task that balances the table splits, if it is running.
+     * The task is started by {@link #initialise(Schema, StoreProperties)} if the
+     * {@link AccumuloProperties#SPLIT_MANAGEMENT_INTERVAL_SECONDS} property is
+     * greater than 0.
+     */
+    public synchronized void stopSplitManagement() {
+        if (null != splitManagementExecutor) {
+            splitManagementExecutor.shutdownNow();
+            splitManagementExecutor = null;
+        }
+    }
+
+    /**
+     * Stops the threads used to convert elements into mutations when adding
+     * elements, if they have been started. The threads are started when
+     * elements are first added using the pipelined inserter and are daemon
+     * threads, so they do not stop the JVM from exiting. They are also stopped
+     * when the store is initialised again.
+     */
+    public synchronized void stopIngestConverterThreads() {
+        if (null != ingestConverterExecutor) {
+            ingestConverterExecutor.shutdownNow();
+            ingestConverterExecutor = null;
+        }
+    }
+
+    private synchronized ExecutorService getIngestConverterExecutor() {
+        if (null == ingestConverterExecutor) {
+            final String table = getProperties().getTable();
+            final AtomicInteger threadNumber = new AtomicInteger();
+            ingestConverterExecutor = Executors.newFixedThreadPool(Math.max(1, getProperties().getIngestConverterThreads()), runnable -> {
+                final Thread thread = new Thread(runnable, "Ingest converter " + threadNumber.incrementAndGet() + " for table " + table);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return ingestConverterExecutor;
+    }
+
+    // Any of the pipelined ingest properties selects the pipelined inserter, as the single threaded inserter ignores them
+    private boolean isPipelinedIngest() {
+        final AccumuloProperties properties = getProperties();
+        return properties.getIngestConverterThreads() > 1
+                || properties.getIngestWriters() > 1
+                || properties.getIngestPreAggregation()
+                || properties.getIngestPreserveOrder()
+                || properties.getIngestFailFast();
+    }
+
+    private synchronized void startSplitManagement() throws StoreException {
+        stopSplitManagement();
+        final long interval = getProperties().getSplitManagementIntervalSeconds();
+        if (interval > 0) {
+            final String table = getProperties().getTable();
+            // The settings are checked once here, rather than failing on every run
+            final TableSplitBalancer balancer;
+            try {
+                balancer = new TableSplitBalancer(this);
+            } catch (final IllegalArgumentException e) {
+                throw new StoreException("Invalid split management settings: " + e.getMessage(), e);
+            }
+            LOGGER.info("Balancing the splits of table {} every {} seconds", table, interval);
+            splitManagementExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "Split management for table " + table);
+                thread.setDaemon(true);
+                return thread;
+            });
+            splitManagementExecutor.scheduleWithFixedDelay(() -> balanceTableSplits(balancer), interval, interval, TimeUnit.SECONDS);
+        }
+    }
+
+    private void balanceTableSplits(final TableSplitBalancer balancer) {
+        try {
+            balancer.balance(false);
+        } catch (final Exception e) {
+            // The exception is caught so that later runs are still scheduled
+            LOGGER.error("Failed to balance the splits of table {}, skipping this run", getProperties().getTable(), e);
+        }
     }
 
     /**
@@ -203,15 +306,53 @@ public class AccumuloStore extends Store {
         }
     }
 
+    /**
+     * Updates a Hadoop {@link Configuration} with information needed to write to the Accumulo store using an
+     * {@link AccumuloOutputFormat}. Each task writes its mutations to the store table through its own
+     * {@link org.apache.accumulo.core.client.BatchWriter}, configured using the batch writer store properties.
+     * This method will be used by operations that run MapReduce or Spark jobs that write directly to the
+     * Accumulo store rather than bulk importing files.
+     *
+     * @param conf A {@link Configuration} to be updated.
+     * @throws StoreException if there is a failure to connect to Accumulo.
+     */
+    public void updateOutputConfiguration(final Configuration conf) throws StoreException {
+        try {
+            // Table name
+            OutputConfigurator.setDefaultTableName(AccumuloOutputFormat.class,
+                    conf,
+                    getProperties().getTable());
+            OutputConfigurator.setCreateTables(AccumuloOutputFormat.class, conf, false);
+            // Batch writer
+            OutputConfigurator.setBatchWriterOptions(AccumuloOutputFormat.class,
+                    conf,
+                    TableUtils.createBatchWriterConfig(this));
+            // User
+            addUserToConfiguration(AccumuloOutputFormat.class, conf);
+            // Zookeeper
+            addZookeeperToConfiguration(AccumuloOutputFormat.class, conf);
+        } catch (final AccumuloSecurityException e) {
+            throw new StoreException(e);
+        }
+    }
+
     protected void addUserToConfiguration(final Configuration conf) throws AccumuloSecurityException {
-        InputConfigurator.setConnectorInfo(AccumuloInputFormat.class,
+        addUserToConfiguration(AccumuloInputFormat.class, conf);
+    }
+
+    protected void addUserToConfiguration(final Class<?> implementingClass, final Configuration conf) throws AccumuloSecurityException {
+        ConfiguratorBase.setConnectorInfo(implementingClass,
                 conf,
                 getProperties().getUser(),
                 new PasswordToken(getProperties().getPassword()));
     }
 
     protected void addZookeeperToConfiguration(final Configuration conf) {
-        InputConfigurator.setZooKeeperInstance(AccumuloInputFormat.class,
+        addZookeeperToConfiguration(AccumuloInputFormat.class, conf);
+    }
+
+    protected void addZookeeperToConfiguration(final Class<?> implementingClass, final Configuration conf) {
+        ConfiguratorBase.setZooKeeperInstance(implementingClass,
                 conf,
                 new ClientConfiguration()
                         .withInstance(getProperties().getInstance())
@@ -236,10 +377,13 @@ public class AccumuloStore extends Store {
             addOperationHandler(GetElementsBetweenSets.class, new GetElementsBetweenSetsHandler());
             addOperationHandler(GetElementsInRanges.class, new GetElementsInRangesHandler());
             addOperationHandler(GetElementsWithinSet.class, new GetElementsWithinSetHandler());
+            addOperationHandler(GetMultiHopAdjacentIds.class, new GetMultiHopAdjacentIdsHandler());
+            addOperationHandler(GetTopElements.class, new GetTopElementsHandler());
             addOperationHandler(SplitTable.class, new SplitTableHandler());
             addOperationHandler(SampleDataForSplitPoints.class, new SampleDataForSplitPointsHandler());
             addOperationHandler(ImportAccumuloKeyValueFiles.class, new ImportAccumuloKeyValueFilesHandler());
             addOperationHandler(SummariseGroupOverRanges.class, new SummariseGroupOverRangesHandler());
+            addOperationHandler(BalanceTableSplits.class, new BalanceTableSplitsHandler());
         } catch (final NoClassDefFoundError e) {
             LOGGER.warn("Unable to added handler for {} due to missing classes on the classpath", AddElementsFromHdfs.class.getSimpleName(), e);
         }
@@ -281,6 +425,14 @@ public class AccumuloStore extends Store {
     }
 
     protected void insertGraphElements(final Iterable<? extends Element> elements) throws StoreException {
+        if (isPipelinedIngest()) {
+            if (null == elements) {
+                throw new GafferRuntimeException("Could not find any elements to add to graph.", Status.BAD_REQUEST);
+            }
+            new PipelinedElementInserter(this, getIngestConverterExecutor()).insert(elements);
+            return;
+        }
+
         // Create BatchWriter
         final BatchWriter writer = TableUtils.createBatchWriter(this);
         // Loop through elements, convert to mutations, and add to
@@ -348,6 +500,16 @@ public class AccumuloStore extends Store {
         return keyPackage;
     }
 
+    /**
+     * Returns the metrics recording how many duplicate seeds and overlapping
+     * ranges have been removed by the retrievers before scanning.
+     *
+     * @return the range coalescing metrics for this store
+     */
+    public RangeCoalescingMetrics getRangeCoalescingMetrics() {
+        return rangeCoalescingMetrics;
+    }
+
     @Override
     public boolean isValidationRequired() {
         return false;
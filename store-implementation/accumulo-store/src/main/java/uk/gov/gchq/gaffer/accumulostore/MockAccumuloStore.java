@@ -19,8 +19,7 @@ package uk.gov.gchq.gaffer.accumulostore;
 import org.apache.accumulo.core.client.AccumuloException;
 import org.apache.accumulo.core.client.AccumuloSecurityException;
 import org.apache.accumulo.core.client.Connector;
-import org.apache.accumulo.core.client.mapreduce.AccumuloInputFormat;
-import org.apache.accumulo.core.client.mapreduce.lib.impl.InputConfigurator;
+import org.apache.accumulo.core.client.mapreduce.lib.impl.ConfiguratorBase;
 import org.apache.accumulo.core.client.mock.MockInstance;
 import org.apache.accumulo.core.client.security.tokens.PasswordToken;
 import org.apache.hadoop.conf.Configuration;
@@ -61,16 +60,16 @@ public class MockAccumuloStore extends AccumuloStore {
     }
 
     @Override
-    protected void addUserToConfiguration(final Configuration conf) throws AccumuloSecurityException {
-        InputConfigurator.setConnectorInfo(AccumuloInputFormat.class,
+    protected void addUserToConfiguration(final Class<?> implementingClass, final Configuration conf) throws AccumuloSecurityException {
+        ConfiguratorBase.setConnectorInfo(implementingClass,
                 conf,
                 AccumuloProperties.USER,
                 PASSWORD_TOKEN);
     }
 
     @Override
-    protected void addZookeeperToConfiguration(final Configuration conf) {
-        InputConfigurator.setMockInstance(AccumuloInputFormat.class,
+    protected void addZookeeperToConfiguration(final Class<?> implementingClass, final Configuration conf) {
+        ConfiguratorBase.setMockInstance(implementingClass,
                 conf,
                 getProperties().getInstance());
     }
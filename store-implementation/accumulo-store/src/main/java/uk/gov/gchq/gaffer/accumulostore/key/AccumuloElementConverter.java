@@ -135,6 +135,26 @@ public interface AccumuloElementConverter {
      */
     Element getFullElement(final Key key, final Value value, final Map<String, String> options);
 
+    /**
+     * Gets the vertex at the other end of an edge to the vertex its row key
+     * starts with, i.e. the vertex adjacent to the seed the edge was found
+     * from. Only the row key is deserialised.
+     *
+     * @param key the accumulo Key of an edge
+     * @return the adjacent vertex, or null if the key represents an entity
+     */
+    Object getAdjacentVertexFromKey(final Key key);
+
+    /**
+     * Gets the serialised adjacent vertex from the row key of an edge. The
+     * bytes are returned as they are stored in the row key, so they are still
+     * escaped.
+     *
+     * @param rowKey the row key of an edge
+     * @return the escaped bytes of the adjacent vertex, or null if the row key represents an entity
+     */
+    byte[] getAdjacentVertexBytesFromRowKey(final byte[] rowKey);
+
     /**
      * Helper Used to create Bloom Filters, method Serialises a given object
      * (from an {@link uk.gov.gchq.gaffer.data.element.id.EntityId} ) with the Identifier
@@ -22,6 +22,7 @@ import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
+import uk.gov.gchq.gaffer.operation.impl.get.GetTopElements;
 
 /**
  * The iterator settings factory is designed to enable the AccumuloStore to
@@ -114,6 +115,30 @@ public interface IteratorSettingFactory {
      */
     IteratorSetting getQueryTimeAggregatorIteratorSetting(final View view, final AccumuloStore store) throws IteratorSettingException;
 
+    /**
+     * Returns an Iterator that will only return the first edge found for each
+     * adjacent vertex, so repeated neighbours are dropped on the tablet servers.
+     * The iterator does not return values so it should only be used when the
+     * adjacent vertices are extracted from the row keys.
+     *
+     * @param store the accumulo store
+     * @return A new {@link IteratorSetting} for an Iterator that will deduplicate edges on their adjacent vertex
+     */
+    IteratorSetting getAdjacentVertexDeduplicationIteratorSetting(final AccumuloStore store);
+
+    /**
+     * Returns an Iterator that will only return the top elements of each
+     * range scanned, ranked by a property of the elements. The elements are
+     * ranked on the tablet servers, so at most limit elements are returned
+     * for each range.
+     *
+     * @param operation the get top elements operation
+     * @param store     the accumulo store
+     * @return A new {@link IteratorSetting} for an Iterator that will return the top elements of each range
+     * @throws IteratorSettingException if an iterator setting could not be created
+     */
+    IteratorSetting getTopKIteratorSetting(final GetTopElements operation, final AccumuloStore store) throws IteratorSettingException;
+
     /**
      * Returns an Iterator that will aggregate properties across a range of RowID's for a given columnFamily
      *
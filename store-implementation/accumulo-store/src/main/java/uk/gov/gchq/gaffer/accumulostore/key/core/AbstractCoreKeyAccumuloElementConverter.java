@@ -438,6 +438,19 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return properties;
     }
 
+    @Override
+    public Object getAdjacentVertexFromKey(final Key key) {
+        final byte[] adjacentVertex = getAdjacentVertexBytesFromRowKey(key.getRowData().getBackingArray());
+        if (null == adjacentVertex) {
+            return null;
+        }
+        try {
+            return getVertexSerialiser().deserialise(ByteArrayEscapeUtils.unEscape(adjacentVertex));
+        } catch (final SerialisationException e) {
+            throw new AccumuloElementConversionException("Failed to re-create adjacent vertex from key", e);
+        }
+    }
+
     @Override
     public byte[] serialiseVertex(final Object vertex) {
         try {
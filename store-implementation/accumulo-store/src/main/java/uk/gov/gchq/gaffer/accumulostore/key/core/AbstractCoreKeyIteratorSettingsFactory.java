@@ -23,15 +23,19 @@ import uk.gov.gchq.gaffer.accumulostore.key.IteratorSettingFactory;
 import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyBloomFilterIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyGroupByAggregatorIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
+import uk.gov.gchq.gaffer.accumulostore.key.impl.AdjacentVertexDeduplicationIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.AggregatorIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPostAggregationFilter;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPreAggregationFilter;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.RowIDAggregator;
+import uk.gov.gchq.gaffer.accumulostore.key.impl.TopKIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ValidatorFilter;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.accumulostore.utils.IteratorSettingBuilder;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.impl.get.GetTopElements;
+import uk.gov.gchq.gaffer.store.operation.handler.AbstractGetTopElementsHandler;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
@@ -110,6 +114,26 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
                 .build();
     }
 
+    @Override
+    public IteratorSetting getAdjacentVertexDeduplicationIteratorSetting(final AccumuloStore store) {
+        return new IteratorSettingBuilder(AccumuloStoreConstants.ADJACENT_VERTEX_DEDUPLICATION_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.ADJACENT_VERTEX_DEDUPLICATION_ITERATOR_NAME, AdjacentVertexDeduplicationIterator.class)
+                .schema(store.getSchema())
+                .keyConverter(store.getKeyPackage().getKeyConverter())
+                .build();
+    }
+
+    @Override
+    public IteratorSetting getTopKIteratorSetting(final GetTopElements operation, final AccumuloStore store)
+            throws IteratorSettingException {
+        return new IteratorSettingBuilder(AccumuloStoreConstants.TOP_K_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.TOP_K_ITERATOR_NAME, TopKIterator.class)
+                .schema(store.getSchema())
+                .keyConverter(store.getKeyPackage().getKeyConverter())
+                .topK(AbstractGetTopElementsHandler.createComparator(operation), operation.getLimit())
+                .build();
+    }
+
     public boolean queryTimeAggregatorRequired(final View view, final AccumuloStore store) {
         Schema schema = store.getSchema();
         if (!schema.hasAggregators()) {
@@ -39,18 +39,8 @@ public class CoreKeyGroupByAggregatorIterator extends CoreKeyGroupByCombiner {
             return new Properties();
         }
 
-        final Properties properties = iter.next();
-        if (!iter.hasNext()) {
-            return properties;
-        }
-
         final ElementAggregator aggregator = schema.getElement(group).getAggregator();
-        Properties aggregatedProps = properties;
-        while (iter.hasNext()) {
-            aggregatedProps = aggregator.apply(aggregatedProps, iter.next());
-        }
-
-        return aggregatedProps;
+        return aggregator.apply(iter);
     }
 
     @Override
@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity;
 
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.accumulo.core.data.Key;
 import uk.gov.gchq.gaffer.accumulostore.key.core.AbstractCoreKeyAccumuloElementConverter;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
@@ -186,6 +187,22 @@ public class ByteEntityAccumuloElementConverter extends AbstractCoreKeyAccumuloE
         }
     }
 
+    @Override
+    @SuppressFBWarnings(value = "PZLA_PREFER_ZERO_LENGTH_ARRAYS", justification = "null is returned for entities, which have no adjacent vertex")
+    public byte[] getAdjacentVertexBytesFromRowKey(final byte[] rowKey) {
+        if (doesKeyRepresentEntity(rowKey)) {
+            return null;
+        }
+        // The vertices are escaped so the first delimiter follows the first vertex,
+        // the adjacent vertex then starts after the direction flag and its delimiter.
+        for (int i = 0; i < rowKey.length - 2; ++i) {
+            if (rowKey[i] == ByteArrayEscapeUtils.DELIMITER) {
+                return Arrays.copyOfRange(rowKey, i + 3, rowKey.length - 2);
+            }
+        }
+        throw new AccumuloElementConversionException("No delimiter found in edge row key");
+    }
+
     private byte[] getDestBytes(final byte[] rowKey, final int[] positionsOfDelimiters) {
         return ByteArrayEscapeUtils
                 .unEscape(Arrays.copyOfRange(rowKey, positionsOfDelimiters[1] + 1, positionsOfDelimiters[2]));
@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.accumulostore.key.core.impl.classic;
 
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.accumulo.core.data.Key;
 import uk.gov.gchq.gaffer.accumulostore.key.core.AbstractCoreKeyAccumuloElementConverter;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
@@ -180,6 +181,19 @@ public class ClassicAccumuloElementConverter extends AbstractCoreKeyAccumuloElem
         }
     }
 
+    @Override
+    @SuppressFBWarnings(value = "PZLA_PREFER_ZERO_LENGTH_ARRAYS", justification = "null is returned for entities, which have no adjacent vertex")
+    public byte[] getAdjacentVertexBytesFromRowKey(final byte[] rowKey) {
+        // The vertices are escaped so the first delimiter follows the first vertex.
+        // Entities have no delimiters.
+        for (int i = 0; i < rowKey.length - 2; ++i) {
+            if (rowKey[i] == ByteArrayEscapeUtils.DELIMITER) {
+                return Arrays.copyOfRange(rowKey, i + 1, rowKey.length - 2);
+            }
+        }
+        return null;
+    }
+
     private byte[] getDestBytes(final byte[] rowKey, final int[] positionsOfDelimiters) {
         return ByteArrayEscapeUtils
                 .unEscape(Arrays.copyOfRange(rowKey, positionsOfDelimiters[0] + 1, positionsOfDelimiters[1]));
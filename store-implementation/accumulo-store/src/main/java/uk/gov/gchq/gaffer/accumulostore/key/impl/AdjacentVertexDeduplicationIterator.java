@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.key.impl;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.accumulo.core.data.ArrayByteSequence;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.ElementFilterException;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The AdjacentVertexDeduplicationIterator only returns the first edge found for
+ * each adjacent vertex, i.e. the vertex at the other end of the edge to the
+ * vertex its row key starts with. Edges that have the same adjacent vertex as
+ * an edge already returned from the tablet are skipped, whatever their group,
+ * direction, timestamp or visibility. The values are not returned, as only the
+ * row keys are required to identify the adjacent vertices.
+ * <p>
+ * The adjacent vertices are held in memory, up to the maximum given by the
+ * {@link AccumuloStoreConstants#MAX_ADJACENT_VERTICES} option. When the maximum
+ * is reached they are cleared, so an adjacent vertex may be returned more
+ * than once.
+ * <p>
+ * This iterator should be applied after all other scan iterators.
+ */
+public class AdjacentVertexDeduplicationIterator extends WrappingIterator implements OptionDescriber {
+    public static final int DEFAULT_MAX_ADJACENT_VERTICES = 100000;
+
+    private static final Value EMPTY_VALUE = new Value(AccumuloStoreConstants.EMPTY_BYTES);
+
+    @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "elementConverter is initialised in validateOptions method, which is always called first")
+    private AccumuloElementConverter elementConverter;
+    private int maxAdjacentVertices = DEFAULT_MAX_ADJACENT_VERTICES;
+    private final Set<ByteSequence> adjacentVertices = new HashSet<>();
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
+                     final IteratorEnvironment env) throws IOException {
+        super.init(source, options, env);
+        validateOptions(options);
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.ADJACENT_VERTEX_DEDUPLICATION_ITERATOR_NAME,
+                "Only returns the first edge for each adjacent vertex")
+                .addSchemaNamedOption()
+                .addElementConverterClassNamedOption()
+                .addNamedOption(AccumuloStoreConstants.MAX_ADJACENT_VERTICES,
+                        "Optional: the maximum number of adjacent vertices to hold in memory")
+                .build();
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        if (!options.containsKey(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS);
+        }
+        if (!options.containsKey(AccumuloStoreConstants.SCHEMA)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.SCHEMA);
+        }
+
+        final Schema schema;
+        try {
+            schema = Schema.fromJson(options.get(AccumuloStoreConstants.SCHEMA).getBytes(CommonConstants.UTF_8));
+        } catch (final UnsupportedEncodingException e) {
+            throw new SchemaException("Unable to deserialise the schema from JSON", e);
+        }
+
+        try {
+            final Class<?> elementConverterClass = Class
+                    .forName(options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS));
+            elementConverter = (AccumuloElementConverter) elementConverterClass.getConstructor(Schema.class)
+                    .newInstance(schema);
+        } catch (final ClassNotFoundException | InstantiationException | IllegalAccessException | IllegalArgumentException
+                | InvocationTargetException | NoSuchMethodException | SecurityException e) {
+            throw new ElementFilterException("Failed to load element converter from class name provided : "
+                    + options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS), e);
+        }
+
+        if (options.containsKey(AccumuloStoreConstants.MAX_ADJACENT_VERTICES)) {
+            maxAdjacentVertices = Integer.parseInt(options.get(AccumuloStoreConstants.MAX_ADJACENT_VERTICES));
+        }
+        return true;
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final AdjacentVertexDeduplicationIterator copy = new AdjacentVertexDeduplicationIterator();
+        copy.setSource(getSource().deepCopy(env));
+        copy.elementConverter = elementConverter;
+        copy.maxAdjacentVertices = maxAdjacentVertices;
+        return copy;
+    }
+
+    @Override
+    public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive) throws IOException {
+        // The adjacent vertices are not cleared, so they are deduplicated across all the ranges scanned in the tablet
+        super.seek(range, columnFamilies, inclusive);
+        findTop();
+    }
+
+    @Override
+    public void next() throws IOException {
+        super.next();
+        findTop();
+    }
+
+    @Override
+    public Value getTopValue() {
+        return EMPTY_VALUE;
+    }
+
+    private void findTop() throws IOException {
+        final SortedKeyValueIterator<Key, Value> source = getSource();
+        while (source.hasTop()) {
+            final byte[] adjacentVertex = elementConverter.getAdjacentVertexBytesFromRowKey(
+                    source.getTopKey().getRowData().toArray());
+            if (null == adjacentVertex) {
+                // Entities are not deduplicated
+                return;
+            }
+            if (adjacentVertices.size() >= maxAdjacentVertices) {
+                adjacentVertices.clear();
+            }
+            if (adjacentVertices.add(new ArrayByteSequence(adjacentVertex))) {
+                return;
+            }
+            source.next();
+        }
+    }
+}
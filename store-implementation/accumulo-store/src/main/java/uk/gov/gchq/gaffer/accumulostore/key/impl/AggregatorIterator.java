@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.accumulostore.key.impl;
 
+import com.google.common.collect.Iterators;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.iterators.Combiner;
@@ -62,27 +63,22 @@ public class AggregatorIterator extends Combiner {
             throw new AggregationException("Failed to recreate a graph element from a key and value", e);
         }
 
-        Properties properties;
         final ElementAggregator aggregator = schema.getElement(group).getAggregator();
+        final Properties aggregatedProps = aggregator.apply(
+                Iterators.transform(Iterators.concat(Iterators.singletonIterator(value), iter),
+                        v -> getPropertiesFromValue(group, v)));
         try {
-            properties = elementConverter.getPropertiesFromValue(group, value);
+            return elementConverter.getValueFromProperties(group, aggregatedProps);
         } catch (final AccumuloElementConversionException e) {
-            throw new AggregationException("Failed to recreate a graph element from a key and value", e);
-        }
-        Properties aggregatedProps = properties;
-        while (iter.hasNext()) {
-            value = iter.next();
-            try {
-                properties = elementConverter.getPropertiesFromValue(group, value);
-            } catch (final AccumuloElementConversionException e) {
-                throw new AggregationException("Failed to recreate a graph element from a key and value", e);
-            }
-            aggregatedProps = aggregator.apply(aggregatedProps, properties);
+            throw new AggregationException("Failed to create an accumulo value from an elements properties", e);
         }
+    }
+
+    private Properties getPropertiesFromValue(final String group, final Value value) {
         try {
-            return elementConverter.getValueFromProperties(group, aggregatedProps);
+            return elementConverter.getPropertiesFromValue(group, value);
         } catch (final AccumuloElementConversionException e) {
-            throw new AggregationException("Failed to create an accumulo value from an elements properties", e);
+            throw new AggregationException("Failed to recreate a graph element from a key and value", e);
         }
     }
 
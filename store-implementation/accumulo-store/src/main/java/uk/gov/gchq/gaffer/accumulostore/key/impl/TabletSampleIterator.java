@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.impl;
+
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import uk.gov.gchq.gaffer.accumulostore.utils.TabletSample;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * The TabletSampleIterator reads every entry in the range it is seeked to and
+ * returns a single entry summarising them: the value is a serialised
+ * {@link TabletSample} holding the number of entries, their total size and a
+ * size-weighted sample of their row keys. The key is the last key read, so if
+ * the scan is re-seeked after the summary has been returned the range is
+ * already exhausted.
+ * <p>
+ * A batch scanner splits its ranges at tablet boundaries, so scanning a range
+ * per tablet returns one summary per tablet.
+ */
+public class TabletSampleIterator extends WrappingIterator implements OptionDescriber {
+    public static final int DEFAULT_SAMPLE_SIZE = 1000;
+
+    private int sampleSize = DEFAULT_SAMPLE_SIZE;
+    private Key topKey;
+    private Value topValue;
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
+                     final IteratorEnvironment env) throws IOException {
+        super.init(source, options, env);
+        validateOptions(options);
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.TABLET_SAMPLE_ITERATOR_NAME,
+                "Returns a summary and sample of the row keys in each range")
+                .addNamedOption(AccumuloStoreConstants.TABLET_SAMPLE_SIZE,
+                        "Optional: the maximum number of row keys to sample")
+                .build();
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        if (options.containsKey(AccumuloStoreConstants.TABLET_SAMPLE_SIZE)) {
+            sampleSize = Integer.parseInt(options.get(AccumuloStoreConstants.TABLET_SAMPLE_SIZE));
+        }
+        return true;
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final TabletSampleIterator copy = new TabletSampleIterator();
+        copy.setSource(getSource().deepCopy(env));
+        copy.sampleSize = sampleSize;
+        return copy;
+    }
+
+    @Override
+    public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive) throws IOException {
+        super.seek(range, columnFamilies, inclusive);
+        findTop();
+    }
+
+    @Override
+    public boolean hasTop() {
+        return null != topKey;
+    }
+
+    @Override
+    public void next() throws IOException {
+        // The source has already been read to the end of the range
+        topKey = null;
+        topValue = null;
+    }
+
+    @Override
+    public Key getTopKey() {
+        return topKey;
+    }
+
+    @Override
+    public Value getTopValue() {
+        return topValue;
+    }
+
+    private void findTop() throws IOException {
+        topKey = null;
+        topValue = null;
+        final SortedKeyValueIterator<Key, Value> source = getSource();
+        if (!source.hasTop()) {
+            return;
+        }
+
+        final TabletSample sample = new TabletSample(sampleSize);
+        Key lastKey = null;
+        while (source.hasTop()) {
+            final Key key = source.getTopKey();
+            sample.add(key.getRowData().toArray(), key.getSize() + source.getTopValue().getSize());
+            // The key is copied as the source may reuse it
+            lastKey = new Key(key);
+            source.next();
+        }
+        topKey = lastKey;
+        topValue = sample.toValue();
+    }
+}
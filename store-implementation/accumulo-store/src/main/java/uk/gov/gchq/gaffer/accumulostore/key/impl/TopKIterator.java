@@ -0,0 +1,231 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.impl;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.ElementFilterException;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.commonutil.TopKHeap;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementPropertyComparator;
+import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The TopKIterator reads every entry in the range it is seeked to and only
+ * returns the entries for the top elements, ranked by a property of the
+ * elements using the {@link ElementPropertyComparator} given in the
+ * {@link AccumuloStoreConstants#TOP_K_COMPARATOR} option. At most
+ * {@link AccumuloStoreConstants#TOP_K_LIMIT} entries are held in memory and
+ * returned for each range, in key order. Elements without the property and
+ * elements equal to one already held are skipped.
+ * <p>
+ * If the scan is re-seeked part way through the top entries, the remainder of
+ * the range is ranked again. This may return entries that are not in the top
+ * entries of the whole range, but never drops one that is, so the results
+ * must be ranked again by the client.
+ * <p>
+ * This iterator should be applied after all other scan iterators.
+ */
+public class TopKIterator extends WrappingIterator implements OptionDescriber {
+    private static final Comparator<TopEntry> KEY_ORDER = (entry1, entry2) -> entry1.key.compareTo(entry2.key);
+
+    @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "elementConverter is initialised in validateOptions method, which is always called first")
+    private AccumuloElementConverter elementConverter;
+    @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "comparator is initialised in validateOptions method, which is always called first")
+    private ElementPropertyComparator comparator;
+    private int limit;
+    private Iterator<TopEntry> topEntries = Collections.emptyIterator();
+    private TopEntry top;
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
+                     final IteratorEnvironment env) throws IOException {
+        super.init(source, options, env);
+        validateOptions(options);
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.TOP_K_ITERATOR_NAME,
+                "Only returns the top elements in each range, ranked by a property")
+                .addSchemaNamedOption()
+                .addElementConverterClassNamedOption()
+                .addNamedOption(AccumuloStoreConstants.TOP_K_COMPARATOR,
+                        "Required: the json serialised element property comparator")
+                .addNamedOption(AccumuloStoreConstants.TOP_K_LIMIT,
+                        "Required: the maximum number of elements to return for each range")
+                .build();
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        if (!options.containsKey(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS);
+        }
+        if (!options.containsKey(AccumuloStoreConstants.SCHEMA)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.SCHEMA);
+        }
+        if (!options.containsKey(AccumuloStoreConstants.TOP_K_COMPARATOR)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.TOP_K_COMPARATOR);
+        }
+        if (!options.containsKey(AccumuloStoreConstants.TOP_K_LIMIT)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.TOP_K_LIMIT);
+        }
+
+        final Schema schema;
+        try {
+            schema = Schema.fromJson(options.get(AccumuloStoreConstants.SCHEMA).getBytes(CommonConstants.UTF_8));
+        } catch (final UnsupportedEncodingException e) {
+            throw new SchemaException("Unable to deserialise the schema from JSON", e);
+        }
+
+        try {
+            final Class<?> elementConverterClass = Class
+                    .forName(options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS));
+            elementConverter = (AccumuloElementConverter) elementConverterClass.getConstructor(Schema.class)
+                    .newInstance(schema);
+        } catch (final ClassNotFoundException | InstantiationException | IllegalAccessException | IllegalArgumentException
+                | InvocationTargetException | NoSuchMethodException | SecurityException e) {
+            throw new ElementFilterException("Failed to load element converter from class name provided : "
+                    + options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS), e);
+        }
+
+        try {
+            comparator = new JSONSerialiser().deserialise(
+                    options.get(AccumuloStoreConstants.TOP_K_COMPARATOR).getBytes(CommonConstants.UTF_8),
+                    ElementPropertyComparator.class);
+        } catch (final SerialisationException | UnsupportedEncodingException e) {
+            throw new IllegalArgumentException("Unable to deserialise the " + AccumuloStoreConstants.TOP_K_COMPARATOR, e);
+        }
+
+        limit = Integer.parseInt(options.get(AccumuloStoreConstants.TOP_K_LIMIT));
+        if (limit < 1) {
+            throw new IllegalArgumentException(AccumuloStoreConstants.TOP_K_LIMIT + " must be at least 1");
+        }
+        return true;
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final TopKIterator copy = new TopKIterator();
+        copy.setSource(getSource().deepCopy(env));
+        copy.elementConverter = elementConverter;
+        copy.comparator = comparator;
+        copy.limit = limit;
+        return copy;
+    }
+
+    @Override
+    public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive) throws IOException {
+        super.seek(range, columnFamilies, inclusive);
+        findTopEntries();
+    }
+
+    @Override
+    public boolean hasTop() {
+        return null != top;
+    }
+
+    @Override
+    public void next() throws IOException {
+        // The source has already been read to the end of the range
+        top = topEntries.hasNext() ? topEntries.next() : null;
+    }
+
+    @Override
+    public Key getTopKey() {
+        return top.key;
+    }
+
+    @Override
+    public Value getTopValue() {
+        return top.value;
+    }
+
+    private void findTopEntries() throws IOException {
+        final TopKHeap<TopEntry> heap = new TopKHeap<>(limit,
+                (entry1, entry2) -> comparator.compare(entry1.element, entry2.element));
+        final SortedKeyValueIterator<Key, Value> source = getSource();
+        while (source.hasTop()) {
+            final Element element;
+            try {
+                element = elementConverter.getFullElement(source.getTopKey(), source.getTopValue());
+            } catch (final AccumuloElementConversionException e) {
+                throw new IOException("Failed to create an element from an accumulo key value pair", e);
+            }
+            if (null != element.getProperty(comparator.getProperty())
+                    && (heap.size() < limit || comparator.compare(element, heap.peek().element) > 0)) {
+                // The key and value are copied as the source may reuse them
+                heap.offer(new TopEntry(new Key(source.getTopKey()), new Value(source.getTopValue()), element));
+            }
+            source.next();
+        }
+
+        // Entries must be returned in key order
+        final List<TopEntry> entries = heap.toList();
+        entries.sort(KEY_ORDER);
+        topEntries = entries.iterator();
+        next();
+    }
+
+    // Entries are equal if their elements are equal, so an element is only held once
+    private static final class TopEntry {
+        private final Key key;
+        private final Value value;
+        private final Element element;
+
+        private TopEntry(final Key key, final Value value, final Element element) {
+            this.key = key;
+            this.value = value;
+            this.element = element;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof TopEntry && element.equals(((TopEntry) obj).element);
+        }
+
+        @Override
+        public int hashCode() {
+            return element.hashCode();
+        }
+    }
+}
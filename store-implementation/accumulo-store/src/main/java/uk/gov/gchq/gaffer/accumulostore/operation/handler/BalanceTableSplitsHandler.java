@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.operation.handler;
+
+import org.apache.commons.codec.binary.Base64;
+import org.apache.hadoop.io.Text;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.operation.impl.BalanceTableSplits;
+import uk.gov.gchq.gaffer.accumulostore.utils.TableSplitBalancer;
+import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+
+public class BalanceTableSplitsHandler implements OutputOperationHandler<BalanceTableSplits, List<String>> {
+    @Override
+    public List<String> doOperation(final BalanceTableSplits operation,
+                                    final Context context, final Store store)
+            throws OperationException {
+        return doOperation(operation, (AccumuloStore) store);
+    }
+
+    public List<String> doOperation(final BalanceTableSplits operation, final AccumuloStore store)
+            throws OperationException {
+        final AccumuloProperties properties = store.getProperties();
+        final TableSplitBalancer balancer;
+        try {
+            balancer = new TableSplitBalancer(store,
+                    null != operation.getMaxTabletSize() ? operation.getMaxTabletSize() : properties.getSplitManagementMaxTabletSize(),
+                    null != operation.getMaxTabletEntries() ? operation.getMaxTabletEntries() : properties.getSplitManagementMaxTabletEntries(),
+                    null != operation.getMinTabletSize() ? operation.getMinTabletSize() : properties.getSplitManagementMinTabletSize(),
+                    null != operation.getSkewFactor() ? operation.getSkewFactor() : properties.getSplitManagementSkewFactor(),
+                    null != operation.getMaxNewSplits() ? operation.getMaxNewSplits() : properties.getSplitManagementMaxNewSplits(),
+                    properties.getSplitManagementSampleSize());
+        } catch (final IllegalArgumentException e) {
+            throw new OperationException("Invalid table split balancing settings: " + e.getMessage(), e);
+        }
+
+        final SortedSet<Text> splits;
+        try {
+            splits = balancer.balance(operation.isDryRun());
+        } catch (final StoreException e) {
+            throw new OperationException("Failed to balance the table splits: " + e.getMessage(), e);
+        }
+
+        final List<String> encodedSplits = new ArrayList<>(splits.size());
+        try {
+            for (final Text split : splits) {
+                encodedSplits.add(new String(Base64.encodeBase64(split.copyBytes()), CommonConstants.UTF_8));
+            }
+        } catch (final UnsupportedEncodingException e) {
+            throw new OperationException("Failed to encode the split points", e);
+        }
+        return encodedSplits;
+    }
+}
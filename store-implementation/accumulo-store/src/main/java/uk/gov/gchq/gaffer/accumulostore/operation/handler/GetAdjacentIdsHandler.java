@@ -16,19 +16,24 @@
 
 package uk.gov.gchq.gaffer.accumulostore.operation.handler;
 
+import org.apache.accumulo.core.client.IteratorSetting;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.IteratorSettingFactory;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.accumulostore.retriever.AccumuloRetriever;
+import uk.gov.gchq.gaffer.accumulostore.retriever.impl.AccumuloAdjacentIdRetriever;
 import uk.gov.gchq.gaffer.accumulostore.retriever.impl.AccumuloSingleIDRetriever;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.TransformIterable;
 import uk.gov.gchq.gaffer.data.IsEdgeValidator;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
@@ -38,7 +43,9 @@ import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.user.User;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 public class GetAdjacentIdsHandler implements OutputOperationHandler<GetAdjacentIds, CloseableIterable<? extends EntityId>> {
 
@@ -54,32 +61,92 @@ public class GetAdjacentIdsHandler implements OutputOperationHandler<GetAdjacent
                                                              final AccumuloStore store)
             throws OperationException {
 
-        final AccumuloRetriever<?> edgeRetriever;
+        final GetElements getEdges = new GetElements.Builder()
+                .options(op.getOptions())
+                .option(AccumuloStoreConstants.OPERATION_RETURN_MATCHED_SEEDS_AS_EDGE_SOURCE, "true")
+                .view(new View.Builder()
+                        .merge(op.getView())
+                        .entities(Collections.emptyMap())
+                        .build())
+                .input(op.getInput())
+                .directedType(op.getDirectedType())
+                .inOutType(op.getIncludeIncomingOutGoing())
+                .build();
+
+        if (getEdges.getView().getEdgeGroups().isEmpty()) {
+            return new EmptyClosableIterable<>();
+        }
+
         try {
-            final IteratorSettingFactory iteratorFactory = store.getKeyPackage().getIteratorFactory();
-            final GetElements getEdges = new GetElements.Builder()
-                    .options(op.getOptions())
-                    .option(AccumuloStoreConstants.OPERATION_RETURN_MATCHED_SEEDS_AS_EDGE_SOURCE, "true")
-                    .view(new View.Builder()
-                            .merge(op.getView())
-                            .entities(Collections.emptyMap())
-                            .build())
-                    .input(op.getInput())
-                    .directedType(op.getDirectedType())
-                    .inOutType(op.getIncludeIncomingOutGoing())
-                    .build();
-
-            edgeRetriever = new AccumuloSingleIDRetriever<>(store, getEdges, user, iteratorFactory.getElementPreAggregationFilterIteratorSetting(getEdges.getView(), store),
-                    iteratorFactory.getElementPostAggregationFilterIteratorSetting(getEdges.getView(), store),
-                    iteratorFactory.getEdgeEntityDirectionFilterIteratorSetting(getEdges),
-                    iteratorFactory.getQueryTimeAggregatorIteratorSetting(getEdges.getView(), store));
+            if (requiresFullElements(getEdges.getView())) {
+                return getAdjacentIdsFromElements(getEdges, user, store);
+            }
+            return getAdjacentIdsFromKeys(getEdges, user, store);
         } catch (final IteratorSettingException | StoreException e) {
             throw new OperationException(e.getMessage(), e);
         }
+    }
 
+    private CloseableIterable<? extends EntityId> getAdjacentIdsFromElements(final GetElements getEdges,
+                                                                             final User user,
+                                                                             final AccumuloStore store)
+            throws IteratorSettingException, StoreException {
+        final IteratorSettingFactory iteratorFactory = store.getKeyPackage().getIteratorFactory();
+        final AccumuloRetriever<?> edgeRetriever = new AccumuloSingleIDRetriever<>(store, getEdges, user,
+                iteratorFactory.getElementPreAggregationFilterIteratorSetting(getEdges.getView(), store),
+                iteratorFactory.getElementPostAggregationFilterIteratorSetting(getEdges.getView(), store),
+                iteratorFactory.getEdgeEntityDirectionFilterIteratorSetting(getEdges),
+                iteratorFactory.getQueryTimeAggregatorIteratorSetting(getEdges.getView(), store));
         return new ExtractDestinationEntityId(edgeRetriever);
     }
 
+    private CloseableIterable<? extends EntityId> getAdjacentIdsFromKeys(final GetElements getEdges,
+                                                                         final User user,
+                                                                         final AccumuloStore store)
+            throws IteratorSettingException {
+        // The adjacent ids are extracted from the row keys, so the properties are only
+        // deserialised by the filter iterators and only when the view requires them.
+        final View view = getEdges.getView();
+        final IteratorSettingFactory iteratorFactory = store.getKeyPackage().getIteratorFactory();
+        final List<IteratorSetting> iteratorSettings = new ArrayList<>();
+        if (hasFilter(view, FilterType.PRE_AGGREGATION)) {
+            iteratorSettings.add(iteratorFactory.getElementPreAggregationFilterIteratorSetting(view, store));
+        }
+        if (hasFilter(view, FilterType.POST_AGGREGATION)) {
+            iteratorSettings.add(iteratorFactory.getElementPostAggregationFilterIteratorSetting(view, store));
+            iteratorSettings.add(iteratorFactory.getQueryTimeAggregatorIteratorSetting(view, store));
+        }
+        iteratorSettings.add(iteratorFactory.getEdgeEntityDirectionFilterIteratorSetting(getEdges));
+        iteratorSettings.add(iteratorFactory.getAdjacentVertexDeduplicationIteratorSetting(store));
+
+        return new AccumuloAdjacentIdRetriever(store, getEdges, user,
+                iteratorSettings.toArray(new IteratorSetting[iteratorSettings.size()]));
+    }
+
+    private static boolean requiresFullElements(final View view) {
+        for (final ViewElementDefinition edgeDef : view.getEdges().values()) {
+            if (null != edgeDef.getTransformer() || null != edgeDef.getPostTransformFilter()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasFilter(final View view, final FilterType filterType) {
+        for (final ViewElementDefinition edgeDef : view.getEdges().values()) {
+            final ElementFilter filter = FilterType.PRE_AGGREGATION == filterType
+                    ? edgeDef.getPreAggregationFilter() : edgeDef.getPostAggregationFilter();
+            if (null != filter) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private enum FilterType {
+        PRE_AGGREGATION, POST_AGGREGATION
+    }
+
     private static final class ExtractDestinationEntityId extends TransformIterable<Element, EntityId> {
         private ExtractDestinationEntityId(final Iterable<Element> input) {
             super(input, new IsEdgeValidator());
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.operation.handler;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.IteratorSettingFactory;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
+import uk.gov.gchq.gaffer.accumulostore.retriever.impl.AccumuloAllElementsRetriever;
+import uk.gov.gchq.gaffer.accumulostore.retriever.impl.AccumuloElementsRetriever;
+import uk.gov.gchq.gaffer.accumulostore.retriever.impl.AccumuloSingleIDRetriever;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetTopElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.operation.handler.AbstractGetTopElementsHandler;
+import uk.gov.gchq.gaffer.user.User;
+
+/**
+ * A <code>GetTopElementsHandler</code> ranks the elements on the tablet
+ * servers with a {@link uk.gov.gchq.gaffer.accumulostore.key.impl.TopKIterator},
+ * so at most limit elements are returned for each range scanned. These are
+ * merged and ranked again on the client.
+ * <p>
+ * If the view transforms the elements, the elements are ranked on the client
+ * once they have been transformed.
+ */
+public class GetTopElementsHandler extends AbstractGetTopElementsHandler {
+    @Override
+    protected CloseableIterable<? extends Element> getCandidates(final GetTopElements operation,
+                                                                 final Context context,
+                                                                 final Store store)
+            throws OperationException {
+        return getCandidates(operation, context.getUser(), (AccumuloStore) store);
+    }
+
+    public CloseableIterable<? extends Element> getCandidates(final GetTopElements operation,
+                                                              final User user,
+                                                              final AccumuloStore store)
+            throws OperationException {
+        final boolean rankOnTabletServers = !hasTransforms(operation.getView());
+        final IteratorSettingFactory iteratorFactory = store.getKeyPackage().getIteratorFactory();
+        try {
+            if (null == operation.getInput()) {
+                final GetAllElements getAllElements = createGetAllElements(operation);
+                if (!rankOnTabletServers) {
+                    return new AccumuloAllElementsRetriever(store, getAllElements, user);
+                }
+                return new AccumuloAllElementsRetriever(store, getAllElements, user,
+                        iteratorFactory.getElementPropertyRangeQueryFilter(getAllElements),
+                        iteratorFactory.getElementPreAggregationFilterIteratorSetting(getAllElements.getView(), store),
+                        iteratorFactory.getElementPostAggregationFilterIteratorSetting(getAllElements.getView(), store),
+                        iteratorFactory.getEdgeEntityDirectionFilterIteratorSetting(getAllElements),
+                        iteratorFactory.getQueryTimeAggregatorIteratorSetting(getAllElements.getView(), store),
+                        iteratorFactory.getTopKIteratorSetting(operation, store));
+            }
+
+            final GetElements getElements = createGetElements(operation);
+            if (!rankOnTabletServers) {
+                return new AccumuloElementsRetriever(store, getElements, user);
+            }
+            return new AccumuloSingleIDRetriever<>(store, getElements, user,
+                    iteratorFactory.getElementPreAggregationFilterIteratorSetting(getElements.getView(), store),
+                    iteratorFactory.getElementPostAggregationFilterIteratorSetting(getElements.getView(), store),
+                    iteratorFactory.getEdgeEntityDirectionFilterIteratorSetting(getElements),
+                    iteratorFactory.getQueryTimeAggregatorIteratorSetting(getElements.getView(), store),
+                    iteratorFactory.getTopKIteratorSetting(operation, store));
+        } catch (final IteratorSettingException | StoreException e) {
+            throw new OperationException("Failed to get top elements", e);
+        }
+    }
+}
@@ -19,18 +19,25 @@ import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.NullWritable;
 import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.Text;
 import org.apache.hadoop.io.compress.GzipCodec;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.hadoop.mapreduce.Job;
 import org.apache.hadoop.mapreduce.lib.output.SequenceFileOutputFormat;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.mapper.SampleDataForSplitPointsMapper;
+import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.mapper.SampleRowKeysForSplitPointsMapper;
+import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.mapper.SplitPointSampleWritable;
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.operation.SampleDataForSplitPoints;
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.reducer.AccumuloKeyValueReducer;
+import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.reducer.SplitPointSampleCombiner;
+import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.reducer.SplitPointsReducer;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreException;
 import java.io.IOException;
 
 public class SampleDataForSplitPointsJobFactory {
@@ -39,6 +46,9 @@ public class SampleDataForSplitPointsJobFactory {
     public static final String SCHEMA = "schema";
     public static final String MAPPER_GENERATOR = "mapperGenerator";
     public static final String VALIDATE = "validate";
+    public static final String SAMPLE_SIZE = "sample_size";
+    public static final String NUM_SPLITS = "num_splits";
+    public static final int DEFAULT_SAMPLE_SIZE = 100000;
 
     /**
      * Creates a job with the store specific job initialisation and then applies the operation specific
@@ -75,6 +85,10 @@ public class SampleDataForSplitPointsJobFactory {
         jobConf.set(PROPORTION_TO_SAMPLE, String.valueOf(operation.getProportionToSample()));
         jobConf.set(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS,
                 ((AccumuloStore) store).getKeyPackage().getKeyConverter().getClass().getName());
+        if (null != operation.getSampleSize()) {
+            jobConf.setInt(SAMPLE_SIZE, operation.getSampleSize());
+            jobConf.setInt(NUM_SPLITS, getNumberOfTabletServers(store) - 1);
+        }
         Integer numTasks = operation.getNumMapTasks();
         if (null != numTasks) {
             jobConf.setNumMapTasks(numTasks);
@@ -94,7 +108,22 @@ public class SampleDataForSplitPointsJobFactory {
         return "Split Table: Generator=" + mapperGenerator + ", output=" + outputPath;
     }
 
+    private int getNumberOfTabletServers(final Store store) throws IOException {
+        try {
+            return ((AccumuloStore) store).getConnection().instanceOperations().getTabletServers().size();
+        } catch (final StoreException e) {
+            throw new IOException("Failed to get the number of tablet servers: " + e.getMessage(), e);
+        }
+    }
+
     private void setupMapper(final Job job, final SampleDataForSplitPoints operation, final Store store) throws IOException {
+        if (null != operation.getSampleSize()) {
+            job.setMapperClass(SampleRowKeysForSplitPointsMapper.class);
+            job.setMapOutputKeyClass(NullWritable.class);
+            job.setMapOutputValueClass(SplitPointSampleWritable.class);
+            return;
+        }
+
         job.setMapperClass(SampleDataForSplitPointsMapper.class);
         job.setMapOutputKeyClass(Key.class);
         job.setMapOutputValueClass(Value.class);
@@ -102,6 +131,14 @@ public class SampleDataForSplitPointsJobFactory {
 
     private void setupReducer(final Job job, final SampleDataForSplitPoints operation, final Store store)
             throws IOException {
+        if (null != operation.getSampleSize()) {
+            job.setCombinerClass(SplitPointSampleCombiner.class);
+            job.setReducerClass(SplitPointsReducer.class);
+            job.setOutputKeyClass(Text.class);
+            job.setOutputValueClass(NullWritable.class);
+            return;
+        }
+
         job.setReducerClass(AccumuloKeyValueReducer.class);
         job.setOutputKeyClass(Key.class);
         job.setOutputValueClass(Value.class);
@@ -22,7 +22,9 @@ import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.conf.Configured;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.NullWritable;
 import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.Text;
 import org.apache.hadoop.mapred.Task;
 import org.apache.hadoop.mapreduce.Counter;
 import org.apache.hadoop.mapreduce.Job;
@@ -38,6 +40,7 @@ import uk.gov.gchq.gaffer.store.StoreException;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.util.Arrays;
 
 
 public class SampleDataAndCreateSplitsFileTool extends Configured implements Tool {
@@ -81,6 +84,12 @@ public class SampleDataAndCreateSplitsFileTool extends Configured implements Too
             throw new OperationException("Error running job" + e.getMessage(), e);
         }
 
+        if (null != operation.getSampleSize()) {
+            // The reducer has already calculated the split points from the merged samples
+            writeSplitPoints();
+            return SUCCESS_RESPONSE;
+        }
+
         // Find the number of records output
         // NB In the following line use mapred.Task.Counter.REDUCE_OUTPUT_RECORDS rather than
         // mapreduce.TaskCounter.REDUCE_OUTPUT_RECORDS as this is more compatible with earlier
@@ -153,4 +162,40 @@ public class SampleDataAndCreateSplitsFileTool extends Configured implements Too
         return SUCCESS_RESPONSE;
     }
 
+    private void writeSplitPoints() throws OperationException {
+        final Path resultsFile = new Path(operation.getOutputPath(), "part-r-00000");
+        final Configuration conf = getConf();
+        final FileSystem fs;
+        try {
+            fs = FileSystem.get(conf);
+        } catch (final IOException e) {
+            LOGGER.error("Exception getting filesystem: {}", e.getMessage());
+            throw new OperationException("Failed to get filesystem from configuration: " + e.getMessage(), e);
+        }
+        LOGGER.info("Writing splits from {} to {}", resultsFile, operation.getResultingSplitsFilePath());
+        final Text row = new Text();
+        int numberSplitPointsOutput = 0;
+        try (final SequenceFile.Reader reader = new SequenceFile.Reader(fs, resultsFile, conf);
+             final PrintStream splitsWriter = new PrintStream(
+                     new BufferedOutputStream(fs.create(new Path(operation.getResultingSplitsFilePath()), true)),
+                     false, CommonConstants.UTF_8)
+        ) {
+            while (reader.next(row, NullWritable.get())) {
+                numberSplitPointsOutput++;
+                splitsWriter.println(new String(Base64.encodeBase64(Arrays.copyOf(row.getBytes(), row.getLength())), CommonConstants.UTF_8));
+            }
+            LOGGER.info("Total number of split points output was {}", numberSplitPointsOutput);
+        } catch (final IOException e) {
+            LOGGER.error("Exception reading results file and outputting split points: {}", e.getMessage());
+            throw new OperationException(e.getMessage(), e);
+        }
+
+        try {
+            fs.delete(resultsFile, true);
+            LOGGER.info("Deleted the results file {}", resultsFile);
+        } catch (final IOException e) {
+            LOGGER.error("Failed to delete the results file {}", resultsFile);
+            throw new OperationException("Failed to delete the results file: " + e.getMessage(), e);
+        }
+    }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.operation.hdfs.mapper;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.hadoop.io.NullWritable;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.handler.job.factory.SampleDataForSplitPointsJobFactory;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.commonutil.SplitPointSampler;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.hdfs.operation.mapper.AbstractAddElementsFromHdfsMapper;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Mapper class used for estimating split points. Rather than sampling a fixed
+ * proportion of the elements, every row key is offered to a bounded
+ * {@link SplitPointSampler}, weighted by the serialised size of the key and
+ * value. The sample is output when the mapper finishes, to be merged by a
+ * combiner and turned into split points by a single reducer.
+ */
+public class SampleRowKeysForSplitPointsMapper<KEY_IN, VALUE_IN> extends AbstractAddElementsFromHdfsMapper<KEY_IN, VALUE_IN, NullWritable, SplitPointSampleWritable> {
+    private AccumuloElementConverter elementConverter;
+    private SplitPointSampler sampler;
+
+    @Override
+    protected void setup(final Context context) {
+        super.setup(context);
+        sampler = new SplitPointSampler(context.getConfiguration().getInt(SampleDataForSplitPointsJobFactory.SAMPLE_SIZE, SampleDataForSplitPointsJobFactory.DEFAULT_SAMPLE_SIZE));
+
+        final String converterClass = context.getConfiguration().get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS);
+        try {
+            final Class<?> elementConverterClass = Class.forName(converterClass);
+            elementConverter = (AccumuloElementConverter) elementConverterClass.getConstructor(Schema.class)
+                    .newInstance(schema);
+        } catch (final ClassNotFoundException | InstantiationException | IllegalAccessException | IllegalArgumentException
+                | InvocationTargetException | NoSuchMethodException | SecurityException e) {
+            throw new IllegalArgumentException("Element converter could not be created: " + converterClass, e);
+        }
+    }
+
+    @Override
+    protected void map(final Element element, final Context context) throws IOException, InterruptedException {
+        final Pair<Key, Key> keyPair;
+        final Value value;
+        try {
+            keyPair = elementConverter.getKeysFromElement(element);
+            value = elementConverter.getValueFromElement(element);
+        } catch (final AccumuloElementConversionException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+
+        addToSample(keyPair.getFirst(), value);
+        if (null != keyPair.getSecond()) {
+            addToSample(keyPair.getSecond(), value);
+        }
+        context.getCounter("Split points", "Number offered to sample").increment(1L);
+    }
+
+    @Override
+    protected void cleanup(final Context context) throws IOException, InterruptedException {
+        for (final SplitPointSampler.Sample sample : sampler.getSamples()) {
+            context.write(NullWritable.get(), new SplitPointSampleWritable(sample));
+        }
+    }
+
+    private void addToSample(final Key key, final Value value) {
+        sampler.add(key.getRowData().toArray(), key.getSize() + value.getSize());
+    }
+}
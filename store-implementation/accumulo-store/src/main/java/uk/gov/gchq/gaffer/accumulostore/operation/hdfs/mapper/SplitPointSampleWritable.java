@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.operation.hdfs.mapper;
+
+import org.apache.hadoop.io.Writable;
+import uk.gov.gchq.gaffer.commonutil.SplitPointSampler;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A <code>SplitPointSampleWritable</code> is a {@link Writable} wrapper for a
+ * {@link SplitPointSampler.Sample}, used to pass the row keys sampled by a
+ * {@link SampleRowKeysForSplitPointsMapper} to the combiner and reducer.
+ */
+public class SplitPointSampleWritable implements Writable {
+    private SplitPointSampler.Sample sample;
+
+    public SplitPointSampleWritable() {
+    }
+
+    public SplitPointSampleWritable(final SplitPointSampler.Sample sample) {
+        this.sample = sample;
+    }
+
+    public SplitPointSampler.Sample getSample() {
+        return sample;
+    }
+
+    @Override
+    public void write(final DataOutput out) throws IOException {
+        out.writeInt(sample.getKey().length);
+        out.write(sample.getKey());
+        out.writeLong(sample.getWeight());
+        out.writeDouble(sample.getPriority());
+    }
+
+    @Override
+    public void readFields(final DataInput in) throws IOException {
+        // A new key is read each time, as hadoop reuses the writable for each value
+        final byte[] key = new byte[in.readInt()];
+        in.readFully(key);
+        final long weight = in.readLong();
+        final double priority = in.readDouble();
+        sample = new SplitPointSampler.Sample(key, weight, priority);
+    }
+}
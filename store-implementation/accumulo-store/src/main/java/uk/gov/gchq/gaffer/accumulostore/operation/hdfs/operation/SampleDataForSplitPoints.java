@@ -53,6 +53,14 @@ public class SampleDataForSplitPoints implements
     private boolean validate = true;
     private float proportionToSample;
 
+    /**
+     * If set, each mapper keeps a bounded sample of this many row keys, weighted by their
+     * serialised size, rather than sampling the proportionToSample of the elements.
+     * The samples are merged in a combiner and the reducer calculates the split points
+     * from the merged sample, so the reducer never sorts more than a bounded number of keys.
+     */
+    private Integer sampleSize;
+
     /**
      * Used to generate elements from the Hdfs files.
      * For Avro data see {@link uk.gov.gchq.gaffer.hdfs.operation.mapper.generator.AvroMapperGenerator}.
@@ -106,6 +114,14 @@ public class SampleDataForSplitPoints implements
         this.proportionToSample = proportionToSample;
     }
 
+    public Integer getSampleSize() {
+        return sampleSize;
+    }
+
+    public void setSampleSize(final Integer sampleSize) {
+        this.sampleSize = sampleSize;
+    }
+
     @Override
     public List<String> getInputPaths() {
         return inputPaths;
@@ -210,5 +226,10 @@ public class SampleDataForSplitPoints implements
             _getOp().setProportionToSample(proportionToSample);
             return _self();
         }
+
+        public Builder sampleSize(final Integer sampleSize) {
+            _getOp().setSampleSize(sampleSize);
+            return _self();
+        }
     }
 }
@@ -15,6 +15,7 @@
  */
 package uk.gov.gchq.gaffer.accumulostore.operation.hdfs.reducer;
 
+import com.google.common.collect.Iterators;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
 import org.apache.hadoop.mapreduce.Reducer;
@@ -89,18 +90,20 @@ public class AccumuloKeyValueReducer extends Reducer<Key, Value, Key, Value> {
         } catch (final UnsupportedEncodingException e) {
             throw new RuntimeException(e.getMessage(), e);
         }
-        Properties state;
+        final ElementAggregator aggregator = schema.getElement(group).getAggregator();
+        final Properties state = aggregator.apply(
+                Iterators.transform(Iterators.concat(Iterators.singletonIterator(firstValue), iter),
+                        value -> getPropertiesFromValue(group, value)));
         try {
-            final ElementAggregator aggregator = schema.getElement(group).getAggregator();
-            state = elementConverter.getPropertiesFromValue(group, firstValue);
-            while (iter.hasNext()) {
-                state = aggregator.apply(state, elementConverter.getPropertiesFromValue(group, iter.next()));
-            }
+            return elementConverter.getValueFromProperties(group, state);
         } catch (final AccumuloElementConversionException e) {
             throw new IllegalArgumentException("Failed to get Properties from an accumulo value", e);
         }
+    }
+
+    private Properties getPropertiesFromValue(final String group, final Value value) {
         try {
-            return elementConverter.getValueFromProperties(group, state);
+            return elementConverter.getPropertiesFromValue(group, value);
         } catch (final AccumuloElementConversionException e) {
             throw new IllegalArgumentException("Failed to get Properties from an accumulo value", e);
         }
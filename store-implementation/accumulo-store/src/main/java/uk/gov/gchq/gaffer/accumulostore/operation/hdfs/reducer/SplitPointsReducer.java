@@ -0,0 +1,47 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.operation.hdfs.reducer;
+
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapreduce.Reducer;
+import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.handler.job.factory.SampleDataForSplitPointsJobFactory;
+import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.mapper.SplitPointSampleWritable;
+import uk.gov.gchq.gaffer.commonutil.SplitPointSampler;
+import java.io.IOException;
+
+/**
+ * Reducer that merges the row key samples from all the mappers and outputs
+ * the split points, in order, that divide the sampled rows into ranges of
+ * roughly equal size.
+ */
+public class SplitPointsReducer extends Reducer<NullWritable, SplitPointSampleWritable, Text, NullWritable> {
+    @Override
+    protected void reduce(final NullWritable key, final Iterable<SplitPointSampleWritable> values, final Context context)
+            throws IOException, InterruptedException {
+        final SplitPointSampler sampler = new SplitPointSampler(context.getConfiguration().getInt(SampleDataForSplitPointsJobFactory.SAMPLE_SIZE, SampleDataForSplitPointsJobFactory.DEFAULT_SAMPLE_SIZE));
+        for (final SplitPointSampleWritable value : values) {
+            sampler.add(value.getSample());
+        }
+
+        final int numSplits = context.getConfiguration().getInt(SampleDataForSplitPointsJobFactory.NUM_SPLITS, 0);
+        for (final byte[] splitPoint : sampler.getSplitPoints(numSplits)) {
+            context.write(new Text(splitPoint), NullWritable.get());
+        }
+        context.getCounter("Split points", "Number of split points").increment(sampler.getSplitPoints(numSplits).size());
+    }
+}
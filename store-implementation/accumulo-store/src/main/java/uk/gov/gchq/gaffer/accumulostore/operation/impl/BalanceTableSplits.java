@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.operation.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.Options;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.operation.serialisation.TypeReferenceImpl;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A <code>BalanceTableSplits</code> operation reads the sizes of the tablets
+ * of the Accumulo table and splits any that are too large, or much larger than the
+ * mean tablet size, into tablets of roughly equal size. The new split points
+ * are returned Base64 encoded, in the same format as a splits file.
+ * <p>
+ * Any of the bounds that are not set are taken from the store properties,
+ * see {@link uk.gov.gchq.gaffer.accumulostore.AccumuloProperties}. If dryRun is
+ * true the split points are calculated but not added to the table.
+ *
+ * @see uk.gov.gchq.gaffer.accumulostore.utils.TableSplitBalancer
+ */
+public class BalanceTableSplits implements
+        Operation,
+        Output<List<String>>,
+        Options {
+    private boolean dryRun;
+    private Long maxTabletSize;
+    private Long maxTabletEntries;
+    private Long minTabletSize;
+    private Double skewFactor;
+    private Integer maxNewSplits;
+    private Map<String, String> options;
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public void setDryRun(final boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    public Long getMaxTabletSize() {
+        return maxTabletSize;
+    }
+
+    public void setMaxTabletSize(final Long maxTabletSize) {
+        this.maxTabletSize = maxTabletSize;
+    }
+
+    public Long getMaxTabletEntries() {
+        return maxTabletEntries;
+    }
+
+    public void setMaxTabletEntries(final Long maxTabletEntries) {
+        this.maxTabletEntries = maxTabletEntries;
+    }
+
+    public Long getMinTabletSize() {
+        return minTabletSize;
+    }
+
+    public void setMinTabletSize(final Long minTabletSize) {
+        this.minTabletSize = minTabletSize;
+    }
+
+    public Double getSkewFactor() {
+        return skewFactor;
+    }
+
+    public void setSkewFactor(final Double skewFactor) {
+        this.skewFactor = skewFactor;
+    }
+
+    public Integer getMaxNewSplits() {
+        return maxNewSplits;
+    }
+
+    public void setMaxNewSplits(final Integer maxNewSplits) {
+        this.maxNewSplits = maxNewSplits;
+    }
+
+    @Override
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(final Map<String, String> options) {
+        this.options = options;
+    }
+
+    @Override
+    public TypeReference<List<String>> getOutputTypeReference() {
+        return new TypeReferenceImpl.List<>();
+    }
+
+    public static class Builder extends Operation.BaseBuilder<BalanceTableSplits, Builder>
+            implements Output.Builder<BalanceTableSplits, List<String>, Builder>,
+            Options.Builder<BalanceTableSplits, Builder> {
+        public Builder() {
+            super(new BalanceTableSplits());
+        }
+
+        public Builder dryRun(final boolean dryRun) {
+            _getOp().setDryRun(dryRun);
+            return _self();
+        }
+
+        public Builder maxTabletSize(final Long maxTabletSize) {
+            _getOp().setMaxTabletSize(maxTabletSize);
+            return _self();
+        }
+
+        public Builder maxTabletEntries(final Long maxTabletEntries) {
+            _getOp().setMaxTabletEntries(maxTabletEntries);
+            return _self();
+        }
+
+        public Builder minTabletSize(final Long minTabletSize) {
+            _getOp().setMinTabletSize(minTabletSize);
+            return _self();
+        }
+
+        public Builder skewFactor(final Double skewFactor) {
+            _getOp().setSkewFactor(skewFactor);
+            return _self();
+        }
+
+        public Builder maxNewSplits(final Integer maxNewSplits) {
+            _getOp().setMaxNewSplits(maxNewSplits);
+            return _self();
+        }
+    }
+}
@@ -28,7 +28,9 @@ import org.slf4j.LoggerFactory;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.RangeFactoryException;
+import uk.gov.gchq.gaffer.commonutil.AdaptiveBatchSizer;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.RangeCoalescer;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyCloseableIterator;
@@ -41,9 +43,11 @@ import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<? extends Element>> & GraphFilters & Options, I_ITEM>
         extends AccumuloRetriever<OP> {
@@ -84,25 +88,34 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
 
     protected abstract void addToRanges(final I_ITEM seed, final Set<Range> ranges) throws RangeFactoryException;
 
+    /**
+     * Creates the {@link AdaptiveBatchSizer} that decides how many seeds are
+     * scanned by each batch scanner. Unless the adaptive batch scanner is
+     * enabled in the store properties, the batch size is fixed at the maximum
+     * entries for a batch scanner.
+     *
+     * @return the batch sizer
+     */
+    protected AdaptiveBatchSizer createBatchSizer() {
+        return AdaptiveBatchSizer.create(store.getProperties());
+    }
+
     protected class ElementIterator implements CloseableIterator<Element> {
         private final Iterator<? extends I_ITEM> idsIterator;
+        private final AdaptiveBatchSizer batchSizer = createBatchSizer();
+        private final RangeCoalescer<Range> rangeCoalescer = new RangeCoalescer<>(Range::mergeOverlapping, store.getRangeCoalescingMetrics());
         private int count;
+        private int numRanges;
+        private long numResults;
+        private long batchScanNanos;
+        private boolean batchComplete;
         private BatchScanner scanner;
         private Iterator<Entry<Key, Value>> scannerIterator;
         private Element nextElm;
 
         public ElementIterator(final Iterator<? extends I_ITEM> idIterator) throws RetrieverException {
             idsIterator = idIterator;
-            count = 0;
-            final Set<Range> ranges = new HashSet<>();
-            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                count++;
-                try {
-                    addToRanges(idsIterator.next(), ranges);
-                } catch (final RangeFactoryException e) {
-                    LOGGER.error("Failed to create a range from given seed pair", e);
-                }
-            }
+            final List<Range> ranges = getNextRanges();
 
             // Create BatchScanner, appropriately configured (i.e. ranges,
             // iterators, etc).
@@ -122,8 +135,9 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
             if (null != nextElm) {
                 return true;
             }
-            while (scannerIterator.hasNext()) {
-                final Entry<Key, Value> entry = scannerIterator.next();
+            while (scannerHasNext()) {
+                final Entry<Key, Value> entry = scannerNext();
+                numResults++;
                 try {
                     nextElm = elementConverter.getFullElement(
                             entry.getKey(),
@@ -145,17 +159,9 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
             // through the provided entities, and see if there are more.
             // If so create the next scanner, if there are no more entities
             // then return false.
-            while (idsIterator.hasNext() && !scannerIterator.hasNext()) {
-                count = 0;
-                final Set<Range> ranges = new HashSet<>();
-                while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                    count++;
-                    try {
-                        addToRanges(idsIterator.next(), ranges);
-                    } catch (final RangeFactoryException e) {
-                        LOGGER.error("Failed to create a range from given seed", e);
-                    }
-                }
+            while (idsIterator.hasNext() && !scannerHasNext()) {
+                completeBatch();
+                final List<Range> ranges = getNextRanges();
                 scanner.close();
                 try {
                     scanner = getScanner(ranges);
@@ -165,7 +171,7 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
                 }
                 scannerIterator = scanner.iterator();
             }
-            if (!scannerIterator.hasNext()) {
+            if (!scannerHasNext()) {
                 scanner.close();
                 return false;
             } else {
@@ -196,5 +202,58 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
                 scanner.close();
             }
         }
+
+        // Reads the next batch of seeds, the size of the batch is decided by the batch sizer.
+        // Duplicate seeds are skipped and overlapping ranges are merged before the batch is scanned.
+        private List<Range> getNextRanges() {
+            count = 0;
+            final int batchSize = batchSizer.getBatchSize();
+            final Set<Range> ranges = new HashSet<>();
+            while (idsIterator.hasNext() && count < batchSize) {
+                count++;
+                final I_ITEM seed = idsIterator.next();
+                if (rangeCoalescer.addSeed(seed)) {
+                    try {
+                        addToRanges(seed, ranges);
+                    } catch (final RangeFactoryException e) {
+                        LOGGER.error("Failed to create a range from given seed", e);
+                    }
+                }
+            }
+            final List<Range> mergedRanges = rangeCoalescer.coalesce(ranges);
+            numRanges = mergedRanges.size();
+            numResults = 0;
+            batchComplete = false;
+            batchScanNanos = 0;
+            return mergedRanges;
+        }
+
+        // Feeds back the size and scan time of the spent batch to the batch sizer
+        private void completeBatch() {
+            if (!batchComplete) {
+                batchComplete = true;
+                batchSizer.update(count, numRanges, numResults, TimeUnit.NANOSECONDS.toMillis(batchScanNanos));
+            }
+        }
+
+        // The scanner is only timed while it is being read, so the time the
+        // caller spends consuming the elements does not count towards the batch
+        private boolean scannerHasNext() {
+            final long startTime = System.nanoTime();
+            try {
+                return scannerIterator.hasNext();
+            } finally {
+                batchScanNanos += System.nanoTime() - startTime;
+            }
+        }
+
+        private Entry<Key, Value> scannerNext() {
+            final long startTime = System.nanoTime();
+            try {
+                return scannerIterator.next();
+            } finally {
+                batchScanNanos += System.nanoTime() - startTime;
+            }
+        }
     }
 }
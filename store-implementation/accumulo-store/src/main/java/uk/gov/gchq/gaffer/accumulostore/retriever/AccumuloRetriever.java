@@ -36,7 +36,7 @@ import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
-import java.util.Set;
+import java.util.Collection;
 
 public abstract class AccumuloRetriever<OP extends Output<CloseableIterable<? extends Element>> & GraphFilters> implements CloseableIterable<Element> {
     protected CloseableIterator<Element> iterator;
@@ -110,7 +110,7 @@ public abstract class AccumuloRetriever<OP extends Output<CloseableIterable<? ex
      * @throws TableNotFoundException if an accumulo table could not be found
      * @throws StoreException         if a connection to accumulo could not be created.
      */
-    protected BatchScanner getScanner(final Set<Range> ranges) throws TableNotFoundException, StoreException {
+    protected BatchScanner getScanner(final Collection<Range> ranges) throws TableNotFoundException, StoreException {
         final BatchScanner scanner = store.getConnection().createBatchScanner(store.getProperties().getTable(),
                 authorisations, store.getProperties().getThreadsForBatchScanner());
         if (iteratorSettings != null) {
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
+
+import org.apache.accumulo.core.client.BatchScanner;
+import org.apache.accumulo.core.client.IteratorSetting;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.Authorizations;
+import org.apache.hadoop.io.Text;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloRuntimeException;
+import uk.gov.gchq.gaffer.accumulostore.key.RangeFactory;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.RangeFactoryException;
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.RangeCoalescer;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.user.User;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An <code>AccumuloAdjacentIdRetriever</code> returns the vertices adjacent to
+ * the seeds of a {@link GetElements} operation over edges. Only the row key of
+ * each edge is deserialised, and only the adjacent vertex is extracted from it,
+ * so no properties or edges are created.
+ * <p>
+ * This retriever cannot apply transformations or post transform filters, so it
+ * should only be used when the view does not contain them.
+ */
+public class AccumuloAdjacentIdRetriever implements CloseableIterable<EntityId> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloAdjacentIdRetriever.class);
+
+    private final AccumuloStore store;
+    private final GetElements operation;
+    private final RangeFactory rangeFactory;
+    private final AccumuloElementConverter elementConverter;
+    private final Authorizations authorisations;
+    private final IteratorSetting[] iteratorSettings;
+    private CloseableIterator<EntityId> iterator;
+
+    public AccumuloAdjacentIdRetriever(final AccumuloStore store, final GetElements operation,
+                                       final User user, final IteratorSetting... iteratorSettings) {
+        this.store = store;
+        this.operation = operation;
+        this.rangeFactory = store.getKeyPackage().getRangeFactory();
+        this.elementConverter = store.getKeyPackage().getKeyConverter();
+        this.iteratorSettings = iteratorSettings;
+        if (null != user && null != user.getDataAuths()) {
+            this.authorisations = new Authorizations(
+                    user.getDataAuths().toArray(new String[user.getDataAuths().size()]));
+        } else {
+            this.authorisations = new Authorizations();
+        }
+    }
+
+    /**
+     * Only 1 iterator can be open at a time.
+     *
+     * @return a closeable iterator of adjacent ids.
+     */
+    @Override
+    public CloseableIterator<EntityId> iterator() {
+        CloseableUtil.close(iterator);
+        final Iterable<? extends ElementId> seeds = operation.getInput();
+        final Iterator<? extends ElementId> seedsIterator = null != seeds
+                ? seeds.iterator() : Collections.<ElementId>emptyIterator();
+        iterator = new AdjacentIdIterator(seedsIterator);
+        return iterator;
+    }
+
+    @Override
+    public void close() {
+        CloseableUtil.close(iterator);
+    }
+
+    private BatchScanner getScanner(final Collection<Range> ranges) throws TableNotFoundException, StoreException {
+        final BatchScanner scanner = store.getConnection().createBatchScanner(store.getProperties().getTable(),
+                authorisations, store.getProperties().getThreadsForBatchScanner());
+        for (final IteratorSetting iteratorSetting : iteratorSettings) {
+            if (null != iteratorSetting) {
+                scanner.addScanIterator(iteratorSetting);
+            }
+        }
+        scanner.setRanges(ranges);
+        for (final String col : operation.getView().getEdgeGroups()) {
+            scanner.fetchColumnFamily(new Text(col));
+        }
+        return scanner;
+    }
+
+    private final class AdjacentIdIterator implements CloseableIterator<EntityId> {
+        private final Iterator<? extends ElementId> seeds;
+        private final RangeCoalescer<Range> rangeCoalescer = new RangeCoalescer<>(Range::mergeOverlapping, store.getRangeCoalescingMetrics());
+        private BatchScanner scanner;
+        private Iterator<Entry<Key, Value>> entries = Collections.emptyIterator();
+        private EntityId nextId;
+
+        private AdjacentIdIterator(final Iterator<? extends ElementId> seeds) {
+            this.seeds = seeds;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == nextId) {
+                if (entries.hasNext()) {
+                    final Object adjacentVertex;
+                    try {
+                        adjacentVertex = elementConverter.getAdjacentVertexFromKey(entries.next().getKey());
+                    } catch (final AccumuloElementConversionException e) {
+                        LOGGER.error("Failed to re-create an adjacent vertex from a key, skipping key", e);
+                        continue;
+                    }
+                    if (null != adjacentVertex) {
+                        nextId = new EntitySeed(adjacentVertex);
+                    }
+                } else if (seeds.hasNext()) {
+                    closeScanner();
+                    final List<Range> ranges = nextRanges();
+                    if (!ranges.isEmpty()) {
+                        scanner = createScanner(ranges);
+                        entries = scanner.iterator();
+                    }
+                } else {
+                    close();
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public EntityId next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final EntityId result = nextId;
+            nextId = null;
+            return result;
+        }
+
+        @Override
+        public void close() {
+            closeScanner();
+            CloseableUtil.close(seeds);
+        }
+
+        private List<Range> nextRanges() {
+            final Set<Range> ranges = new HashSet<>();
+            int count = 0;
+            while (seeds.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
+                count++;
+                final ElementId seed = seeds.next();
+                if (!rangeCoalescer.addSeed(seed)) {
+                    continue;
+                }
+                try {
+                    ranges.addAll(rangeFactory.getRange(seed, operation));
+                } catch (final RangeFactoryException e) {
+                    LOGGER.error("Failed to create a range from given seed", e);
+                }
+            }
+            return rangeCoalescer.coalesce(ranges);
+        }
+
+        private BatchScanner createScanner(final List<Range> ranges) {
+            try {
+                return getScanner(ranges);
+            } catch (final TableNotFoundException | StoreException e) {
+                throw new AccumuloRuntimeException("Failed to create a scanner for the adjacent ids", e);
+            }
+        }
+
+        private void closeScanner() {
+            if (null != scanner) {
+                scanner.close();
+                scanner = null;
+                entries = Collections.emptyIterator();
+            }
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
 
 import com.google.common.collect.Sets;
+import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.data.Range;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,6 +54,23 @@ public class AccumuloAllElementsRetriever extends AccumuloItemRetriever<GetAllEl
                 store.getKeyPackage().getIteratorFactory().getQueryTimeAggregatorIteratorSetting(operation.getView(), store));
     }
 
+    /**
+     * Use of the varargs parameter here will mean the usual default iterators
+     * wont be applied, so they must be passed in with any additional iterators.
+     *
+     * @param store            the accumulo store
+     * @param operation        the get all elements operation
+     * @param user             the user executing the operation
+     * @param iteratorSettings the iterator settings
+     * @throws StoreException if any store issues occur
+     */
+    public AccumuloAllElementsRetriever(final AccumuloStore store, final GetAllElements operation,
+                                        final User user,
+                                        final IteratorSetting... iteratorSettings)
+            throws StoreException {
+        super(store, operation, user, iteratorSettings);
+    }
+
     /**
      * Only 1 iterator can be open at a time.
      *
@@ -16,13 +16,24 @@
 
 package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
 
+import org.apache.accumulo.core.client.BatchScanner;
 import org.apache.accumulo.core.client.IteratorSetting;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.RangeFactoryException;
 import uk.gov.gchq.gaffer.accumulostore.retriever.AccumuloItemRetriever;
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.RangeCoalescer;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.EmptyCloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.id.ElementId;
@@ -31,14 +42,30 @@ import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.InputOutput;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 /**
  * This allows queries for all data from between the provided
  * {@link uk.gov.gchq.gaffer.data.element.id.ElementId} pairs.
+ * <p>
+ * The pairs are read in batches of up to the max entries for a batch scanner,
+ * and up to {@link uk.gov.gchq.gaffer.accumulostore.AccumuloProperties#getConcurrentScannersForRanges()}
+ * batch scanners are open at the same time, so later batches are scanned
+ * while the results of earlier batches are being consumed. Duplicate pairs
+ * within a batch are dropped and overlapping ranges are merged before the
+ * batch is scanned.
  */
 public class AccumuloRangeIDRetriever<OP extends InputOutput<Iterable<? extends Pair<? extends ElementId, ? extends ElementId>>, CloseableIterable<? extends Element>> & GraphFilters & Options>
         extends AccumuloItemRetriever<OP, Pair<ElementId, ElementId>> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloRangeIDRetriever.class);
 
     public AccumuloRangeIDRetriever(final AccumuloStore store, final OP operation, final User user)
             throws IteratorSettingException, StoreException {
@@ -67,8 +94,229 @@ public class AccumuloRangeIDRetriever<OP extends InputOutput<Iterable<? extends
         super(store, operation, user, iteratorSettings);
     }
 
+    /**
+     * Only 1 iterator can be open at a time.
+     *
+     * @return a closeable iterator of items.
+     */
+    @Override
+    public CloseableIterator<Element> iterator() {
+        CloseableUtil.close(iterator);
+
+        if (null == operation.getInput()) {
+            return new EmptyCloseableIterator<>();
+        }
+
+        final Iterator<? extends Pair<ElementId, ElementId>> pairs = ((Iterable<? extends Pair<ElementId, ElementId>>) operation.getInput()).iterator();
+        if (!pairs.hasNext()) {
+            CloseableUtil.close(pairs);
+            return new EmptyCloseableIterator<>();
+        }
+
+        iterator = new RangeBatchIterator(pairs);
+        return iterator;
+    }
+
     @Override
     protected void addToRanges(final Pair<ElementId, ElementId> seed, final Set<Range> ranges) throws RangeFactoryException {
         ranges.add(rangeFactory.getRangeFromPair(seed, operation));
     }
+
+    /**
+     * Whether duplicate seed pairs should be dropped and overlapping ranges
+     * merged before each batch is grouped and scanned. Retrievers that return
+     * a result for each range should override this to return false.
+     *
+     * @return true if the ranges should be coalesced
+     */
+    protected boolean isCoalescingRanges() {
+        return true;
+    }
+
+    /**
+     * Splits a batch of ranges into the groups of ranges that are scanned
+     * together. By default the whole batch is scanned with a single batch scanner.
+     *
+     * @param ranges the batch of ranges
+     * @return the groups of ranges to scan
+     */
+    protected List<List<Range>> groupRanges(final List<Range> ranges) {
+        return Collections.singletonList(ranges);
+    }
+
+    /**
+     * Converts the key-values returned by a scan of a group of ranges into
+     * elements, applying any transformations and post transform filters.
+     *
+     * @param ranges  the ranges that were scanned
+     * @param entries the key-values returned by the scan
+     * @return the elements
+     */
+    protected Iterator<Element> getElements(final List<Range> ranges, final Iterator<Entry<Key, Value>> entries) {
+        return new EntryToElementIterator(entries);
+    }
+
+    private final class EntryToElementIterator implements Iterator<Element> {
+        private final Iterator<Entry<Key, Value>> entries;
+        private Element nextElm;
+
+        private EntryToElementIterator(final Iterator<Entry<Key, Value>> entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == nextElm && entries.hasNext()) {
+                final Entry<Key, Value> entry = entries.next();
+                final Element element;
+                try {
+                    element = elementConverter.getFullElement(entry.getKey(), entry.getValue(), operation.getOptions());
+                } catch (final AccumuloElementConversionException e) {
+                    LOGGER.error("Failed to re-create an element from a key value entry set returning next element as null", e);
+                    continue;
+                }
+                doTransformation(element);
+                if (doPostFilter(element)) {
+                    nextElm = element;
+                }
+            }
+            return null != nextElm;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Element element = nextElm;
+            nextElm = null;
+            return element;
+        }
+    }
+
+    private final class RangeBatchIterator implements CloseableIterator<Element> {
+        private final Iterator<? extends Pair<ElementId, ElementId>> pairs;
+        private final Deque<List<Range>> pendingGroups = new ArrayDeque<>();
+        private final Deque<Scan> openScans = new ArrayDeque<>();
+        private final RangeCoalescer<Range> rangeCoalescer = isCoalescingRanges()
+                ? new RangeCoalescer<>(Range::mergeOverlapping, store.getRangeCoalescingMetrics())
+                : null;
+        private Scan currentScan;
+        private Iterator<Element> elements = Collections.emptyIterator();
+
+        private RangeBatchIterator(final Iterator<? extends Pair<ElementId, ElementId>> pairs) {
+            this.pairs = pairs;
+            openScans();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!elements.hasNext()) {
+                if (null != currentScan) {
+                    currentScan.close();
+                    currentScan = null;
+                }
+                currentScan = openScans.poll();
+                // Keep the other scanners busy while the current one is consumed
+                openScans();
+                if (null == currentScan) {
+                    return false;
+                }
+                elements = getElements(currentScan.ranges, currentScan.entries);
+            }
+            return true;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return elements.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Unable to remove elements from this iterator");
+        }
+
+        @Override
+        public void close() {
+            if (null != currentScan) {
+                currentScan.close();
+                currentScan = null;
+            }
+            for (final Scan scan : openScans) {
+                scan.close();
+            }
+            openScans.clear();
+            pendingGroups.clear();
+            elements = Collections.emptyIterator();
+            CloseableUtil.close(pairs);
+        }
+
+        private void openScans() {
+            final int maxOpenScans = Math.max(1, store.getProperties().getConcurrentScannersForRanges()) - (null != currentScan ? 1 : 0);
+            while (openScans.size() < maxOpenScans) {
+                if (pendingGroups.isEmpty()) {
+                    readBatch();
+                    if (pendingGroups.isEmpty()) {
+                        return;
+                    }
+                }
+
+                final List<Range> ranges = pendingGroups.poll();
+                try {
+                    openScans.add(new Scan(ranges, getScanner(ranges)));
+                } catch (final TableNotFoundException | StoreException e) {
+                    LOGGER.error("{} returning iterator doesn't have any more elements", e.getMessage(), e);
+                    pendingGroups.clear();
+                    return;
+                }
+            }
+        }
+
+        private void readBatch() {
+            final int maxEntries = store.getProperties().getMaxEntriesForBatchScanner();
+            while (pendingGroups.isEmpty() && pairs.hasNext()) {
+                List<Range> ranges = new ArrayList<>();
+                int count = 0;
+                while (pairs.hasNext() && count < maxEntries) {
+                    count++;
+                    final Pair<ElementId, ElementId> pair = pairs.next();
+                    if (null != rangeCoalescer && !rangeCoalescer.addSeed(pair)) {
+                        continue;
+                    }
+                    try {
+                        ranges.add(rangeFactory.getRangeFromPair(pair, operation));
+                    } catch (final RangeFactoryException e) {
+                        LOGGER.error("Failed to create a range from given seed pair", e);
+                    }
+                }
+                if (null != rangeCoalescer) {
+                    ranges = rangeCoalescer.coalesce(ranges);
+                }
+                if (!ranges.isEmpty()) {
+                    pendingGroups.addAll(groupRanges(ranges));
+                }
+            }
+        }
+    }
+
+    private static final class Scan {
+        private final List<Range> ranges;
+        private final BatchScanner scanner;
+        private final Iterator<Entry<Key, Value>> entries;
+
+        private Scan(final List<Range> ranges, final BatchScanner scanner) {
+            this.ranges = ranges;
+            this.scanner = scanner;
+            // Creating the iterator starts the scan in the background
+            this.entries = scanner.iterator();
+        }
+
+        private void close() {
+            scanner.close();
+        }
+    }
 }
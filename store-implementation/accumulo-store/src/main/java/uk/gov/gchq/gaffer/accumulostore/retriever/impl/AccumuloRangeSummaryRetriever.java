@@ -0,0 +1,181 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
+
+import org.apache.accumulo.core.client.IteratorSetting;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.Options;
+import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
+import uk.gov.gchq.gaffer.operation.io.InputOutput;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.user.User;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+
+/**
+ * An <code>AccumuloRangeSummaryRetriever</code> returns a single summary of
+ * a group for each of the provided {@link uk.gov.gchq.gaffer.data.element.id.ElementId}
+ * pairs.
+ * <p>
+ * The batch scanner splits each range at the tablet boundaries, so the
+ * {@link uk.gov.gchq.gaffer.accumulostore.key.impl.RowIDAggregator} returns a
+ * partial summary for each tablet the range covers. These partial summaries
+ * are merged on the client using the schema aggregator for the group, before
+ * any post aggregation filters, transformations and post transform filters in
+ * the view are applied. Overlapping ranges are scanned by separate batch
+ * scanners, as a batch scanner would merge them.
+ *
+ * @param <OP> the type of operation
+ */
+public class AccumuloRangeSummaryRetriever<OP extends InputOutput<Iterable<? extends Pair<? extends ElementId, ? extends ElementId>>, CloseableIterable<? extends Element>> & GraphFilters & Options>
+        extends AccumuloRangeIDRetriever<OP> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloRangeSummaryRetriever.class);
+
+    private final String group;
+
+    /**
+     * @param store            the accumulo store
+     * @param operation        the operation
+     * @param user             the user executing the operation
+     * @param group            the group to summarise
+     * @param iteratorSettings the iterator settings, these should include the row id aggregator for the group
+     * @throws StoreException if any store issues occur
+     */
+    public AccumuloRangeSummaryRetriever(final AccumuloStore store, final OP operation, final User user,
+                                         final String group, final IteratorSetting... iteratorSettings) throws StoreException {
+        super(store, operation, user, iteratorSettings);
+        this.group = group;
+    }
+
+    /**
+     * A summary is returned for each pair, so the ranges are never merged.
+     *
+     * @return false
+     */
+    @Override
+    protected boolean isCoalescingRanges() {
+        return false;
+    }
+
+    /**
+     * Splits the ranges into groups of non-overlapping ranges, each sorted
+     * by start key.
+     *
+     * @param ranges the batch of ranges
+     * @return the groups of non-overlapping ranges
+     */
+    @Override
+    protected List<List<Range>> groupRanges(final List<Range> ranges) {
+        final List<Range> sortedRanges = new ArrayList<>(ranges);
+        Collections.sort(sortedRanges);
+
+        final List<List<Range>> groups = new ArrayList<>();
+        for (final Range range : sortedRanges) {
+            List<Range> rangeGroup = null;
+            for (final List<Range> candidate : groups) {
+                if (!overlaps(candidate.get(candidate.size() - 1), range)) {
+                    rangeGroup = candidate;
+                    break;
+                }
+            }
+            if (null == rangeGroup) {
+                rangeGroup = new ArrayList<>();
+                groups.add(rangeGroup);
+            }
+            rangeGroup.add(range);
+        }
+
+        return groups;
+    }
+
+    @Override
+    protected Iterator<Element> getElements(final List<Range> ranges, final Iterator<Entry<Key, Value>> entries) {
+        final ElementAggregator aggregator = store.getSchema().getElement(group).getAggregator();
+        final Element[] summaries = new Element[ranges.size()];
+        while (entries.hasNext()) {
+            final Entry<Key, Value> entry = entries.next();
+            final int index = getRangeIndex(ranges, entry.getKey());
+            if (index < 0) {
+                LOGGER.warn("Ignoring key {} as it is not within any of the ranges", entry.getKey());
+                continue;
+            }
+
+            final Element element;
+            try {
+                element = elementConverter.getFullElement(entry.getKey(), entry.getValue(), operation.getOptions());
+            } catch (final AccumuloElementConversionException e) {
+                LOGGER.error("Failed to re-create an element from a key value entry set", e);
+                continue;
+            }
+
+            summaries[index] = aggregator.apply(summaries[index], element);
+        }
+
+        final ViewElementDefinition viewDef = operation.getView().getElement(group);
+        final List<Element> results = new ArrayList<>();
+        for (final Element summary : summaries) {
+            if (null != summary
+                    && (null == viewDef || postFilter(summary, viewDef.getPostAggregationFilter()))) {
+                doTransformation(summary);
+                if (doPostFilter(summary)) {
+                    results.add(summary);
+                }
+            }
+        }
+
+        return results.iterator();
+    }
+
+    // The ranges are sorted and do not overlap, so the only range that can
+    // contain the key is the last range that starts before it.
+    private static int getRangeIndex(final List<Range> ranges, final Key key) {
+        int low = 0;
+        int high = ranges.size() - 1;
+        int index = -1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            if (ranges.get(mid).beforeStartKey(key)) {
+                high = mid - 1;
+            } else {
+                index = mid;
+                low = mid + 1;
+            }
+        }
+
+        return index >= 0 && ranges.get(index).contains(key) ? index : -1;
+    }
+
+    // The second range starts at or after the first range, so they overlap
+    // unless the second range starts after the first range has ended.
+    private static boolean overlaps(final Range first, final Range second) {
+        return null == second.getStartKey() || !first.afterEndKey(second.getStartKey());
+    }
+}
@@ -28,6 +28,9 @@ public final class AccumuloStoreConstants {
     public static final String COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_NAME = "Column_Qualifier_Aggregator";
     public static final String ROW_ID_AGGREGATOR_ITERATOR_NAME = "Row_ID_Aggregator";
     public static final String RANGE_ELEMENT_PROPERTY_FILTER_ITERATOR_NAME = "Range_Element_Property_Filter";
+    public static final String ADJACENT_VERTEX_DEDUPLICATION_ITERATOR_NAME = "Adjacent_Vertex_Deduplication";
+    public static final String TABLET_SAMPLE_ITERATOR_NAME = "Tablet_Sample";
+    public static final String TOP_K_ITERATOR_NAME = "Top_K";
 
     // Converter class to be used in iterators must be on classpath of all
     // iterators
@@ -46,6 +49,10 @@ public final class AccumuloStoreConstants {
     public static final String BLOOM_FILTER = "Bloom_Filter";
     public static final String BLOOM_FILTER_CHARSET = "ISO-8859-1";
     public static final String COLUMN_FAMILY = "columnFamily";
+    public static final String MAX_ADJACENT_VERTICES = "Max_Adjacent_Vertices";
+    public static final String TABLET_SAMPLE_SIZE = "Tablet_Sample_Size";
+    public static final String TOP_K_COMPARATOR = "Top_K_Comparator";
+    public static final String TOP_K_LIMIT = "Top_K_Limit";
 
     // Iterator priorities
     // Applied during major compactions, minor compactions  and scans.
@@ -66,6 +73,12 @@ public final class AccumuloStoreConstants {
     public static final int COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_PRIORITY = 36;
     // Applied only during scans.
     public static final int ELEMENT_POST_AGGREGATION_FILTER_ITERATOR_PRIORITY = 37;
+    // Applied only during scans.
+    public static final int ADJACENT_VERTEX_DEDUPLICATION_ITERATOR_PRIORITY = 38;
+    // Applied only during split management scans.
+    public static final int TABLET_SAMPLE_ITERATOR_PRIORITY = 39;
+    // Applied only during top k scans.
+    public static final int TOP_K_ITERATOR_PRIORITY = 40;
 
     // Operations options
     public static final String OPERATION_HDFS_USE_ACCUMULO_PARTITIONER = "accumulostore.operation.hdfs.use_accumulo_partitioner";
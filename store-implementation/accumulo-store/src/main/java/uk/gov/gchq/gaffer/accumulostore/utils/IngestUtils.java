@@ -21,6 +21,8 @@ import org.apache.accumulo.core.client.AccumuloSecurityException;
 import org.apache.accumulo.core.client.Connector;
 import org.apache.accumulo.core.client.TableNotFoundException;
 import org.apache.accumulo.core.client.mock.MockConnector;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FileStatus;
@@ -31,7 +33,12 @@ import org.apache.hadoop.fs.permission.FsPermission;
 import org.apache.hadoop.io.Text;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.commonutil.SplitPointSampler;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Element;
 import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -123,6 +130,41 @@ public final class IngestUtils {
         return createSplitsFile(conn, table, fs, splitsFile, Integer.MAX_VALUE);
     }
 
+    /**
+     * Calculate split points for some elements without running a MapReduce job.
+     * The row keys of the elements are sampled using a bounded
+     * {@link SplitPointSampler}, weighted by the serialised size of each key
+     * and value, and the split points are chosen so each tablet holds roughly
+     * the same amount of data.
+     *
+     * @param converter  - The element converter used to create the keys
+     * @param elements   - The elements to sample
+     * @param sampleSize - The maximum number of row keys to hold in memory
+     * @param numSplits  - The number of split points required
+     * @return The split points, at most numSplits of them
+     * @throws AccumuloElementConversionException if an element cannot be converted
+     */
+    public static SortedSet<Text> calculateSplitPoints(final AccumuloElementConverter converter,
+                                                       final Iterable<? extends Element> elements,
+                                                       final int sampleSize, final int numSplits)
+            throws AccumuloElementConversionException {
+        final SplitPointSampler sampler = new SplitPointSampler(sampleSize);
+        for (final Element element : elements) {
+            final Pair<Key, Key> keys = converter.getKeysFromElement(element);
+            final Value value = converter.getValueFromElement(element);
+            sampler.add(keys.getFirst().getRowData().toArray(), keys.getFirst().getSize() + value.getSize());
+            if (null != keys.getSecond()) {
+                sampler.add(keys.getSecond().getRowData().toArray(), keys.getSecond().getSize() + value.getSize());
+            }
+        }
+
+        final SortedSet<Text> splits = new TreeSet<>();
+        for (final byte[] splitPoint : sampler.getSplitPoints(numSplits)) {
+            splits.add(new Text(splitPoint));
+        }
+        return splits;
+    }
+
     /**
      * Given some split points, write a Base64 encoded splits file
      * <p>
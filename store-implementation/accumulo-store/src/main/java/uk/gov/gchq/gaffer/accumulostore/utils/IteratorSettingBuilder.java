@@ -24,8 +24,11 @@ import org.apache.hadoop.util.bloom.BloomFilter;
 import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.data.element.function.ElementPropertyComparator;
 import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters;
 import uk.gov.gchq.gaffer.store.schema.Schema;
@@ -82,6 +85,18 @@ public class IteratorSettingBuilder {
         return this;
     }
 
+    public IteratorSettingBuilder topK(final ElementPropertyComparator comparator, final int limit)
+            throws IteratorSettingException {
+        try {
+            setting.addOption(AccumuloStoreConstants.TOP_K_COMPARATOR,
+                    new String(new JSONSerialiser().serialise(comparator), CommonConstants.UTF_8));
+        } catch (final SerialisationException | UnsupportedEncodingException e) {
+            throw new IteratorSettingException("Failed to serialise the top k comparator", e);
+        }
+        setting.addOption(AccumuloStoreConstants.TOP_K_LIMIT, Integer.toString(limit));
+        return this;
+    }
+
     public IteratorSettingBuilder includeEdges(final boolean includeEdges) {
         if (includeEdges) {
             setting.addOption(AccumuloStoreConstants.INCLUDE_EDGES, "true");
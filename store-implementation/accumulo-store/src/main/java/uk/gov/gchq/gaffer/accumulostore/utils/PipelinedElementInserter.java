@@ -0,0 +1,355 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import com.google.common.collect.Iterators;
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.ColumnVisibility;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * A <code>PipelinedElementInserter</code> adds elements to an {@link AccumuloStore}
+ * using the store's pool of converter threads. The calling thread splits the elements
+ * into batches and submits them to the converter threads, waiting for the
+ * oldest batch to complete once the configured number of batches are in
+ * flight. The resulting mutations are written to a number of batch writers
+ * that share the batch writer memory and threads, each mutation being routed
+ * to a writer by its row.
+ * <p>
+ * If pre-aggregation is enabled, elements with the same key (ignoring the
+ * timestamp) within a batch are aggregated using the schema before they are
+ * written, in the same way the aggregator iterator would aggregate them.
+ * If the order is preserved, mutations are written by the calling thread in
+ * the order the elements were supplied, otherwise each converter thread writes
+ * its own mutations. If fail fast is enabled, the first element that cannot
+ * be converted or written causes a {@link StoreException} to be thrown and any
+ * remaining batches to be cancelled, otherwise the error is logged and the
+ * element is skipped.
+ */
+public class PipelinedElementInserter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PipelinedElementInserter.class);
+
+    private final AccumuloStore store;
+    private final ExecutorService executor;
+    private final AccumuloElementConverter converter;
+    private final Schema schema;
+    private final int batchSize;
+    private final int queueSize;
+    private final int numWriters;
+    private final boolean preAggregation;
+    private final boolean preserveOrder;
+    private final boolean failFast;
+
+    /**
+     * @param store    the store to add the elements to
+     * @param executor the converter threads, which are shared with other inserters for the store
+     */
+    public PipelinedElementInserter(final AccumuloStore store, final ExecutorService executor) {
+        final AccumuloProperties properties = store.getProperties();
+        this.store = store;
+        this.executor = executor;
+        this.converter = store.getKeyPackage().getKeyConverter();
+        this.schema = store.getSchema();
+        this.batchSize = Math.max(1, properties.getIngestBatchSize());
+        this.queueSize = Math.max(1, properties.getIngestQueueSize());
+        this.numWriters = Math.max(1, properties.getIngestWriters());
+        this.preAggregation = properties.getIngestPreAggregation() && schema.hasAggregators();
+        this.preserveOrder = properties.getIngestPreserveOrder();
+        this.failFast = properties.getIngestFailFast();
+    }
+
+    /**
+     * Converts the elements into mutations and writes them to the store's table.
+     *
+     * @param elements the elements to add
+     * @throws StoreException if the batch writers could not be created, or if
+     *                        fail fast is enabled and an element could not be
+     *                        converted or written
+     */
+    public void insert(final Iterable<? extends Element> elements) throws StoreException {
+        final List<BatchWriter> writers = createWriters();
+        final Deque<Future<List<Mutation>>> inFlight = new ArrayDeque<>();
+        boolean completed = false;
+        try {
+            List<Element> batch = new ArrayList<>(batchSize);
+            for (final Element element : elements) {
+                batch.add(element);
+                if (batch.size() >= batchSize) {
+                    submit(inFlight, batch, writers);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                submit(inFlight, batch, writers);
+            }
+            while (!inFlight.isEmpty()) {
+                complete(inFlight.poll(), writers);
+            }
+            completed = true;
+        } finally {
+            // The converter threads are shared, so only the batches from this insert are cancelled
+            for (final Future<List<Mutation>> future : inFlight) {
+                future.cancel(true);
+            }
+            closeWriters(writers, completed);
+        }
+    }
+
+    // Submits the batch to the converter threads, then waits for the oldest batches to complete until the queue has space.
+    private void submit(final Deque<Future<List<Mutation>>> inFlight, final List<Element> batch,
+                        final List<BatchWriter> writers) throws StoreException {
+        inFlight.add(executor.submit(new ConvertBatch(batch, writers)));
+        while (inFlight.size() > queueSize) {
+            complete(inFlight.poll(), writers);
+        }
+    }
+
+    // Waits for the batch to be converted and, if the order is preserved, writes its mutations.
+    private void complete(final Future<List<Mutation>> future, final List<BatchWriter> writers) throws StoreException {
+        final List<Mutation> mutations;
+        try {
+            mutations = future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StoreException("Interrupted whilst adding elements", e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof StoreException) {
+                throw (StoreException) cause;
+            }
+            throw new StoreException("Failed to add elements: " + cause.getMessage(), cause);
+        }
+        write(mutations, writers);
+    }
+
+    private List<Mutation> convert(final List<Element> elements) throws StoreException {
+        final List<Mutation> mutations = new ArrayList<>(2 * elements.size());
+        if (preAggregation) {
+            for (final AggregatedEntry entry : aggregate(elements)) {
+                final Value value = entry.getValue();
+                if (null != value) {
+                    addMutations(entry.keys, value, mutations);
+                }
+            }
+        } else {
+            for (final Element element : elements) {
+                final Pair<Key, Key> keys = getKeys(element);
+                final Value value = getValue(element);
+                if (null != keys && null != value) {
+                    addMutations(keys, value, mutations);
+                }
+            }
+        }
+        return mutations;
+    }
+
+    // Groups the elements by their first key, ignoring the timestamp, so that elements the aggregator iterator would
+    // combine are merged before they are written.
+    private Iterable<AggregatedEntry> aggregate(final List<Element> elements) throws StoreException {
+        final Map<Key, AggregatedEntry> entries = new LinkedHashMap<>();
+        for (final Element element : elements) {
+            final Pair<Key, Key> keys = getKeys(element);
+            final Value value = getValue(element);
+            if (null == keys || null == value) {
+                continue;
+            }
+
+            final Key first = keys.getFirst();
+            final Key aggregationKey = new Key(first.getRow(), first.getColumnFamily(), first.getColumnQualifier(), first.getColumnVisibility());
+            final AggregatedEntry entry = entries.get(aggregationKey);
+            if (null == entry) {
+                entries.put(aggregationKey, new AggregatedEntry(element, keys, value));
+            } else {
+                entry.add(keys, value);
+            }
+        }
+        return entries.values();
+    }
+
+    private Pair<Key, Key> getKeys(final Element element) throws StoreException {
+        try {
+            return converter.getKeysFromElement(element);
+        } catch (final AccumuloElementConversionException e) {
+            return handleConversionFailure("key", element, e);
+        }
+    }
+
+    private Value getValue(final Element element) throws StoreException {
+        try {
+            return converter.getValueFromElement(element);
+        } catch (final AccumuloElementConversionException e) {
+            return handleConversionFailure("value", element, e);
+        }
+    }
+
+    private <T> T handleConversionFailure(final String type, final Element element, final AccumuloElementConversionException e) throws StoreException {
+        if (failFast) {
+            throw new StoreException("Failed to create an accumulo " + type + " from element of type " + element.getGroup() + " when trying to insert elements", e);
+        }
+        LOGGER.error(AccumuloStore.FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, type, element.getGroup());
+        return null;
+    }
+
+    private void addMutations(final Pair<Key, Key> keys, final Value value, final List<Mutation> mutations) {
+        mutations.add(createMutation(keys.getFirst(), value));
+        // If the element is an Entity there will only be 1 key and the second will be null.
+        if (null != keys.getSecond()) {
+            mutations.add(createMutation(keys.getSecond(), value));
+        }
+    }
+
+    private Mutation createMutation(final Key key, final Value value) {
+        final Mutation mutation = new Mutation(key.getRow());
+        mutation.put(key.getColumnFamily(), key.getColumnQualifier(),
+                new ColumnVisibility(key.getColumnVisibility()), key.getTimestamp(), value);
+        return mutation;
+    }
+
+    private void write(final List<Mutation> mutations, final List<BatchWriter> writers) throws StoreException {
+        for (final Mutation mutation : mutations) {
+            final BatchWriter writer = writers.get((Arrays.hashCode(mutation.getRow()) & Integer.MAX_VALUE) % writers.size());
+            try {
+                writer.addMutation(mutation);
+            } catch (final MutationsRejectedException e) {
+                if (failFast) {
+                    throw new StoreException("Failed to write an accumulo key mutation", e);
+                }
+                LOGGER.error("Failed to create an accumulo key mutation");
+            }
+        }
+    }
+
+    private List<BatchWriter> createWriters() throws StoreException {
+        final List<BatchWriter> writers = new ArrayList<>(numWriters);
+        try {
+            for (int i = 0; i < numWriters; i++) {
+                writers.add(store.getConnection().createBatchWriter(store.getProperties().getTable(),
+                        TableUtils.createBatchWriterConfig(store, numWriters)));
+            }
+        } catch (final TableNotFoundException e) {
+            closeWriters(writers, false);
+            throw new StoreException("Table not set up! Use table gaffer.accumulostore.utils to create the table"
+                    + store.getProperties().getTable(), e);
+        }
+        return writers;
+    }
+
+    private void closeWriters(final List<BatchWriter> writers, final boolean completed) throws StoreException {
+        StoreException failure = null;
+        for (final BatchWriter writer : writers) {
+            try {
+                writer.close();
+            } catch (final MutationsRejectedException e) {
+                if (failFast && completed && null == failure) {
+                    failure = new StoreException("Accumulo batch writer failed to close", e);
+                } else {
+                    LOGGER.warn("Accumulo batch writer failed to close", e);
+                }
+            }
+        }
+        if (null != failure) {
+            throw failure;
+        }
+    }
+
+    // Converts a batch of elements into mutations on a converter thread. If the order is not preserved the
+    // mutations are written straight away, otherwise they are returned to be written by the calling thread.
+    private final class ConvertBatch implements Callable<List<Mutation>> {
+        private final List<Element> elements;
+        private final List<BatchWriter> writers;
+
+        private ConvertBatch(final List<Element> elements, final List<BatchWriter> writers) {
+            this.elements = elements;
+            this.writers = writers;
+        }
+
+        @Override
+        public List<Mutation> call() throws StoreException {
+            final List<Mutation> mutations = convert(elements);
+            if (preserveOrder) {
+                return mutations;
+            }
+            write(mutations, writers);
+            return Collections.emptyList();
+        }
+    }
+
+    // The keys and values of the elements in a batch that share the same key, ignoring the timestamp.
+    private final class AggregatedEntry {
+        private final Element element;
+        private final List<Value> values = new ArrayList<>(1);
+        private Pair<Key, Key> keys;
+
+        private AggregatedEntry(final Element element, final Pair<Key, Key> keys, final Value value) {
+            this.element = element;
+            this.keys = keys;
+            this.values.add(value);
+        }
+
+        // The aggregated key has the latest timestamp, as the aggregator iterator would return
+        private void add(final Pair<Key, Key> otherKeys, final Value value) {
+            values.add(value);
+            if (otherKeys.getFirst().getTimestamp() > keys.getFirst().getTimestamp()) {
+                keys = otherKeys;
+            }
+        }
+
+        private Value getValue() throws StoreException {
+            if (1 == values.size()) {
+                return values.get(0);
+            }
+
+            final String group = element.getGroup();
+            final ElementAggregator aggregator = schema.getElement(group).getAggregator();
+            try {
+                final Properties properties = aggregator.apply(
+                        Iterators.transform(values.iterator(), v -> converter.getPropertiesFromValue(group, v)));
+                return converter.getValueFromProperties(group, properties);
+            } catch (final AccumuloElementConversionException e) {
+                return handleConversionFailure("value", element, e);
+            }
+        }
+    }
+}
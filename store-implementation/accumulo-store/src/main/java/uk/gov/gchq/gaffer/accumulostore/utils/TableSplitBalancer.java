@@ -0,0 +1,343 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
+import org.apache.accumulo.core.client.BatchScanner;
+import org.apache.accumulo.core.client.Connector;
+import org.apache.accumulo.core.client.IteratorSetting;
+import org.apache.accumulo.core.client.Scanner;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.metadata.MetadataTable;
+import org.apache.accumulo.core.metadata.schema.DataFileValue;
+import org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection;
+import org.apache.accumulo.core.security.Authorizations;
+import org.apache.hadoop.io.Text;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.impl.TabletSampleIterator;
+import uk.gov.gchq.gaffer.store.StoreException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * A <code>TableSplitBalancer</code> finds the tablets of the store's table that
+ * are too large or much larger than the others, and splits them into tablets of
+ * roughly equal size.
+ * <p>
+ * The number of entries and the size of each tablet are read from the
+ * <code>file</code> column family of the Accumulo metadata table, which records
+ * the size and number of entries of each file of each tablet. Entries that are
+ * only held in memory by the tablet servers are not included. A tablet is split
+ * if:
+ * <ul>
+ * <li>its size is more than the maximum tablet size,</li>
+ * <li>its number of entries is more than the maximum number of entries, or</li>
+ * <li>its size is more than the skew factor multiplied by the mean tablet size,
+ * in which case it is split into pieces of the mean size.</li>
+ * </ul>
+ * Tablets are never split into pieces smaller than the minimum tablet size, and
+ * at most the maximum number of new split points are added, splitting the
+ * largest tablets first.
+ * <p>
+ * Only the tablets that are to be split are scanned, using a
+ * {@link TabletSampleIterator}, so the tablet servers return just a bounded,
+ * size-weighted sample of the row keys of each tablet. The split points are
+ * chosen from these samples, so a single hot row is never split but is
+ * isolated from its neighbours.
+ * <p>
+ * If the metadata table has no file entries for the table, for example because
+ * it is a mock instance or no data has been written to disk yet, every tablet
+ * of the table is scanned instead to measure its size. This reads the whole
+ * table. If the metadata table cannot be read the table is not balanced, so a
+ * failure does not cause the whole table to be scanned on every run.
+ */
+public class TableSplitBalancer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TableSplitBalancer.class);
+
+    private final AccumuloStore store;
+    private final long maxTabletSize;
+    private final long maxTabletEntries;
+    private final long minTabletSize;
+    private final double skewFactor;
+    private final int maxNewSplits;
+    private final int sampleSize;
+
+    public TableSplitBalancer(final AccumuloStore store) {
+        this(store,
+                store.getProperties().getSplitManagementMaxTabletSize(),
+                store.getProperties().getSplitManagementMaxTabletEntries(),
+                store.getProperties().getSplitManagementMinTabletSize(),
+                store.getProperties().getSplitManagementSkewFactor(),
+                store.getProperties().getSplitManagementMaxNewSplits(),
+                store.getProperties().getSplitManagementSampleSize());
+    }
+
+    /**
+     * @param store            the store whose table should be balanced
+     * @param maxTabletSize    the size in bytes above which a tablet is split
+     * @param maxTabletEntries the number of entries above which a tablet is split, or 0 for no limit
+     * @param minTabletSize    the minimum size in bytes of the new tablets
+     * @param skewFactor       the multiple of the mean tablet size above which a tablet is split
+     * @param maxNewSplits     the maximum number of split points to add
+     * @param sampleSize       the number of row keys to sample from each tablet
+     * @throws IllegalArgumentException if the maximum tablet size or the sample size is less than 1
+     * @see uk.gov.gchq.gaffer.accumulostore.AccumuloProperties
+     */
+    public TableSplitBalancer(final AccumuloStore store, final long maxTabletSize, final long maxTabletEntries,
+                              final long minTabletSize, final double skewFactor, final int maxNewSplits,
+                              final int sampleSize) {
+        if (maxTabletSize < 1) {
+            throw new IllegalArgumentException("The maximum tablet size must be at least 1 but was " + maxTabletSize);
+        }
+        if (sampleSize < 1) {
+            throw new IllegalArgumentException("The sample size must be at least 1 but was " + sampleSize);
+        }
+        this.store = store;
+        this.maxTabletSize = maxTabletSize;
+        this.maxTabletEntries = maxTabletEntries;
+        this.minTabletSize = Math.max(1L, minTabletSize);
+        this.skewFactor = skewFactor;
+        this.maxNewSplits = maxNewSplits;
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * Calculates the split points required to balance the tablets of the table.
+     * The split points are added to the table unless this is a dry run.
+     *
+     * @param dryRun if true the split points are calculated but not added to the table
+     * @return the new split points
+     * @throws StoreException if the metadata table could not be read, the tablets could not be sampled or the
+     *                        split points could not be added
+     */
+    public SortedSet<Text> balance(final boolean dryRun) throws StoreException {
+        final String table = store.getProperties().getTable();
+        final Connector connection = store.getConnection();
+        final List<Text> splits;
+        try {
+            splits = new ArrayList<>(connection.tableOperations().listSplits(table));
+        } catch (final TableNotFoundException | AccumuloSecurityException | AccumuloException e) {
+            throw new StoreException("Failed to get the split points of table " + table, e);
+        }
+        Collections.sort(splits);
+
+        TabletSample[] samples = null;
+        TabletStatistics[] statistics = readTabletStatistics(connection, table, splits);
+        if (0 == statistics.length) {
+            LOGGER.debug("No file entries found in the metadata table for table {}, scanning the whole table", table);
+            samples = sampleTablets(connection, table, splits, allTablets(splits));
+            statistics = new TabletStatistics[samples.length];
+            for (int i = 0; i < samples.length; i++) {
+                statistics[i] = new TabletStatistics(samples[i].getNumEntries(), samples[i].getSize());
+            }
+        }
+
+        final Map<Integer, Integer> numSplitsByTablet = calculateNumberOfSplits(statistics);
+        if (null == samples) {
+            samples = sampleTablets(connection, table, splits, numSplitsByTablet.keySet());
+        }
+
+        final SortedSet<Text> newSplits = getSplitPoints(splits, samples, numSplitsByTablet);
+        if (!dryRun && !newSplits.isEmpty()) {
+            try {
+                connection.tableOperations().addSplits(table, newSplits);
+            } catch (final TableNotFoundException | AccumuloSecurityException | AccumuloException e) {
+                throw new StoreException("Failed to add " + newSplits.size() + " split points to table " + table, e);
+            }
+            LOGGER.info("Added {} split points to table {}", newSplits.size(), table);
+        }
+        return newSplits;
+    }
+
+    // Returns the statistics of each tablet from the metadata table, or an empty array if there are no file entries for the table
+    private TabletStatistics[] readTabletStatistics(final Connector connection, final String table, final List<Text> splits)
+            throws StoreException {
+        final long[] numEntries = new long[splits.size() + 1];
+        final long[] sizes = new long[splits.size() + 1];
+        boolean foundFiles = false;
+        try {
+            final String tableId = connection.tableOperations().tableIdMap().get(table);
+            if (null == tableId) {
+                return new TabletStatistics[0];
+            }
+            final int tableIdLength = new Text(tableId).getLength();
+            final Scanner scanner = connection.createScanner(MetadataTable.NAME, Authorizations.EMPTY);
+            scanner.setRange(TabletsSection.getRange(tableId));
+            scanner.fetchColumnFamily(TabletsSection.DataFileColumnFamily.NAME);
+            for (final Map.Entry<Key, Value> entry : scanner) {
+                // The metadata row is the table id followed by ';' and the end row, or by '<' for the last tablet
+                final Text row = entry.getKey().getRow();
+                final int index;
+                if (row.getLength() > tableIdLength && ';' == row.getBytes()[tableIdLength]) {
+                    final Text endRow = new Text(Arrays.copyOfRange(row.getBytes(), tableIdLength + 1, row.getLength()));
+                    final int searchIndex = Collections.binarySearch(splits, endRow);
+                    index = searchIndex < 0 ? -searchIndex - 1 : searchIndex;
+                } else {
+                    index = splits.size();
+                }
+                final DataFileValue file = new DataFileValue(entry.getValue().get());
+                numEntries[index] += file.getNumEntries();
+                sizes[index] += file.getSize();
+                foundFiles = true;
+            }
+        } catch (final TableNotFoundException | RuntimeException e) {
+            throw new StoreException("Failed to read the tablet sizes of table " + table + " from the metadata table", e);
+        }
+        if (!foundFiles) {
+            return new TabletStatistics[0];
+        }
+
+        final TabletStatistics[] statistics = new TabletStatistics[sizes.length];
+        for (int i = 0; i < sizes.length; i++) {
+            statistics[i] = new TabletStatistics(numEntries[i], sizes[i]);
+        }
+        return statistics;
+    }
+
+    // Returns a sample of each of the given tablets, the tablet at index i ends with the split point at index i
+    private TabletSample[] sampleTablets(final Connector connection, final String table, final List<Text> splits,
+                                         final Collection<Integer> tablets) throws StoreException {
+        final TabletSample[] samples = new TabletSample[splits.size() + 1];
+        if (tablets.isEmpty()) {
+            return samples;
+        }
+        final List<Range> ranges = new ArrayList<>(tablets.size());
+        for (final int i : tablets) {
+            samples[i] = new TabletSample(sampleSize);
+            ranges.add(new Range(i == 0 ? null : splits.get(i - 1), false, i == splits.size() ? null : splits.get(i), true));
+        }
+
+        final IteratorSetting iteratorSetting = new IteratorSettingBuilder(AccumuloStoreConstants.TABLET_SAMPLE_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.TABLET_SAMPLE_ITERATOR_NAME, TabletSampleIterator.class)
+                .option(AccumuloStoreConstants.TABLET_SAMPLE_SIZE, Integer.toString(sampleSize))
+                .build();
+
+        final BatchScanner scanner;
+        try {
+            scanner = connection.createBatchScanner(table, TableUtils.getCurrentAuthorizations(connection),
+                    store.getProperties().getThreadsForBatchScanner());
+        } catch (final TableNotFoundException e) {
+            throw new StoreException("Failed to scan table " + table, e);
+        }
+        try {
+            scanner.addScanIterator(iteratorSetting);
+            scanner.setRanges(ranges);
+            for (final Map.Entry<Key, Value> entry : scanner) {
+                final int index = Collections.binarySearch(splits, entry.getKey().getRow());
+                samples[index < 0 ? -index - 1 : index].merge(TabletSample.fromValue(entry.getValue()));
+            }
+        } catch (final IOException e) {
+            throw new StoreException("Failed to read the tablet samples from table " + table, e);
+        } finally {
+            scanner.close();
+        }
+        return samples;
+    }
+
+    // Returns the number of split points to add to each tablet that should be split, largest tablets first
+    private Map<Integer, Integer> calculateNumberOfSplits(final TabletStatistics[] statistics) {
+        long totalSize = 0;
+        final List<Integer> tabletsBySize = new ArrayList<>(statistics.length);
+        for (int i = 0; i < statistics.length; i++) {
+            totalSize += statistics[i].size;
+            tabletsBySize.add(i);
+        }
+        final double meanSize = totalSize / (double) statistics.length;
+        tabletsBySize.sort((tablet1, tablet2) -> Long.compare(statistics[tablet2].size, statistics[tablet1].size));
+
+        final Map<Integer, Integer> numSplitsByTablet = new LinkedHashMap<>();
+        int totalSplits = 0;
+        for (final int tablet : tabletsBySize) {
+            final long numPieces = getNumberOfPieces(statistics[tablet], meanSize);
+            final int numSplits = (int) Math.min(numPieces - 1, maxNewSplits - totalSplits);
+            if (numSplits < 1) {
+                continue;
+            }
+            LOGGER.debug("Splitting tablet {} with {} entries and size {} into {} tablets", tablet,
+                    statistics[tablet].numEntries, statistics[tablet].size, numSplits + 1);
+            numSplitsByTablet.put(tablet, numSplits);
+            totalSplits += numSplits;
+        }
+        return numSplitsByTablet;
+    }
+
+    private SortedSet<Text> getSplitPoints(final List<Text> splits, final TabletSample[] samples,
+                                           final Map<Integer, Integer> numSplitsByTablet) {
+        final SortedSet<Text> newSplits = new TreeSet<>();
+        for (final Map.Entry<Integer, Integer> entry : numSplitsByTablet.entrySet()) {
+            final int tablet = entry.getKey();
+            for (final byte[] splitPoint : samples[tablet].getSplitPoints(entry.getValue())) {
+                final Text split = new Text(splitPoint);
+                // The last row of a tablet is already a split point
+                if (tablet == splits.size() || !split.equals(splits.get(tablet))) {
+                    newSplits.add(split);
+                }
+            }
+        }
+        return newSplits;
+    }
+
+    private long getNumberOfPieces(final TabletStatistics statistics, final double meanSize) {
+        long numPieces = 1;
+        if (statistics.size > maxTabletSize) {
+            numPieces = Math.max(numPieces, divideRoundingUp(statistics.size, maxTabletSize));
+        }
+        if (maxTabletEntries > 0 && statistics.numEntries > maxTabletEntries) {
+            numPieces = Math.max(numPieces, divideRoundingUp(statistics.numEntries, maxTabletEntries));
+        }
+        if (statistics.size > skewFactor * meanSize) {
+            numPieces = Math.max(numPieces, Math.round(statistics.size / meanSize));
+        }
+        return Math.min(numPieces, Math.max(1L, statistics.size / minTabletSize));
+    }
+
+    private static long divideRoundingUp(final long numerator, final long denominator) {
+        return (numerator + denominator - 1) / denominator;
+    }
+
+    private static List<Integer> allTablets(final List<Text> splits) {
+        final List<Integer> tablets = new ArrayList<>(splits.size() + 1);
+        for (int i = 0; i <= splits.size(); i++) {
+            tablets.add(i);
+        }
+        return tablets;
+    }
+
+    private static final class TabletStatistics {
+        private final long numEntries;
+        private final long size;
+
+        private TabletStatistics(final long numEntries, final long size) {
+            this.numEntries = numEntries;
+            this.size = size;
+        }
+    }
+}
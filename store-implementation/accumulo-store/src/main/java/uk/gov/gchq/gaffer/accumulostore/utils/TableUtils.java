@@ -221,11 +221,7 @@ public final class TableUtils {
 
     private static BatchWriter createBatchWriter(final AccumuloStore store, final String tableName)
             throws StoreException {
-        final BatchWriterConfig batchConfig = new BatchWriterConfig();
-        batchConfig.setMaxMemory(store.getProperties().getMaxBufferSizeForBatchWriterInBytes());
-        batchConfig.setMaxLatency(store.getProperties().getMaxTimeOutForBatchWriterInMilliseconds(),
-                TimeUnit.MILLISECONDS);
-        batchConfig.setMaxWriteThreads(store.getProperties().getNumThreadsForBatchWriter());
+        final BatchWriterConfig batchConfig = createBatchWriterConfig(store);
         try {
             return store.getConnection().createBatchWriter(tableName, batchConfig);
         } catch (final TableNotFoundException e) {
@@ -233,4 +229,34 @@ public final class TableUtils {
                     + store.getProperties().getTable(), e);
         }
     }
+
+    /**
+     * Creates a {@link BatchWriterConfig} with the batch writer settings
+     * defined in the gaffer.accumulostore properties.
+     *
+     * @param store the accumulo store
+     * @return A new BatchWriterConfig
+     */
+    public static BatchWriterConfig createBatchWriterConfig(final AccumuloStore store) {
+        return createBatchWriterConfig(store, 1);
+    }
+
+    /**
+     * Creates a {@link BatchWriterConfig} for one of a number of batch writers
+     * that are used at the same time. The buffer size and number of threads
+     * defined in the gaffer.accumulostore properties are divided between the
+     * writers.
+     *
+     * @param store      the accumulo store
+     * @param numWriters the number of batch writers sharing the settings
+     * @return A new BatchWriterConfig
+     */
+    public static BatchWriterConfig createBatchWriterConfig(final AccumuloStore store, final int numWriters) {
+        final BatchWriterConfig batchConfig = new BatchWriterConfig();
+        batchConfig.setMaxMemory(Math.max(1L, store.getProperties().getMaxBufferSizeForBatchWriterInBytes() / numWriters));
+        batchConfig.setMaxLatency(store.getProperties().getMaxTimeOutForBatchWriterInMilliseconds(),
+                TimeUnit.MILLISECONDS);
+        batchConfig.setMaxWriteThreads(Math.max(1, store.getProperties().getNumThreadsForBatchWriter() / numWriters));
+        return batchConfig;
+    }
 }
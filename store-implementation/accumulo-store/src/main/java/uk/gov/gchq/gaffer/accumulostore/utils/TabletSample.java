@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.data.Value;
+import uk.gov.gchq.gaffer.commonutil.SplitPointSampler;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A <code>TabletSample</code> records the number of entries and the total size
+ * of the entries scanned from a tablet, along with a bounded, size-weighted
+ * sample of their row keys. It is created on the tablet server by the
+ * {@link uk.gov.gchq.gaffer.accumulostore.key.impl.TabletSampleIterator} and
+ * serialised into a single {@link Value}, so only the summary is returned to
+ * the client.
+ */
+public class TabletSample {
+    private final int sampleSize;
+    private final SplitPointSampler sampler;
+    private long numEntries;
+    private long size;
+
+    public TabletSample(final int sampleSize) {
+        this.sampleSize = sampleSize;
+        this.sampler = new SplitPointSampler(sampleSize);
+    }
+
+    /**
+     * Adds an entry to the sample.
+     *
+     * @param row  the row of the entry
+     * @param size the serialised size of the key and value
+     */
+    public void add(final byte[] row, final long size) {
+        numEntries++;
+        this.size += size;
+        sampler.add(row, size);
+    }
+
+    /**
+     * Merges another sample of the same tablet into this sample.
+     *
+     * @param other the sample to merge
+     */
+    public void merge(final TabletSample other) {
+        numEntries += other.numEntries;
+        size += other.size;
+        sampler.merge(other.sampler);
+    }
+
+    public long getNumEntries() {
+        return numEntries;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Estimates the split points that divide the tablet into
+     * {@code numSplits + 1} tablets of roughly equal size.
+     *
+     * @param numSplits the number of split points required
+     * @return the sorted split points
+     */
+    public List<byte[]> getSplitPoints(final int numSplits) {
+        return sampler.getSplitPoints(numSplits);
+    }
+
+    public Value toValue() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(sampleSize);
+            out.writeLong(numEntries);
+            out.writeLong(size);
+            out.writeInt(sampler.getSamples().size());
+            for (final SplitPointSampler.Sample sample : sampler.getSamples()) {
+                out.writeInt(sample.getKey().length);
+                out.write(sample.getKey());
+                out.writeLong(sample.getWeight());
+                out.writeDouble(sample.getPriority());
+            }
+        }
+        return new Value(bytes.toByteArray());
+    }
+
+    public static TabletSample fromValue(final Value value) throws IOException {
+        try (final DataInputStream in = new DataInputStream(new ByteArrayInputStream(value.get()))) {
+            final TabletSample tabletSample = new TabletSample(in.readInt());
+            tabletSample.numEntries = in.readLong();
+            tabletSample.size = in.readLong();
+            final int numSamples = in.readInt();
+            for (int i = 0; i < numSamples; i++) {
+                final byte[] key = new byte[in.readInt()];
+                in.readFully(key);
+                tabletSample.sampler.add(new SplitPointSampler.Sample(key, in.readLong(), in.readDouble()));
+            }
+            return tabletSample;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore;
+
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Test;
+import uk.gov.gchq.gaffer.cache.impl.HashMapCacheService;
+import uk.gov.gchq.gaffer.cache.util.CacheProperties;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.jobtracker.JobDetail;
+import uk.gov.gchq.gaffer.jobtracker.JobStatus;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.AsyncIngestQueue;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class AsyncAddElementsTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(AsyncAddElementsTest.class));
+
+    private final User user = new User();
+    private AccumuloStore store;
+
+    @After
+    public void after() {
+        if (null != store) {
+            store.closeAsyncIngestQueue();
+        }
+    }
+
+    @Test
+    public void shouldNotWriteValidElementsAgainWhenBatchContainsInvalidElements() throws StoreException, OperationException {
+        // Given
+        store = createStore();
+        final JobDetail validJob = store.executeJob(createAsyncChain(Collections.singletonList(createEdge())), user);
+        final JobDetail invalidJob = store.executeJob(createAsyncChain(
+                Collections.singletonList(new Entity("UnknownGroup", "vertex"))), user);
+
+        // When
+        store.getAsyncIngestQueue().flush();
+
+        // Then
+        assertEquals(JobStatus.FINISHED, getStatus(validJob));
+        assertEquals(JobStatus.FAILED, getStatus(invalidJob));
+        final List<Element> results = getAllEdges();
+        assertEquals(1, results.size());
+        assertEquals(1, results.get(0).getProperty(TestPropertyNames.COUNT));
+        assertEquals(1, results.get(0).getProperty(TestPropertyNames.PROP_3));
+    }
+
+    @Test
+    public void shouldAggregateElementsFromDifferentJobsOnce() throws StoreException, OperationException {
+        // Given
+        store = createStore();
+        final JobDetail job1 = store.executeJob(createAsyncChain(Collections.singletonList(createEdge())), user);
+        final JobDetail job2 = store.executeJob(createAsyncChain(Collections.singletonList(createEdge())), user);
+
+        // When
+        store.getAsyncIngestQueue().flush();
+
+        // Then
+        assertEquals(JobStatus.FINISHED, getStatus(job1));
+        assertEquals(JobStatus.FINISHED, getStatus(job2));
+        final List<Element> results = getAllEdges();
+        assertEquals(1, results.size());
+        assertEquals(2, results.get(0).getProperty(TestPropertyNames.COUNT));
+        assertEquals(2, results.get(0).getProperty(TestPropertyNames.PROP_3));
+    }
+
+    private AccumuloStore createStore() throws StoreException {
+        final AccumuloProperties properties = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(AsyncAddElementsTest.class));
+        properties.setJobTrackerEnabled(true);
+        properties.set(CacheProperties.CACHE_SERVICE_CLASS, HashMapCacheService.class.getName());
+        properties.setAsyncIngestFlushInterval("60000");
+        final AccumuloStore accumuloStore = new SingleUseMockAccumuloStore();
+        accumuloStore.initialise(SCHEMA, properties);
+        return accumuloStore;
+    }
+
+    private static Edge createEdge() {
+        return new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("source")
+                .dest("dest")
+                .directed(true)
+                .property(TestPropertyNames.COUNT, 1)
+                .property(TestPropertyNames.PROP_3, 1)
+                .build();
+    }
+
+    private OperationChain<Void> createAsyncChain(final List<? extends Element> elements) {
+        return new OperationChain<>(new AddElements.Builder()
+                .input(elements)
+                .option(AsyncIngestQueue.ASYNC_OPTION, "true")
+                .build());
+    }
+
+    private List<Element> getAllEdges() throws OperationException {
+        return Lists.newArrayList(store.execute(new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build(), user));
+    }
+
+    private JobStatus getStatus(final JobDetail jobDetail) {
+        return store.getJobTracker().getJob(jobDetail.getJobId(), user).getStatus();
+    }
+}
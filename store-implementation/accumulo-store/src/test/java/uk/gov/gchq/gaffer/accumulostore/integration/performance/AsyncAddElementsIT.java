@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.integration.performance;
+
+import com.google.common.collect.Iterables;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloPropertyNames;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.AsyncIngestQueue;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Measures the throughput of many small {@link AddElements} operations against
+ * a mock accumulo store, comparing synchronous adds with adds through the
+ * {@link AsyncIngestQueue}.
+ */
+public class AsyncAddElementsIT {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncAddElementsIT.class);
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(AsyncAddElementsIT.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(AsyncAddElementsIT.class));
+    private static final User USER = new User();
+    private static final int NUM_BATCHES = 500;
+    private static final int BATCH_SIZE = 10;
+
+    @Test
+    public void shouldMeasureSynchronousAndAsynchronousAdds() throws StoreException, OperationException {
+        measure("synchronous", false);
+        measure("asynchronous", true);
+    }
+
+    private void measure(final String name, final boolean async) throws StoreException, OperationException {
+        // Given
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(SCHEMA, PROPERTIES.clone());
+
+        // When
+        final long startTime = System.currentTimeMillis();
+        for (int i = 0; i < NUM_BATCHES; i++) {
+            store.execute(new AddElements.Builder()
+                    .input(createElements(i))
+                    .option(AsyncIngestQueue.ASYNC_OPTION, Boolean.toString(async))
+                    .build(), USER);
+        }
+        final long callerDuration = System.currentTimeMillis() - startTime;
+        store.closeAsyncIngestQueue();
+        final long duration = System.currentTimeMillis() - startTime;
+
+        // Then
+        assertEquals(NUM_BATCHES * BATCH_SIZE, Iterables.size(store.execute(new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build(), USER)));
+        LOGGER.info("{} adds: {} operations in {}ms, mean caller latency {}ms, throughput {} elements/s",
+                name, NUM_BATCHES, duration, (double) callerDuration / NUM_BATCHES,
+                1000L * NUM_BATCHES * BATCH_SIZE / Math.max(1, duration));
+    }
+
+    private List<Element> createElements(final int batch) {
+        final List<Element> elements = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            final Edge edge = new Edge(TestGroups.EDGE, "source" + batch, "dest" + i, true);
+            edge.putProperty(AccumuloPropertyNames.COUNT, 1);
+            elements.add(edge);
+        }
+        return elements;
+    }
+}
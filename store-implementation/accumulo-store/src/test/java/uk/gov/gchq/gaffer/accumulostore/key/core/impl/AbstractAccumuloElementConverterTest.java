@@ -210,6 +210,55 @@ public abstract class AbstractAccumuloElementConverterTest {
         assertEquals(100, newEdge.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER));
     }
 
+    @Test
+    public void shouldGetAdjacentVertexFromBothKeysOfAnEdge() throws SchemaException, IOException {
+        // Given
+        final Edge edge = new Edge(TestGroups.EDGE);
+        edge.setDestination("2");
+        edge.setSource("1");
+        edge.setDirected(true);
+        edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 100);
+
+        final Pair<Key, Key> keys = converter.getKeysFromElement(edge);
+
+        // When
+        final Object adjacentToSource = converter.getAdjacentVertexFromKey(keys.getFirst());
+        final Object adjacentToDestination = converter.getAdjacentVertexFromKey(keys.getSecond());
+
+        // Then
+        assertEquals("2", adjacentToSource);
+        assertEquals("1", adjacentToDestination);
+    }
+
+    @Test
+    public void shouldGetAdjacentVertexFromUndirectedEdgeWithDelimiterInVertices() throws SchemaException, IOException {
+        // Given
+        final Edge edge = new Edge(TestGroups.EDGE, "source\u0000\u0001", "dest\u0000\u0001", false);
+
+        final Pair<Key, Key> keys = converter.getKeysFromElement(edge);
+
+        // When
+        final Object adjacentToSource = converter.getAdjacentVertexFromKey(keys.getFirst());
+        final Object adjacentToDestination = converter.getAdjacentVertexFromKey(keys.getSecond());
+
+        // Then
+        assertEquals("dest\u0000\u0001", adjacentToSource);
+        assertEquals("source\u0000\u0001", adjacentToDestination);
+    }
+
+    @Test
+    public void shouldReturnNullAdjacentVertexForEntity() throws SchemaException, IOException {
+        // Given
+        final Entity entity = new Entity(TestGroups.ENTITY, "3");
+        final Key key = converter.getKeyFromEntity(entity);
+
+        // When
+        final Object adjacentVertex = converter.getAdjacentVertexFromKey(key);
+
+        // Then
+        assertNull(adjacentVertex);
+    }
+
     @Test
     public void shouldSkipNullPropertyValuesWhenCreatingAccumuloKey() throws SchemaException, IOException {
         // Given
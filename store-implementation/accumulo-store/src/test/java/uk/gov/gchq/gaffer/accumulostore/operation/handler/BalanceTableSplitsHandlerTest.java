@@ -0,0 +1,358 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.operation.handler;
+
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.BatchWriterConfig;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.metadata.MetadataTable;
+import org.apache.accumulo.core.metadata.schema.DataFileValue;
+import org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection;
+import org.apache.commons.codec.binary.Base64;
+import org.apache.hadoop.io.Text;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.operation.impl.BalanceTableSplits;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloPropertyNames;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BalanceTableSplitsHandlerTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(BalanceTableSplitsHandlerTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(BalanceTableSplitsHandlerTest.class));
+    private static final AccumuloProperties CLASSIC_PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.openStream(BalanceTableSplitsHandlerTest.class, "/accumuloStoreClassicKeys.properties"));
+    private static final int NUM_HOT_VERTICES = 1000;
+    private static final int NUM_COLD_VERTICES = 10;
+
+    private static AccumuloStore byteEntityStore;
+    private static AccumuloStore classicStore;
+
+    @BeforeClass
+    public static void setup() {
+        byteEntityStore = new SingleUseMockAccumuloStore();
+        classicStore = new SingleUseMockAccumuloStore();
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        byteEntityStore = null;
+        classicStore = null;
+    }
+
+    @Test
+    public void shouldSplitTabletsWithTooManyEntriesByteEntityStore() throws Exception {
+        shouldSplitTabletsWithTooManyEntries(byteEntityStore, PROPERTIES);
+    }
+
+    @Test
+    public void shouldSplitTabletsWithTooManyEntriesClassicStore() throws Exception {
+        shouldSplitTabletsWithTooManyEntries(classicStore, CLASSIC_PROPERTIES);
+    }
+
+    @Test
+    public void shouldSplitHotTabletsByteEntityStore() throws Exception {
+        shouldSplitHotTablets(byteEntityStore, PROPERTIES);
+    }
+
+    @Test
+    public void shouldSplitHotTabletsClassicStore() throws Exception {
+        shouldSplitHotTablets(classicStore, CLASSIC_PROPERTIES);
+    }
+
+    @Test
+    public void shouldNotAddSplitsOnDryRun() throws Exception {
+        // Given
+        initialise(byteEntityStore, PROPERTIES);
+        final BalanceTableSplits op = new BalanceTableSplits.Builder()
+                .maxTabletEntries(250L)
+                .minTabletSize(1L)
+                .dryRun(true)
+                .build();
+
+        // When
+        final List<String> splits = new BalanceTableSplitsHandler().doOperation(op, byteEntityStore);
+
+        // Then
+        assertEquals(3, splits.size());
+        assertEquals(1, listSplits(byteEntityStore).size());
+    }
+
+    @Test
+    public void shouldLimitTheNumberOfNewSplits() throws Exception {
+        // Given
+        initialise(byteEntityStore, PROPERTIES);
+        final BalanceTableSplits op = new BalanceTableSplits.Builder()
+                .maxTabletEntries(100L)
+                .minTabletSize(1L)
+                .maxNewSplits(2)
+                .build();
+
+        // When
+        final List<String> splits = new BalanceTableSplitsHandler().doOperation(op, byteEntityStore);
+
+        // Then
+        assertEquals(2, splits.size());
+        assertEquals(3, listSplits(byteEntityStore).size());
+    }
+
+    @Test
+    public void shouldNotSplitTabletsIntoPiecesSmallerThanTheMinimumSize() throws Exception {
+        // Given
+        initialise(byteEntityStore, PROPERTIES);
+        final BalanceTableSplits op = new BalanceTableSplits.Builder()
+                .maxTabletEntries(1L)
+                .minTabletSize(Long.MAX_VALUE)
+                .build();
+
+        // When
+        final List<String> splits = new BalanceTableSplitsHandler().doOperation(op, byteEntityStore);
+
+        // Then
+        assertTrue(splits.isEmpty());
+        assertEquals(1, listSplits(byteEntityStore).size());
+    }
+
+    @Test
+    public void shouldUseTabletSizesFromMetadataTable() throws Exception {
+        // Given - the metadata table reports that the tablet of the cold vertices is the large one
+        initialise(byteEntityStore, PROPERTIES);
+        final String tableId = byteEntityStore.getConnection().tableOperations().tableIdMap().get(PROPERTIES.getTable());
+        final BatchWriter writer = byteEntityStore.getConnection().createBatchWriter(MetadataTable.NAME, new BatchWriterConfig());
+        try {
+            final Mutation hotTablet = new Mutation(new Text(tableId + ";m"));
+            hotTablet.put(TabletsSection.DataFileColumnFamily.NAME, new Text("/hot.rf"), new DataFileValue(100L, 10L).encodeAsValue());
+            writer.addMutation(hotTablet);
+            final Mutation coldTablet = new Mutation(new Text(tableId + "<"));
+            coldTablet.put(TabletsSection.DataFileColumnFamily.NAME, new Text("/cold.rf"), new DataFileValue(10000L, 1000L).encodeAsValue());
+            writer.addMutation(coldTablet);
+        } finally {
+            writer.close();
+        }
+        final BalanceTableSplits op = new BalanceTableSplits.Builder()
+                .maxTabletEntries(500L)
+                .minTabletSize(1L)
+                .dryRun(true)
+                .build();
+
+        // When
+        final List<String> splits;
+        try {
+            splits = new BalanceTableSplitsHandler().doOperation(op, byteEntityStore);
+        } finally {
+            byteEntityStore.getConnection().tableOperations().deleteRows(MetadataTable.NAME, null, null);
+        }
+
+        // Then - only the tablet of the cold vertices is split
+        assertEquals(1, splits.size());
+        final String split = new String(Base64.decodeBase64(splits.get(0)), "UTF-8");
+        assertTrue(split, split.startsWith("vertex"));
+    }
+
+    @Test
+    public void shouldNotScanTheWholeTableWhenMetadataTableCannotBeRead() throws Exception {
+        // Given - a metadata entry that cannot be decoded
+        initialise(byteEntityStore, PROPERTIES);
+        final String tableId = byteEntityStore.getConnection().tableOperations().tableIdMap().get(PROPERTIES.getTable());
+        final BatchWriter writer = byteEntityStore.getConnection().createBatchWriter(MetadataTable.NAME, new BatchWriterConfig());
+        try {
+            final Mutation tablet = new Mutation(new Text(tableId + "<"));
+            tablet.put(TabletsSection.DataFileColumnFamily.NAME, new Text("/corrupt.rf"), new Value("corrupt".getBytes("UTF-8")));
+            writer.addMutation(tablet);
+        } finally {
+            writer.close();
+        }
+        final BalanceTableSplits op = new BalanceTableSplits.Builder()
+                .maxTabletEntries(250L)
+                .minTabletSize(1L)
+                .build();
+
+        // When / Then
+        try {
+            new BalanceTableSplitsHandler().doOperation(op, byteEntityStore);
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("Failed to read the tablet sizes of table " + PROPERTIES.getTable() + " from the metadata table"));
+        } finally {
+            byteEntityStore.getConnection().tableOperations().deleteRows(MetadataTable.NAME, null, null);
+        }
+        assertEquals(1, listSplits(byteEntityStore).size());
+    }
+
+    @Test
+    public void shouldNotAllowMaxTabletSizeLessThanOne() throws Exception {
+        // Given
+        initialise(byteEntityStore, PROPERTIES);
+        final BalanceTableSplits op = new BalanceTableSplits.Builder()
+                .maxTabletSize(0L)
+                .build();
+
+        // When / Then
+        try {
+            new BalanceTableSplitsHandler().doOperation(op, byteEntityStore);
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertEquals("Invalid table split balancing settings: The maximum tablet size must be at least 1 but was 0", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldNotAllowSampleSizeLessThanOne() throws Exception {
+        // Given
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setSplitManagementSampleSize("0");
+        initialise(byteEntityStore, properties);
+
+        // When / Then
+        try {
+            new BalanceTableSplitsHandler().doOperation(new BalanceTableSplits(), byteEntityStore);
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertEquals("Invalid table split balancing settings: " + AccumuloProperties.SPLIT_MANAGEMENT_SAMPLE_SIZE + " must be at least 1 but was 0", e.getMessage());
+        }
+    }
+
+    @Test(expected = StoreException.class)
+    public void shouldNotStartSplitManagementWithInvalidSettings() throws Exception {
+        // Given
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setSplitManagementIntervalSeconds("1");
+        properties.setSplitManagementMaxTabletSize("0");
+
+        // When
+        byteEntityStore.initialise(SCHEMA, properties);
+    }
+
+    @Test
+    public void shouldBalanceSplitsInBackgroundWhenIntervalIsSet() throws Exception {
+        // Given
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setSplitManagementIntervalSeconds("1");
+        properties.setSplitManagementMaxTabletEntries("250");
+        properties.setSplitManagementMinTabletSize("1");
+        initialise(byteEntityStore, properties);
+
+        // When
+        try {
+            final long timeout = System.currentTimeMillis() + 10000L;
+            while (listSplits(byteEntityStore).size() < 4 && System.currentTimeMillis() < timeout) {
+                Thread.sleep(100L);
+            }
+        } finally {
+            byteEntityStore.stopSplitManagement();
+        }
+
+        // Then
+        assertEquals(4, listSplits(byteEntityStore).size());
+    }
+
+    private void shouldSplitTabletsWithTooManyEntries(final AccumuloStore store, final AccumuloProperties properties) throws Exception {
+        // Given
+        initialise(store, properties);
+        final BalanceTableSplits op = new BalanceTableSplits.Builder()
+                .maxTabletEntries(250L)
+                .minTabletSize(1L)
+                .build();
+
+        // When
+        final List<String> splits = new BalanceTableSplitsHandler().doOperation(op, store);
+
+        // Then - the hot tablet is split into 4 and the other tablet is not split
+        assertEquals(3, splits.size());
+        assertSplitsAreInHotTablet(splits);
+        assertEquals(4, listSplits(store).size());
+    }
+
+    private void shouldSplitHotTablets(final AccumuloStore store, final AccumuloProperties properties) throws Exception {
+        // Given
+        initialise(store, properties);
+        final BalanceTableSplits op = new BalanceTableSplits.Builder()
+                .skewFactor(1.5)
+                .minTabletSize(1L)
+                .build();
+
+        // When
+        final List<String> splits = new BalanceTableSplitsHandler().doOperation(op, store);
+
+        // Then - the hot tablet is about twice the mean tablet size, so it is split in half
+        assertEquals(1, splits.size());
+        assertSplitsAreInHotTablet(splits);
+        final String split = new String(Base64.decodeBase64(splits.get(0)), "UTF-8");
+        assertTrue(split, split.compareTo("hot0400") > 0 && split.compareTo("hot0600") < 0);
+    }
+
+    private void assertSplitsAreInHotTablet(final List<String> splits) throws Exception {
+        for (final String encodedSplit : splits) {
+            final String split = new String(Base64.decodeBase64(encodedSplit), "UTF-8");
+            assertTrue(split, split.startsWith("hot"));
+        }
+    }
+
+    private void initialise(final AccumuloStore store, final AccumuloProperties properties)
+            throws StoreException, OperationException, TableNotFoundException, AccumuloSecurityException, AccumuloException {
+        store.initialise(SCHEMA, properties);
+        // One tablet for the hot vertices and one for the others
+        store.getConnection().tableOperations().addSplits(store.getProperties().getTable(),
+                new TreeSet<>(Collections.singleton(new Text("m"))));
+
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < NUM_HOT_VERTICES; i++) {
+            elements.add(createEntity(String.format("hot%04d", i)));
+        }
+        for (int i = 0; i < NUM_COLD_VERTICES; i++) {
+            elements.add(createEntity("vertex" + i));
+        }
+        store.execute(new AddElements.Builder()
+                .input(elements)
+                .build(), new User());
+    }
+
+    private static Entity createEntity(final String vertex) {
+        final Entity entity = new Entity(TestGroups.ENTITY, vertex);
+        entity.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+        entity.putProperty(AccumuloPropertyNames.COUNT, 1);
+        return entity;
+    }
+
+    private static Collection<Text> listSplits(final AccumuloStore store)
+            throws StoreException, TableNotFoundException, AccumuloSecurityException, AccumuloException {
+        return store.getConnection().tableOperations().listSplits(store.getProperties().getTable());
+    }
+}
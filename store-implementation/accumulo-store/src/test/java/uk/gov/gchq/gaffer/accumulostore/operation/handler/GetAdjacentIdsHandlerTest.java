@@ -0,0 +1,206 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.operation.handler;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.retriever.impl.AccumuloAdjacentIdRetriever;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloPropertyNames;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GetAdjacentIdsHandlerTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(GetAdjacentIdsHandlerTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(GetAdjacentIdsHandlerTest.class));
+    private static final AccumuloProperties CLASSIC_PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.openStream(GetAdjacentIdsHandlerTest.class, "/accumuloStoreClassicKeys.properties"));
+
+    private static AccumuloStore byteEntityStore;
+    private static AccumuloStore classicStore;
+
+    private final User user = new User();
+
+    @BeforeClass
+    public static void setup() throws StoreException {
+        byteEntityStore = new SingleUseMockAccumuloStore();
+        classicStore = new SingleUseMockAccumuloStore();
+    }
+
+    @Before
+    public void reInitialise() throws StoreException, OperationException {
+        byteEntityStore.initialise(SCHEMA, PROPERTIES);
+        classicStore.initialise(SCHEMA, CLASSIC_PROPERTIES);
+        addElements(byteEntityStore);
+        addElements(classicStore);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        byteEntityStore = null;
+        classicStore = null;
+    }
+
+    @Test
+    public void shouldReturnEachAdjacentIdOnceByteEntityStore() throws OperationException {
+        shouldReturnEachAdjacentIdOnce(byteEntityStore);
+    }
+
+    @Test
+    public void shouldReturnEachAdjacentIdOnceClassicStore() throws OperationException {
+        shouldReturnEachAdjacentIdOnce(classicStore);
+    }
+
+    @Test
+    public void shouldApplyPreAggregationFilterToAdjacentIdsByteEntityStore() throws OperationException {
+        shouldApplyPreAggregationFilterToAdjacentIds(byteEntityStore);
+    }
+
+    @Test
+    public void shouldApplyPreAggregationFilterToAdjacentIdsClassicStore() throws OperationException {
+        shouldApplyPreAggregationFilterToAdjacentIds(classicStore);
+    }
+
+    @Test
+    public void shouldApplyPostTransformFilterToAdjacentIdsByteEntityStore() throws OperationException {
+        shouldApplyPostTransformFilterToAdjacentIds(byteEntityStore);
+    }
+
+    @Test
+    public void shouldApplyPostTransformFilterToAdjacentIdsClassicStore() throws OperationException {
+        shouldApplyPostTransformFilterToAdjacentIds(classicStore);
+    }
+
+    private void shouldReturnEachAdjacentIdOnce(final AccumuloStore store) throws OperationException {
+        // Given
+        final GetAdjacentIds op = new GetAdjacentIds.Builder()
+                .input(new EntitySeed("A"))
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .edge(TestGroups.EDGE_2)
+                        .build())
+                .build();
+
+        // When
+        final CloseableIterable<? extends EntityId> results = new GetAdjacentIdsHandler().doOperation(op, user, store);
+
+        // Then
+        assertTrue(results instanceof AccumuloAdjacentIdRetriever);
+        assertEquals(Arrays.asList("B", "C", "D"), getSortedVertices(results));
+    }
+
+    private void shouldApplyPreAggregationFilterToAdjacentIds(final AccumuloStore store) throws OperationException {
+        // Given
+        final GetAdjacentIds op = new GetAdjacentIds.Builder()
+                .input(new EntitySeed("A"))
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                                .preAggregationFilter(new ElementFilter.Builder()
+                                        .select(AccumuloPropertyNames.COLUMN_QUALIFIER)
+                                        .execute(new IsMoreThan(1))
+                                        .build())
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final CloseableIterable<? extends EntityId> results = new GetAdjacentIdsHandler().doOperation(op, user, store);
+
+        // Then
+        assertTrue(results instanceof AccumuloAdjacentIdRetriever);
+        assertEquals(Collections.singletonList("B"), getSortedVertices(results));
+    }
+
+    private void shouldApplyPostTransformFilterToAdjacentIds(final AccumuloStore store) throws OperationException {
+        // Given
+        final GetAdjacentIds op = new GetAdjacentIds.Builder()
+                .input(new EntitySeed("A"))
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                                .postTransformFilter(new ElementFilter.Builder()
+                                        .select(AccumuloPropertyNames.COLUMN_QUALIFIER)
+                                        .execute(new IsMoreThan(1))
+                                        .build())
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final CloseableIterable<? extends EntityId> results = new GetAdjacentIdsHandler().doOperation(op, user, store);
+
+        // Then
+        assertFalse(results instanceof AccumuloAdjacentIdRetriever);
+        assertEquals(Collections.singletonList("B"), getSortedVertices(results));
+    }
+
+    private List<String> getSortedVertices(final CloseableIterable<? extends EntityId> results) {
+        final List<String> vertices = new ArrayList<>();
+        for (final EntityId result : results) {
+            vertices.add((String) result.getVertex());
+        }
+        results.close();
+        Collections.sort(vertices);
+        return vertices;
+    }
+
+    private void addElements(final AccumuloStore store) throws OperationException {
+        final List<Element> elements = Arrays.asList(
+                createEdge(TestGroups.EDGE, "A", "B", true, 1),
+                createEdge(TestGroups.EDGE, "A", "B", true, 2),
+                createEdge(TestGroups.EDGE_2, "A", "B", true, 1),
+                createEdge(TestGroups.EDGE, "A", "B", false, 1),
+                createEdge(TestGroups.EDGE, "A", "C", true, 1),
+                createEdge(TestGroups.EDGE, "D", "A", true, 1)
+        );
+        store.execute(new AddElements.Builder()
+                .input(elements)
+                .build(), user);
+    }
+
+    private Edge createEdge(final String group, final String source, final String destination,
+                            final boolean directed, final int columnQualifier) {
+        final Edge edge = new Edge(group, source, destination, directed);
+        edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, columnQualifier);
+        edge.putProperty(AccumuloPropertyNames.COUNT, 1);
+        return edge;
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.operation.handler;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetTopElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GetTopElementsHandlerTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(GetTopElementsHandlerTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(GetTopElementsHandlerTest.class));
+    private static final AccumuloProperties CLASSIC_PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.openStream(GetTopElementsHandlerTest.class, "/accumuloStoreClassicKeys.properties"));
+
+    private static AccumuloStore byteEntityStore;
+    private static AccumuloStore classicStore;
+
+    private final User user = new User();
+
+    @BeforeClass
+    public static void setup() throws StoreException {
+        byteEntityStore = new SingleUseMockAccumuloStore();
+        classicStore = new SingleUseMockAccumuloStore();
+    }
+
+    @Before
+    public void reInitialise() throws StoreException, OperationException {
+        byteEntityStore.initialise(SCHEMA, PROPERTIES);
+        classicStore.initialise(SCHEMA, CLASSIC_PROPERTIES);
+        addElements(byteEntityStore);
+        addElements(classicStore);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        byteEntityStore = null;
+        classicStore = null;
+    }
+
+    @Test
+    public void shouldReturnTopElementsOfAllElementsByteEntityStore() throws OperationException {
+        shouldReturnTopElementsOfAllElements(byteEntityStore);
+    }
+
+    @Test
+    public void shouldReturnTopElementsOfAllElementsClassicStore() throws OperationException {
+        shouldReturnTopElementsOfAllElements(classicStore);
+    }
+
+    @Test
+    public void shouldReturnTopElementsForSeedsByteEntityStore() throws OperationException {
+        shouldReturnTopElementsForSeeds(byteEntityStore);
+    }
+
+    @Test
+    public void shouldReturnTopElementsForSeedsClassicStore() throws OperationException {
+        shouldReturnTopElementsForSeeds(classicStore);
+    }
+
+    @Test
+    public void shouldRankUsingComparatorByteEntityStore() throws OperationException {
+        shouldRankUsingComparator(byteEntityStore);
+    }
+
+    @Test
+    public void shouldRankUsingComparatorClassicStore() throws OperationException {
+        shouldRankUsingComparator(classicStore);
+    }
+
+    @Test
+    public void shouldRankOnClientWhenViewHasPostTransformFilterByteEntityStore() throws OperationException {
+        shouldRankOnClientWhenViewHasPostTransformFilter(byteEntityStore);
+    }
+
+    @Test
+    public void shouldRankOnClientWhenViewHasPostTransformFilterClassicStore() throws OperationException {
+        shouldRankOnClientWhenViewHasPostTransformFilter(classicStore);
+    }
+
+    private void shouldReturnTopElementsOfAllElements(final AccumuloStore store) throws OperationException {
+        // Given
+        final GetTopElements op = new GetTopElements.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .property(TestPropertyNames.COUNT)
+                .limit(2)
+                .build();
+
+        // When
+        final List<Element> candidates = toList(new GetTopElementsHandler().getCandidates(op, user, store));
+        final List<Element> results = toList(new GetTopElementsHandler().doOperation(op, new Context(user), store));
+
+        // Then
+        assertTrue("Only the top elements should be returned from the tablet", candidates.size() <= 2);
+        assertEquals(Arrays.asList(
+                createEdge("A", "D", 9),
+                createEdge("A", "B", 5)), results);
+    }
+
+    private void shouldReturnTopElementsForSeeds(final AccumuloStore store) throws OperationException {
+        // Given
+        final GetTopElements op = new GetTopElements.Builder()
+                .input(new EntitySeed("C"))
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .property(TestPropertyNames.COUNT)
+                .limit(1)
+                .build();
+
+        // When
+        final List<Element> results = toList(new GetTopElementsHandler().doOperation(op, new Context(user), store));
+
+        // Then
+        assertEquals(Arrays.asList(createEdge("A", "C", 3)), results);
+    }
+
+    private void shouldRankUsingComparator(final AccumuloStore store) throws OperationException {
+        // Given
+        final GetTopElements op = new GetTopElements.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .property(TestPropertyNames.COUNT)
+                .comparator(new ReverseComparator())
+                .limit(2)
+                .build();
+
+        // When
+        final List<Element> results = toList(new GetTopElementsHandler().doOperation(op, new Context(user), store));
+
+        // Then
+        assertEquals(Arrays.asList(
+                createEdge("B", "C", 1),
+                createEdge("A", "C", 3)), results);
+    }
+
+    private void shouldRankOnClientWhenViewHasPostTransformFilter(final AccumuloStore store) throws OperationException {
+        // Given
+        final GetTopElements op = new GetTopElements.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                                .postTransformFilter(new ElementFilter.Builder()
+                                        .select(TestPropertyNames.COUNT)
+                                        .execute(new IsMoreThan(8))
+                                        .build())
+                                .build())
+                        .build())
+                .property(TestPropertyNames.COUNT)
+                .comparator(new ReverseComparator())
+                .limit(1)
+                .build();
+
+        // When
+        final List<Element> results = toList(new GetTopElementsHandler().doOperation(op, new Context(user), store));
+
+        // Then
+        assertEquals(Arrays.asList(createEdge("A", "D", 9)), results);
+    }
+
+    private List<Element> toList(final CloseableIterable<? extends Element> results) {
+        final List<Element> list = new ArrayList<>();
+        for (final Element result : results) {
+            list.add(result);
+        }
+        results.close();
+        return list;
+    }
+
+    private void addElements(final AccumuloStore store) throws OperationException {
+        store.execute(new AddElements.Builder()
+                .input(createEdge("A", "B", 5),
+                        createEdge("A", "C", 3),
+                        createEdge("A", "D", 9),
+                        createEdge("B", "C", 1))
+                .build(), user);
+    }
+
+    private Edge createEdge(final String source, final String destination, final int count) {
+        final Edge edge = new Edge(TestGroups.EDGE, source, destination, true);
+        edge.putProperty(TestPropertyNames.COUNT, count);
+        return edge;
+    }
+
+    public static class ReverseComparator implements Comparator<Object> {
+        @SuppressWarnings("unchecked")
+        @Override
+        public int compare(final Object value1, final Object value2) {
+            return ((Comparable<Object>) value2).compareTo(value1);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.operation.handler;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.operation.impl.SummariseGroupOverRanges;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloPropertyNames;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class SummariseGroupOverRangesHandlerTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(SummariseGroupOverRangesHandlerTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(SummariseGroupOverRangesHandlerTest.class));
+    private static final AccumuloProperties CLASSIC_PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.openStream(SummariseGroupOverRangesHandlerTest.class, "/accumuloStoreClassicKeys.properties"));
+
+    private static AccumuloStore byteEntityStore;
+    private static AccumuloStore classicStore;
+
+    private final User user = new User();
+
+    @BeforeClass
+    public static void setup() throws StoreException {
+        byteEntityStore = new SingleUseMockAccumuloStore();
+        classicStore = new SingleUseMockAccumuloStore();
+    }
+
+    @Before
+    public void reInitialise() throws StoreException, OperationException {
+        byteEntityStore.initialise(SCHEMA, createProperties(PROPERTIES));
+        classicStore.initialise(SCHEMA, createProperties(CLASSIC_PROPERTIES));
+        addElements(byteEntityStore);
+        addElements(classicStore);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        byteEntityStore = null;
+        classicStore = null;
+    }
+
+    @Test
+    public void shouldReturnOneSummaryPerRangeByteEntityStore() throws OperationException {
+        shouldReturnOneSummaryPerRange(byteEntityStore);
+    }
+
+    @Test
+    public void shouldReturnOneSummaryPerRangeClassicStore() throws OperationException {
+        shouldReturnOneSummaryPerRange(classicStore);
+    }
+
+    @Test
+    public void shouldApplyPostAggregationFilterToSummariesByteEntityStore() throws OperationException {
+        shouldApplyPostAggregationFilterToSummaries(byteEntityStore);
+    }
+
+    @Test
+    public void shouldApplyPostAggregationFilterToSummariesClassicStore() throws OperationException {
+        shouldApplyPostAggregationFilterToSummaries(classicStore);
+    }
+
+    private void shouldReturnOneSummaryPerRange(final AccumuloStore store) throws OperationException {
+        // Given - overlapping ranges, spread over more than one batch
+        final SummariseGroupOverRanges op = new SummariseGroupOverRanges.Builder()
+                .input(createRanges())
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .build();
+
+        // When
+        final List<Integer> counts = getCounts(new SummariseGroupOverRangesHandler().doOperation(op, user, store));
+
+        // Then
+        assertEquals(Arrays.asList(1, 1, 3, 5, 5), counts);
+    }
+
+    private void shouldApplyPostAggregationFilterToSummaries(final AccumuloStore store) throws OperationException {
+        // Given
+        final SummariseGroupOverRanges op = new SummariseGroupOverRanges.Builder()
+                .input(createRanges())
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                                .postAggregationFilter(new ElementFilter.Builder()
+                                        .select(AccumuloPropertyNames.COUNT)
+                                        .execute(new IsMoreThan(1))
+                                        .build())
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final List<Integer> counts = getCounts(new SummariseGroupOverRangesHandler().doOperation(op, user, store));
+
+        // Then
+        assertEquals(Arrays.asList(3, 5, 5), counts);
+    }
+
+    private List<Pair<ElementId, ElementId>> createRanges() {
+        return Arrays.asList(
+                new Pair<>(new EntitySeed("0"), new EntitySeed("4")),
+                new Pair<>(new EntitySeed("2"), new EntitySeed("6")),
+                new Pair<>(new EntitySeed("8"), new EntitySeed("8")),
+                new Pair<>(new EntitySeed("7"), new EntitySeed("9")),
+                new Pair<>(new EntitySeed("9"), new EntitySeed("9")));
+    }
+
+    private List<Integer> getCounts(final CloseableIterable<? extends Element> results) {
+        final List<Integer> counts = new ArrayList<>();
+        for (final Element result : results) {
+            counts.add((Integer) result.getProperty(AccumuloPropertyNames.COUNT));
+        }
+        results.close();
+        Collections.sort(counts);
+        return counts;
+    }
+
+    // Small batches, so the ranges are scanned by more than one batch scanner at a time
+    private static AccumuloProperties createProperties(final AccumuloProperties properties) {
+        final AccumuloProperties clone = properties.clone();
+        clone.setMaxEntriesForBatchScanner("2");
+        clone.setConcurrentScannersForRanges("2");
+        return clone;
+    }
+
+    private static void addElements(final AccumuloStore store) throws OperationException {
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final Entity entity = new Entity(TestGroups.ENTITY, Integer.toString(i));
+            entity.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+            entity.putProperty(AccumuloPropertyNames.COUNT, 1);
+            elements.add(entity);
+        }
+        store.execute(new AddElements.Builder()
+                .input(elements)
+                .build(), new User());
+    }
+}
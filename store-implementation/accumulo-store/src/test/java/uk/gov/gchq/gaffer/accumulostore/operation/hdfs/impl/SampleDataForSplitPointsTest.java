@@ -30,6 +30,7 @@ public class SampleDataForSplitPointsTest implements OperationTest {
         op.setProportionToSample(0.1f);
         op.setResultingSplitsFilePath(resultPath);
         op.setNumMapTasks(5);
+        op.setSampleSize(1000);
 
         // When
         byte[] json = serialiser.serialise(op, true);
@@ -44,19 +45,21 @@ public class SampleDataForSplitPointsTest implements OperationTest {
         assertEquals(0.1f, deserialisedOp.getProportionToSample(), 1);
         assertEquals(new Integer(5), deserialisedOp.getNumMapTasks());
         assertEquals(new Integer(1), deserialisedOp.getNumReduceTasks());
+        assertEquals(new Integer(1000), deserialisedOp.getSampleSize());
 
     }
 
     @Test
     @Override
     public void builderShouldCreatePopulatedOperation() {
-        final SampleDataForSplitPoints sampleDataForSplitPoints = new SampleDataForSplitPoints.Builder().addInputPath(INPUT_DIRECTORY).option(TEST_OPTION_KEY, "true").proportionToSample(0.1f).validate(true).mappers(5).resultingSplitsFilePath("/test").build();
+        final SampleDataForSplitPoints sampleDataForSplitPoints = new SampleDataForSplitPoints.Builder().addInputPath(INPUT_DIRECTORY).option(TEST_OPTION_KEY, "true").proportionToSample(0.1f).validate(true).mappers(5).sampleSize(1000).resultingSplitsFilePath("/test").build();
         assertEquals(INPUT_DIRECTORY, sampleDataForSplitPoints.getInputPaths().get(0));
         assertEquals("true", sampleDataForSplitPoints.getOption(TEST_OPTION_KEY));
         assertEquals("/test", sampleDataForSplitPoints.getResultingSplitsFilePath());
         assertTrue(sampleDataForSplitPoints.isValidate());
         assertEquals(0.1f, sampleDataForSplitPoints.getProportionToSample(), 1);
         assertEquals(new Integer(5), sampleDataForSplitPoints.getNumMapTasks());
+        assertEquals(new Integer(1000), sampleDataForSplitPoints.getSampleSize());
     }
 
     @Test
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.operation.impl;
+
+import org.junit.Test;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloTestData;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationTest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BalanceTableSplitsTest implements OperationTest {
+    private static final JSONSerialiser serialiser = new JSONSerialiser();
+
+    @Test
+    @Override
+    public void shouldSerialiseAndDeserialiseOperation() throws SerialisationException {
+        // Given
+        final BalanceTableSplits op = new BalanceTableSplits.Builder()
+                .dryRun(true)
+                .maxTabletSize(1000L)
+                .maxTabletEntries(100L)
+                .minTabletSize(10L)
+                .skewFactor(2.5)
+                .maxNewSplits(5)
+                .build();
+
+        // When
+        byte[] json = serialiser.serialise(op, true);
+        final BalanceTableSplits deserialisedOp = serialiser.deserialise(json, BalanceTableSplits.class);
+
+        // Then
+        assertTrue(deserialisedOp.isDryRun());
+        assertEquals(new Long(1000L), deserialisedOp.getMaxTabletSize());
+        assertEquals(new Long(100L), deserialisedOp.getMaxTabletEntries());
+        assertEquals(new Long(10L), deserialisedOp.getMinTabletSize());
+        assertEquals(new Double(2.5), deserialisedOp.getSkewFactor());
+        assertEquals(new Integer(5), deserialisedOp.getMaxNewSplits());
+    }
+
+    @Test
+    @Override
+    public void builderShouldCreatePopulatedOperation() {
+        final BalanceTableSplits balanceTableSplits = new BalanceTableSplits.Builder()
+                .dryRun(true)
+                .maxNewSplits(5)
+                .option(AccumuloTestData.TEST_OPTION_PROPERTY_KEY, "true")
+                .build();
+        assertTrue(balanceTableSplits.isDryRun());
+        assertEquals(new Integer(5), balanceTableSplits.getMaxNewSplits());
+        assertEquals("true", balanceTableSplits.getOption(AccumuloTestData.TEST_OPTION_PROPERTY_KEY));
+        assertNull(balanceTableSplits.getMaxTabletSize());
+    }
+}
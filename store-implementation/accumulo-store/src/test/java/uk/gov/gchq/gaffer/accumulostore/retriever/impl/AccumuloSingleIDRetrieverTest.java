@@ -26,6 +26,7 @@ import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
+import uk.gov.gchq.gaffer.commonutil.AdaptiveBatchSizer;
 import uk.gov.gchq.gaffer.commonutil.StreamUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.data.element.Edge;
@@ -45,6 +46,7 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -112,6 +114,87 @@ public class AccumuloSingleIDRetrieverTest {
         //Should find both i-B and i-C edges and entities i
     }
 
+    @Test
+    public void shouldRetrieveAllElementsWithAdaptiveBatchScanner() throws AccumuloException, StoreException {
+        // Given
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setAdaptiveBatchScanner(true);
+        properties.setAdaptiveBatchScannerMinEntries("10");
+        properties.setAdaptiveBatchScannerMaxEntries("100");
+        properties.setAdaptiveBatchScannerTargetBatchMillis("0");
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(schema, properties);
+        setupGraph(store, numEntries);
+
+        final Set<ElementId> ids = new HashSet<>();
+        for (int i = 0; i < numEntries; i++) {
+            ids.add(new EntitySeed("" + i));
+        }
+        final View view = new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build();
+        final GetElements operation = new GetElements.Builder().view(view).input(ids).build();
+        final List<Integer> batchSizes = new ArrayList<>();
+
+        // When
+        final AccumuloSingleIDRetriever retriever;
+        try {
+            retriever = new AccumuloSingleIDRetriever(store, operation, new User()) {
+                @Override
+                protected AdaptiveBatchSizer createBatchSizer() {
+                    final AdaptiveBatchSizer batchSizer = super.createBatchSizer();
+                    return new AdaptiveBatchSizer(10, 10, 100, 0, 0, 0) {
+                        @Override
+                        public int getBatchSize() {
+                            final int batchSize = batchSizer.getBatchSize();
+                            batchSizes.add(batchSize);
+                            return batchSize;
+                        }
+
+                        @Override
+                        public void update(final int numSeeds, final long numRanges, final long numResults, final long durationMillis) {
+                            batchSizer.update(numSeeds, numRanges, numResults, durationMillis);
+                        }
+                    };
+                }
+            };
+        } catch (final IteratorSettingException e) {
+            throw new RuntimeException(e);
+        }
+        final int numElements = Iterables.size(retriever);
+
+        // Then - the seeds are split into batches that double from 10 up to 100 seeds
+        assertEquals(numEntries * 3, numElements);
+        assertEquals(Arrays.asList(10, 20, 40, 80, 100), batchSizes.subList(0, 5));
+        for (final int batchSize : batchSizes.subList(5, batchSizes.size())) {
+            assertEquals(100, batchSize);
+        }
+        assertEquals(13, batchSizes.size());
+    }
+
+    @Test
+    public void shouldSkipDuplicateSeedsAndRecordRangeCoalescingMetrics() throws AccumuloException, StoreException {
+        // Given
+        final List<ElementId> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ids.add(new EntitySeed("" + i));
+            ids.add(new EntitySeed("" + i));
+        }
+        final View view = new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build();
+        final GetElements operation = new GetElements.Builder().view(view).input(ids).build();
+        final long duplicateSeeds = byteEntityStore.getRangeCoalescingMetrics().getNumDuplicateSeeds();
+
+        // When
+        final AccumuloSingleIDRetriever retriever;
+        try {
+            retriever = new AccumuloSingleIDRetriever(byteEntityStore, operation, new User());
+        } catch (final IteratorSettingException e) {
+            throw new RuntimeException(e);
+        }
+
+        // Then
+        assertEquals(10 * 3, Iterables.size(retriever));
+        assertEquals(duplicateSeeds + 10, byteEntityStore.getRangeCoalescingMetrics().getNumDuplicateSeeds());
+    }
+
     @Test
     public void testEntityIdQueryEdgesOnly() throws AccumuloException, StoreException {
         testEntityIdQueryEdgesOnly(byteEntityStore);
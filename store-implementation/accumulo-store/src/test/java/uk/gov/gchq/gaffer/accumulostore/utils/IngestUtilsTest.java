@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class IngestUtilsTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(IngestUtilsTest.class));
+
+    @Test
+    public void shouldCalculateEvenlySpacedSplitPointsFromElements() throws AccumuloElementConversionException {
+        // Given
+        final AccumuloElementConverter converter = new ByteEntityAccumuloElementConverter(SCHEMA);
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            elements.add(new Entity(TestGroups.ENTITY, String.format("vertex%04d", i)));
+        }
+
+        // When
+        final SortedSet<Text> splits = IngestUtils.calculateSplitPoints(converter, elements, 2000, 3);
+
+        // Then
+        assertEquals(3, splits.size());
+        final Text[] splitPoints = splits.toArray(new Text[splits.size()]);
+        assertTrue(splitPoints[0].toString().startsWith("vertex02"));
+        assertTrue(splitPoints[1].toString().startsWith("vertex04"));
+        assertTrue(splitPoints[2].toString().startsWith("vertex07"));
+    }
+
+    @Test
+    public void shouldReturnNoSplitPointsWhenThereAreNoElements() throws AccumuloElementConversionException {
+        // Given
+        final AccumuloElementConverter converter = new ByteEntityAccumuloElementConverter(SCHEMA);
+
+        // When
+        final SortedSet<Text> splits = IngestUtils.calculateSplitPoints(converter, new ArrayList<Element>(), 100, 3);
+
+        // Then
+        assertTrue(splits.isEmpty());
+    }
+}
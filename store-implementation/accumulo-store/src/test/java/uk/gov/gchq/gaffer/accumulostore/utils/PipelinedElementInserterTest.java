@@ -0,0 +1,212 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class PipelinedElementInserterTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(PipelinedElementInserterTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(PipelinedElementInserterTest.class));
+    private static final AccumuloProperties CLASSIC_PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.openStream(PipelinedElementInserterTest.class, "/accumuloStoreClassicKeys.properties"));
+    private static final String UNKNOWN_GROUP = "unknownGroup";
+
+    private static AccumuloStore byteEntityStore;
+    private static AccumuloStore classicStore;
+
+    @BeforeClass
+    public static void setup() {
+        byteEntityStore = new SingleUseMockAccumuloStore();
+        classicStore = new SingleUseMockAccumuloStore();
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        byteEntityStore.stopIngestConverterThreads();
+        classicStore.stopIngestConverterThreads();
+        byteEntityStore = null;
+        classicStore = null;
+    }
+
+    @Test
+    public void shouldAddAndPreAggregateElementsByteEntityStore() throws StoreException, OperationException {
+        shouldAddElements(byteEntityStore, PROPERTIES, true, false);
+    }
+
+    @Test
+    public void shouldAddAndPreAggregateElementsClassicStore() throws StoreException, OperationException {
+        shouldAddElements(classicStore, CLASSIC_PROPERTIES, true, false);
+    }
+
+    @Test
+    public void shouldAddElementsInOrderByteEntityStore() throws StoreException, OperationException {
+        shouldAddElements(byteEntityStore, PROPERTIES, false, true);
+    }
+
+    @Test
+    public void shouldAddElementsInOrderClassicStore() throws StoreException, OperationException {
+        shouldAddElements(classicStore, CLASSIC_PROPERTIES, false, true);
+    }
+
+    @Test
+    public void shouldSkipElementsThatCannotBeConverted() throws StoreException, OperationException {
+        // Given
+        byteEntityStore.initialise(SCHEMA, createProperties(PROPERTIES, true, false, false));
+        final List<Element> elements = createElements();
+        elements.add(5, new Entity(UNKNOWN_GROUP, "vertex"));
+
+        // When
+        byteEntityStore.addElements(elements);
+
+        // Then
+        assertEquals(getExpectedCounts(), getCounts(byteEntityStore));
+    }
+
+    @Test
+    public void shouldFailFastOnElementsThatCannotBeConverted() throws StoreException {
+        // Given
+        byteEntityStore.initialise(SCHEMA, createProperties(PROPERTIES, true, false, true));
+        final List<Element> elements = createElements();
+        elements.add(5, new Entity(UNKNOWN_GROUP, "vertex"));
+
+        // When / Then
+        try {
+            byteEntityStore.addElements(elements);
+            fail("Exception expected");
+        } catch (final StoreException e) {
+            assertEquals("Failed to create an accumulo key from element of type " + UNKNOWN_GROUP + " when trying to insert elements", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldFailFastWithSingleConverterThread() throws StoreException {
+        // Given
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setIngestFailFast(true);
+        byteEntityStore.initialise(SCHEMA, properties);
+        final List<Element> elements = createElements();
+        elements.add(5, new Entity(UNKNOWN_GROUP, "vertex"));
+
+        // When / Then
+        try {
+            byteEntityStore.addElements(elements);
+            fail("Exception expected");
+        } catch (final StoreException e) {
+            assertEquals("Failed to create an accumulo key from element of type " + UNKNOWN_GROUP + " when trying to insert elements", e.getMessage());
+        }
+    }
+
+    private void shouldAddElements(final AccumuloStore store, final AccumuloProperties properties,
+                                   final boolean preAggregation, final boolean preserveOrder) throws StoreException, OperationException {
+        // Given
+        store.initialise(SCHEMA, createProperties(properties, preAggregation, preserveOrder, true));
+
+        // When - the elements are added twice so they are also aggregated by the table
+        store.addElements(createElements());
+        store.addElements(createElements());
+
+        // Then
+        final Map<String, Integer> expected = new HashMap<>();
+        for (final Map.Entry<String, Integer> entry : getExpectedCounts().entrySet()) {
+            expected.put(entry.getKey(), 2 * entry.getValue());
+        }
+        assertEquals(expected, getCounts(store));
+    }
+
+    // Small batches and queue, so the elements are spread over the converter threads and writers
+    private static AccumuloProperties createProperties(final AccumuloProperties properties, final boolean preAggregation,
+                                                       final boolean preserveOrder, final boolean failFast) {
+        final AccumuloProperties clone = properties.clone();
+        clone.setIngestConverterThreads("3");
+        clone.setIngestBatchSize("4");
+        clone.setIngestQueueSize("2");
+        clone.setIngestWriters("2");
+        clone.setIngestPreAggregation(preAggregation);
+        clone.setIngestPreserveOrder(preserveOrder);
+        clone.setIngestFailFast(failFast);
+        return clone;
+    }
+
+    private static List<Element> createElements() {
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            final Entity entity = new Entity(TestGroups.ENTITY, "vertex" + (i % 3));
+            entity.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, i % 2);
+            entity.putProperty(AccumuloPropertyNames.COUNT, 1);
+            elements.add(entity);
+
+            final Edge edge = new Edge(TestGroups.EDGE, "vertex" + (i % 3), "vertex" + (i % 5), true);
+            edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+            edge.putProperty(AccumuloPropertyNames.COUNT, 1);
+            elements.add(edge);
+        }
+        return elements;
+    }
+
+    private static Map<String, Integer> getExpectedCounts() {
+        final Map<String, Integer> counts = new HashMap<>();
+        for (final Element element : createElements()) {
+            counts.merge(getKey(element), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private static Map<String, Integer> getCounts(final AccumuloStore store) throws OperationException {
+        final Map<String, Integer> counts = new HashMap<>();
+        try (final CloseableIterable<? extends Element> results = store.execute(new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build(), new User())) {
+            for (final Element element : results) {
+                assertEquals(null, counts.put(getKey(element), (Integer) element.getProperty(AccumuloPropertyNames.COUNT)));
+            }
+        }
+        return counts;
+    }
+
+    private static String getKey(final Element element) {
+        if (element instanceof Entity) {
+            return ((Entity) element).getVertex() + "," + element.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER);
+        }
+        return ((Edge) element).getSource() + "->" + ((Edge) element).getDestination();
+    }
+}
@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.hbasestore;
 
 import org.apache.hadoop.hbase.TableName;
+import uk.gov.gchq.gaffer.commonutil.AdaptiveBatchSizerProperties;
 import uk.gov.gchq.gaffer.store.StoreProperties;
 import java.io.InputStream;
 import java.nio.file.Path;
@@ -27,15 +28,27 @@ import java.nio.file.Path;
  * {@link uk.gov.gchq.gaffer.data.element.Properties} and lazy loads the all properties from
  * a file when first used.
  */
-public class HBaseProperties extends StoreProperties {
+public class HBaseProperties extends StoreProperties implements AdaptiveBatchSizerProperties {
     public static final String ZOOKEEPERS = "hbase.zookeepers";
     public static final String TABLE = "hbase.table";
     public static final String WRITE_BUFFER_SIZE = "hbase.writeBufferSize";
     public static final String DEPENDENCY_JARS_HDFS_DIR_PATH = "hbase.hdfs.jars.path";
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER = "hbase.entriesForBatchScanner";
+    public static final String ADAPTIVE_BATCH_SCANNER = "hbase.adaptiveBatchScanner";
+    public static final String ADAPTIVE_BATCH_SCANNER_MIN_ENTRIES = "hbase.adaptiveBatchScanner.minEntries";
+    public static final String ADAPTIVE_BATCH_SCANNER_MAX_ENTRIES = "hbase.adaptiveBatchScanner.maxEntries";
+    public static final String ADAPTIVE_BATCH_SCANNER_TARGET_MILLIS = "hbase.adaptiveBatchScanner.targetBatchMillis";
+    public static final String ADAPTIVE_BATCH_SCANNER_MAX_RANGES = "hbase.adaptiveBatchScanner.maxRanges";
+    public static final String ADAPTIVE_BATCH_SCANNER_MAX_RESULTS = "hbase.adaptiveBatchScanner.maxResults";
 
     public static final int WRITE_BUFFER_SIZE_DEFAULT = 1000000;
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER_DEFAULT = "50000";
+    public static final String ADAPTIVE_BATCH_SCANNER_DEFAULT = "false";
+    public static final String ADAPTIVE_BATCH_SCANNER_MIN_ENTRIES_DEFAULT = "100";
+    public static final String ADAPTIVE_BATCH_SCANNER_MAX_ENTRIES_DEFAULT = "500000";
+    public static final String ADAPTIVE_BATCH_SCANNER_TARGET_MILLIS_DEFAULT = "2000";
+    public static final String ADAPTIVE_BATCH_SCANNER_MAX_RANGES_DEFAULT = "100000";
+    public static final String ADAPTIVE_BATCH_SCANNER_MAX_RESULTS_DEFAULT = "1000000";
 
     public HBaseProperties() {
         super();
@@ -119,6 +132,7 @@ public class HBaseProperties extends StoreProperties {
      * @return An integer representing the max number of items that should be
      * read into the scanner at any one time
      */
+    @Override
     public int getMaxEntriesForBatchScanner() {
         return Integer.parseInt(get(MAX_ENTRIES_FOR_BATCH_SCANNER, MAX_ENTRIES_FOR_BATCH_SCANNER_DEFAULT));
     }
@@ -133,4 +147,78 @@ public class HBaseProperties extends StoreProperties {
         set(MAX_ENTRIES_FOR_BATCH_SCANNER, maxEntriesForBatchScanner);
     }
 
+    /**
+     * Get the flag determining whether the number of seeds in each scan is
+     * adapted from the number of row ranges, the number of results and the
+     * time taken by the previous scans, rather than being fixed at the
+     * {@link #MAX_ENTRIES_FOR_BATCH_SCANNER}.
+     *
+     * @return true if the batch size should be adapted
+     */
+    @Override
+    public boolean getAdaptiveBatchScanner() {
+        return Boolean.parseBoolean(get(ADAPTIVE_BATCH_SCANNER, ADAPTIVE_BATCH_SCANNER_DEFAULT));
+    }
+
+    public void setAdaptiveBatchScanner(final boolean adaptiveBatchScanner) {
+        set(ADAPTIVE_BATCH_SCANNER, Boolean.toString(adaptiveBatchScanner));
+    }
+
+    /**
+     * Get the minimum number of seeds in an adaptive batch. This is also the
+     * size of the first batch.
+     *
+     * @return the minimum number of seeds in a batch
+     */
+    @Override
+    public int getAdaptiveBatchScannerMinEntries() {
+        return Integer.parseInt(get(ADAPTIVE_BATCH_SCANNER_MIN_ENTRIES, ADAPTIVE_BATCH_SCANNER_MIN_ENTRIES_DEFAULT));
+    }
+
+    public void setAdaptiveBatchScannerMinEntries(final String minEntries) {
+        set(ADAPTIVE_BATCH_SCANNER_MIN_ENTRIES, minEntries);
+    }
+
+    @Override
+    public int getAdaptiveBatchScannerMaxEntries() {
+        return Integer.parseInt(get(ADAPTIVE_BATCH_SCANNER_MAX_ENTRIES, ADAPTIVE_BATCH_SCANNER_MAX_ENTRIES_DEFAULT));
+    }
+
+    public void setAdaptiveBatchScannerMaxEntries(final String maxEntries) {
+        set(ADAPTIVE_BATCH_SCANNER_MAX_ENTRIES, maxEntries);
+    }
+
+    /**
+     * Get the target time in milliseconds spent scanning an adaptive batch. Time
+     * spent consuming the results of the batch is not included.
+     *
+     * @return the target batch time in milliseconds, 0 if the time is ignored
+     */
+    @Override
+    public long getAdaptiveBatchScannerTargetBatchMillis() {
+        return Long.parseLong(get(ADAPTIVE_BATCH_SCANNER_TARGET_MILLIS, ADAPTIVE_BATCH_SCANNER_TARGET_MILLIS_DEFAULT));
+    }
+
+    public void setAdaptiveBatchScannerTargetBatchMillis(final String targetBatchMillis) {
+        set(ADAPTIVE_BATCH_SCANNER_TARGET_MILLIS, targetBatchMillis);
+    }
+
+    @Override
+    public long getAdaptiveBatchScannerMaxRanges() {
+        return Long.parseLong(get(ADAPTIVE_BATCH_SCANNER_MAX_RANGES, ADAPTIVE_BATCH_SCANNER_MAX_RANGES_DEFAULT));
+    }
+
+    public void setAdaptiveBatchScannerMaxRanges(final String maxRanges) {
+        set(ADAPTIVE_BATCH_SCANNER_MAX_RANGES, maxRanges);
+    }
+
+    @Override
+    public long getAdaptiveBatchScannerMaxResults() {
+        return Long.parseLong(get(ADAPTIVE_BATCH_SCANNER_MAX_RESULTS, ADAPTIVE_BATCH_SCANNER_MAX_RESULTS_DEFAULT));
+    }
+
+    public void setAdaptiveBatchScannerMaxResults(final String maxResults) {
+        set(ADAPTIVE_BATCH_SCANNER_MAX_RESULTS, maxResults);
+    }
+
 }
@@ -27,6 +27,7 @@ import org.apache.hadoop.hbase.client.HTable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.RangeCoalescingMetrics;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.id.ElementId;
@@ -35,6 +36,8 @@ import uk.gov.gchq.gaffer.hbasestore.operation.handler.AddElementsHandler;
 import uk.gov.gchq.gaffer.hbasestore.operation.handler.GetAdjacentIdsHandler;
 import uk.gov.gchq.gaffer.hbasestore.operation.handler.GetAllElementsHandler;
 import uk.gov.gchq.gaffer.hbasestore.operation.handler.GetElementsHandler;
+import uk.gov.gchq.gaffer.hbasestore.operation.handler.GetMultiHopAdjacentIdsHandler;
+import uk.gov.gchq.gaffer.hbasestore.operation.handler.GetTopElementsHandler;
 import uk.gov.gchq.gaffer.hbasestore.operation.hdfs.handler.AddElementsFromHdfsHandler;
 import uk.gov.gchq.gaffer.hbasestore.retriever.HBaseRetriever;
 import uk.gov.gchq.gaffer.hbasestore.utils.TableUtils;
@@ -46,6 +49,8 @@ import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetMultiHopAdjacentIds;
+import uk.gov.gchq.gaffer.operation.impl.get.GetTopElements;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
@@ -94,6 +99,7 @@ public class HBaseStore extends Store {
             ));
     private static final Logger LOGGER = LoggerFactory.getLogger(HBaseStore.class);
     private Connection connection;
+    private final RangeCoalescingMetrics rangeCoalescingMetrics = new RangeCoalescingMetrics();
 
     @Override
     public void initialise(final Schema schema, final StoreProperties properties)
@@ -146,6 +152,16 @@ public class HBaseStore extends Store {
         return new HBaseRetriever<>(this, operation, user, ids, extraProcessors);
     }
 
+    /**
+     * Returns the metrics recording how many duplicate seeds and overlapping
+     * row ranges have been removed by the retrievers before scanning.
+     *
+     * @return the range coalescing metrics for this store
+     */
+    public RangeCoalescingMetrics getRangeCoalescingMetrics() {
+        return rangeCoalescingMetrics;
+    }
+
     @Override
     public Set<StoreTrait> getTraits() {
         return TRAITS;
@@ -184,6 +200,9 @@ public class HBaseStore extends Store {
 
     @Override
     protected void addAdditionalOperationHandlers() {
+        addOperationHandler(GetMultiHopAdjacentIds.class, new GetMultiHopAdjacentIdsHandler());
+        addOperationHandler(GetTopElements.class, new GetTopElementsHandler());
+
         try {
             addOperationHandler(AddElementsFromHdfs.class, new AddElementsFromHdfsHandler());
         } catch (final NoClassDefFoundError e) {
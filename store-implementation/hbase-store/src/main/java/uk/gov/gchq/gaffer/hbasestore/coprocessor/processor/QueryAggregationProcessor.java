@@ -51,8 +51,7 @@ public class QueryAggregationProcessor implements GafferScannerProcessor {
         }
 
         final List<LazyElementCell> output = new ArrayList<>();
-        ElementAggregator aggregator = null;
-        Properties aggregatedProperties = null;
+        final List<Properties> propertiesToAggregate = new ArrayList<>();
         LazyElementCell firstElementCell = null;
         for (final LazyElementCell elementCell : elementCells) {
             if (elementCell.isDeleted()) {
@@ -66,35 +65,37 @@ public class QueryAggregationProcessor implements GafferScannerProcessor {
                 final Set<String> schemaGroupBy = schema.getElement(group).getGroupBy();
                 final Set<String> groupBy = view.getElementGroupBy(group);
                 if (!compareGroupByKeys(firstElementCell.getCell(), elementCell.getCell(), group, schemaGroupBy, groupBy)) {
-                    completeAggregator(firstElementCell, aggregatedProperties, output);
+                    completeAggregator(firstElementCell, propertiesToAggregate, output);
                     firstElementCell = elementCell;
-                    aggregator = null;
                 } else {
-                    if (null == aggregator) {
-                        aggregator = schema.getElement(group).getAggregator();
+                    if (propertiesToAggregate.isEmpty()) {
                         final Properties properties = firstElementCell.getElement().getProperties();
                         properties.remove(groupBy);
-                        aggregatedProperties = properties;
+                        propertiesToAggregate.add(properties);
                     }
 
                     final Properties properties = elementCell.getElement().getProperties();
                     properties.remove(groupBy);
-                    aggregatedProperties = aggregator.apply(properties, aggregatedProperties);
+                    propertiesToAggregate.add(properties);
                 }
             }
         }
-        completeAggregator(firstElementCell, aggregatedProperties, output);
+        completeAggregator(firstElementCell, propertiesToAggregate, output);
         return output;
     }
 
     private void completeAggregator(final LazyElementCell elementCell,
-                                    final Properties aggregatedProperties,
+                                    final List<Properties> propertiesToAggregate,
                                     final List<LazyElementCell> output) {
-        if (null == aggregatedProperties) {
+        if (propertiesToAggregate.isEmpty()) {
             if (null != elementCell) {
                 output.add(elementCell);
             }
         } else {
+            // All the properties for the key are aggregated together so n-ary aggregators can merge them in a single pass
+            final ElementAggregator aggregator = schema.getElement(elementCell.getGroup()).getAggregator();
+            final Properties aggregatedProperties = aggregator.apply(propertiesToAggregate);
+            propertiesToAggregate.clear();
             try {
                 final Cell firstCell = elementCell.getCell();
                 final Element element = elementCell.getElement();
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.coprocessor.processor;
+
+import uk.gov.gchq.gaffer.commonutil.TopKHeap;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementPropertyComparator;
+import uk.gov.gchq.gaffer.hbasestore.serialisation.LazyElementCell;
+
+/**
+ * A <code>TopKProcessor</code> only passes on the cells of elements that are
+ * one of the top elements read so far by the region scanner, ranked by a
+ * property using an {@link ElementPropertyComparator}. The cells are processed
+ * a row at a time, so a cell is passed on if its element enters the top
+ * elements when it is read. Every element in the top elements of the region is
+ * therefore returned, along with some elements that are displaced later in the
+ * scan, so the results must be ranked again by the client.
+ * <p>
+ * Elements without the property and elements equal to one already held are
+ * filtered out. This processor should be applied after all other processors.
+ */
+public class TopKProcessor extends FilterProcessor {
+    private final ElementPropertyComparator comparator;
+    private final TopKHeap<Element> heap;
+
+    public TopKProcessor(final ElementPropertyComparator comparator, final int limit) {
+        this.comparator = comparator;
+        this.heap = new TopKHeap<>(limit, comparator);
+    }
+
+    @Override
+    public boolean test(final LazyElementCell elementCell) {
+        final Element element = elementCell.getElement();
+        return null != element.getProperty(comparator.getProperty()) && heap.offer(element);
+    }
+
+    public ElementPropertyComparator getComparator() {
+        return comparator;
+    }
+}
@@ -22,7 +22,9 @@ import org.apache.hadoop.hbase.regionserver.RegionScanner;
 import org.apache.hadoop.hbase.regionserver.ScannerContext;
 import org.apache.hadoop.hbase.util.Bytes;
 import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.data.element.function.ElementPropertyComparator;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.ElementDedupeFilterProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.GafferScannerProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.GroupFilterProcessor;
@@ -30,9 +32,11 @@ import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.PostAggregationFilter
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.PreAggregationFilterProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.QueryAggregationProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.StoreAggregationProcessor;
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.TopKProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.ValidationProcessor;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
 import uk.gov.gchq.gaffer.hbasestore.utils.HBaseStoreConstants;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters.DirectedType;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import java.io.IOException;
@@ -79,6 +83,10 @@ public class QueryScanner extends GafferScanner implements RegionScanner {
             processors.add(new PostAggregationFilterProcessor(view));
         }
 
+        if (extraProcessors.remove(TopKProcessor.class)) {
+            processors.add(new TopKProcessor(getTopKComparator(scan), Bytes.toInt(scan.getAttribute(HBaseStoreConstants.TOP_K_LIMIT))));
+        }
+
         if (!extraProcessors.isEmpty()) {
             throw new RuntimeException("Unrecognised extra processors: " + extraProcessors);
         }
@@ -105,6 +113,14 @@ public class QueryScanner extends GafferScanner implements RegionScanner {
         return DirectedType.valueOf(Bytes.toString(directedType));
     }
 
+    private static ElementPropertyComparator getTopKComparator(final Scan scan) {
+        try {
+            return new JSONSerialiser().deserialise(scan.getAttribute(HBaseStoreConstants.TOP_K_COMPARATOR), ElementPropertyComparator.class);
+        } catch (final SerialisationException e) {
+            throw new RuntimeException("Unable to deserialise the top k comparator", e);
+        }
+    }
+
     private static Set<Class<? extends GafferScannerProcessor>> getExtraProcessors(final Scan scan) {
         final byte[] bytes = scan.getAttribute(HBaseStoreConstants.EXTRA_PROCESSORS);
         if (null == bytes) {
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.operation.handler;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.ElementDedupeFilterProcessor;
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.TopKProcessor;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.get.GetTopElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.operation.handler.AbstractGetTopElementsHandler;
+import uk.gov.gchq.gaffer.user.User;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A <code>GetTopElementsHandler</code> ranks the elements in the region
+ * servers with a {@link TopKProcessor}, so only elements that enter the top
+ * elements of each region scan are returned. These are merged and ranked
+ * again on the client.
+ * <p>
+ * If the view transforms the elements, the elements are ranked on the client
+ * once they have been transformed.
+ */
+public class GetTopElementsHandler extends AbstractGetTopElementsHandler {
+    @Override
+    protected CloseableIterable<? extends Element> getCandidates(final GetTopElements operation,
+                                                                 final Context context,
+                                                                 final Store store)
+            throws OperationException {
+        return getCandidates(operation, context.getUser(), (HBaseStore) store);
+    }
+
+    public CloseableIterable<? extends Element> getCandidates(final GetTopElements operation,
+                                                              final User user,
+                                                              final HBaseStore store)
+            throws OperationException {
+        final List<Class<?>> extraProcessors = new ArrayList<>();
+        if (null == operation.getInput()) {
+            // Without seeds every element is scanned, as in GetAllElements
+            extraProcessors.add(ElementDedupeFilterProcessor.class);
+        }
+        if (!hasTransforms(operation.getView())) {
+            extraProcessors.add(TopKProcessor.class);
+        }
+
+        try {
+            return store.createRetriever(operation, user, operation.getInput(),
+                    extraProcessors.toArray(new Class<?>[extraProcessors.size()]));
+        } catch (final StoreException e) {
+            throw new OperationException("Unable to fetch elements", e);
+        }
+    }
+}
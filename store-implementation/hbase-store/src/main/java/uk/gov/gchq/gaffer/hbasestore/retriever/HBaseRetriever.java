@@ -18,12 +18,15 @@ package uk.gov.gchq.gaffer.hbasestore.retriever;
 
 import org.apache.hadoop.hbase.Cell;
 import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
 import org.apache.hadoop.hbase.filter.MultiRowRangeFilter;
 import org.apache.hadoop.hbase.security.visibility.Authorizations;
 import org.apache.hadoop.hbase.util.Bytes;
+import uk.gov.gchq.gaffer.commonutil.AdaptiveBatchSizer;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.RangeCoalescer;
 import uk.gov.gchq.gaffer.commonutil.StringUtil;
 import uk.gov.gchq.gaffer.commonutil.iterable.AlwaysValid;
 import uk.gov.gchq.gaffer.commonutil.iterable.BatchedIterable;
@@ -39,11 +42,14 @@ import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
 import uk.gov.gchq.gaffer.hbasestore.utils.HBaseStoreConstants;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.operation.Options;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
+import uk.gov.gchq.gaffer.operation.impl.get.GetTopElements;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.ElementValidator;
 import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.operation.handler.AbstractGetTopElementsHandler;
 import uk.gov.gchq.gaffer.user.User;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -51,6 +57,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
 
 public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Element>> & GraphFilters & Options> implements CloseableIterable<Element> {
     private final ElementSerialisation serialisation;
@@ -61,9 +68,15 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
     private final Authorizations authorisations;
     private final OP operation;
     private final byte[] extraProcessors;
+    private final RangeCoalescer<MultiRowRangeFilter.RowRange> rangeCoalescer;
 
     private CloseableIterator<Element> iterator;
     private Iterator<? extends ElementId> idsIterator;
+    private AdaptiveBatchSizer batchSizer;
+    private int batchSeeds;
+    private int batchRanges;
+    private long batchResults;
+    private long batchScanNanos;
 
     public HBaseRetriever(final HBaseStore store,
                           final OP operation,
@@ -76,6 +89,7 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
         this.store = store;
         this.operation = operation;
         this.ids = ids;
+        this.rangeCoalescer = new RangeCoalescer<>(MultiRowRangeFilter::sortAndMerge, store.getRangeCoalescingMetrics());
         if (null != user && null != user.getDataAuths()) {
             this.authorisations = new Authorizations(
                     user.getDataAuths().toArray(new String[user.getDataAuths().size()]));
@@ -97,6 +111,8 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
 
         if (null != ids) {
             idsIterator = ids.iterator();
+            batchSizer = AdaptiveBatchSizer.create(store.getProperties());
+            batchSeeds = 0;
             iterator = new HBaseRetrieverIterable(new BatchedResultScanner()).iterator();
         } else {
             iterator = new HBaseRetrieverIterable(createScanner()).iterator();
@@ -138,7 +154,19 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
         return validator.validateTransform(element);
     }
 
+    // Feeds back the size and scan time of the previous batch to the batch sizer
+    private void completeBatch() {
+        if (batchSeeds > 0) {
+            batchSizer.update(batchSeeds, batchRanges, batchResults, TimeUnit.NANOSECONDS.toMillis(batchScanNanos));
+            batchSeeds = 0;
+        }
+    }
+
     private CloseableIterable<Result> createScanner() {
+        if (null != idsIterator) {
+            completeBatch();
+        }
+
         // End of input ids
         if (null != idsIterator && !idsIterator.hasNext()) {
             return null;
@@ -149,13 +177,22 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
             final Scan scan = new Scan();
 
             if (null != idsIterator) {
-                final List<MultiRowRangeFilter.RowRange> rowRanges = new ArrayList<>();
-                final int maxEntriesForBatchScanner = store.getProperties().getMaxEntriesForBatchScanner();
+                // Duplicate seeds are skipped and overlapping row ranges are merged
+                final List<MultiRowRangeFilter.RowRange> seedRanges = new ArrayList<>();
+                final int batchSize = batchSizer.getBatchSize();
                 int count = 0;
-                while (idsIterator.hasNext() && count < maxEntriesForBatchScanner) {
+                while (idsIterator.hasNext() && count < batchSize) {
                     count++;
-                    rowRanges.addAll(rowRangeFactory.getRowRange(idsIterator.next(), operation));
+                    final ElementId seed = idsIterator.next();
+                    if (rangeCoalescer.addSeed(seed)) {
+                        seedRanges.addAll(rowRangeFactory.getRowRange(seed, operation));
+                    }
                 }
+                final List<MultiRowRangeFilter.RowRange> rowRanges = rangeCoalescer.coalesce(seedRanges);
+                batchSeeds = count;
+                batchRanges = rowRanges.size();
+                batchResults = 0;
+                batchScanNanos = 0;
 
                 if (rowRanges.isEmpty()) {
                     return new WrappedCloseableIterable<>(Collections.emptyList());
@@ -173,9 +210,14 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
             if (null != extraProcessors) {
                 scan.setAttribute(HBaseStoreConstants.EXTRA_PROCESSORS, extraProcessors);
             }
+            if (operation instanceof GetTopElements) {
+                final GetTopElements getTopElements = (GetTopElements) operation;
+                scan.setAttribute(HBaseStoreConstants.TOP_K_COMPARATOR, new JSONSerialiser().serialise(AbstractGetTopElementsHandler.createComparator(getTopElements)));
+                scan.setAttribute(HBaseStoreConstants.TOP_K_LIMIT, Bytes.toBytes(getTopElements.getLimit()));
+            }
             scan.setMaxVersions();
             table = store.getTable();
-            return new WrappedCloseableIterable<>(table.getScanner(scan));
+            return new TimedResultScanner(table.getScanner(scan));
         } catch (final IOException | StoreException e) {
             if (null != table) {
                 CloseableUtil.close(table);
@@ -184,6 +226,52 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
         }
     }
 
+    // The scanner is only timed while it is being read, so the time the caller
+    // spends consuming the elements does not count towards the batch
+    private final class TimedResultScanner implements CloseableIterable<Result> {
+        private final ResultScanner scanner;
+
+        private TimedResultScanner(final ResultScanner scanner) {
+            this.scanner = scanner;
+        }
+
+        @Override
+        public void close() {
+            scanner.close();
+        }
+
+        @Override
+        public CloseableIterator<Result> iterator() {
+            final Iterator<Result> results = scanner.iterator();
+            return new CloseableIterator<Result>() {
+                @Override
+                public boolean hasNext() {
+                    final long startTime = System.nanoTime();
+                    try {
+                        return results.hasNext();
+                    } finally {
+                        batchScanNanos += System.nanoTime() - startTime;
+                    }
+                }
+
+                @Override
+                public Result next() {
+                    final long startTime = System.nanoTime();
+                    try {
+                        return results.next();
+                    } finally {
+                        batchScanNanos += System.nanoTime() - startTime;
+                    }
+                }
+
+                @Override
+                public void close() {
+                    TimedResultScanner.this.close();
+                }
+            };
+        }
+    }
+
     public class BatchedResultScanner extends BatchedIterable<Result> {
         @Override
         protected Iterable<Result> createBatch() {
@@ -219,6 +307,7 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
                     if (null == hasNext) {
                         while (cellsItr.hasNext()) {
                             final Cell possibleNext = cellsItr.next();
+                            batchResults++;
                             nextElement = deserialiseAndTransform(possibleNext);
                             if (postTransformFilter(nextElement)) {
                                 hasNext = true;
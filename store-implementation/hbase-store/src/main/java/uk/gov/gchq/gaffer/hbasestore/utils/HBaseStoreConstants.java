@@ -33,6 +33,8 @@ public final class HBaseStoreConstants {
     public static final String SCHEMA = "Schema";
     public static final String EXTRA_PROCESSORS = "ExtraProcessors";
     public static final String DIRECTED_TYPE = "DirectedType";
+    public static final String TOP_K_COMPARATOR = "TopKComparator";
+    public static final String TOP_K_LIMIT = "TopKLimit";
 
     // Operations options
     public static final String OPERATION_HDFS_STAGING_PATH = "hbasestore.operation.hdfs.staging.path";
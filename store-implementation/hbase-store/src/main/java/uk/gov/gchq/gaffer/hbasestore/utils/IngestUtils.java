@@ -22,7 +22,13 @@ import org.apache.hadoop.fs.permission.FsAction;
 import org.apache.hadoop.fs.permission.FsPermission;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import uk.gov.gchq.gaffer.commonutil.SplitPointSampler;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Utility methods for adding data to HBase.
@@ -57,4 +63,39 @@ public final class IngestUtils {
             fs.setPermission(file.getPath(), HBASE_FILE_PERMS);
         }
     }
+
+    /**
+     * Calculate split points for pre-splitting an HBase table from some elements.
+     * The row keys of the elements are sampled using a bounded
+     * {@link SplitPointSampler}, weighted by the serialised size of each cell,
+     * and the split points are chosen so each region holds roughly the same
+     * amount of data. The result can be passed to
+     * {@link TableUtils#createTable(uk.gov.gchq.gaffer.hbasestore.HBaseStore, byte[][])}.
+     *
+     * @param serialisation - The element serialisation used to create the row keys
+     * @param elements      - The elements to sample
+     * @param sampleSize    - The maximum number of row keys to hold in memory
+     * @param numSplits     - The number of split points required
+     * @return The split points in order, at most numSplits of them
+     * @throws SerialisationException if an element cannot be serialised
+     */
+    public static byte[][] calculateSplitPoints(final ElementSerialisation serialisation,
+                                                final Iterable<? extends Element> elements,
+                                                final int sampleSize, final int numSplits)
+            throws SerialisationException {
+        final SplitPointSampler sampler = new SplitPointSampler(sampleSize);
+        for (final Element element : elements) {
+            final Pair<byte[], byte[]> rowKeys = serialisation.getRowKeys(element);
+            final long cellSize = serialisation.getColumnQualifier(element).length
+                    + serialisation.getColumnVisibility(element).length
+                    + serialisation.getValue(element).length;
+            sampler.add(rowKeys.getFirst(), rowKeys.getFirst().length + cellSize);
+            if (null != rowKeys.getSecond()) {
+                sampler.add(rowKeys.getSecond(), rowKeys.getSecond().length + cellSize);
+            }
+        }
+
+        final List<byte[]> splitPoints = sampler.getSplitPoints(numSplits);
+        return splitPoints.toArray(new byte[splitPoints.size()][]);
+    }
 }
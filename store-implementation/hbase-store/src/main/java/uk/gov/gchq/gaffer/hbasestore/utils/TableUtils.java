@@ -136,6 +136,20 @@ public final class TableUtils {
      */
     public static synchronized void createTable(final HBaseStore store)
             throws StoreException {
+        createTable(store, null);
+    }
+
+    /**
+     * Creates an HBase table for the given HBase store, pre-split at the given
+     * split points. Split points can be calculated from a sample of the data using
+     * {@link IngestUtils#calculateSplitPoints(uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation, Iterable, int, int)}.
+     *
+     * @param store  the hbase store
+     * @param splits the split points, in order. If null or empty the table is created with a single region.
+     * @throws StoreException if a connection to hbase could not be created or there is a failure to create the table
+     */
+    public static synchronized void createTable(final HBaseStore store, final byte[][] splits)
+            throws StoreException {
         final TableName tableName = store.getProperties().getTable();
         try {
             final Admin admin = store.getConnection().getAdmin();
@@ -154,7 +168,12 @@ public final class TableUtils {
             col.setMaxVersions(Integer.MAX_VALUE);
             htable.addFamily(col);
             addCoprocesssor(htable, store);
-            admin.createTable(htable);
+            if (null != splits && splits.length > 0) {
+                LOGGER.info("Pre-splitting table {} into {} regions", tableName, splits.length + 1);
+                admin.createTable(htable, splits);
+            } else {
+                admin.createTable(htable);
+            }
         } catch (final Exception e) {
             LOGGER.warn("Failed to create table {}", tableName, e);
             throw new StoreException("Failed to create table " + tableName, e);
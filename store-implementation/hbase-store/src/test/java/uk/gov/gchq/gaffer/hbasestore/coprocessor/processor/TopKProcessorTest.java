@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.coprocessor.processor;
+
+import org.junit.Test;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.function.ElementPropertyComparator;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
+import uk.gov.gchq.gaffer.hbasestore.util.CellUtil;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawIntegerSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TopKProcessorTest {
+    private static final Schema SCHEMA = new Schema.Builder()
+            .type("string", String.class)
+            .type("int", new TypeDefinition.Builder()
+                    .clazz(Integer.class)
+                    .serialiser(new CompactRawIntegerSerialiser())
+                    .build())
+            .type("type", Boolean.class)
+            .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                    .source("string")
+                    .destination("string")
+                    .directed("true")
+                    .property(TestPropertyNames.COUNT, "int")
+                    .build())
+            .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                    .vertex("string")
+                    .property(TestPropertyNames.COUNT, "int")
+                    .build())
+            .vertexSerialiser(new StringSerialiser())
+            .build();
+
+    private static final ElementPropertyComparator COMPARATOR = new ElementPropertyComparator(TestPropertyNames.COUNT, null);
+
+    private final ElementSerialisation serialisation = new ElementSerialisation(SCHEMA);
+
+    @Test
+    public void shouldConstructWithComparator() {
+        final TopKProcessor processor = new TopKProcessor(COMPARATOR, 2);
+        assertSame(COMPARATOR, processor.getComparator());
+    }
+
+    @Test
+    public void shouldNotFilterOutElementsThatEnterTheTopElements() throws OperationException, SerialisationException {
+        // Given
+        final TopKProcessor processor = new TopKProcessor(COMPARATOR, 2);
+
+        // When / Then
+        assertTrue(processor.test(CellUtil.getLazyCell(createEntity("vertex1", 1), serialisation)));
+        assertTrue(processor.test(CellUtil.getLazyCell(createEdge("vertex2", 2), serialisation)));
+        assertTrue(processor.test(CellUtil.getLazyCell(createEntity("vertex3", 3), serialisation)));
+    }
+
+    @Test
+    public void shouldFilterOutElementsBelowTheTopElements() throws OperationException, SerialisationException {
+        // Given
+        final TopKProcessor processor = new TopKProcessor(COMPARATOR, 2);
+        processor.test(CellUtil.getLazyCell(createEntity("vertex1", 5), serialisation));
+        processor.test(CellUtil.getLazyCell(createEntity("vertex2", 10), serialisation));
+
+        // When / Then
+        assertFalse(processor.test(CellUtil.getLazyCell(createEntity("vertex3", 1), serialisation)));
+        assertFalse(processor.test(CellUtil.getLazyCell(createEdge("vertex4", 4), serialisation)));
+    }
+
+    @Test
+    public void shouldFilterOutElementsWithoutTheProperty() throws OperationException, SerialisationException {
+        // Given
+        final TopKProcessor processor = new TopKProcessor(COMPARATOR, 2);
+
+        // When / Then
+        assertFalse(processor.test(CellUtil.getLazyCell(new Entity(TestGroups.ENTITY, "vertex1"), serialisation)));
+        assertFalse(processor.test(CellUtil.getLazyCell(new Edge(TestGroups.EDGE, "vertex1", "dest", true), serialisation)));
+    }
+
+    @Test
+    public void shouldFilterOutDuplicateElements() throws OperationException, SerialisationException {
+        // Given
+        final TopKProcessor processor = new TopKProcessor(COMPARATOR, 2);
+        processor.test(CellUtil.getLazyCell(createEntity("vertex1", 5), serialisation));
+
+        // When / Then
+        assertFalse(processor.test(CellUtil.getLazyCell(createEntity("vertex1", 5), serialisation)));
+    }
+
+    private static Element createEntity(final String vertex, final int count) {
+        return new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex(vertex)
+                .property(TestPropertyNames.COUNT, count)
+                .build();
+    }
+
+    private static Element createEdge(final String source, final int count) {
+        return new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source(source)
+                .dest("dest")
+                .directed(true)
+                .property(TestPropertyNames.COUNT, count)
+                .build();
+    }
+}
@@ -23,6 +23,8 @@ import org.apache.hadoop.hbase.util.Bytes;
 import org.junit.Test;
 import uk.gov.gchq.gaffer.commonutil.StringUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.function.ElementPropertyComparator;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.ElementDedupeFilterProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.GafferScannerProcessor;
@@ -31,9 +33,11 @@ import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.PostAggregationFilter
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.PreAggregationFilterProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.QueryAggregationProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.StoreAggregationProcessor;
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.TopKProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.ValidationProcessor;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
 import uk.gov.gchq.gaffer.hbasestore.utils.HBaseStoreConstants;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
@@ -177,6 +181,26 @@ public class QueryScannerTest {
         assertEquals(VIEW, ((PostAggregationFilterProcessor) processors.get(i)).getView());
     }
 
+    @Test
+    public void shouldConstructProcessorsWithTopKLast() throws OperationException, IOException {
+        // Given
+        final ElementPropertyComparator comparator = new ElementPropertyComparator(TestPropertyNames.COUNT, null);
+        final Scan scan = mock(Scan.class);
+        given(scan.getAttribute(HBaseStoreConstants.VIEW)).willReturn(VIEW.toCompactJson());
+        given(scan.getAttribute(HBaseStoreConstants.EXTRA_PROCESSORS)).willReturn(StringUtil.toCsv(TopKProcessor.class));
+        given(scan.getAttribute(HBaseStoreConstants.TOP_K_COMPARATOR)).willReturn(new JSONSerialiser().serialise(comparator));
+        given(scan.getAttribute(HBaseStoreConstants.TOP_K_LIMIT)).willReturn(Bytes.toBytes(10));
+
+        // When
+        final List<GafferScannerProcessor> processors = QueryScanner.createProcessors(scan, SCHEMA, serialisation);
+
+        // Then
+        assertEquals(7, processors.size());
+        final GafferScannerProcessor lastProcessor = processors.get(processors.size() - 1);
+        assertTrue(lastProcessor instanceof TopKProcessor);
+        assertEquals(comparator, ((TopKProcessor) lastProcessor).getComparator());
+    }
+
     @Test
     public void shouldConstructProcessorsWhenViewIsNull() throws OperationException, IOException {
         // Given
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.operation.handler;
+
+import org.junit.Test;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.hbasestore.HBaseProperties;
+import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
+import uk.gov.gchq.gaffer.hbasestore.MiniHBaseStore;
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.ElementDedupeFilterProcessor;
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.TopKProcessor;
+import uk.gov.gchq.gaffer.hbasestore.retriever.HBaseRetriever;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetTopElements;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class GetTopElementsHandlerTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(GetTopElementsHandlerTest.class));
+    private static final HBaseProperties PROPERTIES = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(GetTopElementsHandlerTest.class));
+
+    @Test
+    public void shouldGetTopElementsFromRegionServers() throws OperationException, StoreException {
+        // Given
+        final MiniHBaseStore store = new MiniHBaseStore();
+        store.initialise(SCHEMA, PROPERTIES);
+        final User user = new User();
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            elements.add(new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("source")
+                    .dest("dest" + i)
+                    .directed(true)
+                    .property(TestPropertyNames.COUNT, i)
+                    .build());
+        }
+        store.execute(new AddElements.Builder()
+                .input(elements)
+                .build(), user);
+
+        final GetTopElements getTopElements = new GetTopElements.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .property(TestPropertyNames.COUNT)
+                .limit(3)
+                .build();
+
+        // When
+        final CloseableIterable<? extends Element> results = store.execute(getTopElements, user);
+
+        // Then
+        final List<Object> counts = new ArrayList<>();
+        for (final Element element : results) {
+            counts.add(element.getProperty(TestPropertyNames.COUNT));
+        }
+        assertEquals(Arrays.asList(10, 9, 8), counts);
+    }
+
+    @Test
+    public void shouldRankInRegionServersWhenNoSeedsProvided() throws OperationException, StoreException {
+        // Given
+        final User user = mock(User.class);
+        final HBaseStore store = mock(HBaseStore.class);
+        final HBaseRetriever<GetTopElements> hbaseRetriever = mock(HBaseRetriever.class);
+        final GetTopElementsHandler handler = new GetTopElementsHandler();
+        final GetTopElements getTopElements = new GetTopElements.Builder()
+                .property(TestPropertyNames.COUNT)
+                .build();
+
+        given(store.createRetriever(getTopElements, user, null, ElementDedupeFilterProcessor.class, TopKProcessor.class)).willReturn(hbaseRetriever);
+
+        // When
+        final CloseableIterable<? extends Element> result = handler.getCandidates(getTopElements, user, store);
+
+        // Then
+        assertSame(hbaseRetriever, result);
+    }
+
+    @Test
+    public void shouldRankInRegionServersWhenSeedsProvided() throws OperationException, StoreException {
+        // Given
+        final Iterable<EntityId> ids = mock(Iterable.class);
+        final User user = mock(User.class);
+        final HBaseStore store = mock(HBaseStore.class);
+        final HBaseRetriever<GetTopElements> hbaseRetriever = mock(HBaseRetriever.class);
+        final GetTopElementsHandler handler = new GetTopElementsHandler();
+        final GetTopElements getTopElements = new GetTopElements.Builder()
+                .input(ids)
+                .property(TestPropertyNames.COUNT)
+                .build();
+
+        given(store.createRetriever(getTopElements, user, ids, TopKProcessor.class)).willReturn(hbaseRetriever);
+
+        // When
+        final CloseableIterable<? extends Element> result = handler.getCandidates(getTopElements, user, store);
+
+        // Then
+        assertSame(hbaseRetriever, result);
+    }
+
+    @Test
+    public void shouldNotRankInRegionServersWhenViewHasPostTransformFilter() throws OperationException, StoreException {
+        // Given
+        final Iterable<EntityId> ids = mock(Iterable.class);
+        final User user = mock(User.class);
+        final HBaseStore store = mock(HBaseStore.class);
+        final HBaseRetriever<GetTopElements> hbaseRetriever = mock(HBaseRetriever.class);
+        final GetTopElementsHandler handler = new GetTopElementsHandler();
+        final GetTopElements getTopElements = new GetTopElements.Builder()
+                .input(ids)
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                                .postTransformFilter(new ElementFilter.Builder()
+                                        .select(TestPropertyNames.COUNT)
+                                        .execute(new IsMoreThan(8))
+                                        .build())
+                                .build())
+                        .build())
+                .property(TestPropertyNames.COUNT)
+                .build();
+
+        given(store.createRetriever(getTopElements, user, ids)).willReturn(hbaseRetriever);
+
+        // When
+        final CloseableIterable<? extends Element> result = handler.getCandidates(getTopElements, user, store);
+
+        // Then
+        assertSame(hbaseRetriever, result);
+    }
+}
@@ -15,7 +15,6 @@
  */
 package uk.gov.gchq.gaffer.mapstore.impl;
 
-import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
@@ -31,14 +30,23 @@ import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 /**
  * An {@link OperationHandler} for the {@link AddElements} operation on the {@link MapStore}.
  */
 public class AddElementsHandler implements OperationHandler<AddElements> {
+    /**
+     * The maximum number of elements whose properties are buffered before
+     * they are aggregated into the map.
+     */
+    private static final int MAX_PENDING_AGGREGATION = 10000;
 
     @Override
     public Void doOperation(final AddElements addElements, final Context context, final Store store) throws OperationException {
@@ -52,42 +60,38 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
     }
 
     private void addElements(final Iterable<? extends Element> elements, final MapImpl mapImpl, final Schema schema) {
-        final boolean maintainIndex = mapImpl.maintainIndex;
         final Set<String> groupsWithNoAggregation = mapImpl.groupsWithNoAggregation;
-        final Map<EntityId, Set<Element>> entityIdToElements = mapImpl.entityIdToElements;
-        final Map<EdgeId, Set<Element>> edgeIdToElements = mapImpl.edgeIdToElements;
         final Map<String, Set<String>> groupToGroupByProperties = mapImpl.groupToGroupByProperties;
         final Map<String, Set<String>> groupToNonGroupByProperties = mapImpl.groupToNonGroupByProperties;
         final Map<Element, Properties> elementToProperties = mapImpl.elementToProperties;
 
-        Streams.toStream(elements)
-                .forEach(element -> {
-                    // Update main map of element with group-by properties to properties
-                    final Element elementWithGroupByProperties = updateElementToProperties(schema,
-                            element, elementToProperties, groupsWithNoAggregation, groupToGroupByProperties,
-                            groupToNonGroupByProperties);
-                    // Update entityIdToElements and edgeIdToElements if index required
-                    if (maintainIndex) {
-                        updateEntityIdIndex(entityIdToElements, elementWithGroupByProperties);
-                        updateEdgeIdIndex(edgeIdToElements, elementWithGroupByProperties);
-                    }
-                });
+        // Properties for the same element are buffered so that they can all be aggregated together
+        final Map<Element, List<Properties>> pendingAggregation = new HashMap<>();
+        int numPending = 0;
+        for (final Element element : elements) {
+            if (groupsWithNoAggregation.contains(element.getGroup())) {
+                final Element elementWithGroupByProperties = updateElementToPropertiesNoGroupBy(element, elementToProperties);
+                updateIndex(mapImpl, elementWithGroupByProperties);
+            } else {
+                // Add to the properties pending aggregation for the element with group-by properties
+                addPendingAggregation(elementToProperties, pendingAggregation,
+                        groupToGroupByProperties, groupToNonGroupByProperties, element);
+                numPending++;
+                if (numPending >= MAX_PENDING_AGGREGATION) {
+                    aggregatePending(schema, mapImpl, pendingAggregation);
+                    numPending = 0;
+                }
+            }
+        }
+        aggregatePending(schema, mapImpl, pendingAggregation);
     }
 
-    private Element updateElementToProperties(final Schema schema,
-                                              final Element element,
-                                              final Map<Element, Properties> elementToProperties,
-                                              final Set<String> groupsWithNoAggregation,
-                                              final Map<String, Set<String>> groupToGroupByProperties,
-                                              final Map<String, Set<String>> groupToNonGroupByProperties) {
-        final Element elementForIndexing;
-        if (groupsWithNoAggregation.contains(element.getGroup())) {
-            elementForIndexing = updateElementToPropertiesNoGroupBy(element, elementToProperties);
-        } else {
-            elementForIndexing = updateElementToPropertiesWithGroupBy(schema, elementToProperties, groupToGroupByProperties,
-                    groupToNonGroupByProperties, element);
+    private void updateIndex(final MapImpl mapImpl, final Element elementWithGroupByProperties) {
+        // Update entityIdToElements and edgeIdToElements if index required
+        if (mapImpl.maintainIndex) {
+            updateEntityIdIndex(mapImpl.entityIdToElements, elementWithGroupByProperties);
+            updateEdgeIdIndex(mapImpl.edgeIdToElements, elementWithGroupByProperties);
         }
-        return elementForIndexing;
     }
 
     private void updateEntityIdIndex(final Map<EntityId, Set<Element>> entityIdToElements,
@@ -135,11 +139,11 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         elements.add(element);
     }
 
-    private Element updateElementToPropertiesWithGroupBy(final Schema schema,
-                                                         final Map<Element, Properties> elementToProperties,
-                                                         final Map<String, Set<String>> groupToGroupByProperties,
-                                                         final Map<String, Set<String>> groupToNonGroupByProperties,
-                                                         final Element element) {
+    private void addPendingAggregation(final Map<Element, Properties> elementToProperties,
+                                          final Map<Element, List<Properties>> pendingAggregation,
+                                          final Map<String, Set<String>> groupToGroupByProperties,
+                                          final Map<String, Set<String>> groupToNonGroupByProperties,
+                                          final Element element) {
         final String group = element.getGroup();
         final Element elementWithGroupByProperties = element.emptyClone();
         final Properties properties = new Properties();
@@ -149,14 +153,35 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         groupToNonGroupByProperties.get(group)
                 .forEach(propertyName -> properties.put(propertyName, element.getProperty(propertyName)));
 
-        Properties existingProperties = elementToProperties.get(elementWithGroupByProperties);
-        if (null == existingProperties) {
-            existingProperties = new Properties();
-            elementToProperties.put(elementWithGroupByProperties, existingProperties);
+        List<Properties> propertiesToAggregate = pendingAggregation.get(elementWithGroupByProperties);
+        if (null == propertiesToAggregate) {
+            // A new element is not added to the map until its properties have been aggregated
+            Properties existingProperties = elementToProperties.get(elementWithGroupByProperties);
+            if (null == existingProperties) {
+                existingProperties = new Properties();
+            }
+
+            // The existing properties are first so the aggregated results are set on them
+            propertiesToAggregate = new ArrayList<>();
+            propertiesToAggregate.add(existingProperties);
+            pendingAggregation.put(elementWithGroupByProperties, propertiesToAggregate);
         }
+        propertiesToAggregate.add(properties);
+    }
 
-        schema.getElement(group).getAggregator().apply(existingProperties, properties);
-        return elementWithGroupByProperties;
+    private void aggregatePending(final Schema schema, final MapImpl mapImpl,
+                                  final Map<Element, List<Properties>> pendingAggregation) {
+        try {
+            for (final Entry<Element, List<Properties>> entry : pendingAggregation.entrySet()) {
+                final Element elementWithGroupByProperties = entry.getKey();
+                final Properties aggregatedProperties = schema.getElement(elementWithGroupByProperties.getGroup())
+                        .getAggregator().apply(entry.getValue());
+                mapImpl.elementToProperties.put(elementWithGroupByProperties, aggregatedProperties);
+                updateIndex(mapImpl, elementWithGroupByProperties);
+            }
+        } finally {
+            pendingAggregation.clear();
+        }
     }
 
     private Element updateElementToPropertiesNoGroupBy(final Element element,
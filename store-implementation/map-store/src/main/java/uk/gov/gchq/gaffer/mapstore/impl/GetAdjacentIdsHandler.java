@@ -76,75 +76,77 @@ public class GetAdjacentIdsHandler implements
 
         @Override
         public CloseableIterator<EntityId> iterator() {
-            // Create GetElements operation to be used to find relevant Elements to each EntityId. Do not add view
-            // at this stage as that needs to be done later, after the full properties have been created.
-            final GetElements getElements = new GetElements.Builder()
-                    .inOutType(getAdjacentIds.getIncludeIncomingOutGoing())
-                    .build();
-            // For each EntityId, get relevant elements with group-by properties
-            // Ignore Entities
-            // Create full Element
-            // Apply view
-            // Extract adjacent nodes
-            Stream<? extends EntityId> entityIdStream = Streams.toParallelStream(getAdjacentIds.getInput());
-            Stream<? extends Pair<? extends EntityId, Set<Element>>> entityIdRelevantElementsStream = entityIdStream
-                    .map(entityId -> {
-                        final Set<Element> elements = GetElementsHandler.getRelevantElements(mapImpl, entityId, getElements);
-                        elements.removeIf(e -> e instanceof Entity || !getAdjacentIds.validateFlags((Edge) e));
-                        return new Pair<>(entityId, elements);
-                    })
-                    .filter(pair -> !pair.getSecond().isEmpty());
-            Stream<Pair<EntityId, Set<Element>>> entityIdRelevantFullElementsStream = entityIdRelevantElementsStream
-                    .map(pair -> {
-                        final Set<Element> elementsWithProperties = new HashSet<>();
-                        pair.getSecond()
-                                .stream()
-                                .map(element -> {
-                                    final Element clone = element.emptyClone();
-                                    clone.copyProperties(element.getProperties());
-                                    return clone;
-                                })
-                                .map(element -> {
-                                    final Properties properties = mapImpl.elementToProperties.get(element);
-                                    element.copyProperties(properties);
-                                    return element;
-                                })
-                                .forEach(elementsWithProperties::add);
-                        return new Pair<>(pair.getFirst(), elementsWithProperties);
-                    });
+            return new WrappedCloseableIterator<>(getAdjacentIds(mapImpl, getAdjacentIds).iterator());
+        }
+    }
 
-            Stream<Pair<EntityId, Stream<Element>>> entityIdRelevantFullElementsStreamAfterView =
-                    entityIdRelevantFullElementsStream
-                            .map(pair -> {
-                                final Stream<Element> elementsAfterView = GetElementsHandler
-                                        .applyView(pair.getSecond().stream(), mapImpl.schema,
-                                                getAdjacentIds.getView());
-                                return new Pair<>(pair.getFirst(), elementsAfterView);
-                            });
+    static Stream<EntityId> getAdjacentIds(final MapImpl mapImpl, final GetAdjacentIds getAdjacentIds) {
+        // Create GetElements operation to be used to find relevant Elements to each EntityId. Do not add view
+        // at this stage as that needs to be done later, after the full properties have been created.
+        final GetElements getElements = new GetElements.Builder()
+                .inOutType(getAdjacentIds.getIncludeIncomingOutGoing())
+                .build();
+        // For each EntityId, get relevant elements with group-by properties
+        // Ignore Entities
+        // Create full Element
+        // Apply view
+        // Extract adjacent nodes
+        Stream<? extends EntityId> entityIdStream = Streams.toParallelStream(getAdjacentIds.getInput());
+        Stream<? extends Pair<? extends EntityId, Set<Element>>> entityIdRelevantElementsStream = entityIdStream
+                .map(entityId -> {
+                    final Set<Element> elements = GetElementsHandler.getRelevantElements(mapImpl, entityId, getElements);
+                    elements.removeIf(e -> e instanceof Entity || !getAdjacentIds.validateFlags((Edge) e));
+                    return new Pair<>(entityId, elements);
+                })
+                .filter(pair -> !pair.getSecond().isEmpty());
+        Stream<Pair<EntityId, Set<Element>>> entityIdRelevantFullElementsStream = entityIdRelevantElementsStream
+                .map(pair -> {
+                    final Set<Element> elementsWithProperties = new HashSet<>();
+                    pair.getSecond()
+                            .stream()
+                            .map(element -> {
+                                final Element clone = element.emptyClone();
+                                clone.copyProperties(element.getProperties());
+                                return clone;
+                            })
+                            .map(element -> {
+                                final Properties properties = mapImpl.elementToProperties.get(element);
+                                element.copyProperties(properties);
+                                return element;
+                            })
+                            .forEach(elementsWithProperties::add);
+                    return new Pair<>(pair.getFirst(), elementsWithProperties);
+                });
 
-            Stream<EntityId> adjacentIdsStream = entityIdRelevantFullElementsStreamAfterView
-                    .map(pair -> {
-                        final Object id = pair.getFirst().getVertex();
-                        return pair.getSecond().<EntityId>map(element -> {
-                            final Edge edge = (Edge) element;
-                            final Object source = edge.getSource();
-                            final Object destination = edge.getDestination();
-                            if (source.equals(id) && !destination.equals(id)) {
-                                return new EntitySeed(destination);
-                            } else if (!source.equals(id) && destination.equals(id)) {
-                                return new EntitySeed(source);
-                            } else if (source.equals(id) && destination.equals(id)) {
-                                return new EntitySeed(id);
-                            } else {
-                                LOGGER.error("Found edge which doesn't correspond to the EntityId (edge = {}; id = {}", edge, id);
-                                return null;
-                            }
+        Stream<Pair<EntityId, Stream<Element>>> entityIdRelevantFullElementsStreamAfterView =
+                entityIdRelevantFullElementsStream
+                        .map(pair -> {
+                            final Stream<Element> elementsAfterView = GetElementsHandler
+                                    .applyView(pair.getSecond().stream(), mapImpl.schema,
+                                            getAdjacentIds.getView());
+                            return new Pair<>(pair.getFirst(), elementsAfterView);
                         });
-                    })
-                    .flatMap(Function.identity())
-                    .filter(Objects::nonNull);
 
-            return new WrappedCloseableIterator<>(adjacentIdsStream.iterator());
-        }
+        return entityIdRelevantFullElementsStreamAfterView
+                .map(pair -> {
+                    final Object id = pair.getFirst().getVertex();
+                    return pair.getSecond().<EntityId>map(element -> {
+                        final Edge edge = (Edge) element;
+                        final Object source = edge.getSource();
+                        final Object destination = edge.getDestination();
+                        if (source.equals(id) && !destination.equals(id)) {
+                            return new EntitySeed(destination);
+                        } else if (!source.equals(id) && destination.equals(id)) {
+                            return new EntitySeed(source);
+                        } else if (source.equals(id) && destination.equals(id)) {
+                            return new EntitySeed(id);
+                        } else {
+                            LOGGER.error("Found edge which doesn't correspond to the EntityId (edge = {}; id = {}", edge, id);
+                            return null;
+                        }
+                    });
+                })
+                .flatMap(Function.identity())
+                .filter(Objects::nonNull);
     }
 }
@@ -22,11 +22,11 @@ import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Properties;
 import uk.gov.gchq.gaffer.mapstore.MapStore;
-import uk.gov.gchq.gaffer.mapstore.utils.ElementCloner;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.element.ElementCloner;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -63,30 +63,43 @@ public class GetAllElementsHandler implements OutputOperationHandler<GetAllEleme
 
         @Override
         public CloseableIterator<Element> iterator() {
-            // Create stream of elements from elementToProperties by copying the properties from the value into the key
-            Stream<Element> elements = mapImpl.elementToProperties.entrySet()
-                    .stream()
-                    .map(x -> {
-                        final Element element = x.getKey();
-                        final Properties properties = x.getValue();
-                        if (mapImpl.groupsWithNoAggregation.contains(x.getKey().getGroup())) {
-                            final int count = (int) properties.get(COUNT);
-                            List<Element> duplicateElements = new ArrayList<>(count);
-                            IntStream.range(0, count).forEach(i -> duplicateElements.add(element));
-                            return duplicateElements;
-                        } else {
-                            element.copyProperties(properties);
-                            return Collections.singletonList(element);
-                        }
-                    })
-                    .flatMap(x -> x.stream());
-            final Stream<Element> elementsAfterIncludeEntitiesEdgesOption = GetElementsHandler.
-                    applyIncludeEntitiesEdgesOptions(elements, getAllElements.getView().hasEntities(),
-                            getAllElements.getView().hasEdges(), getAllElements.getDirectedType());
-            final Stream<Element> afterView = GetElementsHandler
-                    .applyView(elementsAfterIncludeEntitiesEdgesOption, mapImpl.schema, getAllElements.getView());
-            final Stream<Element> clonedElements = afterView.map(element -> ElementCloner.cloneElement(element, mapImpl.schema));
+            final Stream<Element> clonedElements = getAllElements(mapImpl, getAllElements)
+                    .map(element -> ElementCloner.cloneElement(element, mapImpl.schema));
             return new WrappedCloseableIterator<>(clonedElements.iterator());
         }
     }
+
+    /**
+     * Gets all the elements matching the filters of the operation. The
+     * elements are the instances held in the {@link MapImpl}, so they must be
+     * cloned before they are returned to the user.
+     *
+     * @param mapImpl        the {@link MapImpl} to get the elements from
+     * @param getAllElements the {@link GetAllElements} operation
+     * @return the matching elements
+     */
+    static Stream<Element> getAllElements(final MapImpl mapImpl, final GetAllElements getAllElements) {
+        // Create stream of elements from elementToProperties by copying the properties from the value into the key
+        Stream<Element> elements = mapImpl.elementToProperties.entrySet()
+                .stream()
+                .map(x -> {
+                    final Element element = x.getKey();
+                    final Properties properties = x.getValue();
+                    if (mapImpl.groupsWithNoAggregation.contains(x.getKey().getGroup())) {
+                        final int count = (int) properties.get(COUNT);
+                        List<Element> duplicateElements = new ArrayList<>(count);
+                        IntStream.range(0, count).forEach(i -> duplicateElements.add(element));
+                        return duplicateElements;
+                    } else {
+                        element.copyProperties(properties);
+                        return Collections.singletonList(element);
+                    }
+                })
+                .flatMap(x -> x.stream());
+        final Stream<Element> elementsAfterIncludeEntitiesEdgesOption = GetElementsHandler.
+                applyIncludeEntitiesEdgesOptions(elements, getAllElements.getView().hasEntities(),
+                        getAllElements.getView().hasEdges(), getAllElements.getDirectedType());
+        return GetElementsHandler
+                .applyView(elementsAfterIncludeEntitiesEdgesOption, mapImpl.schema, getAllElements.getView());
+    }
 }
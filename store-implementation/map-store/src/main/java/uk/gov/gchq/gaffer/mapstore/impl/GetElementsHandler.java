@@ -32,7 +32,6 @@ import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.mapstore.MapStore;
-import uk.gov.gchq.gaffer.mapstore.utils.ElementCloner;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.SeedMatching.SeedMatchingType;
 import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
@@ -42,6 +41,7 @@ import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutg
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.element.ElementCloner;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import java.util.ArrayList;
@@ -91,32 +91,45 @@ public class GetElementsHandler
 
         @Override
         public CloseableIterator<Element> iterator() {
-            final Stream<Set<Element>> elementsSets = Streams.toParallelStream(getElements.getInput())
-                    .map(elementId -> getRelevantElements(mapImpl, elementId, getElements));
-            final Stream<Element> elements = elementsSets.flatMap(s -> s.stream());
-            final Stream<Element> elementsAfterIncludeEntitiesEdgesOption =
-                    applyIncludeEntitiesEdgesOptions(elements, getElements.getView().hasEntities(), getElements.getView().hasEdges(), getElements.getDirectedType());
-            // Generate final elements by copying properties into element
-            Stream<Element> elementsWithProperties = elementsAfterIncludeEntitiesEdgesOption
-                    .map(element -> {
-                        if (mapImpl.groupsWithNoAggregation.contains(element.getGroup())) {
-                            final int count = (int) mapImpl.elementToProperties.get(element).get(COUNT);
-                            List<Element> duplicateElements = new ArrayList<>(count);
-                            IntStream.range(0, count).forEach(i -> duplicateElements.add(element));
-                            return duplicateElements;
-                        } else {
-                            final Properties properties = mapImpl.elementToProperties.get(element);
-                            element.copyProperties(properties);
-                            return Collections.singletonList(element);
-                        }
-                    })
-                    .flatMap(x -> x.stream());
-            final Stream<Element> afterView = applyView(elementsWithProperties, mapImpl.schema, getElements.getView());
-            final Stream<Element> clonedElements = afterView.map(element -> ElementCloner.cloneElement(element, mapImpl.schema));
+            final Stream<Element> clonedElements = getElements(mapImpl, getElements)
+                    .map(element -> ElementCloner.cloneElement(element, mapImpl.schema));
             return new WrappedCloseableIterator<>(clonedElements.iterator());
         }
     }
 
+    /**
+     * Gets the elements matching the seeds and filters of the operation. The
+     * elements are the instances held in the {@link MapImpl}, so they must be
+     * cloned before they are returned to the user.
+     *
+     * @param mapImpl     the {@link MapImpl} to get the elements from
+     * @param getElements the {@link GetElements} operation
+     * @return the matching elements
+     */
+    static Stream<Element> getElements(final MapImpl mapImpl, final GetElements getElements) {
+        final Stream<Set<Element>> elementsSets = Streams.toParallelStream(getElements.getInput())
+                .map(elementId -> getRelevantElements(mapImpl, elementId, getElements));
+        final Stream<Element> elements = elementsSets.flatMap(s -> s.stream());
+        final Stream<Element> elementsAfterIncludeEntitiesEdgesOption =
+                applyIncludeEntitiesEdgesOptions(elements, getElements.getView().hasEntities(), getElements.getView().hasEdges(), getElements.getDirectedType());
+        // Generate final elements by copying properties into element
+        Stream<Element> elementsWithProperties = elementsAfterIncludeEntitiesEdgesOption
+                .map(element -> {
+                    if (mapImpl.groupsWithNoAggregation.contains(element.getGroup())) {
+                        final int count = (int) mapImpl.elementToProperties.get(element).get(COUNT);
+                        List<Element> duplicateElements = new ArrayList<>(count);
+                        IntStream.range(0, count).forEach(i -> duplicateElements.add(element));
+                        return duplicateElements;
+                    } else {
+                        final Properties properties = mapImpl.elementToProperties.get(element);
+                        element.copyProperties(properties);
+                        return Collections.singletonList(element);
+                    }
+                })
+                .flatMap(x -> x.stream());
+        return applyView(elementsWithProperties, mapImpl.schema, getElements.getView());
+    }
+
     static Set<Element> getRelevantElements(final MapImpl mapImpl,
                                             final ElementId elementId,
                                             final GetElements getElements) {
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import uk.gov.gchq.gaffer.commonutil.TopKHeap;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementPropertyComparator;
+import uk.gov.gchq.gaffer.mapstore.MapStore;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.get.GetTopElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.element.ElementCloner;
+import uk.gov.gchq.gaffer.store.operation.handler.AbstractGetTopElementsHandler;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * An {@link uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler} for the
+ * {@link GetTopElements} operation on the {@link MapStore}. The elements are ranked as they
+ * are read from the {@link MapImpl} and only the elements that enter the top elements are cloned.
+ */
+public class GetTopElementsHandler extends AbstractGetTopElementsHandler {
+    @Override
+    protected CloseableIterable<? extends Element> getCandidates(final GetTopElements operation,
+                                                                 final Context context,
+                                                                 final Store store)
+            throws OperationException {
+        final MapImpl mapImpl = ((MapStore) store).getMapImpl();
+        final Stream<Element> elements;
+        if (null == operation.getInput()) {
+            elements = GetAllElementsHandler.getAllElements(mapImpl, createGetAllElements(operation));
+        } else {
+            if (!mapImpl.maintainIndex) {
+                throw new OperationException("Cannot execute getTopElements with seeds if the properties request that an index is not created");
+            }
+            elements = GetElementsHandler.getElements(mapImpl, createGetElements(operation));
+        }
+
+        final ElementPropertyComparator comparator = createComparator(operation);
+        final TopKHeap<Element> heap = new TopKHeap<>(operation.getLimit(), comparator);
+        final Iterator<Element> itr = elements.iterator();
+        while (itr.hasNext()) {
+            final Element element = itr.next();
+            if (null != element.getProperty(operation.getProperty())
+                    && (heap.size() < operation.getLimit() || comparator.compare(element, heap.peek()) > 0)) {
+                heap.offer(ElementCloner.cloneElement(element, mapImpl.schema));
+            }
+        }
+
+        return new WrappedCloseableIterable<>(heap.toList());
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore;
+
+import com.google.common.collect.Iterables;
+import org.junit.After;
+import org.junit.Test;
+import uk.gov.gchq.gaffer.cache.impl.HashMapCacheService;
+import uk.gov.gchq.gaffer.cache.util.CacheProperties;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.jobtracker.JobDetail;
+import uk.gov.gchq.gaffer.jobtracker.JobStatus;
+import uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.AsyncIngestQueue;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.user.User;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.fail;
+
+public class AsyncAddElementsTest {
+    private static final long TIMEOUT_MILLIS = 10000;
+    private static final String PROPERTY1 = "property1";
+
+    private final User user = new User();
+    private MapStore store;
+
+    @After
+    public void after() {
+        if (null != store) {
+            store.closeAsyncIngestQueue();
+        }
+    }
+
+    @Test
+    public void shouldAddElementsAsynchronouslyAndTrackTheJob() throws StoreException, OperationException {
+        // Given
+        store = createStore("1000", "60000", "1000");
+
+        // When
+        final JobDetail jobDetail = store.executeJob(createAsyncChain(GetAllElementsHandlerTest.getElements()), user);
+
+        // Then
+        assertEquals(JobStatus.RUNNING, jobDetail.getStatus());
+        assertEquals(0, countElements());
+
+        // When
+        store.getAsyncIngestQueue().flush();
+
+        // Then
+        assertEquals(GetAllElementsHandlerTest.getElements().size(), countElements());
+        assertEquals(JobStatus.FINISHED, getStatus(jobDetail));
+    }
+
+    @Test
+    public void shouldWriteElementsOnceBatchSizeIsReached() throws StoreException, OperationException, InterruptedException {
+        // Given
+        final List<Element> elements = GetAllElementsHandlerTest.getElements();
+        store = createStore(Integer.toString(elements.size()), "60000", "1000");
+
+        // When
+        final JobDetail jobDetail = store.executeJob(createAsyncChain(elements), user);
+
+        // Then
+        waitForJob(jobDetail);
+        assertEquals(JobStatus.FINISHED, getStatus(jobDetail));
+        assertEquals(elements.size(), countElements());
+    }
+
+    @Test
+    public void shouldWriteElementsOnceFlushIntervalHasPassed() throws StoreException, OperationException, InterruptedException {
+        // Given
+        store = createStore("1000", "10", "1000");
+
+        // When
+        final JobDetail jobDetail = store.executeJob(createAsyncChain(GetAllElementsHandlerTest.getElements()), user);
+
+        // Then
+        waitForJob(jobDetail);
+        assertEquals(JobStatus.FINISHED, getStatus(jobDetail));
+    }
+
+    @Test
+    public void shouldWriteQueuedElementsWhenQueueIsClosed() throws StoreException, OperationException {
+        // Given
+        store = createStore("1000", "60000", "1000");
+        store.execute(createAsyncChain(GetAllElementsHandlerTest.getElements()), user);
+
+        // When
+        store.closeAsyncIngestQueue();
+
+        // Then
+        assertEquals(GetAllElementsHandlerTest.getElements().size(), countElements());
+    }
+
+    @Test
+    public void shouldOnlyFailTheJobThatAddedInvalidElements() throws StoreException, OperationException {
+        // Given
+        store = createStore("1000", "60000", "1000");
+        final JobDetail validJob = store.executeJob(createAsyncChain(GetAllElementsHandlerTest.getElements()), user);
+        final JobDetail invalidJob = store.executeJob(createAsyncChain(
+                Collections.singletonList(new Entity("UnknownGroup", "vertex"))), user);
+
+        // When
+        store.getAsyncIngestQueue().flush();
+
+        // Then
+        assertEquals(JobStatus.FINISHED, getStatus(validJob));
+        assertEquals(JobStatus.FAILED, getStatus(invalidJob));
+        assertEquals(GetAllElementsHandlerTest.getElements().size(), countElements());
+    }
+
+    @Test
+    public void shouldNotWriteChangesMadeToElementsAfterTheyAreQueued() throws StoreException, OperationException {
+        // Given
+        store = createStore("1000", "60000", "1000");
+        final List<Element> elements = GetAllElementsHandlerTest.getElements();
+        store.execute(createAsyncChain(elements), user);
+
+        // When
+        for (final Element element : elements) {
+            element.putProperty(PROPERTY1, "changed");
+        }
+        store.getAsyncIngestQueue().flush();
+
+        // Then
+        for (final Element element : getAllElements()) {
+            assertNotEquals("changed", element.getProperty(PROPERTY1));
+        }
+    }
+
+    @Test
+    public void shouldSkipInvalidElementsWhenRequested() throws StoreException, OperationException {
+        // Given
+        store = createStore("1000", "60000", "1000");
+        final List<Element> elements = new ArrayList<>(GetAllElementsHandlerTest.getElements());
+        elements.add(new Entity("UnknownGroup", "vertex"));
+        final JobDetail jobDetail = store.executeJob(new OperationChain<>(new AddElements.Builder()
+                .input(elements)
+                .skipInvalidElements(true)
+                .option(AsyncIngestQueue.ASYNC_OPTION, "true")
+                .build()), user);
+
+        // When
+        store.getAsyncIngestQueue().flush();
+
+        // Then
+        assertEquals(JobStatus.FINISHED, getStatus(jobDetail));
+        assertEquals(GetAllElementsHandlerTest.getElements().size(), countElements());
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenQueueIsFull() throws StoreException, OperationException {
+        // Given
+        final List<Element> elements = GetAllElementsHandlerTest.getElements();
+        store = createStore(Integer.toString(2 * elements.size()), "60000", Integer.toString(elements.size()));
+        store.execute(createAsyncChain(elements), user);
+
+        // When / Then
+        try {
+            store.execute(createAsyncChain(elements), user);
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertEquals("The async ingest queue is full - it already holds up to " + elements.size() + " elements waiting to be written", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldRejectOperationsWithMoreElementsThanTheQueueSize() throws StoreException {
+        // Given
+        final List<Element> elements = GetAllElementsHandlerTest.getElements();
+        store = createStore("1000", "60000", Integer.toString(elements.size() - 1));
+
+        // When / Then
+        try {
+            store.execute(createAsyncChain(elements), user);
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertEquals("Operations added to the async ingest queue must not have more than " + (elements.size() - 1) + " elements", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldWriteElementsFromDifferentUsersSeparately() throws StoreException, OperationException {
+        // Given
+        final List<User> writeUsers = Collections.synchronizedList(new ArrayList<>());
+        store = initialise(new MapStore() {
+            @Override
+            public <O> O _execute(final OperationChain<O> operationChain, final Context context) throws OperationException {
+                if (operationChain.getOperations().get(0) instanceof AddElements) {
+                    writeUsers.add(context.getUser());
+                }
+                return super._execute(operationChain, context);
+            }
+        }, "1000", "60000", "1000");
+        final User user1 = new User("user1");
+        final User user2 = new User("user2");
+        store.execute(createAsyncChain(GetAllElementsHandlerTest.getElements()), user1);
+        store.execute(createAsyncChain(GetAllElementsHandlerTest.getElements()), user2);
+
+        // When
+        store.getAsyncIngestQueue().flush();
+
+        // Then
+        assertEquals(Arrays.asList(user1, user2), writeUsers);
+    }
+
+    @Test(timeout = TIMEOUT_MILLIS)
+    public void shouldFailQueuedJobsWhenWriterThreadStops() throws StoreException, OperationException {
+        // Given
+        store = initialise(new MapStore() {
+            @Override
+            public <O> O _execute(final OperationChain<O> operationChain, final Context context) throws OperationException {
+                if (operationChain.getOperations().get(0) instanceof AddElements) {
+                    throw new Error("Writer thread failure");
+                }
+                return super._execute(operationChain, context);
+            }
+        }, "1000", "60000", "1000");
+        final JobDetail jobDetail = store.executeJob(createAsyncChain(GetAllElementsHandlerTest.getElements()), user);
+
+        // When / Then
+        try {
+            store.getAsyncIngestQueue().flush();
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertEquals("The async ingest writer thread has stopped", e.getMessage());
+        }
+        assertEquals(JobStatus.FAILED, getStatus(jobDetail));
+        try {
+            store.execute(createAsyncChain(GetAllElementsHandlerTest.getElements()), user);
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertEquals("The async ingest writer thread has stopped", e.getMessage());
+        }
+    }
+
+    private MapStore createStore(final String batchSize, final String flushInterval, final String queueSize) throws StoreException {
+        return initialise(new MapStore(), batchSize, flushInterval, queueSize);
+    }
+
+    private MapStore initialise(final MapStore mapStore, final String batchSize, final String flushInterval, final String queueSize) throws StoreException {
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.setJobTrackerEnabled(true);
+        properties.set(CacheProperties.CACHE_SERVICE_CLASS, HashMapCacheService.class.getName());
+        properties.setAsyncIngestBatchSize(batchSize);
+        properties.setAsyncIngestFlushInterval(flushInterval);
+        properties.setAsyncIngestQueueSize(queueSize);
+        properties.setAsyncIngestOfferTimeout("0");
+        mapStore.initialise(GetAllElementsHandlerTest.getSchema(), properties);
+        return mapStore;
+    }
+
+    private OperationChain<Void> createAsyncChain(final List<? extends Element> elements) {
+        return new OperationChain<>(new AddElements.Builder()
+                .input(elements)
+                .option(AsyncIngestQueue.ASYNC_OPTION, "true")
+                .build());
+    }
+
+    private int countElements() throws OperationException {
+        return Iterables.size(getAllElements());
+    }
+
+    private Iterable<? extends Element> getAllElements() throws OperationException {
+        return store.execute(new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entities(store.getSchema().getEntityGroups())
+                        .edges(store.getSchema().getEdgeGroups())
+                        .build())
+                .build(), user);
+    }
+
+    private JobStatus getStatus(final JobDetail jobDetail) {
+        return store.getJobTracker().getJob(jobDetail.getJobId(), user).getStatus();
+    }
+
+    private void waitForJob(final JobDetail jobDetail) throws InterruptedException {
+        final long endTime = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (JobStatus.RUNNING == getStatus(jobDetail) && System.currentTimeMillis() < endTime) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import org.junit.Test;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.mapstore.MapStore;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.binaryoperator.KorypheBinaryOperator;
+import uk.gov.gchq.koryphe.impl.binaryoperator.StringConcat;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+import java.util.Arrays;
+import java.util.function.BinaryOperator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AddElementsHandlerTest {
+    private static final String COUNT = "count";
+    private static final String GROUP_BY = "groupBy";
+
+    @Test
+    public void shouldAggregatePropertiesOfNewAndExistingElements() throws StoreException, OperationException {
+        // Given
+        final MapStore store = createStore(new Sum());
+
+        // When
+        addElements(store, createEntity("vertex1", 1), createEntity("vertex1", 2));
+        addElements(store, createEntity("vertex1", 3), createEntity("vertex2", 4));
+
+        // Then
+        final MapImpl mapImpl = store.getMapImpl();
+        assertEquals(2, mapImpl.elementToProperties.size());
+        assertEquals(6, mapImpl.elementToProperties.get(createKey("vertex1")).get(COUNT));
+        assertEquals(4, mapImpl.elementToProperties.get(createKey("vertex2")).get(COUNT));
+        assertEquals(2, mapImpl.entityIdToElements.size());
+    }
+
+    @Test
+    public void shouldNotAddElementsWhoseAggregationFailed() throws StoreException {
+        // Given
+        final MapStore store = createStore(new FailingAggregator());
+
+        // When
+        try {
+            addElements(store, createEntity("vertex1", 1), createEntity("vertex1", 2));
+            fail("Exception expected");
+        } catch (final Exception e) {
+            assertEquals(FailingAggregator.MESSAGE, e.getMessage());
+        }
+
+        // Then
+        assertTrue(store.getMapImpl().elementToProperties.isEmpty());
+        assertTrue(store.getMapImpl().entityIdToElements.isEmpty());
+    }
+
+    private static MapStore createStore(final BinaryOperator<?> aggregateFunction) throws StoreException {
+        final Schema schema = new Schema.Builder()
+                .type("string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .aggregateFunction(new StringConcat())
+                        .build())
+                .type("int", new TypeDefinition.Builder()
+                        .clazz(Integer.class)
+                        .aggregateFunction(aggregateFunction)
+                        .build())
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(GROUP_BY, "string")
+                        .property(COUNT, "int")
+                        .groupBy(GROUP_BY)
+                        .build())
+                .build();
+        final MapStore store = new MapStore();
+        store.initialise(schema, new MapStoreProperties());
+        return store;
+    }
+
+    private static void addElements(final MapStore store, final Entity... entities) throws OperationException {
+        new AddElementsHandler().doOperation(new AddElements.Builder()
+                .input(Arrays.asList(entities))
+                .build(), new Context(new User()), store);
+    }
+
+    private static Entity createKey(final String vertex) {
+        final Entity entity = new Entity(TestGroups.ENTITY, vertex);
+        entity.putProperty(GROUP_BY, "a");
+        return entity;
+    }
+
+    private static Entity createEntity(final String vertex, final int count) {
+        final Entity entity = new Entity(TestGroups.ENTITY, vertex);
+        entity.putProperty(GROUP_BY, "a");
+        entity.putProperty(COUNT, count);
+        return entity;
+    }
+
+    public static class FailingAggregator extends KorypheBinaryOperator<Integer> {
+        private static final String MESSAGE = "Aggregation failed";
+
+        @Override
+        protected Integer _apply(final Integer a, final Integer b) {
+            throw new IllegalArgumentException(MESSAGE);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import com.google.common.collect.Sets;
+import org.junit.Before;
+import org.junit.Test;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetMultiHopAdjacentIds;
+import uk.gov.gchq.gaffer.user.User;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.BASIC_EDGE1;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.BASIC_EDGE2;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.COUNT;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.PROPERTY1;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.PROPERTY2;
+
+public class GetMultiHopAdjacentIdsHandlerTest {
+    private Graph graph;
+
+    @Before
+    public void before() throws OperationException {
+        graph = GetAllElementsHandlerTest.getGraph();
+        graph.execute(new AddElements.Builder()
+                .input(getElements())
+                .build(), new User());
+    }
+
+    @Test
+    public void shouldReturnVerticesFoundInFinalHopExcludingVisitedVertices() throws OperationException {
+        // When
+        final Set<EntityId> twoHops = execute(new GetMultiHopAdjacentIds.Builder()
+                .input(new EntitySeed("A"))
+                .views(new View(), new View())
+                .build());
+        final Set<EntityId> threeHops = execute(new GetMultiHopAdjacentIds.Builder()
+                .input(new EntitySeed("A"))
+                .views(new View(), new View(), new View())
+                .build());
+
+        // Then
+        assertEquals(Sets.newHashSet(new EntitySeed("C")), twoHops);
+        assertEquals(Sets.newHashSet(new EntitySeed("D"), new EntitySeed("E")), threeHops);
+    }
+
+    @Test
+    public void shouldApplyTheViewForEachHop() throws OperationException {
+        // When
+        final Set<EntityId> results = execute(new GetMultiHopAdjacentIds.Builder()
+                .input(new EntitySeed("A"))
+                .views(new View(),
+                        new View(),
+                        new View.Builder()
+                                .edge(BASIC_EDGE2)
+                                .build())
+                .build());
+
+        // Then
+        assertEquals(Sets.newHashSet(new EntitySeed("E")), results);
+    }
+
+    @Test
+    public void shouldRevisitVerticesOnceMaxVisitedIdsIsReached() throws OperationException {
+        // When
+        final Set<EntityId> results = execute(new GetMultiHopAdjacentIds.Builder()
+                .input(new EntitySeed("A"))
+                .views(new View(), new View(), new View())
+                .maxVisitedIds(1)
+                .build());
+
+        // Then
+        assertEquals(Sets.newHashSet(new EntitySeed("B"), new EntitySeed("D"), new EntitySeed("E")), results);
+    }
+
+    @Test
+    public void shouldStopWhenFrontierIsEmpty() throws OperationException {
+        // When
+        final Set<EntityId> results = execute(new GetMultiHopAdjacentIds.Builder()
+                .input(new EntitySeed("NOT_PRESENT"))
+                .views(new View(), new View())
+                .build());
+
+        // Then
+        assertEquals(new HashSet<>(), results);
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenNoViews() {
+        // When / Then
+        try {
+            execute(new GetMultiHopAdjacentIds.Builder()
+                    .input(new EntitySeed("A"))
+                    .build());
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertEquals("At least one view is required, one for each hop", e.getMessage());
+        }
+    }
+
+    private Set<EntityId> execute(final GetMultiHopAdjacentIds op) throws OperationException {
+        final CloseableIterable<? extends EntityId> results = graph.execute(op, new User());
+        final Set<EntityId> resultsSet = new HashSet<>();
+        results.forEach(resultsSet::add);
+        return resultsSet;
+    }
+
+    // A - B - C - D along BasicEdge, with C - E along BasicEdge2
+    private static List<Element> getElements() {
+        return Arrays.asList(
+                createEdge(BASIC_EDGE1, "A", "B"),
+                createEdge(BASIC_EDGE1, "B", "C"),
+                createEdge(BASIC_EDGE1, "C", "D"),
+                createEdge(BASIC_EDGE2, "C", "E"));
+    }
+
+    private static Edge createEdge(final String group, final String source, final String destination) {
+        final Edge edge = new Edge(group, source, destination, true);
+        edge.putProperty(PROPERTY1, "q");
+        if (BASIC_EDGE2.equals(group)) {
+            edge.putProperty(PROPERTY2, "s");
+        }
+        edge.putProperty(COUNT, 1);
+        return edge;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import org.junit.Before;
+import org.junit.Test;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetTopElements;
+import uk.gov.gchq.gaffer.user.User;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.BASIC_EDGE1;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.BASIC_EDGE2;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.COUNT;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.PROPERTY1;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.PROPERTY2;
+
+public class GetTopElementsHandlerTest {
+    private Graph graph;
+
+    @Before
+    public void before() throws OperationException {
+        graph = GetAllElementsHandlerTest.getGraph();
+        graph.execute(new AddElements.Builder()
+                .input(getElements())
+                .build(), new User());
+    }
+
+    @Test
+    public void shouldReturnTopElementsOfAllElements() throws OperationException {
+        // When
+        final List<Element> results = execute(new GetTopElements.Builder()
+                .property(COUNT)
+                .limit(2)
+                .build());
+
+        // Then
+        assertEquals(Arrays.asList(
+                createEdge(BASIC_EDGE1, "A", "D", 9),
+                createEdge(BASIC_EDGE2, "C", "D", 7)), results);
+    }
+
+    @Test
+    public void shouldReturnTopElementsForSeeds() throws OperationException {
+        // When
+        final List<Element> results = execute(new GetTopElements.Builder()
+                .input(new EntitySeed("A"))
+                .property(COUNT)
+                .limit(2)
+                .build());
+
+        // Then
+        assertEquals(Arrays.asList(
+                createEdge(BASIC_EDGE1, "A", "D", 9),
+                createEdge(BASIC_EDGE1, "A", "B", 5)), results);
+    }
+
+    @Test
+    public void shouldRankUsingComparator() throws OperationException {
+        // When
+        final List<Element> results = execute(new GetTopElements.Builder()
+                .property(COUNT)
+                .comparator(new ReverseComparator())
+                .limit(2)
+                .build());
+
+        // Then
+        assertEquals(Arrays.asList(
+                createEdge(BASIC_EDGE1, "B", "C", 1),
+                createEdge(BASIC_EDGE1, "A", "C", 3)), results);
+    }
+
+    @Test
+    public void shouldApplyViewBeforeRanking() throws OperationException {
+        // When
+        final List<Element> results = execute(new GetTopElements.Builder()
+                .view(new View.Builder()
+                        .edge(BASIC_EDGE1)
+                        .build())
+                .property(COUNT)
+                .limit(10)
+                .build());
+
+        // Then
+        assertEquals(Arrays.asList(
+                createEdge(BASIC_EDGE1, "A", "D", 9),
+                createEdge(BASIC_EDGE1, "A", "B", 5),
+                createEdge(BASIC_EDGE1, "A", "C", 3),
+                createEdge(BASIC_EDGE1, "B", "C", 1)), results);
+    }
+
+    @Test
+    public void shouldNotReturnElementsWithoutProperty() throws OperationException {
+        // When
+        final List<Element> results = execute(new GetTopElements.Builder()
+                .property(PROPERTY2)
+                .limit(10)
+                .build());
+
+        // Then
+        assertEquals(Arrays.asList(createEdge(BASIC_EDGE2, "C", "D", 7)), results);
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenNoProperty() {
+        // When / Then
+        try {
+            execute(new GetTopElements.Builder()
+                    .limit(2)
+                    .build());
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertEquals("A property is required to rank the elements by", e.getMessage());
+        }
+    }
+
+    private List<Element> execute(final GetTopElements op) throws OperationException {
+        final CloseableIterable<? extends Element> results = graph.execute(op, new User());
+        final List<Element> resultsList = new ArrayList<>();
+        results.forEach(resultsList::add);
+        return resultsList;
+    }
+
+    private static List<Element> getElements() {
+        return Arrays.asList(
+                createEdge(BASIC_EDGE1, "A", "B", 5),
+                createEdge(BASIC_EDGE1, "A", "C", 3),
+                createEdge(BASIC_EDGE1, "A", "D", 9),
+                createEdge(BASIC_EDGE1, "B", "C", 1),
+                createEdge(BASIC_EDGE2, "C", "D", 7));
+    }
+
+    private static Edge createEdge(final String group, final String source, final String destination, final int count) {
+        final Edge edge = new Edge(group, source, destination, true);
+        edge.putProperty(PROPERTY1, "q");
+        if (BASIC_EDGE2.equals(group)) {
+            edge.putProperty(PROPERTY2, "s");
+        }
+        edge.putProperty(COUNT, count);
+        return edge;
+    }
+
+    public static class ReverseComparator implements Comparator<Object> {
+        @SuppressWarnings("unchecked")
+        @Override
+        public int compare(final Object value1, final Object value2) {
+            return ((Comparable<Object>) value2).compareTo(value1);
+        }
+    }
+}
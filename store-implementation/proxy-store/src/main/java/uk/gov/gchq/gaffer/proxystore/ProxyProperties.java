@@ -32,6 +32,14 @@ public class ProxyProperties extends StoreProperties {
     public static final String CONNECT_TIMEOUT = "gaffer.connect-timeout";
     public static final String READ_TIMEOUT = "gaffer.read-timeout";
     public static final String JSON_SERIALISER_CLASS = "gaffer.jsonserialiser.class";
+    public static final String STREAM_RESULTS = "gaffer.stream-results";
+    public static final String SMILE_RESULTS = "gaffer.smile-results";
+    public static final String CONNECTION_POOLING = "gaffer.connection-pooling";
+    public static final String MAX_CONNECTIONS = "gaffer.max-connections";
+    public static final String MAX_CONNECTIONS_PER_ROUTE = "gaffer.max-connections-per-route";
+    public static final String KEEP_ALIVE = "gaffer.keep-alive";
+    public static final String GZIP_REQUESTS = "gaffer.gzip-requests";
+    public static final String GZIP_RESPONSES = "gaffer.gzip-responses";
 
     public static final String DEFAULT_GAFFER_HOST = "localhost";
     public static final String DEFAULT_GAFFER_CONTEXT_ROOT = "/rest/v1";
@@ -39,6 +47,14 @@ public class ProxyProperties extends StoreProperties {
     public static final int DEFAULT_CONNECT_TIMEOUT = 10000;
     public static final int DEFAULT_READ_TIMEOUT = 10000;
     public static final String DEFAULT_JSON_SERIALISER_CLASS = JSONSerialiser.class.getName();
+    public static final boolean DEFAULT_STREAM_RESULTS = false;
+    public static final boolean DEFAULT_SMILE_RESULTS = true;
+    public static final boolean DEFAULT_CONNECTION_POOLING = false;
+    public static final int DEFAULT_MAX_CONNECTIONS = 20;
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 20;
+    public static final boolean DEFAULT_KEEP_ALIVE = true;
+    public static final boolean DEFAULT_GZIP_REQUESTS = false;
+    public static final boolean DEFAULT_GZIP_RESPONSES = false;
 
     public ProxyProperties() {
     }
@@ -118,6 +134,104 @@ public class ProxyProperties extends StoreProperties {
         set(JSON_SERIALISER_CLASS, jsonSerialiserClass);
     }
 
+    /**
+     * @return true if iterable results should be lazily streamed from the
+     * delegate REST API rather than being fully read into memory.
+     */
+    public boolean isStreamResults() {
+        return Boolean.parseBoolean(get(STREAM_RESULTS, String.valueOf(DEFAULT_STREAM_RESULTS)));
+    }
+
+    public void setStreamResults(final boolean streamResults) {
+        set(STREAM_RESULTS, String.valueOf(streamResults));
+    }
+
+    /**
+     * @return true if the binary Smile format should be requested for results.
+     * JSON is still used if the delegate REST API does not support Smile.
+     * Smile results are read using the configuration and modules of the
+     * configured json serialiser.
+     */
+    public boolean isSmileResults() {
+        return Boolean.parseBoolean(get(SMILE_RESULTS, String.valueOf(DEFAULT_SMILE_RESULTS)));
+    }
+
+    public void setSmileResults(final boolean smileResults) {
+        set(SMILE_RESULTS, String.valueOf(smileResults));
+    }
+
+    /**
+     * @return true if the client should use a pooled connector, reusing
+     * connections to the delegate REST API across requests.
+     */
+    public boolean isConnectionPooling() {
+        return Boolean.parseBoolean(get(CONNECTION_POOLING, String.valueOf(DEFAULT_CONNECTION_POOLING)));
+    }
+
+    public void setConnectionPooling(final boolean connectionPooling) {
+        set(CONNECTION_POOLING, String.valueOf(connectionPooling));
+    }
+
+    public int getMaxConnections() {
+        final String maxConnections = get(MAX_CONNECTIONS, null);
+        try {
+            return null == maxConnections ? DEFAULT_MAX_CONNECTIONS : Integer.parseInt(maxConnections);
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Unable to convert gaffer max connections into an integer", e);
+        }
+    }
+
+    public void setMaxConnections(final int maxConnections) {
+        set(MAX_CONNECTIONS, String.valueOf(maxConnections));
+    }
+
+    public int getMaxConnectionsPerRoute() {
+        final String maxConnections = get(MAX_CONNECTIONS_PER_ROUTE, null);
+        try {
+            return null == maxConnections ? DEFAULT_MAX_CONNECTIONS_PER_ROUTE : Integer.parseInt(maxConnections);
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Unable to convert gaffer max connections per route into an integer", e);
+        }
+    }
+
+    public void setMaxConnectionsPerRoute(final int maxConnectionsPerRoute) {
+        set(MAX_CONNECTIONS_PER_ROUTE, String.valueOf(maxConnectionsPerRoute));
+    }
+
+    /**
+     * @return true if pooled connections should be kept alive between requests.
+     * This only applies when connection pooling is enabled.
+     */
+    public boolean isKeepAlive() {
+        return Boolean.parseBoolean(get(KEEP_ALIVE, String.valueOf(DEFAULT_KEEP_ALIVE)));
+    }
+
+    public void setKeepAlive(final boolean keepAlive) {
+        set(KEEP_ALIVE, String.valueOf(keepAlive));
+    }
+
+    /**
+     * @return true if request bodies sent to the delegate REST API should be gzip compressed.
+     */
+    public boolean isGzipRequests() {
+        return Boolean.parseBoolean(get(GZIP_REQUESTS, String.valueOf(DEFAULT_GZIP_REQUESTS)));
+    }
+
+    public void setGzipRequests(final boolean gzipRequests) {
+        set(GZIP_REQUESTS, String.valueOf(gzipRequests));
+    }
+
+    /**
+     * @return true if the delegate REST API should be asked to gzip compress responses.
+     */
+    public boolean isGzipResponses() {
+        return Boolean.parseBoolean(get(GZIP_RESPONSES, String.valueOf(DEFAULT_GZIP_RESPONSES)));
+    }
+
+    public void setGzipResponses(final boolean gzipResponses) {
+        set(GZIP_RESPONSES, String.valueOf(gzipResponses));
+    }
+
     public URL getGafferUrl() {
         return getGafferUrl(null);
     }
@@ -17,8 +17,15 @@
 package uk.gov.gchq.gaffer.proxystore;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.glassfish.jersey.apache.connector.ApacheClientProperties;
+import org.glassfish.jersey.apache.connector.ApacheConnectorProvider;
+import org.glassfish.jersey.client.ClientConfig;
 import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.filter.EncodingFilter;
+import org.glassfish.jersey.message.GZipEncoder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
@@ -28,6 +35,7 @@ import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jobtracker.JobDetail;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.jsonserialisation.SmileSerialiser;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
@@ -51,6 +59,7 @@ import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.Invocation;
 import javax.ws.rs.client.Invocation.Builder;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.io.UnsupportedEncodingException;
@@ -63,7 +72,16 @@ import java.util.Set;
 
 public class ProxyStore extends Store {
     private static final Logger LOGGER = LoggerFactory.getLogger(ProxyStore.class);
+    private static final String GZIP_ENCODING = "gzip";
+    private static final String CONNECTION_HEADER = "Connection";
+    private static final MediaType SMILE_MEDIA_TYPE = MediaType.valueOf(SmileSerialiser.SMILE_MEDIA_TYPE);
+    private static final MediaType JSON_MEDIA_TYPE_FALLBACK = MediaType.valueOf(MediaType.APPLICATION_JSON + ";q=0.9");
     private JSONSerialiser jsonSerialiser;
+    private SmileSerialiser smileSerialiser;
+    private boolean smileResults;
+    private boolean streamResults;
+    private boolean keepAlive;
+    private boolean gzipRequests;
     private Client client;
     private Set<StoreTrait> traits;
     private Schema schema;
@@ -74,6 +92,11 @@ public class ProxyStore extends Store {
     public void initialise(final Schema unusedSchema, final StoreProperties properties) throws StoreException {
         final ProxyProperties proxyProps = (ProxyProperties) properties;
         jsonSerialiser = proxyProps.getJsonSerialiser();
+        smileSerialiser = new SmileSerialiser(jsonSerialiser);
+        smileResults = proxyProps.isSmileResults();
+        streamResults = proxyProps.isStreamResults();
+        keepAlive = proxyProps.isKeepAlive();
+        gzipRequests = proxyProps.isGzipRequests();
 
         client = createClient(proxyProps);
         schema = fetchSchema(proxyProps);
@@ -205,6 +228,19 @@ public class ProxyStore extends Store {
     protected <O> O handleResponse(final Response response,
                                    final TypeReference<O> outputTypeReference)
             throws StoreException {
+        final boolean isSmile = isSmileResponse(response);
+        if (streamResults && 200 == response.getStatus() && response.hasEntity()) {
+            final JSONSerialiser serialiser = isSmile ? smileSerialiser : jsonSerialiser;
+            final JavaType outputType = serialiser.getMapper().getTypeFactory().constructType(outputTypeReference);
+            if (isStreamable(outputType)) {
+                return (O) new StreamingResponseIterable<>(response, serialiser, outputType.containedTypeOrUnknown(0).getRawClass());
+            }
+        }
+
+        if (isSmile) {
+            return handleSmileResponse(response, outputTypeReference);
+        }
+
         final String outputJson = response.hasEntity() ? response.readEntity(String.class) : null;
         if (200 != response.getStatus() && 204 != response.getStatus()) {
             LOGGER.warn("Gaffer bad status {}", response.getStatus());
@@ -224,13 +260,52 @@ public class ProxyStore extends Store {
         return output;
     }
 
+    protected <O> O handleSmileResponse(final Response response,
+                                        final TypeReference<O> outputTypeReference)
+            throws StoreException {
+        final byte[] outputBytes = response.hasEntity() ? response.readEntity(byte[].class) : null;
+        try {
+            if (200 != response.getStatus() && 204 != response.getStatus()) {
+                final String outputJson = null != outputBytes
+                        ? new String(jsonSerialiser.serialise(smileSerialiser.deserialise(outputBytes, Object.class)), CommonConstants.UTF_8)
+                        : null;
+                LOGGER.warn("Gaffer bad status {}", response.getStatus());
+                LOGGER.warn("Detail: {}", outputJson);
+                throw new StoreException("Delegate Gaffer store returned status: " + response.getStatus() + ". Response content was: " + outputJson);
+            }
+
+            return null != outputBytes ? smileSerialiser.deserialise(outputBytes, outputTypeReference) : null;
+        } catch (final SerialisationException | UnsupportedEncodingException e) {
+            throw new StoreException(e.getMessage(), e);
+        }
+    }
+
+    protected boolean isSmileResponse(final Response response) {
+        return null != response.getMediaType() && SMILE_MEDIA_TYPE.isCompatible(response.getMediaType());
+    }
+
+    protected boolean isStreamable(final JavaType outputType) {
+        final Class<?> rawClass = outputType.getRawClass();
+        return Iterable.class.isAssignableFrom(rawClass)
+                && rawClass.isAssignableFrom(StreamingResponseIterable.class);
+    }
+
     protected Builder createRequest(final String body, final URL url, final Context context) {
         final Invocation.Builder request = client.target(url.toString())
                 .request();
         if (null != body) {
             request.header("Content", MediaType.APPLICATION_JSON_TYPE);
+            if (gzipRequests) {
+                request.header(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING);
+            }
             request.build(body);
         }
+        if (smileResults) {
+            request.accept(SMILE_MEDIA_TYPE, JSON_MEDIA_TYPE_FALLBACK);
+        }
+        if (!keepAlive) {
+            request.header(CONNECTION_HEADER, "close");
+        }
         return request;
     }
 
@@ -300,9 +375,26 @@ public class ProxyStore extends Store {
     }
 
     protected Client createClient(final ProxyProperties proxyProps) {
-        final Client client = ClientBuilder.newClient();
+        final ClientConfig clientConfig = new ClientConfig();
+        if (proxyProps.isConnectionPooling()) {
+            final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+            connectionManager.setMaxTotal(proxyProps.getMaxConnections());
+            connectionManager.setDefaultMaxPerRoute(proxyProps.getMaxConnectionsPerRoute());
+            clientConfig.property(ApacheClientProperties.CONNECTION_MANAGER, connectionManager);
+            clientConfig.connectorProvider(new ApacheConnectorProvider());
+        }
+
+        final Client client = ClientBuilder.newClient(clientConfig);
         client.property(ClientProperties.CONNECT_TIMEOUT, proxyProps.getConnectTimeout());
         client.property(ClientProperties.READ_TIMEOUT, proxyProps.getReadTimeout());
+        if (proxyProps.isGzipRequests() || proxyProps.isGzipResponses()) {
+            // The encoder compresses request bodies with a gzip content encoding and decompresses gzip responses
+            client.register(GZipEncoder.class);
+        }
+        if (proxyProps.isGzipResponses()) {
+            // Advertises the registered encoders via the Accept-Encoding header
+            client.register(EncodingFilter.class);
+        }
         return client;
     }
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016-2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.proxystore;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import javax.ws.rs.core.Response;
+import java.io.InputStream;
+
+/**
+ * A <code>StreamingResponseIterable</code> lazily deserialises a JSON array
+ * from the body of a REST {@link Response}, one item at a time, using
+ * {@link JSONSerialiser#deserialiseIterator(InputStream, Class)}. The response
+ * body is never fully buffered so memory use does not grow with the size of
+ * the result.
+ * <p>
+ * The underlying HTTP connection is closed when the array has been fully read
+ * or when {@link #close()} is called. As the response body can only be read
+ * once, this iterable can only be iterated once.
+ *
+ * @param <T> the type of items in the JSON array
+ */
+public class StreamingResponseIterable<T> implements CloseableIterable<T> {
+    private final Response response;
+    private final JSONSerialiser serialiser;
+    private final Class<T> itemClass;
+    private CloseableIterator<T> iterator;
+
+    public StreamingResponseIterable(final Response response, final JSONSerialiser serialiser, final Class<T> itemClass) {
+        this.response = response;
+        this.serialiser = serialiser;
+        this.itemClass = itemClass;
+    }
+
+    @Override
+    public CloseableIterator<T> iterator() {
+        if (null != iterator) {
+            throw new IllegalStateException("Streamed results can only be iterated over once");
+        }
+
+        try {
+            iterator = serialiser.deserialiseIterator(response.readEntity(InputStream.class), itemClass);
+        } catch (final SerialisationException e) {
+            response.close();
+            throw new RuntimeException("Unable to deserialise streamed results: " + e.getMessage(), e);
+        }
+        return iterator;
+    }
+
+    @Override
+    public void close() {
+        if (null != iterator) {
+            iterator.close();
+        }
+        response.close();
+    }
+}
@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.proxystore.integration;
 
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -43,14 +44,18 @@ import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.operation.impl.job.GetJobDetails;
+import uk.gov.gchq.gaffer.proxystore.ProxyProperties;
+import uk.gov.gchq.gaffer.proxystore.StreamingResponseIterable;
 import uk.gov.gchq.gaffer.rest.RestApiTestUtil;
 import uk.gov.gchq.gaffer.store.StoreTrait;
 import uk.gov.gchq.gaffer.user.User;
 import java.io.IOException;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.core.IsCollectionContaining.hasItem;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
@@ -129,6 +134,25 @@ public class ProxyStoreBasicIT {
         assertThat((CloseableIterable<Element>) results, hasItems(DEFAULT_ELEMENTS));
     }
 
+    @Test
+    public void shouldAddElementsAndGetAllElementsUsingJsonResults() throws Exception {
+        // Given
+        addDefaultElements();
+        final ProxyProperties properties = (ProxyProperties) ProxyProperties.loadStoreProperties(
+                StreamUtil.openStream(ProxyStoreBasicIT.class, "proxy-store.properties"));
+        properties.setSmileResults(false);
+        final Graph jsonGraph = new Graph.Builder()
+                .storeProperties(properties)
+                .build();
+
+        // When
+        final CloseableIterable<? extends Element> results = jsonGraph.execute(new GetAllElements(), USER);
+
+        // Then
+        assertEquals(DEFAULT_ELEMENTS.length, Iterables.size(results));
+        assertThat((CloseableIterable<Element>) results, hasItems(DEFAULT_ELEMENTS));
+    }
+
     @Test
     public void shouldAddElementsAndGetRelatedElements() throws Exception {
         // Given
@@ -148,6 +172,51 @@ public class ProxyStoreBasicIT {
         assertThat((CloseableIterable<Element>) results, hasItem(DEFAULT_ELEMENTS[0]));
     }
 
+    @Test
+    public void shouldAddElementsAndStreamAllElements() throws Exception {
+        // Given
+        addDefaultElements();
+        final ProxyProperties properties = (ProxyProperties) ProxyProperties.loadStoreProperties(
+                StreamUtil.openStream(ProxyStoreBasicIT.class, "proxy-store.properties"));
+        properties.setStreamResults(true);
+        final Graph streamingGraph = new Graph.Builder()
+                .storeProperties(properties)
+                .build();
+
+        // When
+        final CloseableIterable<? extends Element> results = streamingGraph.execute(new GetAllElements(), USER);
+
+        // Then
+        assertThat(results, instanceOf(StreamingResponseIterable.class));
+        final List<Element> resultList = Lists.newArrayList(results);
+        assertEquals(DEFAULT_ELEMENTS.length, resultList.size());
+        assertThat(resultList, hasItems(DEFAULT_ELEMENTS));
+    }
+
+    @Test
+    public void shouldAddAndGetElementsUsingPooledGzipClient() throws Exception {
+        // Given
+        final ProxyProperties properties = (ProxyProperties) ProxyProperties.loadStoreProperties(
+                StreamUtil.openStream(ProxyStoreBasicIT.class, "proxy-store.properties"));
+        properties.setConnectionPooling(true);
+        properties.setMaxConnectionsPerRoute(5);
+        properties.setGzipRequests(true);
+        properties.setGzipResponses(true);
+        final Graph pooledGraph = new Graph.Builder()
+                .storeProperties(properties)
+                .build();
+
+        // When
+        pooledGraph.execute(new AddElements.Builder()
+                .input(DEFAULT_ELEMENTS)
+                .build(), USER);
+        final CloseableIterable<? extends Element> results = pooledGraph.execute(new GetAllElements(), USER);
+
+        // Then
+        assertEquals(DEFAULT_ELEMENTS.length, Iterables.size(results));
+        assertThat((CloseableIterable<Element>) results, hasItems(DEFAULT_ELEMENTS));
+    }
+
     @Test
     public void shouldAddElementsViaAJob() throws Exception {
         // Add elements
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.proxystore.integration.performance;
+
+import com.google.common.collect.Iterables;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.gov.gchq.gaffer.commonutil.CommonTestConstants;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.proxystore.ProxyProperties;
+import uk.gov.gchq.gaffer.rest.RestApiTestUtil;
+import uk.gov.gchq.gaffer.user.User;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Measures the throughput and latency of the ProxyStore client against a local
+ * in-process REST API, comparing the default client with a pooled, gzip enabled client.
+ */
+public class ProxyStoreClientPerformanceIT {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProxyStoreClientPerformanceIT.class);
+    private static final User USER = new User();
+    private static final int NUM_ELEMENTS = 1000;
+    private static final int NUM_REQUESTS = 50;
+
+    @Rule
+    public final TemporaryFolder testFolder = new TemporaryFolder(CommonTestConstants.TMP_DIRECTORY);
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        RestApiTestUtil.startServer();
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        RestApiTestUtil.stopServer();
+    }
+
+    @Before
+    public void before() throws IOException {
+        RestApiTestUtil.reinitialiseGraph(testFolder, StreamUtil.SCHEMA, "accumulo-store.properties");
+    }
+
+    @Test
+    public void shouldMeasureDefaultAndPooledGzipClients() throws OperationException {
+        // Given
+        final Graph defaultGraph = createGraph(createProperties());
+
+        final ProxyProperties pooledProperties = createProperties();
+        pooledProperties.setConnectionPooling(true);
+        pooledProperties.setGzipRequests(true);
+        pooledProperties.setGzipResponses(true);
+        final Graph pooledGraph = createGraph(pooledProperties);
+
+        defaultGraph.execute(new AddElements.Builder()
+                .input(createElements())
+                .build(), USER);
+
+        // When / Then
+        measure("default", defaultGraph);
+        measure("pooled gzip", pooledGraph);
+    }
+
+    private void measure(final String name, final Graph graph) throws OperationException {
+        // Warm up the connections before timing the requests
+        assertEquals(NUM_ELEMENTS, Iterables.size(graph.execute(new GetAllElements(), USER)));
+
+        final long startTime = System.currentTimeMillis();
+        for (int i = 0; i < NUM_REQUESTS; i++) {
+            assertEquals(NUM_ELEMENTS, Iterables.size(graph.execute(new GetAllElements(), USER)));
+        }
+        final long duration = System.currentTimeMillis() - startTime;
+
+        LOGGER.info("{} client: {} requests in {}ms, mean latency {}ms, throughput {} elements/s",
+                name, NUM_REQUESTS, duration, duration / NUM_REQUESTS,
+                1000L * NUM_REQUESTS * NUM_ELEMENTS / Math.max(1, duration));
+    }
+
+    private ProxyProperties createProperties() {
+        return (ProxyProperties) ProxyProperties.loadStoreProperties(
+                StreamUtil.openStream(ProxyStoreClientPerformanceIT.class, "proxy-store.properties"));
+    }
+
+    private Graph createGraph(final ProxyProperties properties) {
+        return new Graph.Builder()
+                .storeProperties(properties)
+                .build();
+    }
+
+    private List<Element> createElements() {
+        final List<Element> elements = new ArrayList<>(NUM_ELEMENTS);
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            elements.add(new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("source" + i)
+                    .dest("dest" + i)
+                    .directed(true)
+                    .property(TestPropertyNames.PROP_1, i)
+                    .property(TestPropertyNames.PROP_2, i)
+                    .property(TestPropertyNames.PROP_3, i)
+                    .property(TestPropertyNames.PROP_4, i)
+                    .property(TestPropertyNames.COUNT, 1)
+                    .build());
+        }
+        return elements;
+    }
+}